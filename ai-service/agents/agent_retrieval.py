@@ -100,8 +100,8 @@ class DocumentRetrievalAgent:
         if not application:
             raise ValueError(f"Application not found: {application_id}")
         
-        # Get job
-        job = self.get_job_from_ref(application.get('job'))
+        # Get job (jobId; older documents still carry a job DBRef)
+        job = self.get_job_from_ref(application.get('jobId') or application.get('job'))
         if not job:
             raise ValueError(f"Job not found for application: {application_id}")
         
@@ -78,8 +78,9 @@ class DeepAgentATSOrchestrator:
             title = job.get('title', 'Untitled')
             company = job.get('company', 'Unknown Company')
             
-            # FIXED: Uses "job.$id" to correctly count DBRef relationships
-            app_count = self.applications.count_documents({"job.$id": job_id})
+            # jobId, or "job.$id" for documents not yet migrated from the DBRef
+            app_count = self.applications.count_documents(
+                {"$or": [{"jobId": str(job_id)}, {"job.$id": job_id}]})
             
             job_list.append({
                 "_id": job_id,
@@ -131,8 +132,8 @@ class DeepAgentATSOrchestrator:
             if job_doc:
                 display_title = f"{job_doc.get('title')} at {job_doc.get('company')}"
             
-            # FIXED: Uses "job.$id" to match the DBRef field
-            query = {"job.$id": job_oid}
+            # jobId, or "job.$id" for documents not yet migrated from the DBRef
+            query = {"$or": [{"jobId": job_id_str}, {"job.$id": job_oid}]}
             
             # Find applications
             applications = list(self.applications.find(query))
@@ -175,7 +176,7 @@ class DeepAgentATSOrchestrator:
             # 1. Fetch the raw application doc first to get the Job ID
             app_doc = self.applications.find_one({"_id": application_id})
             job_ref = app_doc.get('job')
-            job_id_str = str(job_ref.id) if job_ref else "unknown_job"
+            job_id_str = app_doc.get('jobId') or (str(job_ref.id) if job_ref else "unknown_job")
 
             # AGENT 1
             print("┌─ AGENT 1: Document Retrieval ────────────────────────────┐")
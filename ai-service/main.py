@@ -401,7 +401,7 @@ def fetch_applications_from_mongodb() -> List[Dict[str, Any]]:
                 "candidate_name": app.get("candidateName", "Unknown"),
                 "email": app.get("candidateEmail", ""),
                 "phone": app.get("candidatePhone", ""),
-                "job_ref": str(app.get("job", "")),
+                "job_ref": app.get("jobId") or str(app.get("job", "")),
                 "status": app.get("status", "SUBMITTED"),
                 "resume_filename": app.get("resumeFileName", ""),
                 "applied_at": str(app.get("appliedAt", datetime.utcnow()))
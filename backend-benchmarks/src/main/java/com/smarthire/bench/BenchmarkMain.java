@@ -0,0 +1,33 @@
+package com.smarthire.bench;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BenchmarkMain - JMH entry point that writes JSON results by default.
+ *
+ * Without -rf/-rff the results go to jmh-result.json in the working directory, so every run
+ * leaves a machine-readable file that can be diffed against the previous release. Any other
+ * JMH option (benchmark regex, -f, -wi, -i, -prof ...) is passed through unchanged.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.add("-rf");
+            options.add("json");
+        }
+        if (!options.contains("-rff")) {
+            options.add("-rff");
+            options.add("jmh-result.json");
+        }
+        Main.main(options.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,186 @@
+package com.smarthire.bench;
+
+import com.smarthire.model.CandidateApplication;
+import com.smarthire.model.Interview;
+import com.smarthire.model.Job;
+import com.smarthire.model.JobApplication;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * SyntheticData - Deterministic fixtures shaped like production documents and AI payloads.
+ */
+public final class SyntheticData {
+
+    private static final CandidateApplication.ApplicationStatus[] STATUSES = CandidateApplication.ApplicationStatus.values();
+    private static final String[] SKILLS = {"Java", "Spring Boot", "MongoDB", "Kafka", "React", "AWS", "Docker", "SQL"};
+
+    private SyntheticData() {
+    }
+
+    public static Job job(int index) {
+        Job job = new Job();
+        job.setId(String.format("%024x", index));
+        job.setTitle("Senior Software Engineer " + index);
+        job.setDescription("Build and operate the hiring platform. ".repeat(20));
+        job.setCompany("Company " + (index % 50));
+        job.setLocation(index % 3 == 0 ? "Remote" : "Bengaluru");
+        job.setEmploymentType("FULL_TIME");
+        job.setExperienceLevel("SENIOR");
+        job.setRequiredSkills(String.join(", ", SKILLS));
+        job.setSalaryRange("25-35 LPA");
+        job.setPostedBy("employer" + (index % 10) + "@example.com");
+        job.setMaxCandidates(50);
+        job.setApplicationCount(index % 50);
+        job.setStatus(Job.JobStatus.OPEN);
+        job.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 0).plusHours(index));
+        job.setUpdatedAt(job.getCreatedAt().plusMinutes(30));
+        return job;
+    }
+
+    public static JobApplication jobApplication(Job job, int index) {
+        JobApplication application = new JobApplication();
+        application.setId(String.format("%024x", 1_000_000 + index));
+        application.copyJobDetails(job);
+        application.setCandidateName("Candidate " + index);
+        application.setCandidateEmail("candidate" + index + "@example.com");
+        application.setCandidatePhone("+91-98" + String.format("%08d", index));
+        application.setStatus(JobApplication.ApplicationStatus.values()[index % JobApplication.ApplicationStatus.values().length]);
+        application.setCoverLetter("I would love to join the team. ".repeat(10));
+        application.setResumeFileName("resume-" + index + ".pdf");
+        application.setResumeContentType("application/pdf");
+        application.setExtractedSkills(String.join(", ", SKILLS));
+        application.setMatchScore(40.0 + index % 60);
+        application.setAppliedAt(LocalDateTime.of(2025, 1, 2, 10, 0).plusMinutes(index));
+        application.setUpdatedAt(application.getAppliedAt());
+        return application;
+    }
+
+    /**
+     * Applications spread over the last 45 days with a fixed seed
+     */
+    public static List<CandidateApplication> candidateApplications(int count) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<CandidateApplication> applications = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CandidateApplication app = new CandidateApplication();
+            app.setId(String.format("%024x", 2_000_000 + i));
+            app.setJobId(String.format("%024x", i % 20));
+            app.setJobTitle("Role " + (i % 20));
+            app.setCompany("Company " + (i % 7));
+            app.setFullName("Candidate " + i);
+            app.setEmail("candidate" + i + "@example.com");
+            app.setPhone(i % 4 == 0 ? null : "+91-97" + String.format("%08d", i));
+            app.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            app.setAppliedAt(now.minusMinutes(random.nextInt(45 * 24 * 60)));
+            app.setMatchScore(i % 5 == 0 ? null : 30 + random.nextDouble() * 70);
+            applications.add(app);
+        }
+        return applications;
+    }
+
+    /**
+     * One candidate entry of the AI /shortlist response, after JSON decoding
+     */
+    public static Map<String, Object> aiShortlistEntry(int index) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("application_id", String.format("%024x", 1_000_000 + index));
+        entry.put("candidate_name", "Candidate " + index);
+        entry.put("email", "candidate" + index + "@example.com");
+        entry.put("phone", "+91-98" + String.format("%08d", index));
+        // Scores arrive as doubles, ints or strings depending on the model that produced them
+        entry.put("final_score", index % 3 == 0 ? (Object) String.valueOf(72.5 + index % 20) : (Object) (72.5 + index % 20));
+        entry.put("ats_score", 70 + index % 25);
+
+        Map<String, Object> components = new HashMap<>();
+        components.put("semantic_similarity", 0.81);
+        components.put("skill_match", 75);
+        components.put("experience_match", "68.0");
+        components.put("education_match", 90.0f);
+        components.put("llm_score", 8.2);
+        entry.put("component_scores", components);
+
+        Map<String, Object> skills = new HashMap<>();
+        skills.put("matching_skills", List.of("Java", "Spring Boot", "MongoDB"));
+        skills.put("missing_skills", List.of("Kafka"));
+        skills.put("match_percentage", 75.0);
+        entry.put("skill_analysis", skills);
+
+        Map<String, Object> llm = new HashMap<>();
+        llm.put("decision", "SHORTLIST");
+        llm.put("reasoning", "Strong backend experience with relevant stack. ".repeat(4));
+        llm.put("interview_recommendation", "Technical round focusing on system design");
+        llm.put("key_strengths", "Java, distributed systems");
+        llm.put("development_areas", "Streaming platforms");
+        entry.put("llm_evaluation", llm);
+        return entry;
+    }
+
+    /**
+     * Raw JSON body of an AI /shortlist response with the given number of candidates
+     */
+    public static String aiShortlistJson(int candidates) {
+        StringBuilder json = new StringBuilder("{\"count\":").append(candidates).append(",\"shortlist\":[");
+        for (int i = 0; i < candidates; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"application_id\":\"").append(String.format("%024x", 1_000_000 + i)).append('"')
+                .append(",\"candidate_name\":\"Candidate ").append(i).append('"')
+                .append(",\"email\":\"candidate").append(i).append("@example.com\"")
+                .append(",\"final_score\":").append(72.5 + i % 20)
+                .append(",\"component_scores\":{\"semantic_similarity\":0.81,\"skill_match\":75,\"experience_match\":68.0,\"llm_score\":8.2}")
+                .append(",\"skill_analysis\":{\"matching_skills\":[\"Java\",\"Spring Boot\",\"MongoDB\"],\"missing_skills\":[\"Kafka\"],\"match_percentage\":75.0}")
+                .append(",\"llm_evaluation\":{\"decision\":\"SHORTLIST\",\"reasoning\":\"Strong backend experience with relevant stack.\"}}");
+        }
+        return json.append("]}").toString();
+    }
+
+    public static Interview interview(int index) {
+        Interview interview = new Interview();
+        interview.setId(String.format("%024x", 3_000_000 + index));
+        interview.setJobId(String.format("%024x", index % 20));
+        interview.setCandidateName("Candidate " + index);
+        interview.setCandidateEmail("candidate" + index + "@example.com");
+        interview.setJobTitle("Senior Software Engineer");
+        interview.setCompany("AutoHireX");
+        interview.setInterviewRound("ROUND_1");
+        interview.setScheduledDate(LocalDate.of(2025, 3, 10).atTime(10, 0));
+        interview.setScheduledTime("10:00 AM - 11:00 AM");
+        interview.setInterviewMode("ONLINE");
+        interview.setMeetingLink("https://meet.example.com/abc-" + index);
+        interview.setInterviewerNames(List.of("Asha Rao", "Vikram Singh"));
+        interview.setInterviewPanel("Technical Panel");
+        interview.setStatus("SCHEDULED");
+        return interview;
+    }
+
+    /**
+     * Repository proxy whose finder methods all return the given list; anything else is unsupported
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> R listRepository(Class<R> repositoryType, List<?> rows) {
+        return (R) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+            (proxy, method, args) -> {
+                if (method.getReturnType() == List.class) {
+                    return rows;
+                }
+                if (method.getDeclaringClass() == Object.class) {
+                    return switch (method.getName()) {
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> repositoryType.getSimpleName() + " stub";
+                    };
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+    }
+}
@@ -0,0 +1,133 @@
+package com.smarthire.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request logging cost under contention: the old synchronous console banners against
+ * the async appender setup from logback-spring.xml. Both write to a temp file, so the
+ * banner pays real write calls on the request thread while the async path only enqueues.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String JOB_ID = "65f1c0ffee0123456789abcd";
+
+    private File consoleFile;
+    private File logFile;
+    private PrintStream console;
+    private LoggerContext context;
+    private Logger logger;
+
+    @Setup
+    public void setUp() throws IOException {
+        // System.out is an autoflushing PrintStream that locks and writes on every println
+        consoleFile = File.createTempFile("console-bench", ".log");
+        logFile = File.createTempFile("logback-bench", ".log");
+        console = new PrintStream(new FileOutputStream(consoleFile), true);
+
+        context = new LoggerContext();
+        context.addTurboFilter(new RequestSamplingTurboFilter());
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %5p [%t] [%X{requestId:-}] [%X{jobId:-}] %logger{39} : %m%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setContext(context);
+        sink.setEncoder(encoder);
+        sink.setOutputStream(new FileOutputStream(logFile));
+        sink.setImmediateFlush(false);
+        sink.start();
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(1638);
+        async.setNeverBlock(true);
+        async.setIncludeCallerData(false);
+        async.addAppender(sink);
+        async.start();
+
+        logger = context.getLogger("com.smarthire.controller.JobController");
+        logger.setLevel(Level.INFO);
+        logger.addAppender(async);
+        logger.setAdditive(false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+        console.close();
+        consoleFile.delete();
+        logFile.delete();
+    }
+
+    @Benchmark
+    public void consoleBanner() {
+        console.println("========================================");
+        console.println("📋 GET /api/jobs/all called");
+        console.println("========================================");
+        console.println("✅ Retrieved " + 42 + " jobs from database");
+        console.println("   Job ID: " + JOB_ID);
+        console.println("========================================");
+    }
+
+    @Benchmark
+    public void asyncInfo() {
+        MDC.put(RequestLogContextFilter.REQUEST_ID, "a1b2c3d4e5f60718");
+        MDC.put(RequestLogContextFilter.JOB_ID, JOB_ID);
+        try {
+            logger.info("Retrieved {} jobs from database", 42);
+        } finally {
+            MDC.remove(RequestLogContextFilter.REQUEST_ID);
+            MDC.remove(RequestLogContextFilter.JOB_ID);
+        }
+    }
+
+    @Benchmark
+    public void disabledDebug() {
+        logger.debug("Retrieved {} jobs from database", 42);
+    }
+
+    @Benchmark
+    public void sampledOutInfo() {
+        MDC.put(RequestLogContextFilter.SAMPLED, "false");
+        try {
+            logger.info("Retrieved {} jobs from database", 42);
+        } finally {
+            MDC.remove(RequestLogContextFilter.SAMPLED);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.smarthire.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smarthire.bench.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of Job and JobApplication as the REST layer does it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelJsonBenchmark {
+
+    private static final int LIST_SIZE = 50;
+
+    private ObjectMapper objectMapper;
+    private Job job;
+    private JobApplication application;
+    private List<Job> jobs;
+    private String jobJson;
+    private String applicationJson;
+    private String jobsJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Same defaults as the ObjectMapper Spring Boot builds for the MVC converters
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        job = SyntheticData.job(1);
+        application = SyntheticData.jobApplication(job, 1);
+        jobs = new ArrayList<>(LIST_SIZE);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            jobs.add(SyntheticData.job(i));
+        }
+        jobJson = objectMapper.writeValueAsString(job);
+        applicationJson = objectMapper.writeValueAsString(application);
+        jobsJson = objectMapper.writeValueAsString(jobs);
+    }
+
+    @Benchmark
+    public String serializeJob() throws Exception {
+        return objectMapper.writeValueAsString(job);
+    }
+
+    @Benchmark
+    public Job deserializeJob() throws Exception {
+        return objectMapper.readValue(jobJson, Job.class);
+    }
+
+    @Benchmark
+    public String serializeJobList() throws Exception {
+        return objectMapper.writeValueAsString(jobs);
+    }
+
+    @Benchmark
+    public Job[] deserializeJobList() throws Exception {
+        return objectMapper.readValue(jobsJson, Job[].class);
+    }
+
+    @Benchmark
+    public String serializeApplication() throws Exception {
+        return objectMapper.writeValueAsString(application);
+    }
+
+    @Benchmark
+    public JobApplication deserializeApplication() throws Exception {
+        return objectMapper.readValue(applicationJson, JobApplication.class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.smarthire.service;
+
+import com.smarthire.bench.Injector;
+import com.smarthire.bench.SyntheticData;
+import com.smarthire.model.Interview;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interview invitation and reminder rendering
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailRenderingBenchmark {
+
+    private EmailService emailService;
+    private Interview interview;
+
+    @Setup
+    public void setUp() {
+        emailService = new EmailService();
+        Injector.inject(emailService, "companyName", "AutoHireX");
+        Injector.inject(emailService, "companyEmail", "noreply@autohirex.com");
+        Injector.inject(emailService, "frontendUrl", "http://localhost:4200");
+        interview = SyntheticData.interview(1);
+    }
+
+    @Benchmark
+    public String invitationSubject() {
+        return emailService.buildEmailSubject(interview, "MANUAL");
+    }
+
+    @Benchmark
+    public String manualInvitation() {
+        return emailService.buildInterviewInvitationEmail(interview, "MANUAL");
+    }
+
+    @Benchmark
+    public String voiceAiInvitation() {
+        return emailService.buildInterviewInvitationEmail(interview, "VOICE_AI");
+    }
+
+    @Benchmark
+    public String reminder() {
+        return emailService.buildReminderEmail(interview);
+    }
+}
@@ -0,0 +1,72 @@
+package com.smarthire.service;
+
+import com.smarthire.bench.Injector;
+import com.smarthire.bench.SyntheticData;
+import com.smarthire.dto.ApplicationStatsDTO;
+import com.smarthire.model.CandidateApplication;
+import com.smarthire.repository.CandidateApplicationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard statistics, daily trend and CSV export over in-memory application lists
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MonitoringServiceBenchmark {
+
+    @Param({"1000", "10000"})
+    public int applications;
+
+    private MonitoringService monitoringService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<CandidateApplication> rows = SyntheticData.candidateApplications(applications);
+        monitoringService = Injector.inject(new MonitoringService(), "applicationRepository",
+            SyntheticData.listRepository(CandidateApplicationRepository.class, rows));
+    }
+
+    @Benchmark
+    public ApplicationStatsDTO stats() {
+        return monitoringService.getApplicationStats(null, null, null);
+    }
+
+    @Benchmark
+    public Map<String, Object> weeklyTrend() {
+        return monitoringService.getApplicationTrends("week");
+    }
+
+    @Benchmark
+    public Map<String, Object> monthlyTrend() {
+        return monitoringService.getApplicationTrends("month");
+    }
+
+    @Benchmark
+    public Map<String, Long> statusDistribution() {
+        return monitoringService.getStatusDistribution(null);
+    }
+
+    @Benchmark
+    public String csvExport() {
+        return monitoringService.exportApplicationsToCSV("ALL", null);
+    }
+}
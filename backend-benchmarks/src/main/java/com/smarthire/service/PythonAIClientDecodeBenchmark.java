@@ -0,0 +1,54 @@
+package com.smarthire.service;
+
+import com.smarthire.bench.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding FastAPI response bodies into the Maps PythonAIClient returns
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PythonAIClientDecodeBenchmark {
+
+    @Param({"10", "200"})
+    public int candidates;
+
+    private PythonAIClient client;
+    private String shortlistBody;
+    private String healthBody;
+
+    @Setup
+    public void setUp() {
+        client = new PythonAIClient();
+        shortlistBody = SyntheticData.aiShortlistJson(candidates);
+        healthBody = "{\"status\":\"healthy\",\"service\":\"smart-hire-ai\",\"version\":\"1.4.2\",\"models_loaded\":true}";
+    }
+
+    @Benchmark
+    public Map<String, Object> decodeShortlist() throws IOException {
+        return client.decode(shortlistBody);
+    }
+
+    @Benchmark
+    public Map<String, Object> decodeHealth() throws IOException {
+        return client.decode(healthBody);
+    }
+}
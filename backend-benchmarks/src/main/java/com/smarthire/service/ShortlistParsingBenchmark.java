@@ -0,0 +1,73 @@
+package com.smarthire.service;
+
+import com.smarthire.bench.SyntheticData;
+import com.smarthire.model.Job;
+import com.smarthire.model.ShortlistedCandidate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping decoded AI shortlist entries onto ShortlistedCandidate, and the score coercion it relies on
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShortlistParsingBenchmark {
+
+    private static final int ENTRIES = 64;
+
+    private ShortlistService shortlistService;
+    private Job job;
+    private List<Map<String, Object>> entries;
+
+    @Setup
+    public void setUp() {
+        shortlistService = new ShortlistService();
+        job = SyntheticData.job(1);
+        entries = new ArrayList<>(ENTRIES);
+        for (int i = 0; i < ENTRIES; i++) {
+            entries.add(SyntheticData.aiShortlistEntry(i));
+        }
+    }
+
+    @Benchmark
+    public void mapShortlist(Blackhole bh) {
+        int rank = 1;
+        for (Map<String, Object> entry : entries) {
+            ShortlistedCandidate candidate = shortlistService.mapAIResponseToModel(entry, job, rank++);
+            bh.consume(candidate);
+        }
+    }
+
+    @Benchmark
+    public Double doubleFromDouble() {
+        return shortlistService.getDoubleValue(null, 81.5);
+    }
+
+    @Benchmark
+    public Double doubleFromInteger() {
+        return shortlistService.getDoubleValue(null, 75);
+    }
+
+    @Benchmark
+    public Double doubleFromString() {
+        return shortlistService.getDoubleValue("n/a", "68.25");
+    }
+}
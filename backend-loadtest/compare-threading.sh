@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Platform vs virtual threads under slow AI calls: the same load twice, once per mode.
+#
+#   ./compare-threading.sh [/path/to/jdk-21] [extra --key=value ...]
+#
+# The backend needs a Java 21+ JDK for virtual threads; the first argument (or JAVA21_HOME)
+# points at it. Reports land in target/loadtest-platform.json and target/loadtest-virtual.json.
+set -euo pipefail
+cd "$(dirname "$0")"
+
+JDK="${1:-${JAVA21_HOME:-}}"
+if [[ $# -gt 0 ]]; then shift; fi
+if [[ -z "$JDK" ]]; then
+  echo "usage: $0 /path/to/jdk-21 [--key=value ...]" >&2
+  exit 1
+fi
+
+# Generated JDs take 2s, so ~300 requests are parked on the AI service at any time:
+# more than Tomcat's 200 platform threads, trivial for virtual threads.
+SCENARIO=(
+  --backend.java-home="$JDK"
+  --ai.latency.generate-jd=2s
+  --ai.latency.shortlist=3s
+  --rate.ai.generate-jd=150
+  --rate.shortlist.process=5
+  --rate.applications.submit=100
+  --duration=60s
+)
+
+[[ -f target/loadtest.jar ]] || mvn -B -q package
+
+for mode in platform virtual; do
+  virtual=false
+  [[ "$mode" == virtual ]] && virtual=true
+  echo "=== $mode threads ==="
+  java -jar target/loadtest.jar "${SCENARIO[@]}" \
+    --backend.virtual-threads="$virtual" \
+    --backend.log="target/loadtest-backend-$mode.log" \
+    --report.file="target/loadtest-$mode.json" "$@"
+done
@@ -0,0 +1,121 @@
+package com.smarthire.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BackendProcess - Runs the packaged backend jar as a child JVM wired to the local
+ * MongoDB and the stub AI service, and waits until it serves requests.
+ */
+public class BackendProcess implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BackendProcess.class);
+
+    private final Process process;
+    private final String baseUrl;
+
+    private BackendProcess(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    public static BackendProcess start(LoadTestConfig config, String mongoUri, String aiBaseUrl,
+                                       HttpClient client) throws IOException, InterruptedException {
+        File jar = new File(config.string("backend.jar"));
+        if (!jar.isFile()) {
+            throw new IOException("Backend jar not found: " + jar.getAbsolutePath() + " (run mvn package in backend/)");
+        }
+        int port = config.integer("backend.port");
+
+        String javaHome = config.string("backend.java-home").isEmpty()
+                ? System.getProperty("java.home") : config.string("backend.java-home");
+        List<String> command = new ArrayList<>();
+        command.add(new File(javaHome, "bin/java").getPath());
+        if (!config.string("backend.jvm-args").isEmpty()) {
+            command.addAll(Arrays.asList(config.string("backend.jvm-args").split("\\s+")));
+        }
+        command.addAll(List.of(
+                "-jar", jar.getPath(),
+                "--server.port=" + port,
+                "--spring.data.mongodb.uri=" + mongoUri,
+                "--spring.data.mongodb.database=" + config.string("mongo.database"),
+                "--fastapi.base.url=" + aiBaseUrl,
+                "--ai.replicas=" + aiBaseUrl,
+                "--spring.threads.virtual.enabled=" + config.string("backend.virtual-threads"),
+                "--rate-limit.enabled=" + config.string("backend.rate-limit"),
+                "--logging.output=text"));
+
+        File logFile = new File(config.string("backend.log"));
+        if (logFile.getParentFile() != null) {
+            logFile.getParentFile().mkdirs();
+        }
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile)
+                .start();
+        BackendProcess backend = new BackendProcess(process, "http://127.0.0.1:" + port);
+        log.info("Started backend (pid {}), logging to {}", process.pid(), logFile.getPath());
+
+        try {
+            backend.awaitHealthy(client, config.duration("backend.startup-timeout"));
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            backend.close();
+            throw e;
+        }
+        return backend;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    private void awaitHealthy(HttpClient client, Duration timeout) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        // Not /actuator/health: its MongoDB check uses commands the in-memory stand-in lacks
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/api/jobs/health"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("Backend exited with code " + process.exitValue() + ", see the backend log");
+            }
+            try {
+                HttpResponse<String> res = client.send(health, HttpResponse.BodyHandlers.ofString());
+                if (res.statusCode() == 200) {
+                    log.info("Backend is up at {}", baseUrl);
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(1000);
+        }
+        throw new IOException("Backend did not come up within " + timeout.toSeconds() + "s");
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.smarthire.loadtest;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+
+/**
+ * EmbeddedMongo - Throwaway MongoDB for runs without a MongoDB URI.
+ *
+ * "mongod" downloads a real server binary once (cached under ~/.embedmongo) and is the one
+ * to use for numbers. "in-memory" is a Java implementation of the wire protocol that needs
+ * no download; it is fine for smoke runs but its latencies say nothing about MongoDB.
+ */
+public class EmbeddedMongo implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedMongo.class);
+
+    private final String uri;
+    private final Runnable stop;
+
+    private EmbeddedMongo(String uri, Runnable stop) {
+        this.uri = uri;
+        this.stop = stop;
+    }
+
+    public static EmbeddedMongo start(String server, String version) {
+        return switch (server) {
+            case "mongod" -> startMongod(version);
+            case "in-memory" -> startInMemory();
+            default -> throw new IllegalArgumentException("mongo.server must be mongod or in-memory, got: " + server);
+        };
+    }
+
+    /**
+     * Start a mongod of the given major.minor version, e.g. "7.0"
+     */
+    private static EmbeddedMongo startMongod(String version) {
+        Version.Main main = Version.Main.valueOf("V" + version.replace('.', '_'));
+        log.info("Starting embedded mongod {}", main.asInDownloadPath());
+        TransitionWalker.ReachedState<RunningMongodProcess> running = Mongod.instance().start(main);
+        ServerAddress address = running.current().getServerAddress();
+        return new EmbeddedMongo(uri(address.getHost(), address.getPort()), running::close);
+    }
+
+    private static EmbeddedMongo startInMemory() {
+        MongoServer server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        log.warn("Using the in-memory MongoDB stand-in; latencies are not representative of MongoDB");
+        return new EmbeddedMongo(uri(address.getHostString(), address.getPort()), server::shutdownNow);
+    }
+
+    /**
+     * Connection string without TLS, which the backend honours for local servers
+     */
+    private static String uri(String host, int port) {
+        return "mongodb://" + host + ":" + port + "/?tls=false";
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    @Override
+    public void close() {
+        stop.run();
+    }
+}
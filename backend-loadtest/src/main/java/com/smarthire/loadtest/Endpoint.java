@@ -0,0 +1,211 @@
+package com.smarthire.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Endpoint - The REST calls the load test drives, each with its own target rate
+ * (rate.&lt;key&gt; in loadtest.properties).
+ */
+public enum Endpoint {
+
+    APPLICATIONS_SUBMIT("applications.submit", "POST /api/applications") {
+        @Override
+        Call build(Scenario s) {
+            Scenario.JobRef job = s.randomJob();
+            Scenario.Applicant applicant = s.newApplicant();
+            String boundary = "----loadtest" + s.nextId();
+            byte[] body = multipart(boundary, Map.of(
+                    "jobId", job.id(),
+                    "candidateName", applicant.name(),
+                    "candidateEmail", applicant.email(),
+                    "candidatePhone", applicant.phone(),
+                    "coverLetter", "Looking forward to hearing from you."),
+                    "resume", applicant.name().replace(' ', '_') + ".pdf", s.getResume());
+            HttpRequest request = HttpRequest.newBuilder(s.uri("/api/applications"))
+                    .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            return new Call(request, responseBody -> s.recordApplication(job.id(), applicant,
+                    field(s, responseBody, "applicationId")));
+        }
+    },
+
+    APPLICATIONS_BY_JOB("applications.by-job", "GET /api/applications/job/{jobId}") {
+        @Override
+        Call build(Scenario s) {
+            return get(s, "/api/applications/job/" + s.randomJob().id());
+        }
+    },
+
+    JOBS_CREATE("jobs.create", "POST /api/jobs") {
+        @Override
+        Call build(Scenario s) {
+            return postJson(s, "/api/jobs", s.jobJson(s.nextId()));
+        }
+    },
+
+    JOBS_LIST("jobs.list", "GET /api/jobs/list") {
+        @Override
+        Call build(Scenario s) {
+            return get(s, "/api/jobs/list");
+        }
+    },
+
+    JOBS_PUBLIC("jobs.public", "GET /api/jobs/public") {
+        @Override
+        Call build(Scenario s) {
+            return get(s, "/api/jobs/public");
+        }
+    },
+
+    JOBS_GET("jobs.get", "GET /api/jobs/{id}") {
+        @Override
+        Call build(Scenario s) {
+            return get(s, "/api/jobs/" + s.randomJob().id());
+        }
+    },
+
+    SHORTLIST_PROCESS("shortlist.process", "POST /api/shortlist/process") {
+        @Override
+        Call build(Scenario s) {
+            return postJson(s, "/api/shortlist/process",
+                    "{\"jobId\":\"" + s.randomJob().id() + "\",\"minScore\":0}");
+        }
+    },
+
+    SHORTLIST_BY_JOB("shortlist.by-job", "GET /api/shortlist/job/{jobId}") {
+        @Override
+        Call build(Scenario s) {
+            return get(s, "/api/shortlist/job/" + s.randomJob().id());
+        }
+    },
+
+    INTERVIEWS_SCHEDULE("interviews.schedule", "POST /api/interviews/schedule") {
+        @Override
+        Call build(Scenario s) {
+            Scenario.JobRef job = s.randomJob();
+            List<Map<String, Object>> candidates = new ArrayList<>();
+            for (Scenario.Applicant applicant : s.applicants(job.id(), 5)) {
+                Map<String, Object> candidate = new LinkedHashMap<>();
+                candidate.put("applicationId", applicant.applicationId());
+                candidate.put("candidateEmail", applicant.email());
+                candidate.put("candidateName", applicant.name());
+                candidates.add(candidate);
+            }
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("jobId", job.id());
+            request.put("candidates", candidates);
+            request.put("interviewType", "TECHNICAL");
+            request.put("scheduledDate", LocalDate.now().plusDays(7).atTime(10, 0).toString());
+            request.put("scheduledTime", "10:00");
+            request.put("interviewMode", "ONLINE");
+            request.put("meetingLink", "https://meet.loadtest.local/" + job.id());
+            return postJson(s, "/api/interviews/schedule", json(s, request));
+        }
+    },
+
+    INTERVIEWS_BY_JOB("interviews.by-job", "GET /api/interviews/job/{jobId}") {
+        @Override
+        Call build(Scenario s) {
+            return get(s, "/api/interviews/job/" + s.randomJob().id());
+        }
+    },
+
+    INTERVIEWS_PIPELINE("interviews.pipeline", "GET /api/interviews/job/{jobId}/pipeline") {
+        @Override
+        Call build(Scenario s) {
+            return get(s, "/api/interviews/job/" + s.randomJob().id() + "/pipeline");
+        }
+    },
+
+    AI_GENERATE_JD("ai.generate-jd", "POST /api/ai/generate-job-description") {
+        @Override
+        Call build(Scenario s) {
+            Scenario.JobRef job = s.randomJob();
+            return postJson(s, "/api/ai/generate-job-description",
+                    "{\"companyName\":\"" + job.company() + "\",\"jobTitle\":\"" + job.title() + "\"}");
+        }
+    };
+
+    /**
+     * A ready request plus what to do with a successful response body
+     */
+    public record Call(HttpRequest request, Consumer<String> onSuccess) {
+    }
+
+    private final String key;
+    private final String route;
+
+    Endpoint(String key, String route) {
+        this.key = key;
+        this.route = route;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String route() {
+        return route;
+    }
+
+    abstract Call build(Scenario s);
+
+    private static Call get(Scenario s, String path) {
+        return new Call(HttpRequest.newBuilder(s.uri(path)).GET().build(), null);
+    }
+
+    private static Call postJson(Scenario s, String path, String json) {
+        return new Call(HttpRequest.newBuilder(s.uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), null);
+    }
+
+    private static String json(Scenario s, Object value) {
+        try {
+            return s.getMapper().writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String field(Scenario s, String body, String name) {
+        try {
+            JsonNode node = s.getMapper().readTree(body).get(name);
+            return node != null && !node.isNull() ? node.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static byte[] multipart(String boundary, Map<String, String> fields,
+                                    String fileField, String fileName, byte[] file) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(file.length + 1024);
+        StringBuilder head = new StringBuilder();
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            head.append("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"").append(field.getKey()).append("\"\r\n\r\n")
+                .append(field.getValue()).append("\r\n");
+        }
+        head.append("--").append(boundary).append("\r\n")
+            .append("Content-Disposition: form-data; name=\"").append(fileField)
+            .append("\"; filename=\"").append(fileName).append("\"\r\n")
+            .append("Content-Type: application/pdf\r\n\r\n");
+        out.writeBytes(head.toString().getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(file);
+        out.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,81 @@
+package com.smarthire.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * EndpointStats - Latency histogram and outcome counters of one endpoint during the measured window.
+ *
+ * Latency runs from the time the request was due, not the time it was sent, so a stalled
+ * backend shows up in the percentiles instead of silently lowering the request rate.
+ */
+public class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Endpoint endpoint;
+    private final double targetRate;
+    private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> errorReasons = new ConcurrentHashMap<>();
+
+    public EndpointStats(Endpoint endpoint, double targetRate) {
+        this.endpoint = endpoint;
+        this.targetRate = targetRate;
+    }
+
+    public void recordSuccess(long latencyNanos) {
+        requests.increment();
+        latency.recordValue(micros(latencyNanos));
+    }
+
+    public void recordError(long latencyNanos, String reason) {
+        requests.increment();
+        errors.increment();
+        latency.recordValue(micros(latencyNanos));
+        errorReasons.computeIfAbsent(reason, r -> new LongAdder()).increment();
+    }
+
+    /**
+     * A request the driver never sent because too many were already in flight
+     */
+    public void recordDropped() {
+        requests.increment();
+        errors.increment();
+        errorReasons.computeIfAbsent("dropped (max in-flight)", r -> new LongAdder()).increment();
+    }
+
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public Map<String, LongAdder> getErrorReasons() {
+        return errorReasons;
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 1), MAX_LATENCY_MICROS);
+    }
+}
@@ -0,0 +1,186 @@
+package com.smarthire.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * LoadDriver - Open-model load generator: every endpoint fires at its own fixed rate
+ * whether or not earlier requests have finished.
+ *
+ * One dispatcher thread walks a schedule of due times, so a slow backend cannot slow the
+ * arrival rate down. Requests due during warmup are sent but not recorded.
+ */
+public class LoadDriver {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadDriver.class);
+
+    private final HttpClient client;
+    private final Scenario scenario;
+    private final Map<Endpoint, Double> rates;
+    private final Duration requestTimeout;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+
+    public LoadDriver(HttpClient client, Scenario scenario, Map<Endpoint, Double> rates,
+                      Duration requestTimeout, int maxInFlight) {
+        this.client = client;
+        this.scenario = scenario;
+        this.rates = rates;
+        this.requestTimeout = requestTimeout;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    private record Slot(Endpoint endpoint, long intervalNanos, long due) implements Comparable<Slot> {
+
+        @Override
+        public int compareTo(Slot other) {
+            return Long.compare(due, other.due);
+        }
+    }
+
+    /**
+     * Run warmup then the measured window and return the stats of every enabled endpoint
+     */
+    public Map<Endpoint, EndpointStats> run(Duration warmup, Duration duration) throws InterruptedException {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        PriorityQueue<Slot> schedule = new PriorityQueue<>();
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (Map.Entry<Endpoint, Double> rate : rates.entrySet()) {
+            if (rate.getValue() <= 0) {
+                continue;
+            }
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate.getValue());
+            stats.put(rate.getKey(), new EndpointStats(rate.getKey(), rate.getValue()));
+            // Spread first arrivals so endpoints do not fire in lockstep
+            schedule.add(new Slot(rate.getKey(), interval, start + (long) (Math.random() * interval)));
+        }
+
+        log.info("Warming up for {}s, then measuring for {}s", warmup.toSeconds(), duration.toSeconds());
+        long nextProgress = measureFrom;
+        while (!schedule.isEmpty()) {
+            Slot slot = schedule.poll();
+            if (slot.due() >= end) {
+                break;
+            }
+            long wait = slot.due() - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            fire(slot.endpoint(), slot.due(), slot.due() >= measureFrom ? stats.get(slot.endpoint()) : null);
+            schedule.add(new Slot(slot.endpoint(), slot.intervalNanos(), slot.due() + slot.intervalNanos()));
+
+            if (slot.due() >= nextProgress) {
+                log.info("{}s measured, {} requests in flight",
+                        TimeUnit.NANOSECONDS.toSeconds(slot.due() - measureFrom), maxInFlight - inFlight.availablePermits());
+                nextProgress += TimeUnit.SECONDS.toNanos(10);
+            }
+        }
+
+        // Let the stragglers finish (or time out) so they are counted
+        if (!inFlight.tryAcquire(maxInFlight, requestTimeout.toMillis() + 5000, TimeUnit.MILLISECONDS)) {
+            log.warn("{} requests still in flight after the run", maxInFlight - inFlight.availablePermits());
+        }
+        return stats;
+    }
+
+    private void fire(Endpoint endpoint, long due, EndpointStats stats) {
+        if (!inFlight.tryAcquire()) {
+            if (stats != null) {
+                stats.recordDropped();
+            }
+            return;
+        }
+
+        Endpoint.Call call;
+        try {
+            call = endpoint.build(scenario);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            if (stats != null) {
+                stats.recordError(System.nanoTime() - due, "client: " + e.getClass().getSimpleName());
+            }
+            return;
+        }
+
+        client.sendAsync(call.request(), HttpResponse.BodyHandlers.ofString())
+                .orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, failure) -> {
+                    long latency = System.nanoTime() - due;
+                    try {
+                        String error = failure != null ? reason(failure) : errorOf(response);
+                        if (error == null && call.onSuccess() != null) {
+                            call.onSuccess().accept(response.body());
+                        }
+                        if (stats != null) {
+                            if (error == null) {
+                                stats.recordSuccess(latency);
+                            } else {
+                                stats.recordError(latency, error);
+                            }
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+    }
+
+    /**
+     * Non-2xx responses are errors, and so are 200s whose body reports "success":false
+     */
+    private static String errorOf(HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            return "HTTP " + response.statusCode();
+        }
+        String body = response.body();
+        if (body != null && body.contains("\"success\":false")) {
+            return "HTTP 200 success=false";
+        }
+        return null;
+    }
+
+    private static String reason(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        if (cause instanceof TimeoutException) {
+            return "timeout";
+        }
+        return cause.getClass().getSimpleName();
+    }
+
+    /**
+     * Rates of every endpoint from the rate.&lt;key&gt; properties, times rate.scale
+     */
+    public static Map<Endpoint, Double> rates(LoadTestConfig config) {
+        Map<Endpoint, Double> rates = new EnumMap<>(Endpoint.class);
+        List<String> enabled = new ArrayList<>();
+        double scale = config.decimal("rate.scale");
+        for (Endpoint endpoint : Endpoint.values()) {
+            double rate = config.decimal("rate." + endpoint.key()) * scale;
+            rates.put(endpoint, rate);
+            if (rate > 0) {
+                enabled.add(endpoint.key() + "=" + rate + "/s");
+            }
+        }
+        log.info("Target rates: {}", enabled);
+        return rates;
+    }
+}
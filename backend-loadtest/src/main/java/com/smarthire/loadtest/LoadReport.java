@@ -0,0 +1,98 @@
+package com.smarthire.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LoadReport - Per-endpoint p50/p95/p99 latency, throughput and error rate, printed as a
+ * table and written as JSON so runs can be compared.
+ */
+public class LoadReport {
+
+    public record Row(String endpoint, String route, double targetRate, long requests, long errors,
+                      double errorRate, double throughput, double successThroughput,
+                      double p50Ms, double p95Ms, double p99Ms, double maxMs,
+                      Map<String, Long> errorReasons) {
+    }
+
+    private final LocalDateTime finishedAt = LocalDateTime.now();
+    private final Duration measured;
+    private final List<Row> rows = new ArrayList<>();
+    private final Map<String, Long> stubAiCalls;
+    private final Map<String, String> settings;
+
+    public LoadReport(Map<Endpoint, EndpointStats> stats, Duration measured,
+                      Map<String, Long> stubAiCalls, Map<String, String> settings) {
+        this.measured = measured;
+        this.stubAiCalls = stubAiCalls;
+        this.settings = settings;
+        double seconds = measured.toMillis() / 1000.0;
+        for (EndpointStats s : stats.values()) {
+            Histogram latency = s.getLatency();
+            long requests = s.getRequests();
+            long errors = s.getErrors();
+            Map<String, Long> reasons = new LinkedHashMap<>();
+            s.getErrorReasons().forEach((reason, count) -> reasons.put(reason, count.sum()));
+            rows.add(new Row(
+                    s.getEndpoint().key(),
+                    s.getEndpoint().route(),
+                    s.getTargetRate(),
+                    requests,
+                    errors,
+                    requests > 0 ? (double) errors / requests : 0,
+                    requests / seconds,
+                    (requests - errors) / seconds,
+                    millis(latency, 50),
+                    millis(latency, 95),
+                    millis(latency, 99),
+                    latency.getTotalCount() > 0 ? latency.getMaxValue() / 1000.0 : 0,
+                    reasons));
+        }
+    }
+
+    public void print(PrintStream out) {
+        out.println();
+        out.printf("Load test results over %ds%n", measured.toSeconds());
+        out.printf("%-22s %8s %9s %9s %8s %9s %9s %9s %9s%n",
+                "endpoint", "target/s", "req/s", "ok/s", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Row row : rows) {
+            out.printf("%-22s %8.1f %9.1f %9.1f %7.2f%% %9.1f %9.1f %9.1f %9.1f%n",
+                    row.endpoint(), row.targetRate(), row.throughput(), row.successThroughput(),
+                    row.errorRate() * 100, row.p50Ms(), row.p95Ms(), row.p99Ms(), row.maxMs());
+        }
+        for (Row row : rows) {
+            if (!row.errorReasons().isEmpty()) {
+                out.printf("  %s errors: %s%n", row.endpoint(), row.errorReasons());
+            }
+        }
+        out.printf("Stub AI calls: %s%n", stubAiCalls);
+    }
+
+    public void write(File file, ObjectMapper mapper) throws IOException {
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", finishedAt.toString());
+        report.put("measuredSeconds", measured.toSeconds());
+        report.put("settings", settings);
+        report.put("endpoints", rows);
+        report.put("stubAiCalls", stubAiCalls);
+        mapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() > 0 ? histogram.getValueAtPercentile(percentile) / 1000.0 : 0;
+    }
+}
@@ -0,0 +1,60 @@
+package com.smarthire.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * LoadTestConfig - Defaults from loadtest.properties, overridden by --key=value arguments.
+ */
+public class LoadTestConfig {
+
+    private final Properties properties = new Properties();
+
+    public LoadTestConfig(String[] args) throws IOException {
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        }
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            properties.setProperty(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+    }
+
+    public String string(String key) {
+        String value = properties.getProperty(key);
+        return value != null ? value.trim() : "";
+    }
+
+    public int integer(String key) {
+        return Integer.parseInt(string(key));
+    }
+
+    public double decimal(String key) {
+        String value = string(key);
+        return value.isEmpty() ? 0 : Double.parseDouble(value);
+    }
+
+    /**
+     * Durations are written as 500ms, 30s or 2m
+     */
+    public Duration duration(String key) {
+        String value = string(key);
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        throw new IllegalArgumentException("Bad duration for " + key + ": " + value);
+    }
+}
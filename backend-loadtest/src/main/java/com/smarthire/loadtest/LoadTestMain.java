@@ -0,0 +1,105 @@
+package com.smarthire.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * LoadTestMain - Starts a local MongoDB (unless mongo.uri is set), the stub AI service and the
+ * backend (unless target.url is set), creates the test jobs, drives every endpoint at
+ * its target rate and reports the results.
+ *
+ * Usage: java -jar target/loadtest.jar [--key=value ...]  (keys in loadtest.properties)
+ */
+public class LoadTestMain {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestMain.class);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig(args);
+        ObjectMapper mapper = new ObjectMapper();
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(
+                Math.max(4, Runtime.getRuntime().availableProcessors()), r -> {
+                    Thread thread = new Thread(r, "loadtest-http");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientExecutor)
+                .build();
+
+        String targetUrl = config.string("target.url");
+        String mongoUri = config.string("mongo.uri");
+        EmbeddedMongo mongo = null;
+        BackendProcess backend = null;
+        StubAiServer stubAi = null;
+        try {
+            String baseUrl = targetUrl;
+            if (targetUrl.isEmpty()) {
+                if (mongoUri.isEmpty()) {
+                    mongo = EmbeddedMongo.start(config.string("mongo.server"), config.string("mongo.version"));
+                    mongoUri = mongo.getUri();
+                }
+                baseUrl = "http://127.0.0.1:" + config.integer("backend.port");
+            }
+
+            Scenario scenario = new Scenario(mapper, baseUrl, config.integer("resume-bytes"));
+            stubAi = new StubAiServer(config, scenario);
+            stubAi.start();
+
+            if (targetUrl.isEmpty()) {
+                backend = BackendProcess.start(config, mongoUri, stubAi.getBaseUrl(), client);
+            } else {
+                log.info("Using running backend at {}; it must point at {} for AI calls", targetUrl, stubAi.getBaseUrl());
+            }
+
+            scenario.setUp(client, config.integer("jobs"));
+            log.info("Created {} jobs", config.integer("jobs"));
+
+            Map<Endpoint, Double> rates = LoadDriver.rates(config);
+            LoadDriver driver = new LoadDriver(client, scenario, rates,
+                    config.duration("request-timeout"), config.integer("max-in-flight"));
+            Duration duration = config.duration("duration");
+            Map<Endpoint, EndpointStats> stats = driver.run(config.duration("warmup"), duration);
+
+            Map<String, String> settings = new LinkedHashMap<>();
+            settings.put("target", baseUrl);
+            settings.put("mongo", targetUrl.isEmpty() ? (mongo != null ? config.string("mongo.server") : "external") : "n/a");
+            settings.put("virtualThreads", targetUrl.isEmpty() ? config.string("backend.virtual-threads") : "n/a");
+            settings.put("jobs", config.string("jobs"));
+            settings.put("warmup", config.string("warmup"));
+            settings.put("ai.latency.shortlist", config.string("ai.latency.shortlist"));
+            settings.put("ai.latency.generate-jd", config.string("ai.latency.generate-jd"));
+            settings.put("ai.latency.schedule-interviews", config.string("ai.latency.schedule-interviews"));
+            settings.put("ai.latency.jitter", config.string("ai.latency.jitter"));
+
+            LoadReport report = new LoadReport(stats, duration, stubAi.getCalls(), settings);
+            report.print(System.out);
+            File reportFile = new File(config.string("report.file"));
+            report.write(reportFile, mapper);
+            log.info("Report written to {}", reportFile.getPath());
+        } finally {
+            if (backend != null) {
+                backend.close();
+            }
+            if (stubAi != null) {
+                stubAi.close();
+            }
+            if (mongo != null) {
+                mongo.close();
+            }
+            clientExecutor.shutdownNow();
+        }
+    }
+}
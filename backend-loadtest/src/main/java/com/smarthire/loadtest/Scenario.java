@@ -0,0 +1,170 @@
+package com.smarthire.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scenario - Jobs created for the run and the applications submitted to them.
+ *
+ * The driver picks jobs and applicants from here, and the stub AI service shortlists
+ * the applications recorded here so shortlisting and scheduling see real IDs.
+ */
+public class Scenario {
+
+    /** Applicants remembered per job; enough for a shortlist without growing unbounded */
+    private static final int APPLICANTS_PER_JOB = 256;
+
+    public record JobRef(String id, String title, String company, String description) {
+    }
+
+    public record Applicant(String applicationId, String name, String email, String phone) {
+    }
+
+    private final ObjectMapper mapper;
+    private final String baseUrl;
+    private final byte[] resume;
+    private final List<JobRef> jobs = new ArrayList<>();
+    private final Map<String, Applicant[]> applicants = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public Scenario(ObjectMapper mapper, String baseUrl, int resumeBytes) {
+        this.mapper = mapper;
+        this.baseUrl = baseUrl;
+        this.resume = syntheticResume(resumeBytes);
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public byte[] getResume() {
+        return resume;
+    }
+
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * Create the jobs the run applies to and lift their candidate cap so none closes mid-run
+     */
+    public void setUp(HttpClient client, int jobCount) throws IOException, InterruptedException {
+        for (int i = 0; i < jobCount; i++) {
+            JobRef job = createJob(client, nextId());
+            HttpResponse<String> res = client.send(HttpRequest.newBuilder(uri("/api/jobs/" + job.id() + "/settings"))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"maxCandidates\":1000000000}"))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (res.statusCode() != 200) {
+                throw new IOException("Updating settings of job " + job.id() + " failed: " + res.statusCode() + " " + res.body());
+            }
+            jobs.add(job);
+            applicants.put(job.id(), new Applicant[APPLICANTS_PER_JOB]);
+        }
+    }
+
+    JobRef createJob(HttpClient client, long n) throws IOException, InterruptedException {
+        HttpResponse<String> res = client.send(HttpRequest.newBuilder(uri("/api/jobs"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(jobJson(n)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (res.statusCode() != 200) {
+            throw new IOException("Creating job failed: " + res.statusCode() + " " + res.body());
+        }
+        JsonNode job = mapper.readTree(res.body());
+        return new JobRef(job.path("id").asText(), job.path("title").asText(),
+                job.path("company").asText(), job.path("description").asText());
+    }
+
+    public String jobJson(long n) {
+        return "{\"title\":\"Backend Engineer " + n + "\","
+                + "\"description\":\"Build and operate Java services on Spring Boot and MongoDB. "
+                + "Experience with REST APIs, messaging and observability required.\","
+                + "\"company\":\"Load Test Co " + (n % 5) + "\","
+                + "\"location\":\"Remote\",\"employmentType\":\"FULL_TIME\",\"experienceLevel\":\"MID\","
+                + "\"requiredSkills\":\"Java, Spring Boot, MongoDB, REST\",\"salaryRange\":\"20-30 LPA\"}";
+    }
+
+    public JobRef randomJob() {
+        return jobs.get(ThreadLocalRandom.current().nextInt(jobs.size()));
+    }
+
+    public JobRef job(String jobId) {
+        for (JobRef job : jobs) {
+            if (job.id().equals(jobId)) {
+                return job;
+            }
+        }
+        return null;
+    }
+
+    public long nextId() {
+        return sequence.incrementAndGet();
+    }
+
+    public Applicant newApplicant() {
+        long n = nextId();
+        return new Applicant(null, "Candidate " + n, "candidate" + n + "@loadtest.local", String.format("+91%010d", n));
+    }
+
+    /**
+     * Remember a submitted application; older ones are overwritten ring-buffer style
+     */
+    public void recordApplication(String jobId, Applicant applicant, String applicationId) {
+        Applicant[] ring = applicants.get(jobId);
+        if (ring != null && applicationId != null) {
+            int slot = (int) (nextId() % ring.length);
+            ring[slot] = new Applicant(applicationId, applicant.name(), applicant.email(), applicant.phone());
+        }
+    }
+
+    /**
+     * Up to max applications recorded for the job
+     */
+    public List<Applicant> applicants(String jobId, int max) {
+        List<Applicant> result = new ArrayList<>();
+        Applicant[] ring = applicants.get(jobId);
+        if (ring == null) {
+            return result;
+        }
+        for (Applicant applicant : ring) {
+            if (applicant != null) {
+                result.add(applicant);
+                if (result.size() >= max) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    public URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static byte[] syntheticResume(int size) {
+        StringBuilder sb = new StringBuilder("%PDF-1.4\n% load test resume\n");
+        String line = "Java Spring Boot MongoDB REST microservices Kafka Docker Kubernetes AWS\n";
+        while (sb.length() < size) {
+            sb.append(line);
+        }
+        sb.append("%%EOF\n");
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,170 @@
+package com.smarthire.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * StubAiServer - Local stand-in for the FastAPI service with configurable response latency.
+ *
+ * Serves /health, /shortlist, /generate-jd and /schedule-interviews. Shortlists are built
+ * from the applications the load test actually submitted, so the backend persists real
+ * shortlisted candidates.
+ */
+public class StubAiServer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(StubAiServer.class);
+
+    private final Scenario scenario;
+    private final Map<String, Duration> latencies;
+    private final double jitter;
+    private final int shortlistSize;
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public StubAiServer(LoadTestConfig config, Scenario scenario) throws IOException {
+        this.scenario = scenario;
+        this.jitter = config.decimal("ai.latency.jitter");
+        this.shortlistSize = config.integer("ai.shortlist-size");
+        this.latencies = Map.of(
+                "/shortlist", config.duration("ai.latency.shortlist"),
+                "/generate-jd", config.duration("ai.latency.generate-jd"),
+                "/schedule-interviews", config.duration("ai.latency.schedule-interviews"));
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", config.integer("ai.port")), 512);
+        // Handlers sleep to simulate model latency, so each request gets its own thread
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "stub-ai");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/health", exchange -> respond(exchange, Map.of("status", "healthy", "service", "stub-ai")));
+        server.createContext("/shortlist", exchange -> respond(exchange, shortlist(read(exchange))));
+        server.createContext("/generate-jd", exchange -> respond(exchange, generateJd(read(exchange))));
+        server.createContext("/schedule-interviews", exchange -> respond(exchange, scheduleInterviews(read(exchange))));
+    }
+
+    public void start() {
+        server.start();
+        log.info("Stub AI service listening on {} (latency {}, jitter {})", getBaseUrl(), latencies, jitter);
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Calls received per path
+     */
+    public Map<String, Long> getCalls() {
+        Map<String, Long> result = new TreeMap<>();
+        calls.forEach((path, count) -> result.put(path, count.sum()));
+        return result;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private Map<String, Object> shortlist(JsonNode request) {
+        String jobId = request.path("job_id").asText(null);
+        List<Map<String, Object>> shortlist = new ArrayList<>();
+        int rank = 0;
+        for (Scenario.Applicant applicant : scenario.applicants(jobId, shortlistSize)) {
+            double score = 95 - rank++ * 2.5;
+            Map<String, Object> candidate = new LinkedHashMap<>();
+            candidate.put("application_id", applicant.applicationId());
+            candidate.put("candidate_name", applicant.name());
+            candidate.put("email", applicant.email());
+            candidate.put("phone", applicant.phone());
+            candidate.put("final_score", score);
+            candidate.put("component_scores", Map.of(
+                    "semantic_similarity", score - 5, "skill_match", score,
+                    "experience_match", 80.0, "education_match", 75.0, "llm_score", score - 2));
+            candidate.put("skill_analysis", Map.of(
+                    "matching_skills", List.of("Java", "Spring Boot", "MongoDB"),
+                    "missing_skills", List.of("Kubernetes"),
+                    "match_percentage", score));
+            candidate.put("llm_evaluation", Map.of(
+                    "decision", "SHORTLIST",
+                    "reasoning", "Strong backend experience",
+                    "interview_recommendation", "Proceed to technical round",
+                    "key_strengths", "Java, Spring",
+                    "development_areas", "Cloud deployment"));
+            shortlist.add(candidate);
+        }
+        return Map.of("shortlist", shortlist, "count", shortlist.size());
+    }
+
+    private Map<String, Object> generateJd(JsonNode request) {
+        String role = request.path("job_role").asText("Engineer");
+        String company = request.path("company_name").asText("Company");
+        return Map.of(
+                "job_description", "About the role: " + role + " at " + company + ". "
+                        + "You will design, build and run production services. Requirements: 3+ years of "
+                        + "backend development, strong fundamentals, ownership. Benefits: remote friendly.",
+                "company_name", company,
+                "job_role", role);
+    }
+
+    private Map<String, Object> scheduleInterviews(JsonNode request) {
+        List<Map<String, Object>> interviews = new ArrayList<>();
+        int slot = 0;
+        for (JsonNode candidate : request.path("shortlist")) {
+            interviews.add(Map.of(
+                    "candidate_name", candidate.path("candidate_name").asText(""),
+                    "email", candidate.path("email").asText(""),
+                    "slot", "2030-01-01T" + String.format("%02d", 9 + slot++ % 8) + ":00:00"));
+        }
+        return Map.of("interviews", interviews, "job_role", request.path("job_role").asText(""));
+    }
+
+    private JsonNode read(HttpExchange exchange) throws IOException {
+        calls.computeIfAbsent(exchange.getHttpContext().getPath(), p -> new LongAdder()).increment();
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readAllBytes();
+            return body.length > 0 ? scenario.getMapper().readTree(body) : scenario.getMapper().createObjectNode();
+        }
+    }
+
+    private void respond(HttpExchange exchange, Map<String, Object> body) throws IOException {
+        Duration latency = latencies.get(exchange.getHttpContext().getPath());
+        if (latency != null && !latency.isZero()) {
+            double factor = 1 + jitter * (ThreadLocalRandom.current().nextDouble() * 2 - 1);
+            try {
+                Thread.sleep((long) (latency.toMillis() * factor));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] bytes = scenario.getMapper().writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
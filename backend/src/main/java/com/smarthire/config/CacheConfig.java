@@ -0,0 +1,37 @@
+package com.smarthire.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Per-job interview funnel, evicted whenever an interview of that job changes
+     */
+    public static final String INTERVIEW_PIPELINE_CACHE = "interviewPipeline";
+
+    /**
+     * Caffeine caches with fixed names; the TTL bounds how long changes made on other instances stay invisible
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${interview-pipeline-cache.max-jobs:2000}") long maxPipelines,
+                                     @Value("${interview-pipeline-cache.ttl-ms:300000}") long pipelineTtlMs) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of()); // No unbounded caches created on demand
+        cacheManager.registerCustomCache(INTERVIEW_PIPELINE_CACHE, Caffeine.newBuilder()
+            .maximumSize(maxPipelines)
+            .expireAfterWrite(Duration.ofMillis(pipelineTtlMs))
+            .build());
+        return cacheManager;
+    }
+}
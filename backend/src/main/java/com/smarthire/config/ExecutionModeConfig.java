@@ -0,0 +1,39 @@
+package com.smarthire.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * ExecutionModeConfig - Reports which kind of thread serves requests.
+ *
+ * spring.threads.virtual.enabled (VIRTUAL_THREADS_ENABLED) moves Tomcat request handling,
+ * @Scheduled jobs and Spring's async executor onto virtual threads, so a request blocked on
+ * MongoDB or the AI service no longer holds one of a few hundred platform threads. Spring Boot
+ * only honours it on Java 21+, so asking for it on an older runtime is logged as a warning.
+ */
+@Configuration
+@Slf4j
+public class ExecutionModeConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logExecutionMode(ApplicationReadyEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        int javaVersion = Runtime.version().feature();
+
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("🧵 Requests run on virtual threads (Java {})", javaVersion);
+        } else if (virtualThreadsRequested) {
+            log.warn("⚠️ Virtual threads need Java 21+, running on Java {}: requests stay on platform threads", javaVersion);
+        } else {
+            log.info("🧵 Requests run on platform threads (Java {})", javaVersion);
+        }
+    }
+}
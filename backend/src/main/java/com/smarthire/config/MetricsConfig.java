@@ -0,0 +1,56 @@
+package com.smarthire.config;
+
+import com.smarthire.event.DomainEventBus;
+import com.smarthire.event.DomainEventOutbox;
+import com.smarthire.service.pdf.OfferLetterPdfService;
+import com.smarthire.service.webhook.WebhookDispatcher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Depth of the in-process work queues, and of the durable event outbox and webhook delivery queue (as of their last poll)
+     */
+    @Bean
+    public MeterBinder queueDepthMetrics(DomainEventBus eventBus, DomainEventOutbox eventOutbox,
+                                         OfferLetterPdfService offerLetterPdfService,
+                                         WebhookDispatcher webhookDispatcher) {
+        return registry -> {
+            Gauge.builder("smarthire.queue.depth", eventBus, DomainEventBus::getPendingEvents)
+                .description("Items waiting in an in-process work queue")
+                .tag("queue", "domain-events")
+                .register(registry);
+            Gauge.builder("smarthire.queue.depth", eventOutbox, DomainEventOutbox::getPendingEvents)
+                .description("Items waiting in an in-process work queue")
+                .tag("queue", "domain-events-outbox")
+                .register(registry);
+            Gauge.builder("smarthire.queue.depth", offerLetterPdfService, OfferLetterPdfService::getQueueDepth)
+                .description("Items waiting in an in-process work queue")
+                .tag("queue", "offer-letter-pdf")
+                .register(registry);
+            Gauge.builder("smarthire.queue.depth", webhookDispatcher, WebhookDispatcher::getPendingDeliveries)
+                .description("Items waiting in an in-process work queue")
+                .tag("queue", "webhook-deliveries")
+                .register(registry);
+        };
+    }
+
+    /**
+     * Hard ceiling on job/tenant tag values ("other" and "none" included) in case a caller bypasses AppMetrics
+     */
+    @Bean
+    public MeterFilter boundedJobTags(@Value("${metrics.max-job-tags:100}") int maxJobTags) {
+        return MeterFilter.maximumAllowableTags("smarthire.operation", "job", maxJobTags + 2, MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter boundedTenantTags(@Value("${metrics.max-tenant-tags:50}") int maxTenantTags) {
+        return MeterFilter.maximumAllowableTags("smarthire.operation", "tenant", maxTenantTags + 2, MeterFilter.deny());
+    }
+}
@@ -4,6 +4,12 @@ import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsCommandListener;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,6 +23,7 @@ import java.security.cert.X509Certificate;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
+@Slf4j
 public class MongoClientConfig extends AbstractMongoClientConfiguration {
 
     @Value("${spring.data.mongodb.uri}")
@@ -25,6 +32,9 @@ public class MongoClientConfig extends AbstractMongoClientConfiguration {
     @Value("${spring.data.mongodb.database}")
     private String databaseName;
 
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
     @SuppressWarnings("null")
     @Override
     protected String getDatabaseName() {
@@ -35,54 +45,70 @@ public class MongoClientConfig extends AbstractMongoClientConfiguration {
     @Override
     public MongoClient mongoClient() {
         try {
-            // Create trust manager that accepts all certificates (for development only!)
-            TrustManager[] trustAllCerts = new TrustManager[]{
-                new X509TrustManager() {
-                    public X509Certificate[] getAcceptedIssuers() {
-                        return new X509Certificate[0];
-                    }
-                    public void checkClientTrusted(X509Certificate[] certs, String authType) {}
-                    public void checkServerTrusted(X509Certificate[] certs, String authType) {}
-                }
-            };
+            MongoClientSettings settings = clientSettings();
 
-            SSLContext sslContext = SSLContext.getInstance("TLS");
-            sslContext.init(null, trustAllCerts, new java.security.SecureRandom());
-
-            ConnectionString connectionString = new ConnectionString(mongoUri);
-            
-            MongoClientSettings settings = MongoClientSettings.builder()
-                    .applyConnectionString(connectionString)
-                    .applyToSslSettings(builder -> {
-                        builder.enabled(true);
-                        builder.invalidHostNameAllowed(true);
-                        builder.context(sslContext);
-                    })
-                    .applyToConnectionPoolSettings(builder -> 
-                        builder.maxConnectionIdleTime(60000, TimeUnit.MILLISECONDS)
-                               .maxSize(50)
-                               .minSize(5)
-                    )
-                    .applyToSocketSettings(builder -> 
-                        builder.connectTimeout(30000, TimeUnit.MILLISECONDS)
-                               .readTimeout(30000, TimeUnit.MILLISECONDS)
-                    )
-                    .applyToClusterSettings(builder ->
-                        builder.serverSelectionTimeout(30000, TimeUnit.MILLISECONDS)
-                    )
-                    .build();
-
-            System.out.println("✅ MongoClient configured with custom SSL settings");
+            log.info("✅ MongoClient configured with custom SSL settings");
             return MongoClients.create(settings);
             
         } catch (Exception e) {
-            System.err.println("❌ Failed to configure MongoDB client: " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ Failed to configure MongoDB client, falling back to defaults: ", e);
             // Fallback to default configuration
             return MongoClients.create(mongoUri);
         }
     }
 
+    /**
+     * Connection, SSL, pool and metrics settings shared by the blocking and reactive clients
+     */
+    public MongoClientSettings clientSettings() throws Exception {
+        // Create trust manager that accepts all certificates (for development only!)
+        TrustManager[] trustAllCerts = new TrustManager[]{
+            new X509TrustManager() {
+                public X509Certificate[] getAcceptedIssuers() {
+                    return new X509Certificate[0];
+                }
+                public void checkClientTrusted(X509Certificate[] certs, String authType) {}
+                public void checkServerTrusted(X509Certificate[] certs, String authType) {}
+            }
+        };
+
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, trustAllCerts, new java.security.SecureRandom());
+
+        ConnectionString connectionString = new ConnectionString(mongoUri);
+        
+        MongoClientSettings.Builder settingsBuilder = MongoClientSettings.builder()
+                .applyConnectionString(connectionString)
+                .applyToSslSettings(builder -> {
+                    // TLS stays on unless the URI explicitly sets tls=false (local mongod)
+                    builder.enabled(!Boolean.FALSE.equals(connectionString.getSslEnabled()));
+                    builder.invalidHostNameAllowed(true);
+                    builder.context(sslContext);
+                })
+                .applyToConnectionPoolSettings(builder -> 
+                    builder.maxConnectionIdleTime(60000, TimeUnit.MILLISECONDS)
+                           .maxSize(50)
+                           .minSize(5)
+                )
+                .applyToSocketSettings(builder -> 
+                    builder.connectTimeout(30000, TimeUnit.MILLISECONDS)
+                           .readTimeout(30000, TimeUnit.MILLISECONDS)
+                )
+                .applyToClusterSettings(builder ->
+                    builder.serverSelectionTimeout(30000, TimeUnit.MILLISECONDS)
+                );
+
+        // Command latency by collection/command and pool usage (mongodb.driver.* meters)
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            settingsBuilder.addCommandListener(new MongoMetricsCommandListener(registry))
+                    .applyToConnectionPoolSettings(pool ->
+                        pool.addConnectionPoolListener(new MongoMetricsConnectionPoolListener(registry)));
+        }
+
+        return settingsBuilder.build();
+    }
+
     @SuppressWarnings("null")
     @Bean
     public MongoTemplate mongoTemplate() {
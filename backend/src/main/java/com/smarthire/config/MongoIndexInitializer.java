@@ -0,0 +1,267 @@
+package com.smarthire.config;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import com.smarthire.model.ParkedDomainEvent;
+import com.smarthire.model.ShortlistedCandidate;
+import com.smarthire.model.WebhookDelivery;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * MongoIndexInitializer - Creates the @CompoundIndex/@Indexed definitions of every @Document at startup
+ * and checks with explain() that each repository finder is served by an index.
+ *
+ * AbstractMongoClientConfiguration (see MongoClientConfig) turns Spring Data's automatic index
+ * creation off, so spring.data.mongodb.auto-index-creation is honoured here instead. The finder
+ * queries are derived from the repository interfaces (RepositoryFinderProbes), plus the MongoTemplate
+ * queries listed in templateProbes. A query whose winning plan contains a COLLSCAN fails startup
+ * (mongo-indexes.fail-on-collscan, on by default) or is logged. Servers without explain() skip the check.
+ */
+@Component
+@Slf4j
+public class MongoIndexInitializer {
+
+    private static final String MODEL_PACKAGE = "com.smarthire.model";
+
+    /**
+     * Mapped filter and sort of one finder, explained against its collection
+     */
+    record IndexProbe(String finder, String collection, Document filter, Document sort) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean createIndexes;
+    private final boolean verify;
+    private final boolean failOnCollscan;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate,
+                                 @Value("${spring.data.mongodb.auto-index-creation:true}") boolean createIndexes,
+                                 @Value("${mongo-indexes.verify:true}") boolean verify,
+                                 @Value("${mongo-indexes.fail-on-collscan:true}") boolean failOnCollscan) {
+        this.mongoTemplate = mongoTemplate;
+        this.createIndexes = createIndexes;
+        this.verify = verify;
+        this.failOnCollscan = failOnCollscan;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (createIndexes) {
+            createIndexes();
+        }
+        if (verify) {
+            verifyFinders();
+        }
+    }
+
+    void createIndexes() {
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        int created = 0;
+        int failed = 0;
+
+        for (Class<?> entityType : documentTypes()) {
+            IndexOperations indexOps = mongoTemplate.indexOps(entityType);
+            for (IndexDefinition definition : resolver.resolveIndexFor(entityType)) {
+                try {
+                    indexOps.createIndex(definition);
+                    created++;
+                } catch (Exception e) {
+                    if (isOptionsConflict(e) && replaceIndex(entityType, definition)) {
+                        created++;
+                        continue;
+                    }
+                    // Usually an existing index with the same keys under another name, or duplicate data for a unique one
+                    failed++;
+                    log.warn("⚠️ Could not create index {} on {}: {}",
+                        definition.getIndexKeys().toJson(), entityType.getSimpleName(), e.getMessage());
+                }
+            }
+        }
+        log.info("✅ MongoDB indexes ensured: {} ok, {} failed", created, failed);
+    }
+
+    // IndexOptionsConflict / IndexKeySpecsConflict: same keys or name, other options (e.g. now unique)
+    private static boolean isOptionsConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoCommandException command) {
+                return command.getErrorCode() == 85 || command.getErrorCode() == 86;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Swap an existing index for a definition whose options changed, e.g. a lookup index that became
+     * unique. If the new one cannot be built (duplicate values), the old one is put back as it was.
+     */
+    private boolean replaceIndex(Class<?> entityType, IndexDefinition definition) {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityType));
+        Document keys = definition.getIndexKeys();
+        Object name = definition.getIndexOptions().get("name");
+        Document existing = null;
+        for (Document index : collection.listIndexes()) {
+            if (keys.equals(index.get("key")) || (name != null && name.equals(index.get("name")))) {
+                existing = index;
+                break;
+            }
+        }
+        if (existing == null) {
+            return false;
+        }
+
+        collection.dropIndex(existing.getString("name"));
+        try {
+            mongoTemplate.indexOps(entityType).createIndex(definition);
+            log.info("✅ Replaced index {} on {} with {}", existing.getString("name"), entityType.getSimpleName(),
+                definition.getIndexOptions().toJson());
+            return true;
+        } catch (Exception e) {
+            collection.createIndex(existing.get("key", Document.class), new IndexOptions()
+                .name(existing.getString("name"))
+                .unique(existing.getBoolean("unique", false))
+                .sparse(existing.getBoolean("sparse", false)));
+            log.error("❌ Could not replace index {} on {}, kept the old one: {}",
+                existing.getString("name"), entityType.getSimpleName(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Every finder and template query to check, in a stable order
+     */
+    List<IndexProbe> probes() {
+        RepositoryFinderProbes.Result derived = RepositoryFinderProbes.derive(mongoTemplate);
+        derived.skipped().forEach(skipped ->
+            log.warn("⚠️ Index check cannot derive {}: {}", skipped.finder(), skipped.reason()));
+        List<IndexProbe> probes = new ArrayList<>(derived.probes());
+        probes.addAll(templateProbes(mongoTemplate));
+        return probes;
+    }
+
+    private void verifyFinders() {
+        List<IndexProbe> probes = probes();
+        List<String> collscans = new ArrayList<>();
+        int verified = 0;
+
+        for (IndexProbe probe : probes) {
+            Set<String> stages;
+            try {
+                stages = winningPlanStages(probe);
+            } catch (Exception e) {
+                log.warn("⚠️ Index check skipped, explain() not available: {}", e.getMessage());
+                return;
+            }
+            if (!usesIndex(stages)) {
+                collscans.add(probe.finder());
+                log.warn("⚠️ {} is not served by an index (plan stages {})", probe.finder(), stages);
+            } else {
+                verified++;
+                log.debug("{} uses an index (plan stages {})", probe.finder(), stages);
+            }
+        }
+
+        if (collscans.isEmpty()) {
+            log.info("✅ All {} repository finders use an index scan", verified);
+            return;
+        }
+        if (failOnCollscan) {
+            throw new IllegalStateException("Repository finders without a usable index: " + collscans);
+        }
+        log.warn("⚠️ {} of {} repository finders fall back to a collection scan", collscans.size(), probes.size());
+    }
+
+    /**
+     * An index scan and no collection scan; EOF alone is a collection that does not exist yet
+     */
+    static boolean usesIndex(Set<String> stages) {
+        if (stages.equals(Set.of("EOF"))) {
+            return true;
+        }
+        return !stages.contains("COLLSCAN") && stages.stream().anyMatch(stage -> stage.contains("IXSCAN"));
+    }
+
+    Set<String> winningPlanStages(IndexProbe probe) {
+        Document find = new Document("find", probe.collection())
+            .append("filter", probe.filter());
+        if (!probe.sort().isEmpty()) {
+            find.append("sort", probe.sort());
+        }
+        Document explain = mongoTemplate.getDb().runCommand(
+            new Document("explain", find).append("verbosity", "queryPlanner"));
+
+        Document queryPlanner = explain.get("queryPlanner", Document.class);
+        Set<String> stages = new LinkedHashSet<>();
+        collectStages(queryPlanner.get("winningPlan"), stages);
+        return stages;
+    }
+
+    // Stage names of the whole plan tree (inputStage, inputStages, and queryPlan on the SBE engine)
+    private void collectStages(Object node, Set<String> stages) {
+        if (node instanceof Document document) {
+            Object stage = document.get("stage");
+            if (stage instanceof String name) {
+                stages.add(name);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+
+    static List<Class<?>> documentTypes() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(org.springframework.data.mongodb.core.mapping.Document.class));
+
+        List<Class<?>> types = new ArrayList<>();
+        scanner.findCandidateComponents(MODEL_PACKAGE).forEach(candidate -> {
+            try {
+                types.add(Class.forName(candidate.getBeanClassName()));
+            } catch (ClassNotFoundException e) {
+                log.warn("⚠️ Could not load document class {}", candidate.getBeanClassName());
+            }
+        });
+        return types;
+    }
+
+    // Queries built with MongoTemplate rather than a repository finder, so they are listed by hand
+    private static List<IndexProbe> templateProbes(MongoTemplate mongoTemplate) {
+        Date now = new Date();
+        return List.of(
+            // WebhookDispatcher (due deliveries of one subscriber, oldest first)
+            new IndexProbe("WebhookDispatcher.claim", mongoTemplate.getCollectionName(WebhookDelivery.class),
+                new Document("status", "PENDING").append("subscriber", "default")
+                    .append("nextAttemptAt", new Document("$lte", now)),
+                new Document("nextAttemptAt", 1)),
+            // DomainEventOutbox (due parked events, then every parked event of their aggregates)
+            new IndexProbe("DomainEventOutbox.redeliver", mongoTemplate.getCollectionName(ParkedDomainEvent.class),
+                new Document("status", "PENDING").append("nextAttemptAt", new Document("$lte", now)),
+                new Document("nextAttemptAt", 1)),
+            new IndexProbe("DomainEventOutbox.pendingAggregates", mongoTemplate.getCollectionName(ParkedDomainEvent.class),
+                new Document("aggregateId", new Document("$in", List.of("placeholder"))).append("status", "PENDING"),
+                new Document()),
+            // OfferLetterService (one keyset page of candidates awaiting an offer letter)
+            new IndexProbe("OfferLetterService.findEligibleCandidates", mongoTemplate.getCollectionName(ShortlistedCandidate.class),
+                new Document("offerPending", true).append("_id", new Document("$gt", new ObjectId())),
+                new Document("_id", 1))
+        );
+    }
+}
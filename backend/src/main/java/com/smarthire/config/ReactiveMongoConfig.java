@@ -0,0 +1,41 @@
+package com.smarthire.config;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+/**
+ * ReactiveMongoConfig - Non-blocking MongoDB client for the streaming read endpoints.
+ *
+ * Uses the same SSL, pool and metrics settings as the blocking client. Spring Boot picks up
+ * interfaces extending ReactiveMongoRepository as reactive repositories next to the blocking ones.
+ */
+@Configuration
+@Slf4j
+public class ReactiveMongoConfig {
+
+    @Value("${spring.data.mongodb.uri}")
+    private String mongoUri;
+
+    @Value("${spring.data.mongodb.database}")
+    private String databaseName;
+
+    @Bean
+    public MongoClient reactiveMongoClient(MongoClientConfig mongoClientConfig) {
+        try {
+            return MongoClients.create(mongoClientConfig.clientSettings());
+        } catch (Exception e) {
+            log.error("❌ Failed to configure reactive MongoDB client, falling back to defaults: ", e);
+            return MongoClients.create(mongoUri);
+        }
+    }
+
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(MongoClient reactiveMongoClient) {
+        return new ReactiveMongoTemplate(reactiveMongoClient, databaseName);
+    }
+}
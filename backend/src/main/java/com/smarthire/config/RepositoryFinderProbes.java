@@ -0,0 +1,213 @@
+package com.smarthire.config;
+
+import com.smarthire.config.MongoIndexInitializer.IndexProbe;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.query.ConvertingParameterAccessor;
+import org.springframework.data.mongodb.repository.query.MongoParametersParameterAccessor;
+import org.springframework.data.mongodb.repository.query.MongoQueryMethod;
+import org.springframework.data.mongodb.repository.query.PartTreeMongoQuery;
+import org.springframework.data.mongodb.repository.query.ReactiveMongoQueryMethod;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.data.repository.core.support.AbstractRepositoryMetadata;
+import org.springframework.data.repository.query.ValueExpressionDelegate;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RepositoryFinderProbes - Derives the query shape of every repository finder for MongoIndexInitializer.
+ *
+ * Each query method declared in com.smarthire.repository goes through Spring Data's own PartTreeMongoQuery
+ * with placeholder arguments, and the resulting filter and sort are mapped the way MongoTemplate maps
+ * them, so the explained query is the one the finder sends. Finders with identical shapes (a paged
+ * overload, a count/exists variant, the same finder on two repositories) share one probe.
+ */
+@Slf4j
+final class RepositoryFinderProbes {
+
+    static final String REPOSITORY_PACKAGE = "com.smarthire.repository";
+
+    private static final String PLACEHOLDER_ID = "000000000000000000000000";
+
+    private RepositoryFinderProbes() {
+    }
+
+    /**
+     * A finder that could not be turned into a probe (e.g. an annotated query with SpEL)
+     */
+    record Skipped(String finder, String reason) {
+    }
+
+    record Result(List<IndexProbe> probes, List<Skipped> skipped) {
+    }
+
+    static Result derive(MongoTemplate mongoTemplate) {
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+        Map<List<Object>, IndexProbe> probes = new LinkedHashMap<>();
+        List<Skipped> skipped = new ArrayList<>();
+
+        for (Class<?> repository : repositoryInterfaces()) {
+            RepositoryMetadata metadata = AbstractRepositoryMetadata.getMetadata(repository);
+            MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(metadata.getDomainType());
+            String collection = entity.getCollection();
+
+            for (Method method : finderMethods(repository)) {
+                String finder = repository.getSimpleName() + "." + method.getName();
+                try {
+                    MongoQueryMethod queryMethod = ReactiveCrudRepository.class.isAssignableFrom(repository)
+                        ? new ReactiveMongoQueryMethod(method, metadata, projectionFactory, mongoTemplate.getConverter().getMappingContext())
+                        : new MongoQueryMethod(method, metadata, projectionFactory, mongoTemplate.getConverter().getMappingContext());
+                    if (queryMethod.hasAnnotatedQuery() || queryMethod.hasAnnotatedAggregation()) {
+                        skipped.add(new Skipped(finder, "annotated query, add an explicit probe"));
+                        continue;
+                    }
+
+                    Query query = new DerivedQuery(queryMethod, mongoTemplate).create(placeholderArguments(method));
+                    Document filter = queryMapper.getMappedObject(query.getQueryObject(), entity);
+                    Document sort = queryMapper.getMappedSort(query.getSortObject(), entity);
+                    probes.merge(List.of(collection, filter, sort), new IndexProbe(finder, collection, filter, sort),
+                        (existing, added) -> List.of(existing.finder().split(", ")).contains(finder) ? existing
+                            : new IndexProbe(existing.finder() + ", " + finder, collection, filter, sort));
+                } catch (RuntimeException e) {
+                    skipped.add(new Skipped(finder, e.getMessage()));
+                }
+            }
+        }
+        return new Result(new ArrayList<>(probes.values()), skipped);
+    }
+
+    static List<Class<?>> repositoryInterfaces() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(org.springframework.beans.factory.annotation.AnnotatedBeanDefinition definition) {
+                return definition.getMetadata().isInterface();
+            }
+        };
+        scanner.addIncludeFilter(new AssignableTypeFilter(Repository.class));
+
+        List<Class<?>> interfaces = new ArrayList<>();
+        for (BeanDefinition candidate : scanner.findCandidateComponents(REPOSITORY_PACKAGE)) {
+            try {
+                interfaces.add(Class.forName(candidate.getBeanClassName()));
+            } catch (ClassNotFoundException e) {
+                log.warn("⚠️ Could not load repository interface {}", candidate.getBeanClassName());
+            }
+        }
+        interfaces.sort(Comparator.comparing(Class::getSimpleName));
+        return interfaces;
+    }
+
+    // Query methods declared by our own interfaces; CRUD methods inherited from Spring Data go by _id
+    static List<Method> finderMethods(Class<?> repository) {
+        List<Method> methods = new ArrayList<>();
+        for (Method method : repository.getMethods()) {
+            if (!method.isDefault() && !Modifier.isStatic(method.getModifiers())
+                    && method.getDeclaringClass().getName().startsWith(REPOSITORY_PACKAGE)) {
+                methods.add(method);
+            }
+        }
+        methods.sort(Comparator.comparing(Method::getName).thenComparing(Method::getParameterCount));
+        return methods;
+    }
+
+    private static Object[] placeholderArguments(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Type[] genericTypes = method.getGenericParameterTypes();
+        Object[] arguments = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            arguments[i] = placeholder(types[i], genericTypes[i]);
+        }
+        return arguments;
+    }
+
+    private static Object placeholder(Class<?> type, Type genericType) {
+        if (type == String.class) {
+            return PLACEHOLDER_ID;
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            Class<?> elementType = genericType instanceof ParameterizedType parameterized
+                    && parameterized.getActualTypeArguments()[0] instanceof Class<?> element ? element : String.class;
+            return List.of(placeholder(elementType, elementType));
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.now();
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type == Date.class) {
+            return new Date();
+        }
+        if (type == Instant.class) {
+            return Instant.now();
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 20);
+        }
+        if (type == Sort.class) {
+            return Sort.unsorted();
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return false;
+        }
+        if (type == int.class || type == Integer.class) {
+            return 0;
+        }
+        if (type == long.class || type == Long.class) {
+            return 0L;
+        }
+        if (type == double.class || type == Double.class) {
+            return 0.0;
+        }
+        throw new IllegalArgumentException("No placeholder value for parameter type " + type.getName());
+    }
+
+    // Exposes the query PartTreeMongoQuery builds for a call, without executing it
+    private static final class DerivedQuery extends PartTreeMongoQuery {
+
+        private final MongoTemplate mongoTemplate;
+        private final MongoQueryMethod queryMethod;
+
+        DerivedQuery(MongoQueryMethod queryMethod, MongoTemplate mongoTemplate) {
+            super(queryMethod, mongoTemplate, ValueExpressionDelegate.create());
+            this.mongoTemplate = mongoTemplate;
+            this.queryMethod = queryMethod;
+        }
+
+        Query create(Object[] arguments) {
+            return createQuery(new ConvertingParameterAccessor(mongoTemplate.getConverter(),
+                new MongoParametersParameterAccessor(queryMethod, arguments)));
+        }
+    }
+}
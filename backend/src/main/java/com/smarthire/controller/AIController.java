@@ -1,6 +1,7 @@
 package com.smarthire.controller;
 
 import com.smarthire.service.PythonAIClient;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,24 +13,23 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/ai")
 @CrossOrigin(origins = "*")
+@Slf4j
 public class AIController {
 
     @Autowired
     private PythonAIClient pythonAIClient;
 
     /**
-     * Health check endpoint for Python AI service
+     * Health check endpoint for Python AI service (cached replica probe results, no upstream call)
      */
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> healthCheck() {
-        System.out.println("🔄 AIController: Health check requested");
         Map<String, Object> response = pythonAIClient.healthCheck();
 
         if ("healthy".equals(response.get("status")) || "ok".equals(response.get("status"))) {
-            System.out.println("✅ AIController: AI Service is healthy");
             return ResponseEntity.ok(response);
         } else {
-            System.out.println("❌ AIController: AI Service is unhealthy");
+            log.warn("❌ AI service is unhealthy: {}", response);
             return ResponseEntity.status(503).body(response);
         }
     }
@@ -39,8 +39,7 @@ public class AIController {
      */
     @PostMapping("/generate-job-description")
     public ResponseEntity<Map<String, Object>> generateJobDescription(@RequestBody Map<String, Object> jobData) {
-        System.out.println("🔄 AIController: Generate JD requested");
-        System.out.println("📦 Frontend Request Data: " + jobData);
+        log.debug("Generate JD requested: {}", jobData);
 
         Map<String, Object> response = new HashMap<>();
 
@@ -53,8 +52,6 @@ public class AIController {
             aiRequestData.put("experience_level", jobData.getOrDefault("experienceLevel", "MID"));
             aiRequestData.put("employment_type", jobData.getOrDefault("employmentType", "FULL_TIME"));
 
-            System.out.println("📤 Sending to AI Service: " + aiRequestData);
-
             Map<String, Object> aiResponse = pythonAIClient.generateJobDescription(aiRequestData);
 
             // Handle AI error
@@ -70,11 +67,11 @@ public class AIController {
             response.put("company_name", aiResponse.get("company_name"));
             response.put("job_role", aiResponse.get("job_role"));
 
-            System.out.println("✅ AIController: JD generated successfully");
+            log.info("✅ JD generated for {} at {}", aiRequestData.get("job_role"), aiRequestData.get("company_name"));
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
-            System.err.println("❌ AIController Exception: " + e.getMessage());
+            log.error("❌ JD generation failed: ", e);
             response.put("success", false);
             response.put("error", e.getMessage());
             return ResponseEntity.status(500).body(response);
@@ -195,6 +192,7 @@ public class AIController {
         Map<String, Object> response = new HashMap<>();
 
         try {
+            // Served from the replica pool's background probes
             Map<String, Object> health = pythonAIClient.healthCheck();
             boolean ok = "healthy".equals(health.get("status")) || "ok".equals(health.get("status"));
 
@@ -2,6 +2,7 @@ package com.smarthire.controller;
 
 import com.smarthire.model.JobApplication;
 import com.smarthire.service.ApplicationService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -16,6 +17,7 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api/applications")
+@Slf4j
 public class ApplicationController {
 
     @Autowired
@@ -35,9 +37,6 @@ public class ApplicationController {
             @RequestParam("resume") MultipartFile resumeFile) {
         
         try {
-            System.out.println("🎯 Received application for job: " + jobId);
-            System.out.println("📧 Email: " + candidateEmail);
-            
             JobApplication application = applicationService.submitApplication(
                 jobId, candidateName, candidateEmail, candidatePhone, coverLetter, resumeFile
             );
@@ -50,8 +49,7 @@ public class ApplicationController {
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            System.err.println("❌ Error submitting application: " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ Error submitting application for job {}: ", jobId, e);
             
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -67,20 +65,12 @@ public class ApplicationController {
     @GetMapping("/job/{jobId}")
     public ResponseEntity<List<JobApplication>> getApplicationsByJob(@PathVariable String jobId) {
         try {
-            System.out.println("📋 GET /api/applications/job/" + jobId);
             List<JobApplication> applications = applicationService.getApplicationsByJob(jobId);
-            System.out.println("✅ Found " + applications.size() + " applications");
-            
-            if (!applications.isEmpty()) {
-                System.out.println("   First application: " + applications.get(0).getCandidateName() + 
-                                 " (" + applications.get(0).getCandidateEmail() + ")");
-                System.out.println("   Status: " + applications.get(0).getStatus());
-            }
+            log.debug("Found {} applications for job {}", applications.size(), jobId);
             
             return ResponseEntity.ok(applications);
         } catch (Exception e) {
-            System.err.println("❌ Error fetching applications: " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ Error fetching applications for job {}: ", jobId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
@@ -121,7 +111,7 @@ public class ApplicationController {
                     .body(resumeData);
                     
         } catch (Exception e) {
-            System.err.println("Error downloading resume: " + e.getMessage());
+            log.error("Error downloading resume {}: {}", applicationId, e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
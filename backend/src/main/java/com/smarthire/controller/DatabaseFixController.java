@@ -1,5 +1,9 @@
 package com.smarthire.controller;
 
+import com.smarthire.service.CandidateApplicationMigration;
+import com.smarthire.service.JobApplicationMigration;
+import com.smarthire.service.OfferEligibilityMigration;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
@@ -14,11 +18,21 @@ import java.util.*;
 @RestController
 @RequestMapping("/api/fix")
 @CrossOrigin(origins = "*")
+@Slf4j
 public class DatabaseFixController {
 
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private JobApplicationMigration jobApplicationMigration;
+
+    @Autowired
+    private CandidateApplicationMigration candidateApplicationMigration;
+
+    @Autowired
+    private OfferEligibilityMigration offerEligibilityMigration;
+
     /**
      * FIX DATABASE: Change all "published" status to "OPEN"
      * Access this endpoint to fix the database issue
@@ -26,10 +40,6 @@ public class DatabaseFixController {
     @PostMapping("/database-status")
     public ResponseEntity<?> fixDatabaseStatus() {
         try {
-            System.out.println("========================================");
-            System.out.println("🔧 FIXING DATABASE STATUS VALUES");
-            System.out.println("========================================");
-
             Map<String, Object> results = new HashMap<>();
             
             // Fix 1: published -> OPEN
@@ -37,7 +47,6 @@ public class DatabaseFixController {
             Update update1 = new Update().set("status", "OPEN");
             UpdateResult result1 = mongoTemplate.updateMulti(query1, update1, "jobs");
             long count1 = result1.getModifiedCount();
-            System.out.println("✓ Changed 'published' to 'OPEN': " + count1 + " documents");
             results.put("published_to_OPEN", count1);
 
             // Fix 2: open -> OPEN
@@ -45,7 +54,6 @@ public class DatabaseFixController {
             Update update2 = new Update().set("status", "OPEN");
             UpdateResult result2 = mongoTemplate.updateMulti(query2, update2, "jobs");
             long count2 = result2.getModifiedCount();
-            System.out.println("✓ Changed 'open' to 'OPEN': " + count2 + " documents");
             results.put("open_to_OPEN", count2);
 
             // Fix 3: closed -> CLOSED
@@ -53,7 +61,6 @@ public class DatabaseFixController {
             Update update3 = new Update().set("status", "CLOSED");
             UpdateResult result3 = mongoTemplate.updateMulti(query3, update3, "jobs");
             long count3 = result3.getModifiedCount();
-            System.out.println("✓ Changed 'closed' to 'CLOSED': " + count3 + " documents");
             results.put("closed_to_CLOSED", count3);
 
             // Fix 4: draft -> DRAFT
@@ -61,16 +68,12 @@ public class DatabaseFixController {
             Update update4 = new Update().set("status", "DRAFT");
             UpdateResult result4 = mongoTemplate.updateMulti(query4, update4, "jobs");
             long count4 = result4.getModifiedCount();
-            System.out.println("✓ Changed 'draft' to 'DRAFT': " + count4 + " documents");
             results.put("draft_to_DRAFT", count4);
 
             long totalFixed = count1 + count2 + count3 + count4;
             results.put("total_fixed", totalFixed);
 
-            System.out.println("========================================");
-            System.out.println("✅ DATABASE FIX COMPLETE!");
-            System.out.println("Total documents fixed: " + totalFixed);
-            System.out.println("========================================");
+            log.info("🔧 Job status values fixed: {}", results);
 
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -80,8 +83,7 @@ public class DatabaseFixController {
             ));
 
         } catch (Exception e) {
-            System.err.println("❌ Error fixing database: " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ Error fixing database: ", e);
             return ResponseEntity.status(500).body(Map.of(
                 "success", false,
                 "error", "Failed to fix database",
@@ -90,14 +92,102 @@ public class DatabaseFixController {
         }
     }
 
+    /**
+     * FIX DATABASE: Move job applications from the job DBRef to jobId + denormalized job fields
+     * (also runs at startup, see JobApplicationMigration)
+     */
+    @PostMapping("/job-application-refs")
+    public ResponseEntity<?> migrateJobApplicationRefs() {
+        try {
+            long migrated = jobApplicationMigration.migrate();
+            if (migrated < 0) {
+                return ResponseEntity.status(409).body(Map.of(
+                    "success", false,
+                    "message", "Migration is already running on another node"
+                ));
+            }
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Job applications migrated to jobId",
+                "migrated", migrated
+            ));
+
+        } catch (Exception e) {
+            log.error("❌ Error migrating job application refs: ", e);
+            return ResponseEntity.status(500).body(Map.of(
+                "success", false,
+                "error", "Failed to migrate job applications",
+                "message", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * FIX DATABASE: Set offerPending on shortlisted candidates stored before the flag existed
+     * (also runs at startup, see OfferEligibilityMigration)
+     */
+    @PostMapping("/offer-eligibility")
+    public ResponseEntity<?> migrateOfferEligibility() {
+        try {
+            long migrated = offerEligibilityMigration.migrate();
+            if (migrated < 0) {
+                return ResponseEntity.status(409).body(Map.of(
+                    "success", false,
+                    "message", "Migration is already running on another node"
+                ));
+            }
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Offer eligibility flags set",
+                "migrated", migrated
+            ));
+
+        } catch (Exception e) {
+            log.error("❌ Error migrating offer eligibility: ", e);
+            return ResponseEntity.status(500).body(Map.of(
+                "success", false,
+                "error", "Failed to migrate offer eligibility",
+                "message", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * FIX DATABASE: Run one throttled pass of the candidate_applications -> job_applications merge now
+     * (otherwise it runs in the background, see CandidateApplicationMigration)
+     */
+    @PostMapping("/candidate-applications")
+    public ResponseEntity<?> migrateCandidateApplications() {
+        try {
+            long moved = candidateApplicationMigration.migrate();
+            if (moved < 0) {
+                return ResponseEntity.status(409).body(Map.of(
+                    "success", false,
+                    "message", "Migration is already running on another node"
+                ));
+            }
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "moved", moved,
+                "complete", candidateApplicationMigration.isComplete()
+            ));
+
+        } catch (Exception e) {
+            log.error("❌ Error migrating candidate applications: ", e);
+            return ResponseEntity.status(500).body(Map.of(
+                "success", false,
+                "error", "Failed to migrate candidate applications",
+                "message", e.getMessage()
+            ));
+        }
+    }
+
     /**
      * CHECK DATABASE: See what status values exist
      */
     @GetMapping("/check-status")
     public ResponseEntity<?> checkDatabaseStatus() {
         try {
-            System.out.println("🔍 Checking database status values...");
-            
             List<Map<String, Object>> statusCounts = mongoTemplate.getDb()
                 .getCollection("jobs")
                 .aggregate(Arrays.asList(
@@ -116,7 +206,7 @@ public class DatabaseFixController {
                 })
                 .toList();
 
-            System.out.println("Current status values: " + statusCounts);
+            log.debug("Current status values: {}", statusCounts);
 
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -124,8 +214,7 @@ public class DatabaseFixController {
             ));
 
         } catch (Exception e) {
-            System.err.println("❌ Error checking database: " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ Error checking database: ", e);
             return ResponseEntity.status(500).body(Map.of(
                 "success", false,
                 "error", e.getMessage()
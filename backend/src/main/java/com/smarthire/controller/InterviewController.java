@@ -2,6 +2,7 @@ package com.smarthire.controller;
 
 import com.smarthire.dto.BatchInterviewScheduleRequest;
 import com.smarthire.dto.InterviewFeedbackRequest;
+import com.smarthire.dto.InterviewPipelineDTO;
 import com.smarthire.dto.InterviewResponse;
 import com.smarthire.dto.ScheduleInterviewRequest;
 import com.smarthire.service.InterviewService;
@@ -68,6 +69,31 @@ public class InterviewController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Get interview funnel and score analytics for a job
+     * GET /api/interviews/job/{jobId}/pipeline
+     */
+    @GetMapping("/job/{jobId}/pipeline")
+    public ResponseEntity<?> getInterviewPipeline(@PathVariable String jobId) {
+        log.info("Fetching interview pipeline for job: {}", jobId);
+        
+        try {
+            InterviewPipelineDTO pipeline = interviewService.getInterviewPipeline(jobId);
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "pipeline", pipeline
+            ));
+        } catch (Exception e) {
+            log.error("❌ Error computing interview pipeline: ", e);
+            return ResponseEntity.status(500).body(
+                Map.of(
+                    "success", false,
+                    "message", "Error computing interview pipeline: " + e.getMessage()
+                )
+            );
+        }
+    }
+    
     /**
      * Get all interviews for a candidate
      * GET /api/interviews/candidate/{applicationId}
@@ -2,18 +2,24 @@ package com.smarthire.controller;
 
 import com.smarthire.dto.JobRequest;
 import com.smarthire.model.Job;
+import com.smarthire.service.JobListingCache;
 import com.smarthire.service.JobService;
 import com.smarthire.service.WebhookService;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.*;
 
 @RestController
 @RequestMapping("/api/jobs")
 @CrossOrigin(origins = "*")
+@Slf4j
 public class JobController {
 
     @Autowired
@@ -22,6 +28,12 @@ public class JobController {
     @Autowired
     private WebhookService webhookService;
 
+    @Autowired
+    private JsonArrayStreamer jsonArrayStreamer;
+
+    @Autowired
+    private JobListingCache jobListingCache;
+
     // =============================================================
     //  HEALTH CHECK
     // =============================================================
@@ -32,77 +44,33 @@ public class JobController {
 
     // =============================================================
     //  JOB LISTING ENDPOINTS
+    //  Open jobs come from the job board cache with a strong ETag;
+    //  a matching If-None-Match gets 304 without touching MongoDB
     // =============================================================
     @GetMapping("/list")
-    public ResponseEntity<List<Job>> getAllOpenJobs() {
+    public ResponseEntity<?> getAllOpenJobs() {
         try {
-            System.out.println("📋 GET /api/jobs/list called");
-            List<Job> jobs = jobService.getAllOpenJobs();
-            System.out.println("✅ Returning " + jobs.size() + " open jobs");
-            return ResponseEntity.ok(jobs);
+            return cachedJson(jobListingCache.getOpenJobs(jobService::getAllOpenJobs));
         } catch (Exception e) {
-            System.err.println("❌ Error in /list: " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ Error in /list: ", e);
             return ResponseEntity.status(500).body(new ArrayList<>());
         }
     }
 
     @GetMapping("/public")
-    public ResponseEntity<List<Job>> getPublicJobs() {
+    public ResponseEntity<?> getPublicJobs() {
         try {
-            System.out.println("📋 GET /api/jobs/public called");
-            List<Job> jobs = jobService.getAllOpenJobs();
-            System.out.println("✅ Returning " + jobs.size() + " public jobs");
-            return ResponseEntity.ok(jobs);
+            return cachedJson(jobListingCache.getOpenJobs(jobService::getAllOpenJobs));
         } catch (Exception e) {
-            System.err.println("❌ Error in /public: " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ Error in /public: ", e);
             return ResponseEntity.status(500).body(new ArrayList<>());
         }
     }
 
+    // All jobs including closed ones, streamed from a reactive MongoDB cursor
     @GetMapping("/all")
-    public ResponseEntity<?> getAllJobs() {
-        try {
-            System.out.println("========================================");
-            System.out.println("📋 GET /api/jobs/all called");
-            System.out.println("========================================");
-            
-            List<Job> jobs = jobService.getAllJobs();
-            
-            System.out.println("✅ Retrieved " + jobs.size() + " jobs from database");
-            
-            // Log first few jobs for debugging
-            for (int i = 0; i < Math.min(3, jobs.size()); i++) {
-                Job job = jobs.get(i);
-                System.out.println("   Job " + (i+1) + ":");
-                System.out.println("     ID: " + job.getId());
-                System.out.println("     Title: " + job.getTitle());
-                System.out.println("     Company: " + job.getCompany());
-                System.out.println("     Status: " + job.getStatus());
-                System.out.println("     Applications: " + job.getApplicationCount());
-            }
-            
-            System.out.println("========================================");
-            return ResponseEntity.ok(jobs);
-            
-        } catch (Exception e) {
-            System.err.println("========================================");
-            System.err.println("❌ ERROR in /api/jobs/all");
-            System.err.println("Error Type: " + e.getClass().getName());
-            System.err.println("Error Message: " + e.getMessage());
-            System.err.println("========================================");
-            e.printStackTrace();
-            
-            // Return error response with details
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("error", "Failed to retrieve jobs");
-            errorResponse.put("message", e.getMessage());
-            errorResponse.put("type", e.getClass().getSimpleName());
-            
-            return ResponseEntity.status(500).body(errorResponse);
-        }
+    public ResponseEntity<ResponseBodyEmitter> getAllJobs() {
+        return jsonArrayStreamer.stream("/api/jobs/all", jobService.streamAllJobs());
     }
 
     // =============================================================
@@ -111,12 +79,9 @@ public class JobController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getJobById(@PathVariable String id) {
         try {
-            System.out.println("🔍 GET /api/jobs/" + id + " called");
-            Job job = jobService.getJobById(id);
-            System.out.println("✅ Job found: " + job.getTitle());
-            return ResponseEntity.ok(job);
+            return cachedJson(jobListingCache.getJob(id, () -> jobService.getJobById(id)));
         } catch (Exception e) {
-            System.err.println("❌ Error getting job " + id + ": " + e.getMessage());
+            log.warn("Job {} not found: {}", id, e.getMessage());
             return ResponseEntity.status(404).body(
                 Map.of("error", "Job not found", "id", id, "message", e.getMessage())
             );
@@ -132,30 +97,16 @@ public class JobController {
             @RequestBody Map<String, Object> settings) {
 
         try {
-            System.out.println("⚙️ PATCH /api/jobs/" + id + "/settings called");
-            Job job = jobService.getJobById(id);
-
-            if (settings.containsKey("maxCandidates")) {
-                Integer max = (Integer) settings.get("maxCandidates");
-                job.setMaxCandidates(max);
-                System.out.println("   Updated maxCandidates: " + max);
-            }
+            Integer max = (Integer) settings.get("maxCandidates");
+            Integer count = (Integer) settings.get("applicationCount");
 
-            if (settings.containsKey("applicationCount")) {
-                Integer count = (Integer) settings.get("applicationCount");
-                job.setApplicationCount(count);
-                System.out.println("   Updated applicationCount: " + count);
-            }
-
-            job.onUpdate();
-            Job updated = jobService.updateJobSettings(job);
+            Job updated = jobService.updateJobSettings(id, max, count);
             
-            System.out.println("✅ Job settings updated successfully");
+            log.info("⚙️ Job {} settings updated: {}", id, settings);
             return ResponseEntity.ok(updated);
 
         } catch (Exception e) {
-            System.err.println("❌ Error updating settings: " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ Error updating settings of job {}: ", id, e);
             return ResponseEntity.status(500).body(
                 Map.of("message", "Failed to update settings", "error", e.getMessage())
             );
@@ -163,59 +114,47 @@ public class JobController {
     }
 
     // =============================================================
-    //  SEND JOB TO WEBHOOK.SITE (ONLY POST POINT)
+    //  QUEUE JOB FOR THE WEBHOOK SUBSCRIBERS (ONLY POST POINT)
     // =============================================================
     @PostMapping("/{id}/webhook")
     public ResponseEntity<?> postJobToWebhook(@PathVariable String id) {
 
         try {
-            System.out.println("========================================");
-            System.out.println("📤 POST /api/jobs/" + id + "/webhook called");
-            System.out.println("========================================");
-            
             Job job = jobService.getJobById(id);
-            System.out.println("✅ Job found: " + job.getTitle());
             
-            System.out.println("📤 Posting job to webhook.site...");
+            log.info("📤 Queueing job {} ({}) for webhook delivery", id, job.getTitle());
             Map<String, Object> webhookResult = webhookService.postJobToWebhook(job);
 
             boolean success = (boolean) webhookResult.getOrDefault("success", false);
 
             if (success) {
-                System.out.println("✅ Webhook posting successful");
-                System.out.println("========================================");
-
                 return ResponseEntity.ok(
                     Map.of(
                         "success", true,
-                        "message", "Job posted to webhook successfully",
-                        "jobId", id
+                        "message", "Job queued for webhook delivery",
+                        "jobId", id,
+                        "deliveryIds", webhookResult.get("deliveryIds")
                     )
                 );
             } else {
-                System.out.println("⚠️ Webhook acknowledged but response was not success");
-                System.out.println("========================================");
+                log.warn("⚠️ No webhook subscriber takes JOB_POSTED, job {} not queued", id);
 
                 return ResponseEntity.ok(
                     Map.of(
                         "success", false,
-                        "message", "Webhook responded but failed to accept job",
+                        "message", "No webhook subscriber is configured for job posts",
                         "jobId", id
                     )
                 );
             }
 
         } catch (Exception e) {
-            System.err.println("========================================");
-            System.err.println("❌ Error posting to webhook");
-            System.err.println("Error: " + e.getMessage());
-            System.err.println("========================================");
-            e.printStackTrace();
+            log.error("❌ Error posting job {} to webhook: ", id, e);
 
             return ResponseEntity.status(500).body(
                 Map.of(
                     "success", false,
-                    "message", "Failed to post to webhook",
+                    "message", "Failed to queue webhook",
                     "error", e.getMessage()
                 )
             );
@@ -229,15 +168,9 @@ public class JobController {
     public ResponseEntity<?> closeJobFromPortal(@PathVariable String id) {
 
         try {
-            System.out.println("🔒 PATCH /api/jobs/" + id + "/close called");
-            Job job = jobService.getJobById(id);
-
-            job.setStatus(Job.JobStatus.CLOSED);
-            job.onUpdate();
-
-            jobService.updateJobSettings(job);
+            jobService.closeJob(id);
             
-            System.out.println("✅ Job closed successfully");
+            log.info("🔒 Job {} closed", id);
 
             return ResponseEntity.ok(
                 Map.of(
@@ -248,8 +181,7 @@ public class JobController {
             );
 
         } catch (Exception e) {
-            System.err.println("❌ Error closing job: " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ Error closing job {}: ", id, e);
             return ResponseEntity.status(500).body(
                 Map.of("message", "Failed to close job", "error", e.getMessage())
             );
@@ -262,34 +194,32 @@ public class JobController {
     @PostMapping
     public ResponseEntity<?> createJobPublic(@RequestBody JobRequest request) {
         try {
-            System.out.println("========================================");
-            System.out.println("📝 POST /api/jobs called (public job creation)");
-            System.out.println("   Title: " + request.getTitle());
-            System.out.println("   Company: " + request.getCompany());
-            System.out.println("========================================");
-
             String testEmail = "test@employer.com";
 
             Job job = jobService.createJobWithoutAuth(request, testEmail);
             
-            System.out.println("✅ Job created successfully!");
-            System.out.println("   Job ID: " + job.getId());
-            System.out.println("========================================");
+            log.info("📝 Job {} created: '{}' at {}", job.getId(), request.getTitle(), request.getCompany());
 
             return ResponseEntity.ok(job);
 
         } catch (RuntimeException e) {
-            System.err.println("❌ Job creation failed (RuntimeException): " + e.getMessage());
-            e.printStackTrace();
+            log.warn("❌ Job creation failed: {}", e.getMessage());
             return ResponseEntity.badRequest().body(
                 Map.of("message", e.getMessage())
             );
         } catch (Exception e) {
-            System.err.println("❌ Job creation failed (Exception): " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ Job creation failed: ", e);
             return ResponseEntity.status(500).body(
                 Map.of("message", "Internal server error", "error", e.getMessage())
             );
         }
     }
-}
+
+    private ResponseEntity<byte[]> cachedJson(JobListingCache.CachedJson cached) {
+        return ResponseEntity.ok()
+            .eTag(cached.etag())
+            .cacheControl(CacheControl.noCache())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(cached.body());
+    }
+}
\ No newline at end of file
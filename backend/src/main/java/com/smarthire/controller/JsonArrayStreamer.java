@@ -0,0 +1,117 @@
+package com.smarthire.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * JsonArrayStreamer - Writes a Flux to the HTTP response as a JSON array, chunk by chunk.
+ *
+ * The servlet thread is released as soon as the query is started. The next chunk is only
+ * requested from MongoDB once the previous one has been written to the client, so a slow
+ * client slows the cursor down instead of piling documents up in memory. Writes run on the
+ * bounded elastic scheduler so a blocked socket never stalls the MongoDB driver's threads.
+ */
+@Component
+@Slf4j
+public class JsonArrayStreamer {
+
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final long timeoutMs;
+    private final Scheduler writeScheduler = Schedulers.boundedElastic();
+
+    public JsonArrayStreamer(ObjectMapper objectMapper,
+                             @Value("${jobs.listing.stream-chunk-size:50}") int chunkSize,
+                             @Value("${jobs.listing.stream-timeout-ms:30000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Stream the items as a JSON array; the response is already committed (200) when the
+     * first chunk goes out, so a later failure aborts the response instead of changing its status
+     */
+    public ResponseEntity<ResponseBodyEmitter> stream(String label, Flux<?> items) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMs);
+        ChunkWriter writer = new ChunkWriter(label, emitter);
+
+        emitter.onTimeout(writer::dispose);
+        emitter.onError(e -> writer.dispose());
+        emitter.onCompletion(writer::dispose);
+
+        items.buffer(chunkSize)
+            .publishOn(writeScheduler, 1)
+            .subscribe(writer);
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(emitter);
+    }
+
+    private class ChunkWriter extends BaseSubscriber<List<?>> {
+
+        private final String label;
+        private final ResponseBodyEmitter emitter;
+        private long count;
+
+        ChunkWriter(String label, ResponseBodyEmitter emitter) {
+            this.label = label;
+            this.emitter = emitter;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            request(1);
+        }
+
+        @Override
+        protected void hookOnNext(List<?> chunk) {
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(chunk.size() * 512);
+                for (Object item : chunk) {
+                    out.write(count++ == 0 ? '[' : ',');
+                    objectMapper.writeValue(out, item);
+                }
+                emitter.send(out.toByteArray(), MediaType.APPLICATION_JSON);
+                request(1);
+            } catch (IOException e) {
+                // Client went away; stop reading from MongoDB
+                log.debug("Stopped streaming {} after {} items: {}", label, count, e.getMessage());
+                cancel();
+                emitter.completeWithError(e);
+            }
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            try {
+                emitter.send(count == 0 ? "[]".getBytes() : "]".getBytes(), MediaType.APPLICATION_JSON);
+                emitter.complete();
+                log.debug("Streamed {} items for {}", count, label);
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        }
+
+        @Override
+        protected void hookOnError(Throwable e) {
+            log.error("❌ Error in {} after {} items: ", label, count, e);
+            emitter.completeWithError(e);
+        }
+    }
+}
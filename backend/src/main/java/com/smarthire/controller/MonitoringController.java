@@ -1,16 +1,16 @@
 package com.smarthire.controller;
 
 import com.smarthire.model.Job;
-import com.smarthire.model.JobApplication;
 import com.smarthire.service.JobService;
+import com.smarthire.service.ai.AiReplicaPool;
+import com.smarthire.service.monitoring.ApplicationCountReconciler;
+import com.smarthire.service.monitoring.JobAutoCloseService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,6 +19,7 @@ import java.util.Map;
  */
 @RestController
 @RequestMapping("/api/monitoring")
+@Slf4j
 public class MonitoringController {
 
     @Autowired
@@ -27,8 +28,14 @@ public class MonitoringController {
     @Autowired
     private com.smarthire.repository.JobApplicationRepository applicationRepository;
     
-    @Value("${ai.service.url:http://localhost:5001}")
-    private String aiServiceUrl;
+    @Autowired
+    private JobAutoCloseService jobAutoCloseService;
+    
+    @Autowired
+    private ApplicationCountReconciler applicationCountReconciler;
+    
+    @Autowired
+    private AiReplicaPool aiReplicaPool;
     
     private static final int MINIMUM_CANDIDATES = 3; // AI threshold: len(resumes) >= 3
     
@@ -40,9 +47,7 @@ public class MonitoringController {
     public ResponseEntity<?> monitorJob(@PathVariable String jobId) {
         try {
             Job job = jobService.getJobById(jobId);
-            List<JobApplication> applications = applicationRepository.findByJob(job);
-            
-            int applicationCount = applications.size();
+            int applicationCount = (int) applicationRepository.countByJobId(jobId);
             boolean enoughApplications = applicationCount >= MINIMUM_CANDIDATES;
             
             Map<String, Object> response = new HashMap<>();
@@ -54,16 +59,8 @@ public class MonitoringController {
             response.put("jobStatus", job.getStatus().toString());
             
             // Auto-close job if enough applications and still open
-            boolean autoClosedJob = false;
-            if (enoughApplications && job.getStatus() == Job.JobStatus.OPEN) {
-                job.setStatus(Job.JobStatus.CLOSED);
-                job.onUpdate();
-                jobService.updateJobSettings(job);
-                autoClosedJob = true;
-                
-                System.out.println("🔒 AUTO-CLOSED Job: " + job.getTitle() + 
-                                 " (Received " + applicationCount + " applications)");
-            }
+            boolean autoClosedJob = applicationCount >= jobAutoCloseService.thresholdFor(job)
+                    && jobAutoCloseService.closeIfOpen(job.getId(), job.getTitle(), applicationCount);
             
             response.put("autoClosedJob", autoClosedJob);
             
@@ -77,7 +74,7 @@ public class MonitoringController {
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("❌ Error monitoring job: " + e.getMessage());
+            log.error("❌ Error monitoring job: {}", e.getMessage());
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
             return ResponseEntity.status(500).body(error);
@@ -86,35 +83,21 @@ public class MonitoringController {
     
     /**
      * Check all active jobs and auto-close those with enough applications
-     * This endpoint can be called periodically or on-demand
+     * Jobs normally close as their applications arrive; this runs the same reconciler as the
+     * periodic sweep (indexed counts, guarded close) on demand
      */
     @PostMapping("/check-all")
     public ResponseEntity<?> checkAllJobs() {
         try {
-            List<Job> openJobs = jobService.getAllOpenJobs();
-            int jobsClosed = 0;
-            Map<String, Integer> closedJobsMap = new HashMap<>();
-            
-            for (Job job : openJobs) {
-                List<JobApplication> applications = applicationRepository.findByJob(job);
-                int count = applications.size();
-                
-                // AI Logic: enough_applications = len(resumes) >= 3
-                if (count >= MINIMUM_CANDIDATES) {
-                    job.setStatus(Job.JobStatus.CLOSED);
-                    job.onUpdate();
-                    jobService.updateJobSettings(job);
-                    
-                    jobsClosed++;
-                    closedJobsMap.put(job.getTitle(), count);
-                    
-                    System.out.println("🔒 AUTO-CLOSED: " + job.getTitle() + 
-                                     " with " + count + " applications");
-                }
+            JobAutoCloseService.Reconciliation reconciliation = jobAutoCloseService.reconcile();
+            int jobsClosed = reconciliation.closedJobs().size();
+            Map<String, Long> closedJobsMap = new HashMap<>();
+            for (JobAutoCloseService.ClosedJob closed : reconciliation.closedJobs()) {
+                closedJobsMap.put(closed.title(), closed.applicationCount());
             }
             
             Map<String, Object> response = new HashMap<>();
-            response.put("totalJobsChecked", openJobs.size());
+            response.put("totalJobsChecked", reconciliation.jobsChecked());
             response.put("jobsClosed", jobsClosed);
             response.put("closedJobs", closedJobsMap);
             response.put("message", jobsClosed > 0 ? 
@@ -123,7 +106,23 @@ public class MonitoringController {
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("❌ Error checking jobs: " + e.getMessage());
+            log.error("❌ Error checking jobs: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(500).body(error);
+        }
+    }
+    
+    /**
+     * Compare every job's stored applicationCount with its indexed count and repair drift
+     * (same pass as the background reconciler); returns how much drift was found
+     */
+    @PostMapping("/reconcile-counts")
+    public ResponseEntity<?> reconcileApplicationCounts() {
+        try {
+            return ResponseEntity.ok(applicationCountReconciler.reconcile());
+        } catch (Exception e) {
+            log.error("❌ Error reconciling application counts: {}", e.getMessage());
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
             return ResponseEntity.status(500).body(error);
@@ -138,11 +137,9 @@ public class MonitoringController {
     @GetMapping("/ai-status")
     public ResponseEntity<?> getAIMonitoringStatus() {
         try {
-            RestTemplate restTemplate = new RestTemplate();
-            String url = aiServiceUrl + "/applications";
-            
             @SuppressWarnings("unchecked")
-            Map<String, Object> aiResponse = restTemplate.getForObject(url, Map.class);
+            Map<String, Object> aiResponse = aiReplicaPool.execute("getApplications", true,
+                (restTemplate, baseUrl) -> restTemplate.getForObject(baseUrl + "/applications", Map.class));
             
             // Add our own processing
             int count = (Integer) aiResponse.getOrDefault("count", 0);
@@ -160,7 +157,7 @@ public class MonitoringController {
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("⚠️ AI Service not available: " + e.getMessage());
+            log.warn("⚠️ AI service not available: {}", e.getMessage());
             Map<String, Object> error = new HashMap<>();
             error.put("aiServiceConnected", false);
             error.put("error", "AI service unavailable: " + e.getMessage());
@@ -176,9 +173,7 @@ public class MonitoringController {
     public ResponseEntity<?> canAcceptApplications(@PathVariable String jobId) {
         try {
             Job job = jobService.getJobById(jobId);
-            List<JobApplication> applications = applicationRepository.findByJob(job);
-            
-            int count = applications.size();
+            int count = (int) applicationRepository.countByJobId(jobId);
             boolean isFull = count >= MINIMUM_CANDIDATES;
             boolean isOpen = job.getStatus() == Job.JobStatus.OPEN;
             boolean canAccept = isOpen && !isFull;
@@ -1,14 +1,22 @@
 package com.smarthire.controller;
 
+import com.smarthire.dto.CursorPage;
 import com.smarthire.dto.OfferLetterRequest;
 import com.smarthire.dto.OfferLetterResponse;
 import com.smarthire.model.ShortlistedCandidate;
+import com.smarthire.model.OfferLetter;
 import com.smarthire.service.OfferLetterService;
+import com.smarthire.service.pdf.OfferLetterPdfService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -16,9 +24,11 @@ import java.util.Map;
 @RequestMapping("/api/offer-letters")
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*")
+@Slf4j
 public class OfferLetterController {
     
     private final OfferLetterService offerLetterService;
+    private final OfferLetterPdfService offerLetterPdfService;
     
     /**
      * Generate new offer letter
@@ -51,6 +61,41 @@ public class OfferLetterController {
         }
     }
     
+    /**
+     * Get offer letters page by page (keyset cursor, response fields only)
+     * GET /api/offer-letters/page?limit=20&cursor={nextCursor}&status={status}
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getOfferLettersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String status) {
+        try {
+            CursorPage<OfferLetterResponse> page = offerLetterService.getOfferLettersPage(cursor, limit, status);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.isHasMore());
+            response.put("limit", page.getLimit());
+            
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected offer letters page request: {}", e.getMessage());
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (Exception e) {
+            log.error("Error fetching offer letters page: ", e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+    
     /**
      * Get offer letter by ID
      * GET /api/offer-letters/{id}
@@ -163,6 +208,81 @@ public class OfferLetterController {
         }
     }
     
+    /**
+     * Download offer letter as PDF (rendered on first request, then served from storage)
+     * GET /api/offer-letters/{id}/pdf
+     */
+    @GetMapping("/{id}/pdf")
+    public ResponseEntity<StreamingResponseBody> downloadOfferLetterPdf(@PathVariable String id) {
+        OfferLetter offerLetter;
+        try {
+            offerLetter = offerLetterPdfService.getOfferLetter(id);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        
+        String fileName = (offerLetter.getOfferLetterNumber() != null ? offerLetter.getOfferLetterNumber() : id) + ".pdf";
+        StreamingResponseBody body = out -> offerLetterPdfService.writePdf(offerLetter, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+    
+    /**
+     * Generate PDFs for all offer letters of a job
+     * POST /api/offer-letters/pdf/bulk?jobId={jobId}
+     */
+    @PostMapping("/pdf/bulk")
+    public ResponseEntity<?> generateOfferLetterPdfs(
+            @RequestParam String jobId,
+            @RequestParam(defaultValue = "false") boolean regenerate) {
+        try {
+            Map<String, Object> result = offerLetterPdfService.generateForJob(jobId, regenerate);
+            result.put("success", true);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
+                    "success", false,
+                    "message", "Error generating offer letter PDFs: " + e.getMessage()
+            ));
+        }
+    }
+    
+    /**
+     * Get candidates eligible for offer letter page by page
+     * GET /api/offer-letters/eligible-candidates/page?limit=20&cursor={nextCursor}
+     */
+    @GetMapping("/eligible-candidates/page")
+    public ResponseEntity<?> getEligibleCandidatesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            CursorPage<ShortlistedCandidate> page = offerLetterService.getCandidatesEligibleForOfferLetterPage(cursor, limit);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.isHasMore());
+            response.put("limit", page.getLimit());
+            
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected eligible candidates page request: {}", e.getMessage());
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (Exception e) {
+            log.error("Error fetching eligible candidates page: ", e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+    
     /**
      * Get candidates eligible for offer letter (cleared HR round)
      * GET /api/offer-letters/eligible-candidates
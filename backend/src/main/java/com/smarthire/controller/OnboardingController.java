@@ -72,6 +72,41 @@ public class OnboardingController {
         }
     }
     
+    /**
+     * Get onboardings page by page (keyset cursor, list fields only)
+     * GET /api/onboarding/page?limit=20&cursor={nextCursor}&status={status}
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getOnboardingsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String status) {
+        try {
+            CursorPage<OnboardingSummaryDTO> page = onboardingService.getOnboardingsPage(cursor, limit, status);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.isHasMore());
+            response.put("limit", page.getLimit());
+            
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected onboardings page request: {}", e.getMessage());
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (Exception e) {
+            log.error("Error fetching onboardings page: ", e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+    
     /**
      * Get onboarding by ID
      * GET /api/onboarding/{id}
@@ -199,17 +234,35 @@ public class OnboardingController {
      * GET /api/onboarding/eligible-candidates
      */
     @GetMapping("/eligible-candidates")
-    public ResponseEntity<?> getEligibleCandidates() {
+    public ResponseEntity<?> getEligibleCandidates(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
             log.info("Fetching candidates eligible for onboarding");
-            List<OfferLetter> eligibleCandidates = onboardingService.getEligibleCandidates();
-            
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
+            
+            if (limit != null) {
+                // Paged: ?limit=20&cursor={nextCursor}
+                CursorPage<OfferLetter> page = onboardingService.getEligibleCandidatesPage(cursor, limit);
+                response.put("data", page.getItems());
+                response.put("nextCursor", page.getNextCursor());
+                response.put("hasMore", page.isHasMore());
+                response.put("limit", page.getLimit());
+                return ResponseEntity.ok(response);
+            }
+            
+            List<OfferLetter> eligibleCandidates = onboardingService.getEligibleCandidates();
             response.put("data", eligibleCandidates);
             response.put("total", eligibleCandidates.size());
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected eligible candidates request: {}", e.getMessage());
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
         } catch (Exception e) {
             log.error("Error fetching eligible candidates: ", e);
             Map<String, Object> error = new HashMap<>();
@@ -273,6 +326,30 @@ public class OnboardingController {
         }
     }
     
+    /**
+     * Verify many documents, across onboardings, in one call
+     * POST /api/onboarding/verify-documents
+     */
+    @PostMapping("/verify-documents")
+    public ResponseEntity<?> verifyDocuments(@RequestBody BulkDocumentVerifyRequest request) {
+        try {
+            Map<String, Object> result = onboardingService.verifyDocuments(request);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Documents verified successfully");
+            response.put("data", result);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error verifying documents: ", e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+    
     /**
      * Update onboarding
      * PUT /api/onboarding/{id}
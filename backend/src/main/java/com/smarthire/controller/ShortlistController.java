@@ -4,6 +4,7 @@ import com.smarthire.dto.ShortlistRequest;
 import com.smarthire.dto.ShortlistResponse;
 import com.smarthire.model.ShortlistedCandidate;
 import com.smarthire.service.ShortlistService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,6 +19,7 @@ import java.util.Map;
  */
 @RestController
 @RequestMapping("/api/shortlist")
+@Slf4j
 public class ShortlistController {
 
     @Autowired
@@ -29,8 +31,6 @@ public class ShortlistController {
      */
     @PostMapping("/process")
     public ResponseEntity<ShortlistResponse> processJobShortlisting(@RequestBody ShortlistRequest request) {
-        System.out.println("🚀 Received shortlisting request for job: " + request.getJobId());
-        
         try {
             ShortlistResponse response = shortlistService.processJobApplications(
                 request.getJobId(),
@@ -39,17 +39,16 @@ public class ShortlistController {
             );
             
             if (response.isSuccess()) {
-                System.out.println("✅ Shortlisting completed: " + 
-                                 response.getShortlistedCount() + " candidates shortlisted");
+                log.info("✅ Shortlisting completed for job {}: {} candidates shortlisted",
+                        request.getJobId(), response.getShortlistedCount());
             } else {
-                System.err.println("❌ Shortlisting failed: " + response.getMessage());
+                log.warn("❌ Shortlisting failed for job {}: {}", request.getJobId(), response.getMessage());
             }
             
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            System.err.println("❌ Error in shortlisting endpoint: " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ Error in shortlisting endpoint: ", e);
             
             ShortlistResponse errorResponse = new ShortlistResponse();
             errorResponse.setSuccess(false);
@@ -78,7 +77,7 @@ public class ShortlistController {
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            System.err.println("❌ Error fetching shortlisted candidates: " + e.getMessage());
+            log.error("❌ Error fetching shortlisted candidates for job {}: {}", jobId, e.getMessage());
             
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -0,0 +1,26 @@
+package com.smarthire.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDocumentVerifyRequest {
+    
+    private String verifiedBy;
+    private String remarks; // Applied to items without their own remarks
+    private List<DocumentRef> documents;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DocumentRef {
+        private String onboardingId;
+        private String documentType; // AADHAAR_CARD, PAN_CARD, etc.
+        private String remarks;
+    }
+}
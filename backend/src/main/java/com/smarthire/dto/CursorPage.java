@@ -0,0 +1,32 @@
+package com.smarthire.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing; pass nextCursor back to get the following page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    
+    private List<T> items;
+    private String nextCursor; // null on the last page
+    private boolean hasMore;
+    private int limit;
+    
+    /**
+     * Build a page from a query that fetched limit + 1 rows
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, String> idOf) {
+        boolean hasMore = fetched.size() > limit;
+        List<T> items = hasMore ? fetched.subList(0, limit) : fetched;
+        String nextCursor = hasMore ? idOf.apply(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor, hasMore, limit);
+    }
+}
@@ -0,0 +1,68 @@
+package com.smarthire.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interview funnel and score summary for a single job
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InterviewPipelineDTO {
+
+    private String jobId;
+    private long totalInterviews;
+
+    // Counts
+    private Map<String, Long> statusCounts; // SCHEDULED, COMPLETED, CANCELLED, ...
+    private List<RoundStats> rounds; // Ordered by round number
+    private List<RoundTransition> passRates; // ROUND_1 -> ROUND_2 -> HR_ROUND
+
+    // Scores (completed interviews only)
+    private ScoreSummary technicalScore;
+    private ScoreSummary communicationScore;
+    private ScoreSummary overallRating;
+
+    private LocalDateTime computedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoundStats {
+        private String interviewRound;
+        private Integer roundNumber;
+        private long total;
+        private long completed;
+        private long passed; // SELECTED or NEXT_ROUND
+        private long rejected;
+        private double passRate; // passed / completed * 100
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoundTransition {
+        private String fromRound;
+        private String toRound;
+        private double rate; // passed / completed in fromRound * 100
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ScoreSummary {
+        private long count;
+        private Double average;
+        private Double min;
+        private Double max;
+        private Double p50;
+        private Double p75;
+        private Double p90;
+    }
+}
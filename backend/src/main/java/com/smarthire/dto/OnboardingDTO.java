@@ -39,6 +39,7 @@ public class OnboardingDTO {
     private LocalDate actualJoiningDate;
     private LocalDate onboardingStartDate;
     private LocalDate onboardingCompletionDate;
+    private Boolean joiningOverdue;
     
     // Onboarding Status
     private String status;
@@ -75,6 +76,7 @@ public class OnboardingDTO {
     // Probation Details
     private Integer probationPeriod;
     private LocalDate probationEndDate;
+    private Boolean probationCompleted;
     
     // Additional Information
     private String emergencyContactName;
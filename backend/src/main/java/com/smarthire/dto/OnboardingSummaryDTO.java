@@ -0,0 +1,31 @@
+package com.smarthire.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * List view of an onboarding; read directly from a field projection (no documents)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OnboardingSummaryDTO {
+    
+    private String id;
+    private String candidateId;
+    private String jobId;
+    private String employeeId;
+    private String candidateName;
+    private String candidateEmail;
+    private String jobTitle;
+    private String department;
+    private LocalDate joiningDate;
+    private String status;
+    private String currentStep;
+    private Integer completionPercentage;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,31 @@
+package com.smarthire.event;
+
+import com.smarthire.model.JobApplication;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status change of a JobApplication caused by shortlisting
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationStatusChangedEvent implements DomainEvent {
+
+    private String applicationId;
+    private JobApplication.ApplicationStatus status;
+    private String source;
+    private LocalDateTime occurredAt;
+
+    public ApplicationStatusChangedEvent(String applicationId, JobApplication.ApplicationStatus status, String source) {
+        this(applicationId, status, source, LocalDateTime.now());
+    }
+
+    @Override
+    public String getAggregateId() {
+        return applicationId;
+    }
+}
@@ -0,0 +1,51 @@
+package com.smarthire.event;
+
+import com.smarthire.model.JobApplication;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies application status changes as one unordered bulk write per batch (last status wins).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApplicationStatusEventHandler implements DomainEventHandler<ApplicationStatusChangedEvent> {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Class<ApplicationStatusChangedEvent> eventType() {
+        return ApplicationStatusChangedEvent.class;
+    }
+
+    @Override
+    public void handle(List<ApplicationStatusChangedEvent> events) {
+        Map<String, JobApplication.ApplicationStatus> latest = new LinkedHashMap<>();
+        for (ApplicationStatusChangedEvent event : events) {
+            latest.put(event.getApplicationId(), event.getStatus());
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, JobApplication.class);
+        for (Map.Entry<String, JobApplication.ApplicationStatus> entry : latest.entrySet()) {
+            bulk.updateOne(
+                new Query(Criteria.where("_id").is(entry.getKey())),
+                new Update().set("status", entry.getValue()).set("updatedAt", LocalDateTime.now())
+            );
+        }
+        bulk.execute();
+
+        log.debug("Applied {} application status events as {} updates", events.size(), latest.size());
+    }
+}
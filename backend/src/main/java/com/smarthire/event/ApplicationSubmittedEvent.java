@@ -0,0 +1,10 @@
+package com.smarthire.event;
+
+/**
+ * ApplicationSubmittedEvent - A candidate application was stored for a job.
+ *
+ * Published synchronously through Spring's ApplicationEventPublisher right after the application
+ * is saved; JobAutoCloseService counts it against the job and closes the job at its threshold.
+ */
+public record ApplicationSubmittedEvent(String jobId, String applicationId) {
+}
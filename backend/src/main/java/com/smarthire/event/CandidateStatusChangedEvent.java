@@ -0,0 +1,33 @@
+package com.smarthire.event;
+
+import com.smarthire.model.ShortlistedCandidate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status change of a ShortlistedCandidate caused by an interview or offer letter transition
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateStatusChangedEvent implements DomainEvent {
+
+    private String candidateId;
+    private ShortlistedCandidate.ShortlistStatus status;
+    private String notes; // Optional, left untouched when null
+    private String source; // e.g. INTERVIEW_FEEDBACK, OFFER_ACCEPTED
+    private LocalDateTime occurredAt;
+
+    public CandidateStatusChangedEvent(String candidateId, ShortlistedCandidate.ShortlistStatus status,
+                                       String notes, String source) {
+        this(candidateId, status, notes, source, LocalDateTime.now());
+    }
+
+    @Override
+    public String getAggregateId() {
+        return candidateId;
+    }
+}
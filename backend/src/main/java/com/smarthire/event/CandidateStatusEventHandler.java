@@ -0,0 +1,54 @@
+package com.smarthire.event;
+
+import com.smarthire.model.ShortlistedCandidate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies candidate status changes as one unordered bulk write per batch.
+ * Several events for the same candidate collapse into a single update (last status wins).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CandidateStatusEventHandler implements DomainEventHandler<CandidateStatusChangedEvent> {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Class<CandidateStatusChangedEvent> eventType() {
+        return CandidateStatusChangedEvent.class;
+    }
+
+    @Override
+    public void handle(List<CandidateStatusChangedEvent> events) {
+        Map<String, Update> updates = new LinkedHashMap<>();
+        for (CandidateStatusChangedEvent event : events) {
+            Update update = updates.computeIfAbsent(event.getCandidateId(), id -> new Update());
+            update.set("status", event.getStatus());
+            update.set("updatedAt", LocalDateTime.now());
+            if (event.getNotes() != null) {
+                update.set("notes", event.getNotes());
+            }
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ShortlistedCandidate.class);
+        for (Map.Entry<String, Update> entry : updates.entrySet()) {
+            bulk.updateOne(new Query(Criteria.where("_id").is(entry.getKey())), entry.getValue());
+        }
+        bulk.execute();
+
+        log.debug("Applied {} candidate status events as {} updates", events.size(), updates.size());
+    }
+}
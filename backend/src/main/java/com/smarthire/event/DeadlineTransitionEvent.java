@@ -0,0 +1,30 @@
+package com.smarthire.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time-driven transition applied by the DeadlineService (offer expiry, interview no-show, ...)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadlineTransitionEvent implements DomainEvent {
+
+    private String transition; // OFFER_EXPIRED, INTERVIEW_NO_SHOW, JOINING_OVERDUE, PROBATION_COMPLETED
+    private String entityType; // OfferLetter, Interview, Onboarding
+    private String entityId;
+    private String jobId;
+    private String candidateId;
+    private String fromStatus;
+    private String toStatus;
+    private LocalDateTime occurredAt;
+
+    @Override
+    public String getAggregateId() {
+        return entityId;
+    }
+}
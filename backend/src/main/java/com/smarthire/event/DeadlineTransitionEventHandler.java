@@ -0,0 +1,47 @@
+package com.smarthire.event;
+
+import com.smarthire.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Records deadline transitions in the lifecycle_transitions audit collection with one
+ * insert per batch, and drops cached interview funnels of jobs whose interviews changed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeadlineTransitionEventHandler implements DomainEventHandler<DeadlineTransitionEvent> {
+
+    static final String AUDIT_COLLECTION = "lifecycle_transitions";
+
+    private final MongoTemplate mongoTemplate;
+    private final CacheManager cacheManager;
+
+    @Override
+    public Class<DeadlineTransitionEvent> eventType() {
+        return DeadlineTransitionEvent.class;
+    }
+
+    @Override
+    public void handle(List<DeadlineTransitionEvent> events) {
+        mongoTemplate.insert(events, AUDIT_COLLECTION);
+
+        Cache pipelines = cacheManager.getCache(CacheConfig.INTERVIEW_PIPELINE_CACHE);
+        if (pipelines != null) {
+            events.stream()
+                .filter(event -> "Interview".equals(event.getEntityType()) && event.getJobId() != null)
+                .map(DeadlineTransitionEvent::getJobId)
+                .distinct()
+                .forEach(pipelines::evict);
+        }
+
+        log.debug("Recorded {} deadline transitions", events.size());
+    }
+}
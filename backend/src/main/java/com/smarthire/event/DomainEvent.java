@@ -0,0 +1,17 @@
+package com.smarthire.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * DomainEvent - A side effect of a committed write, applied asynchronously by the DomainEventBus.
+ * Events with the same aggregate ID are always delivered in publish order.
+ */
+public interface DomainEvent {
+
+    /**
+     * ID of the document the event changes (used for ordering and coalescing)
+     */
+    String getAggregateId();
+
+    LocalDateTime getOccurredAt();
+}
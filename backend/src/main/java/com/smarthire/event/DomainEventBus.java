@@ -0,0 +1,209 @@
+package com.smarthire.event;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * DomainEventBus - In-process asynchronous event bus for cross-entity side effects.
+ *
+ * Events are routed to a lane by aggregate ID, so all events of one aggregate are
+ * handled by the same single-threaded worker in publish order. Each worker drains
+ * its queue in batches and hands every batch to the handler registered for the
+ * event type, which coalesces and applies it (usually as one bulk write).
+ *
+ * publish() never blocks on the database: callers return as soon as their own
+ * primary write is acknowledged. Lanes are bounded; when one is full, publish()
+ * waits up to events.publish-timeout-ms for room (backpressure) and then parks the
+ * event in the DomainEventOutbox instead of growing the heap.
+ *
+ * A failing batch is retried in its lane with exponential backoff (events.max-attempts);
+ * if it still fails it is parked in the outbox, which keeps retrying from the database.
+ * Events of an aggregate with parked events are parked behind them to keep their order,
+ * and events left in a lane at shutdown are parked too. Delivery is at-least-once:
+ * handlers must tolerate seeing an event again. Only a hard crash loses queued events.
+ */
+@Component
+@Slf4j
+public class DomainEventBus {
+
+    private final Map<Class<?>, DomainEventHandler<?>> handlers = new HashMap<>();
+    private final List<Lane> lanes = new ArrayList<>();
+    private final DomainEventOutbox outbox;
+    private final int batchSize;
+    private final long publishTimeoutMs;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+
+    public DomainEventBus(List<DomainEventHandler<?>> handlerList,
+                          DomainEventOutbox outbox,
+                          @Value("${events.lanes:4}") int laneCount,
+                          @Value("${events.batch-size:100}") int batchSize,
+                          @Value("${events.lane-capacity:10000}") int laneCapacity,
+                          @Value("${events.publish-timeout-ms:1000}") long publishTimeoutMs,
+                          @Value("${events.max-attempts:3}") int maxAttempts,
+                          @Value("${events.backoff.base-ms:200}") long backoffBaseMs) {
+        for (DomainEventHandler<?> handler : handlerList) {
+            handlers.put(handler.eventType(), handler);
+        }
+        this.outbox = outbox;
+        this.batchSize = batchSize;
+        this.publishTimeoutMs = publishTimeoutMs;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        for (int i = 0; i < laneCount; i++) {
+            Lane lane = new Lane(i, laneCapacity);
+            lanes.add(lane);
+            lane.start();
+        }
+        log.info("DomainEventBus started with {} lanes and {} handlers", laneCount, handlers.size());
+    }
+
+    /**
+     * Queue an event for asynchronous delivery; waits for room in a full lane, then parks the event
+     */
+    public void publish(DomainEvent event) {
+        if (event == null || event.getAggregateId() == null) {
+            return;
+        }
+        if (!handlers.containsKey(event.getClass())) {
+            log.warn("No handler registered for event type {}", event.getClass().getSimpleName());
+            return;
+        }
+        int index = Math.floorMod(event.getAggregateId().hashCode(), lanes.size());
+        try {
+            if (lanes.get(index).queue.offer(event, publishTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        outbox.park(List.of(event), "event lane " + index + " is full");
+    }
+
+    /**
+     * Number of events waiting to be applied across all lanes
+     */
+    public int getPendingEvents() {
+        return lanes.stream().mapToInt(lane -> lane.queue.size()).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Stopping DomainEventBus, {} events pending", getPendingEvents());
+        lanes.forEach(Lane::stopAndDrain);
+    }
+
+    private void dispatch(List<DomainEvent> batch) {
+        // Aggregates with parked events must not overtake them, so their new events are parked behind
+        Set<String> parkedAggregates = Set.of();
+        try {
+            parkedAggregates = outbox.pendingAggregates(
+                batch.stream().map(DomainEvent::getAggregateId).collect(Collectors.toSet()));
+        } catch (Exception e) {
+            log.warn("⚠️ Could not check the domain event outbox: {}", e.getMessage());
+        }
+
+        // Group by type while keeping publish order inside each group
+        Map<Class<?>, List<DomainEvent>> byType = new LinkedHashMap<>();
+        List<DomainEvent> behindParked = new ArrayList<>();
+        for (DomainEvent event : batch) {
+            if (parkedAggregates.contains(event.getAggregateId())) {
+                behindParked.add(event);
+            } else {
+                byType.computeIfAbsent(event.getClass(), k -> new ArrayList<>()).add(event);
+            }
+        }
+        outbox.park(behindParked, "waiting behind parked events of the same aggregate");
+
+        for (Map.Entry<Class<?>, List<DomainEvent>> entry : byType.entrySet()) {
+            Exception failure = apply(entry.getKey(), entry.getValue());
+            if (failure != null) {
+                outbox.park(entry.getValue(), "handler failed: " + failure.getMessage());
+            }
+        }
+    }
+
+    // Hand the events to their handler, retrying with exponential backoff; the last failure, or null once applied
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Exception apply(Class<?> type, List<DomainEvent> events) {
+        DomainEventHandler handler = handlers.get(type);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                handler.handle(events);
+                return null;
+            } catch (Exception e) {
+                if (attempt >= maxAttempts) {
+                    log.error("❌ Failed to apply {} {} event(s) after {} attempts: ",
+                        events.size(), type.getSimpleName(), attempt, e);
+                    return e;
+                }
+                long delayMs = backoffBaseMs << (attempt - 1);
+                log.warn("⚠️ Failed to apply {} {} event(s) (attempt {}/{}), retrying in {}ms: {}",
+                    events.size(), type.getSimpleName(), attempt, maxAttempts, delayMs, e.getMessage());
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return e;
+                }
+            }
+        }
+    }
+
+    private class Lane implements Runnable {
+
+        private final BlockingQueue<DomainEvent> queue;
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        Lane(int index, int capacity) {
+            this.queue = new LinkedBlockingQueue<>(capacity);
+            this.thread = new Thread(this, "domain-events-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            while (running || !queue.isEmpty()) {
+                try {
+                    DomainEvent first = queue.poll(500, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    List<DomainEvent> batch = new ArrayList<>();
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    dispatch(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        void stopAndDrain() {
+            running = false;
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Whatever the worker did not get to is kept for the next start
+            List<DomainEvent> left = new ArrayList<>();
+            queue.drainTo(left);
+            outbox.park(left, "shutdown with events still queued");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.smarthire.event;
+
+import java.util.List;
+
+/**
+ * Applies a batch of events of one type.
+ * Batches are in publish order; implementations are expected to coalesce events per aggregate.
+ */
+public interface DomainEventHandler<E extends DomainEvent> {
+
+    Class<E> eventType();
+
+    void handle(List<E> events);
+}
@@ -0,0 +1,212 @@
+package com.smarthire.event;
+
+import com.smarthire.model.ParkedDomainEvent;
+import com.smarthire.model.ParkedDomainEvent.ParkedStatus;
+import com.smarthire.service.SchedulerLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * DomainEventOutbox - Durable fallback of the DomainEventBus, in the domain_event_outbox collection.
+ *
+ * The bus parks events here when their handler still fails after its in-lane retries, when a lane
+ * stays full for longer than the publish timeout, and when it shuts down with events left in a lane.
+ * The poll applies parked events on one replica at a time (SchedulerLock), oldest first and together
+ * with every later parked event of the same aggregate, so a retry never lands after a newer status.
+ * Failures back off exponentially until max-attempts, then the events are kept as FAILED.
+ * While an aggregate has parked events, the bus parks its new events behind them.
+ */
+@Component
+@Slf4j
+public class DomainEventOutbox {
+
+    private static final String LOCK_NAME = "domain-event-outbox";
+
+    private final MongoTemplate mongoTemplate;
+    private final SchedulerLock schedulerLock;
+    private final Map<Class<?>, DomainEventHandler<?>> handlers = new HashMap<>();
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final Duration lockLease;
+
+    // False only once a poll found nothing pending, so the bus can skip the outbox lookup
+    private volatile boolean mayHavePending = true;
+    private volatile long pendingEvents;
+
+    public DomainEventOutbox(MongoTemplate mongoTemplate,
+                             SchedulerLock schedulerLock,
+                             List<DomainEventHandler<?>> handlerList,
+                             @Value("${events.outbox.batch-size:500}") int batchSize,
+                             @Value("${events.outbox.max-attempts:20}") int maxAttempts,
+                             @Value("${events.outbox.backoff.base-ms:5000}") long backoffBaseMs,
+                             @Value("${events.outbox.backoff.max-ms:1800000}") long backoffMaxMs,
+                             @Value("${events.outbox.lock-lease-ms:120000}") long lockLeaseMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.schedulerLock = schedulerLock;
+        for (DomainEventHandler<?> handler : handlerList) {
+            handlers.put(handler.eventType(), handler);
+        }
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.lockLease = Duration.ofMillis(lockLeaseMs);
+    }
+
+    /**
+     * Store events for the poll to apply; only logged (with the events) if the database is unreachable too
+     */
+    public void park(List<? extends DomainEvent> events, String reason) {
+        if (events.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<ParkedDomainEvent> parked = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            ParkedDomainEvent entry = new ParkedDomainEvent();
+            entry.setEventType(event.getClass().getSimpleName());
+            entry.setAggregateId(event.getAggregateId());
+            entry.setEvent(event);
+            entry.setOccurredAt(event.getOccurredAt() != null ? event.getOccurredAt() : now);
+            entry.setNextAttemptAt(now);
+            entry.setCreatedAt(now);
+            parked.add(entry);
+        }
+        try {
+            mongoTemplate.insertAll(parked);
+            mayHavePending = true;
+            log.warn("⚠️ Parked {} domain event(s) in the outbox: {}", events.size(), reason);
+        } catch (Exception e) {
+            log.error("❌ Could not park {} domain event(s) ({}), they are lost: {}", events.size(), reason, events, e);
+        }
+    }
+
+    /**
+     * The given aggregates that still have parked events; their new events have to wait behind them
+     */
+    public Set<String> pendingAggregates(Collection<String> aggregateIds) {
+        if (!mayHavePending || aggregateIds.isEmpty()) {
+            return Set.of();
+        }
+        Query query = new Query(Criteria.where("aggregateId").in(aggregateIds).and("status").is(ParkedStatus.PENDING));
+        return new HashSet<>(mongoTemplate.findDistinct(query, "aggregateId", ParkedDomainEvent.class, String.class));
+    }
+
+    /**
+     * Parked events waiting to be applied, as of the last poll
+     */
+    public long getPendingEvents() {
+        return pendingEvents;
+    }
+
+    @Scheduled(fixedDelayString = "${events.outbox.poll-interval-ms:10000}",
+               initialDelayString = "${events.outbox.poll-initial-delay-ms:10000}")
+    public void poll() {
+        try {
+            pendingEvents = mongoTemplate.count(
+                new Query(Criteria.where("status").is(ParkedStatus.PENDING)), ParkedDomainEvent.class);
+        } catch (Exception e) {
+            log.warn("⚠️ Could not read the domain event outbox: {}", e.getMessage());
+            return;
+        }
+        mayHavePending = pendingEvents > 0;
+        if (!mayHavePending) {
+            return;
+        }
+        if (!schedulerLock.tryAcquire(LOCK_NAME, lockLease)) {
+            log.debug("Domain event outbox skipped, another node holds the lock");
+            return;
+        }
+        try {
+            redeliver();
+        } catch (Exception e) {
+            log.error("❌ Domain event outbox poll failed: ", e);
+        } finally {
+            schedulerLock.release(LOCK_NAME);
+        }
+    }
+
+    /**
+     * Apply the due parked events; returns how many were applied
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public int redeliver() {
+        LocalDateTime now = LocalDateTime.now();
+        Query due = new Query(Criteria.where("status").is(ParkedStatus.PENDING).and("nextAttemptAt").lte(now))
+            .with(Sort.by("nextAttemptAt"))
+            .limit(batchSize);
+        due.fields().include("aggregateId");
+        Set<String> aggregates = new LinkedHashSet<>();
+        mongoTemplate.find(due, ParkedDomainEvent.class).forEach(entry -> aggregates.add(entry.getAggregateId()));
+        if (aggregates.isEmpty()) {
+            return 0;
+        }
+
+        // Every parked event of these aggregates, not only the due ones, in the order they happened
+        List<ParkedDomainEvent> entries = mongoTemplate.find(
+            new Query(Criteria.where("aggregateId").in(aggregates).and("status").is(ParkedStatus.PENDING))
+                .with(Sort.by("occurredAt", "_id")),
+            ParkedDomainEvent.class);
+        Map<Class<?>, List<ParkedDomainEvent>> byType = new LinkedHashMap<>();
+        for (ParkedDomainEvent entry : entries) {
+            byType.computeIfAbsent(entry.getEvent().getClass(), k -> new ArrayList<>()).add(entry);
+        }
+
+        int applied = 0;
+        for (Map.Entry<Class<?>, List<ParkedDomainEvent>> group : byType.entrySet()) {
+            List<String> ids = group.getValue().stream().map(ParkedDomainEvent::getId).toList();
+            try {
+                DomainEventHandler handler = handlers.get(group.getKey());
+                if (handler == null) {
+                    throw new IllegalStateException("No handler registered for " + group.getKey().getSimpleName());
+                }
+                handler.handle(group.getValue().stream().map(ParkedDomainEvent::getEvent).toList());
+                mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), ParkedDomainEvent.class);
+                applied += ids.size();
+            } catch (Exception e) {
+                failed(group.getKey(), group.getValue(), ids, e);
+            }
+        }
+        if (applied > 0) {
+            log.info("✅ Applied {} parked domain event(s)", applied);
+        }
+        return applied;
+    }
+
+    private void failed(Class<?> type, List<ParkedDomainEvent> group, List<String> ids, Exception e) {
+        int attempts = group.stream().mapToInt(ParkedDomainEvent::getAttempts).max().orElse(0) + 1;
+        Update update = new Update().set("attempts", attempts).set("lastError", String.valueOf(e.getMessage()));
+        if (attempts >= maxAttempts) {
+            update.set("status", ParkedStatus.FAILED);
+            log.error("❌ {} parked {} event(s) failed {} times, kept as FAILED in the outbox: ",
+                ids.size(), type.getSimpleName(), attempts, e);
+        } else {
+            long delayMs = backoffMs(attempts);
+            update.set("nextAttemptAt", LocalDateTime.now().plus(Duration.ofMillis(delayMs)));
+            log.warn("⚠️ {} parked {} event(s) failed (attempt {}/{}), retrying in {}s: {}",
+                ids.size(), type.getSimpleName(), attempts, maxAttempts, delayMs / 1000, e.getMessage());
+        }
+        mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(ids)), update, ParkedDomainEvent.class);
+    }
+
+    // Exponential backoff with equal jitter, as for webhook deliveries
+    private long backoffMs(int attempts) {
+        long exponential = backoffBaseMs << Math.min(attempts - 1, 20);
+        long capped = Math.min(exponential, backoffMaxMs);
+        return capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+    }
+}
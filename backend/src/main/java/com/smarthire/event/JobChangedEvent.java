@@ -0,0 +1,14 @@
+package com.smarthire.event;
+
+/**
+ * JobChangedEvent - A job was created, edited, closed or deleted.
+ *
+ * Published synchronously through Spring's ApplicationEventPublisher (not the DomainEventBus)
+ * so that caches of the public job board are invalidated before the writer's request returns.
+ */
+public record JobChangedEvent(String jobId, Change change) {
+
+    public enum Change {
+        CREATED, UPDATED, CLOSED, DELETED
+    }
+}
@@ -0,0 +1,111 @@
+package com.smarthire.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * RequestLogContextFilter - Puts the request ID, job ID and sampling decision into the MDC.
+ *
+ * Every log line written while serving the request carries requestId/jobId (as JSON fields
+ * in structured output). Requests to chatty paths are sampled: only a fraction of them keep
+ * their DEBUG/INFO lines, the rest are dropped by RequestSamplingTurboFilter before any
+ * message is formatted. WARN and ERROR are never sampled out.
+ * The job ID is read from the path or the raw query string only: getParameter would make the
+ * container parse form and multipart bodies (e.g. resume uploads) just to fill the MDC.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)  // after RateLimitFilter, which must not wait for body parsing
+public class RequestLogContextFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID = "requestId";
+    public static final String JOB_ID = "jobId";
+    public static final String SAMPLED = "sampled";
+
+    private static final String REQUEST_ID_HEADER = "X-Request-Id";
+    private static final Pattern JOB_PATH = Pattern.compile("/(?:jobs|job)/([0-9a-fA-F]{24})(?:/|$)");
+    private static final Pattern JOB_QUERY = Pattern.compile("(?:^|&)jobId=([^&]*)");
+
+    private final double sampleRate;
+    private final List<String> sampledPaths;
+
+    public RequestLogContextFilter(@Value("${request-logging.sample-rate:0.1}") double sampleRate,
+                                   @Value("${request-logging.sampled-paths:}") List<String> sampledPaths) {
+        this.sampleRate = sampleRate;
+        this.sampledPaths = sampledPaths;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || requestId.isBlank() || requestId.length() > 64) {
+            requestId = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+
+        MDC.put(REQUEST_ID, requestId);
+        String jobId = jobId(request);
+        if (jobId != null) {
+            MDC.put(JOB_ID, jobId);
+        }
+        if (isChatty(request.getRequestURI())) {
+            MDC.put(SAMPLED, Boolean.toString(ThreadLocalRandom.current().nextDouble() < sampleRate));
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID);
+            MDC.remove(JOB_ID);
+            MDC.remove(SAMPLED);
+        }
+    }
+
+    private boolean isChatty(String uri) {
+        for (String path : sampledPaths) {
+            if (!path.isBlank() && uri.startsWith(path.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String jobId(HttpServletRequest request) {
+        String query = request.getQueryString();
+        if (query != null) {
+            Matcher matcher = JOB_QUERY.matcher(query);
+            if (matcher.find()) {
+                String jobId = decode(matcher.group(1));
+                if (jobId != null && !jobId.isBlank() && jobId.length() <= 64) {
+                    return jobId;
+                }
+            }
+        }
+        Matcher matcher = JOB_PATH.matcher(request.getRequestURI());
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;  // Malformed %-escape
+        }
+    }
+}
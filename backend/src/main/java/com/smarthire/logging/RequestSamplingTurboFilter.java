@@ -0,0 +1,25 @@
+package com.smarthire.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * RequestSamplingTurboFilter - Drops DEBUG/INFO events of requests that were not sampled.
+ *
+ * Runs before the logging event is created, so a sampled-out call costs one MDC lookup and
+ * no message formatting. Registered in logback-spring.xml.
+ */
+public class RequestSamplingTurboFilter extends TurboFilter {
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        return "false".equals(MDC.get(RequestLogContextFilter.SAMPLED)) ? FilterReply.DENY : FilterReply.NEUTRAL;
+    }
+}
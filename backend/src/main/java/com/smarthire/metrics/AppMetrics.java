@@ -0,0 +1,280 @@
+package com.smarthire.metrics;
+
+import com.smarthire.model.Job;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * AppMetrics - Application timers and counters with bounded job/tenant tags.
+ *
+ * Job and tenant (the job's company) tags keep their real value for the first N distinct
+ * values seen by this node and collapse to "other" afterwards, so a growing number of jobs
+ * can never explode the number of time series. Tags never query the database: the tenant comes
+ * from the caller, or from the jobs EntityCache has handed out (rememberTenant), else "none".
+ */
+@Component
+public class AppMetrics {
+
+    public static final String OTHER = "other";
+    public static final String NONE = "none";
+
+    private static final int MAX_REMEMBERED_JOBS = 10_000;
+
+    private final MeterRegistry registry;
+    private final int maxJobTags;
+    private final int maxTenantTags;
+
+    private final Set<String> jobTags = ConcurrentHashMap.newKeySet();
+    private final Set<String> tenantTags = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> tenantByJob = new ConcurrentHashMap<>();
+
+    public AppMetrics(MeterRegistry registry,
+                      @Value("${metrics.max-job-tags:100}") int maxJobTags,
+                      @Value("${metrics.max-tenant-tags:50}") int maxTenantTags) {
+        this.registry = registry;
+        this.maxJobTags = maxJobTags;
+        this.maxTenantTags = maxTenantTags;
+    }
+
+    @FunctionalInterface
+    public interface TimedCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * Time a business operation (smarthire.operation), tagged with its job and tenant.
+     * Outcome is "error" when the call throws or the result fails the success check.
+     * Tags are resolved after the call, which has loaded the job through EntityCache.
+     */
+    public <T, E extends Exception> T timeOperation(String operation, String jobId,
+                                                    Predicate<T> isSuccess, TimedCall<T, E> call) throws E {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = call.call();
+            outcome = isSuccess.test(result) ? "success" : "error";
+            return result;
+        } finally {
+            sample.stop(Timer.builder("smarthire.operation")
+                .description("Duration of hot-path business operations")
+                .tag("operation", operation)
+                .tag("job", jobTag(jobId))
+                .tag("tenant", tenantTag(jobId))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry));
+        }
+    }
+
+    /**
+     * Time a call to the Python AI service (smarthire.ai.requests); the client returns
+     * error maps instead of throwing, so those count as errors too.
+     */
+    public Map<String, Object> timeAiCall(String method, TimedCall<Map<String, Object>, RuntimeException> call) {
+        return timeAiCall(method, null, null, call);
+    }
+
+    /**
+     * Time an AI service call made for one job and/or tenant (company); either may be null
+     */
+    public Map<String, Object> timeAiCall(String method, String jobId, String company,
+                                          TimedCall<Map<String, Object>, RuntimeException> call) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            Map<String, Object> result = call.call();
+            outcome = isAiSuccess(result) ? "success" : "error";
+            return result;
+        } finally {
+            sample.stop(Timer.builder("smarthire.ai.requests")
+                .description("Calls to the Python AI service")
+                .tag("method", method)
+                .tag("job", jobTag(jobId))
+                .tag("tenant", tenantTag(jobId, company))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry));
+        }
+    }
+
+    /**
+     * Count an email send attempt (smarthire.email.deliveries)
+     */
+    public void recordEmail(String type, String jobId, String company, boolean sent) {
+        Counter.builder("smarthire.email.deliveries")
+            .description("Email send attempts by type and outcome")
+            .tag("type", type)
+            .tag("job", jobTag(jobId))
+            .tag("tenant", tenantTag(jobId, company))
+            .tag("outcome", sent ? "sent" : "failed")
+            .register(registry)
+            .increment();
+    }
+
+    /**
+     * Record a webhook delivery attempt and its latency (smarthire.webhook.deliveries)
+     */
+    public void recordWebhook(String event, String jobId, String company, boolean delivered, long durationNanos) {
+        Timer.builder("smarthire.webhook.deliveries")
+            .description("Outbound webhook deliveries by event and outcome")
+            .tag("event", event)
+            .tag("job", jobTag(jobId))
+            .tag("tenant", tenantTag(jobId, company))
+            .tag("outcome", delivered ? "delivered" : "failed")
+            .register(registry)
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Count a cache lookup (smarthire.cache.requests); hit ratio = hit / (hit + miss).
+     * jobId is null for lookups that are not about one job.
+     */
+    public void recordCacheRequest(String cache, String jobId, boolean hit) {
+        Counter.builder("smarthire.cache.requests")
+            .description("Application cache lookups by result")
+            .tag("cache", cache)
+            .tag("job", jobTag(jobId))
+            .tag("tenant", tenantTag(jobId))
+            .tag("result", hit ? "hit" : "miss")
+            .register(registry)
+            .increment();
+    }
+
+    /**
+     * Count an applicationCount repair and its size (smarthire.job.count.repairs, smarthire.job.count.drift)
+     */
+    public void recordCountRepair(long drift) {
+        Counter.builder("smarthire.job.count.repairs")
+            .description("Jobs whose stored applicationCount was repaired")
+            .register(registry)
+            .increment();
+        Counter.builder("smarthire.job.count.drift")
+            .description("Absolute applicationCount drift repaired")
+            .register(registry)
+            .increment(drift);
+    }
+
+    /**
+     * Counter of rate-limit decisions for one rule and bucket scope (smarthire.ratelimit.requests);
+     * resolved once by the caller so the filter does no meter lookups per request
+     */
+    public Counter rateLimitCounter(String rule, String scope, boolean allowed) {
+        return Counter.builder("smarthire.ratelimit.requests")
+            .description("Rate-limited endpoint requests by rule, bucket scope and outcome")
+            .tag("rule", rule)
+            .tag("scope", scope)
+            .tag("outcome", allowed ? "allowed" : "rejected")
+            .register(registry);
+    }
+
+    /**
+     * Number of live per-key rate-limit buckets (smarthire.ratelimit.buckets)
+     */
+    public void registerRateLimitBuckets(Map<?, ?> buckets) {
+        Gauge.builder("smarthire.ratelimit.buckets", buckets, Map::size)
+            .description("Per-client and per-job rate-limit buckets currently tracked")
+            .register(registry);
+    }
+
+    /**
+     * In-flight calls and availability of one AI service replica
+     * (smarthire.ai.replica.outstanding, smarthire.ai.replica.available)
+     */
+    public void registerAiReplica(String replica, Supplier<Number> outstanding, BooleanSupplier available) {
+        Gauge.builder("smarthire.ai.replica.outstanding", outstanding)
+            .description("Calls in flight to an AI service replica")
+            .tag("replica", replica)
+            .register(registry);
+        Gauge.builder("smarthire.ai.replica.available", () -> available.getAsBoolean() ? 1 : 0)
+            .description("1 while an AI service replica passes health probes and is not ejected")
+            .tag("replica", replica)
+            .register(registry);
+    }
+
+    /**
+     * Count a hedged AI call, a second attempt sent to another replica (smarthire.ai.hedges)
+     */
+    public void recordAiHedge(String method) {
+        Counter.builder("smarthire.ai.hedges")
+            .description("AI calls hedged to a second replica")
+            .tag("method", method)
+            .register(registry)
+            .increment();
+    }
+
+    /**
+     * Count an AI replica ejected after consecutive failures (smarthire.ai.ejections)
+     */
+    public void recordAiEjection(String replica) {
+        Counter.builder("smarthire.ai.ejections")
+            .description("AI service replicas ejected for consecutive failed calls")
+            .tag("replica", replica)
+            .register(registry)
+            .increment();
+    }
+
+    /**
+     * Job ID as a tag value, or "other" once the per-node budget of job tags is used up
+     */
+    public String jobTag(String jobId) {
+        return bounded(jobId, jobTags, maxJobTags);
+    }
+
+    /**
+     * The job's company as a tenant tag value, bounded like job tags; "none" for a job not seen yet
+     */
+    public String tenantTag(String jobId) {
+        return tenantTag(jobId, null);
+    }
+
+    /**
+     * The given company as a tenant tag value, or the job's company when it is null
+     */
+    public String tenantTag(String jobId, String company) {
+        String tenant = company != null ? company : jobId != null ? tenantByJob.get(jobId) : null;
+        return bounded(tenant, tenantTags, maxTenantTags);
+    }
+
+    /**
+     * Remember the company of a job loaded by the application, for tags that only know the job ID
+     */
+    public void rememberTenant(Job job) {
+        if (job.getId() == null || job.getCompany() == null || job.getCompany().equals(tenantByJob.get(job.getId()))) {
+            return;
+        }
+        if (tenantByJob.size() >= MAX_REMEMBERED_JOBS) {
+            tenantByJob.clear();
+        }
+        tenantByJob.put(job.getId(), job.getCompany());
+    }
+
+    private static String bounded(String value, Set<String> seen, int max) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        if (seen.contains(value) || (seen.size() < max && seen.add(value))) {
+            return value;
+        }
+        return OTHER;
+    }
+
+    private static boolean isAiSuccess(Map<String, Object> result) {
+        if (result == null || result.containsKey("error")) {
+            return false;
+        }
+        Object status = result.get("status");
+        return !("error".equals(status) || "failed".equals(status) || "unreachable".equals(status));
+    }
+}
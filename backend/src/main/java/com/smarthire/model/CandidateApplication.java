@@ -1,16 +1,24 @@
 package com.smarthire.model;
 
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
+import java.util.Base64;
 
+/**
+ * CandidateApplication - Legacy shape of an application, kept for callers written against the
+ * former candidate_applications collection.
+ *
+ * Applications are stored once, as JobApplication in job_applications. This class is only a view
+ * (see CandidateApplicationRepository) and the format of not yet migrated candidate_applications
+ * documents (see CandidateApplicationMigration). Views carry no resume bytes; the resume stays on
+ * the JobApplication.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Document(collection = "candidate_applications")
 public class CandidateApplication {
 
     @Id
@@ -60,12 +68,96 @@ public class CandidateApplication {
         this.updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * View of a stored application in the legacy shape
+     */
+    public static CandidateApplication from(JobApplication application) {
+        CandidateApplication view = new CandidateApplication();
+        view.setId(application.getId());
+        view.setJobId(application.getJobId());
+        view.setJobTitle(application.getJobTitle());
+        view.setCompany(application.getCompany());
+        view.setFullName(application.getCandidateName());
+        view.setEmail(application.getCandidateEmail());
+        view.setPhone(application.getCandidatePhone());
+        view.setCurrentRole(application.getCurrentRole());
+        view.setYearsOfExperience(application.getYearsOfExperience());
+        view.setSkills(application.getSkills());
+        view.setLinkedIn(application.getLinkedIn());
+        view.setPortfolio(application.getPortfolio());
+        view.setCoverLetter(application.getCoverLetter());
+        view.setResumeFileName(application.getResumeFileName());
+        view.setResumeFileType(application.getResumeContentType());
+        view.setResumeFileSize(application.getResumeFileSize());
+        view.setStatus(ApplicationStatus.from(application.getStatus()));
+        view.setAppliedAt(application.getAppliedAt());
+        view.setUpdatedAt(application.getUpdatedAt());
+        view.setNotes(application.getNotes());
+        view.setMatchScore(application.getMatchScore());
+        view.setExtractedSkills(application.getExtractedSkills());
+        return view;
+    }
+
+    /**
+     * Unified application for this (migrated or new) legacy application, keeping its ID
+     */
+    public JobApplication toJobApplication() {
+        JobApplication application = new JobApplication();
+        application.setId(id);
+        applyTo(application);
+        application.setAppliedAt(appliedAt);
+        if (resumeBase64 != null && !resumeBase64.isEmpty()) {
+            // Accept both plain base64 and data URLs ("data:application/pdf;base64,...")
+            String encoded = resumeBase64.startsWith("data:") ? resumeBase64.substring(resumeBase64.indexOf(',') + 1) : resumeBase64;
+            application.setResumeData(Base64.getMimeDecoder().decode(encoded));
+        }
+        return application;
+    }
+
+    /**
+     * Copy the fields editable through the legacy shape onto a stored application
+     */
+    public void applyTo(JobApplication application) {
+        application.setJobId(jobId);
+        application.setJobTitle(jobTitle);
+        application.setCompany(company);
+        application.setCandidateName(fullName);
+        application.setCandidateEmail(email);
+        application.setCandidatePhone(phone);
+        application.setCurrentRole(currentRole);
+        application.setYearsOfExperience(yearsOfExperience);
+        application.setSkills(skills);
+        application.setLinkedIn(linkedIn);
+        application.setPortfolio(portfolio);
+        application.setCoverLetter(coverLetter);
+        application.setResumeFileName(resumeFileName);
+        application.setResumeContentType(resumeFileType);
+        application.setResumeFileSize(resumeFileSize);
+        application.setStatus(status != null ? status.toJobApplicationStatus() : null);
+        application.setUpdatedAt(updatedAt);
+        application.setNotes(notes);
+        application.setMatchScore(matchScore);
+        application.setExtractedSkills(extractedSkills);
+    }
+
     public enum ApplicationStatus {
         NEW,
         UNDER_REVIEW,
         SHORTLISTED,
         INTERVIEW_SCHEDULED,
         REJECTED,
-        ACCEPTED
+        ACCEPTED;
+
+        // NEW is called SUBMITTED on JobApplication; the other values share their names
+        public static ApplicationStatus from(JobApplication.ApplicationStatus status) {
+            if (status == null) {
+                return null;
+            }
+            return status == JobApplication.ApplicationStatus.SUBMITTED ? NEW : valueOf(status.name());
+        }
+
+        public JobApplication.ApplicationStatus toJobApplicationStatus() {
+            return this == NEW ? JobApplication.ApplicationStatus.SUBMITTED : JobApplication.ApplicationStatus.valueOf(name());
+        }
     }
 }
@@ -1,6 +1,8 @@
 package com.smarthire.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,6 +15,17 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "interviews")
+@CompoundIndexes({
+    @CompoundIndex(name = "candidate_round_decision_idx", def = "{'shortlistedCandidateId': 1, 'interviewRound': 1, 'decision': 1}"),
+    @CompoundIndex(name = "status_scheduled_idx", def = "{'status': 1, 'scheduledDate': 1}"),
+    @CompoundIndex(name = "job_status_idx", def = "{'jobId': 1, 'status': 1}"),
+    @CompoundIndex(name = "job_round_idx", def = "{'jobId': 1, 'interviewRound': 1}"),
+    @CompoundIndex(name = "application_status_idx", def = "{'applicationId': 1, 'status': 1}"),
+    @CompoundIndex(name = "application_round_number_idx", def = "{'applicationId': 1, 'roundNumber': -1}"),
+    @CompoundIndex(name = "scheduled_reminder_idx", def = "{'scheduledDate': 1, 'reminderSent': 1}"),
+    @CompoundIndex(name = "round_decision_idx", def = "{'interviewRound': 1, 'decision': 1}"),
+    @CompoundIndex(name = "candidate_email_idx", def = "{'candidateEmail': 1}")
+})
 public class Interview {
     
     @Id
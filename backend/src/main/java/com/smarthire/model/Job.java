@@ -1,6 +1,9 @@
 package com.smarthire.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -13,6 +16,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "jobs")
+@CompoundIndexes({
+    @CompoundIndex(name = "status_created_idx", def = "{'status': 1, 'createdAt': -1}"),
+    @CompoundIndex(name = "created_idx", def = "{'createdAt': -1}"),
+    @CompoundIndex(name = "posted_by_idx", def = "{'postedBy': 1}"),
+    @CompoundIndex(name = "company_idx", def = "{'company': 1}"),
+    @CompoundIndex(name = "location_idx", def = "{'location': 1}"),
+    @CompoundIndex(name = "employment_type_idx", def = "{'employmentType': 1}")
+})
 @JsonInclude(JsonInclude.Include.NON_NULL)  // Exclude null fields from JSON
 public class Job {
 
@@ -43,6 +54,10 @@ public class Job {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime updatedAt;
 
+    // Optimistic locking: a save from a stale copy fails instead of overwriting newer data
+    @Version
+    private Long version;
+
     // Set timestamps before save or update
     public void onCreate() {
         this.createdAt = LocalDateTime.now();
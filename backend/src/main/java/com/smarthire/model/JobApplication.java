@@ -1,8 +1,9 @@
 package com.smarthire.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,18 +13,34 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "job_applications")
+@CompoundIndexes({
+    @CompoundIndex(name = "job_match_score_idx", def = "{'jobId': 1, 'matchScore': -1}"),
+    @CompoundIndex(name = "job_status_idx", def = "{'jobId': 1, 'status': 1}"),
+    @CompoundIndex(name = "status_applied_idx", def = "{'status': 1, 'appliedAt': -1}"),
+    @CompoundIndex(name = "applied_idx", def = "{'appliedAt': -1}"),
+    @CompoundIndex(name = "candidate_email_idx", def = "{'candidateEmail': 1}")
+})
 public class JobApplication {
 
     @Id
     private String id;
 
-    @DBRef
-    private Job job;
+    // Job reference plus the job fields shown with an application (copied at submit time, no DBRef lookup)
+    private String jobId;
+    private String jobTitle;
+    private String company;
     
     // Required fields for public applications (non-registered candidates)
     private String candidateName;
     private String candidateEmail;
     private String candidatePhone;
+
+    // Profile fields (collected by the former candidate_applications flow)
+    private String currentRole;
+    private Integer yearsOfExperience;
+    private String skills;
+    private String linkedIn;
+    private String portfolio;
     
     private ApplicationStatus status;
     private String coverLetter;
@@ -32,6 +49,7 @@ public class JobApplication {
     private String resumeFileName;      // Original file name
     private String resumeContentType;   // MIME type (e.g., application/pdf)
     private byte[] resumeData;          // Actual file content stored as binary
+    private Long resumeFileSize;        // Size in bytes
     
     // AI-generated fields
     private String resumeContent;       // Extracted text from resume
@@ -45,6 +63,13 @@ public class JobApplication {
     private LocalDateTime appliedAt;
     private LocalDateTime updatedAt;
 
+    // Link the application to its job and copy the denormalized job fields
+    public void copyJobDetails(Job job) {
+        this.jobId = job.getId();
+        this.jobTitle = job.getTitle();
+        this.company = job.getCompany();
+    }
+
     // Set timestamps before saving
     public void onCreate() {
         this.appliedAt = LocalDateTime.now();
@@ -1,6 +1,8 @@
 package com.smarthire.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,6 +15,17 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "offer_letters")
+@CompoundIndexes({
+    @CompoundIndex(name = "status_onboarding_idx", def = "{'status': 1, 'onboardingCreated': 1}"),
+    @CompoundIndex(name = "status_expiry_idx", def = "{'status': 1, 'expiryDate': 1}"),
+    @CompoundIndex(name = "candidate_idx", def = "{'candidateId': 1}"),
+    @CompoundIndex(name = "application_idx", def = "{'applicationId': 1}"),
+    @CompoundIndex(name = "job_idx", def = "{'jobId': 1}"),
+    @CompoundIndex(name = "offer_letter_number_idx", def = "{'offerLetterNumber': 1}", unique = true, sparse = true),
+    @CompoundIndex(name = "candidate_email_idx", def = "{'candidateEmail': 1}"),
+    @CompoundIndex(name = "offer_date_idx", def = "{'offerDate': 1}"),
+    @CompoundIndex(name = "joining_date_idx", def = "{'joiningDate': 1}")
+})
 public class OfferLetter {
     
     @Id
@@ -37,7 +50,7 @@ public class OfferLetter {
     private String companyAddress;
     
     // Offer Details
-    private String offerLetterNumber; // Unique offer letter ID
+    private String offerLetterNumber; // Unique offer letter ID, from SequenceService.OFFER_LETTER_NUMBER
     private LocalDate offerDate;
     private LocalDate joiningDate;
     private String employmentType; // FULL_TIME, PART_TIME, CONTRACT, INTERNSHIP
@@ -79,9 +92,13 @@ public class OfferLetter {
     
     // Document Details
     private String offerLetterPdfUrl; // PDF storage path/URL
+    private String pdfFileId; // GridFS file of the stored PDF, claimed by the render that stored it
     private Boolean isDownloaded;
     private Integer downloadCount;
     
+    // Onboarding
+    private Boolean onboardingCreated; // Set when an onboarding uses this offer (eligibility flag)
+    
     // HR Details
     private String generatedBy; // HR/Admin who generated
     private String approvedBy; // Manager/Director who approved
@@ -104,7 +121,6 @@ public class OfferLetter {
         this.annualCtc = annualCtc;
         this.joiningDate = joiningDate;
         this.offerDate = LocalDate.now();
-        this.offerLetterNumber = generateOfferNumber();
         this.status = "GENERATED";
         this.generatedAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
@@ -114,8 +130,4 @@ public class OfferLetter {
         this.currency = "INR";
         this.employmentType = "FULL_TIME";
     }
-    
-    private String generateOfferNumber() {
-        return "OL-" + System.currentTimeMillis();
-    }
 }
@@ -1,6 +1,9 @@
 package com.smarthire.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,6 +18,17 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "onboarding")
+@CompoundIndexes({
+    @CompoundIndex(name = "status_joining_idx", def = "{'status': 1, 'joiningDate': 1}"),
+    @CompoundIndex(name = "status_probation_idx", def = "{'status': 1, 'probationEndDate': 1}"),
+    @CompoundIndex(name = "candidate_idx", def = "{'candidateId': 1}"),
+    @CompoundIndex(name = "employee_idx", def = "{'employeeId': 1}", unique = true, sparse = true),
+    @CompoundIndex(name = "current_step_idx", def = "{'currentStep': 1}"),
+    @CompoundIndex(name = "joining_date_idx", def = "{'joiningDate': 1}"),
+    @CompoundIndex(name = "department_idx", def = "{'department': 1}"),
+    @CompoundIndex(name = "coordinator_idx", def = "{'onboardingCoordinator': 1}"),
+    @CompoundIndex(name = "background_verification_idx", def = "{'backgroundVerificationStatus': 1}")
+})
 public class Onboarding {
     
     @Id
@@ -22,12 +36,13 @@ public class Onboarding {
     
     // References
     private String candidateId; // Reference to shortlisted candidate
+    @Indexed
     private String offerLetterId; // Reference to accepted offer letter
     private String applicationId; // Reference to application
     private String jobId; // Reference to job
     
     // Employee Information
-    private String employeeId; // Auto-generated employee ID
+    private String employeeId; // Assigned from SequenceService.EMPLOYEE_ID
     private String candidateName;
     private String candidateEmail;
     private String candidatePhone;
@@ -45,6 +60,7 @@ public class Onboarding {
     private LocalDate actualJoiningDate; // Actual date joined
     private LocalDate onboardingStartDate; // When onboarding process started
     private LocalDate onboardingCompletionDate; // When fully onboarded
+    private Boolean joiningOverdue; // Set by DeadlineService when joiningDate passes without joining
     
     // Onboarding Status
     private String status; // PENDING, DOCUMENTS_SUBMITTED, VERIFIED, APPROVED, COMPLETED, REJECTED
@@ -82,6 +98,7 @@ public class Onboarding {
     // Probation Details
     private Integer probationPeriod; // In months
     private LocalDate probationEndDate;
+    private Boolean probationCompleted; // Set by DeadlineService once probationEndDate has passed
     
     // Additional Information
     private String emergencyContactName;
@@ -127,7 +144,6 @@ public class Onboarding {
         this.candidateEmail = candidateEmail;
         this.jobTitle = jobTitle;
         this.joiningDate = joiningDate;
-        this.employeeId = generateEmployeeId();
         this.status = "PENDING";
         this.currentStep = "DOCUMENT_COLLECTION";
         this.completionPercentage = 0;
@@ -144,11 +160,6 @@ public class Onboarding {
         this.documents = initializeRequiredDocuments();
     }
     
-    // Generate unique employee ID
-    private String generateEmployeeId() {
-        return "EMP" + System.currentTimeMillis();
-    }
-    
     // Initialize required documents checklist
     private List<OnboardingDocument> initializeRequiredDocuments() {
         List<OnboardingDocument> docs = new ArrayList<>();
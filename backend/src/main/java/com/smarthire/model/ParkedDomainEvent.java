@@ -0,0 +1,46 @@
+package com.smarthire.model;
+
+import com.smarthire.event.DomainEvent;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A domain event the DomainEventBus could not apply (or had no room for), kept until DomainEventOutbox
+ * applies it; the durable side of the bus
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "domain_event_outbox")
+@CompoundIndexes({
+    @CompoundIndex(name = "status_due_idx", def = "{'status': 1, 'nextAttemptAt': 1}"),
+    @CompoundIndex(name = "aggregate_status_idx", def = "{'aggregateId': 1, 'status': 1}")
+})
+public class ParkedDomainEvent {
+
+    @Id
+    private String id;
+
+    private String eventType;   // Simple class name, for reading the collection by hand
+    private String aggregateId;
+    private DomainEvent event;  // Stored with its _class, read back as the concrete event
+    private LocalDateTime occurredAt; // Of the event; parked events are applied in this order
+
+    private ParkedStatus status = ParkedStatus.PENDING;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private LocalDateTime createdAt;
+
+    public enum ParkedStatus {
+        PENDING,  // Waiting for the outbox poll
+        FAILED    // Gave up after max-attempts, can be retried by hand
+    }
+}
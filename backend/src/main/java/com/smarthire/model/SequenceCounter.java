@@ -0,0 +1,22 @@
+package com.smarthire.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "counters")
+public class SequenceCounter {
+    
+    @Id
+    private String id; // Sequence name, e.g. offerLetterNumber
+    
+    private long value; // Highest value leased to any node
+    private LocalDateTime updatedAt;
+}
@@ -1,6 +1,8 @@
 package com.smarthire.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -16,6 +18,13 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "shortlisted_candidates")
+@CompoundIndexes({
+    @CompoundIndex(name = "job_score_idx", def = "{'jobId': 1, 'finalScore': -1}"),
+    @CompoundIndex(name = "job_status_idx", def = "{'jobId': 1, 'status': 1}"),
+    @CompoundIndex(name = "application_idx", def = "{'applicationId': 1}"),
+    @CompoundIndex(name = "status_idx", def = "{'status': 1}"),
+    @CompoundIndex(name = "offer_pending_idx", def = "{'offerPending': 1, '_id': 1}")
+})
 public class ShortlistedCandidate {
 
     @Id
@@ -71,6 +80,7 @@ public class ShortlistedCandidate {
     // Offer Letter Status
     private Boolean offerLetterGenerated;
     private String offerLetterId;
+    private boolean offerPending;  // Selected in the HR round, no offer letter yet (eligibility listing)
 
     public void onCreate() {
         this.shortlistedAt = LocalDateTime.now();
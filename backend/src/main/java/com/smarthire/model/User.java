@@ -1,6 +1,7 @@
 package com.smarthire.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
 import lombok.AllArgsConstructor;
@@ -22,6 +23,7 @@ public class User {
     private String password;
     private String firstName;
     private String lastName;
+    @Indexed
     private UserRole role;
     private String phoneNumber;
     private String company;
@@ -31,6 +33,10 @@ public class User {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Optimistic locking: a save from a stale copy fails instead of overwriting newer data
+    @Version
+    private Long version;
+
     // Manual lifecycle methods
     public void onCreate() {
         this.createdAt = LocalDateTime.now();
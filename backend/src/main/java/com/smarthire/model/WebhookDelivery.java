@@ -0,0 +1,59 @@
+package com.smarthire.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One event queued for one webhook subscriber; the durable queue behind WebhookDispatcher
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "webhook_deliveries")
+@CompoundIndexes({
+    @CompoundIndex(name = "status_subscriber_due_idx", def = "{'status': 1, 'subscriber': 1, 'nextAttemptAt': 1}"),
+    @CompoundIndex(name = "claim_token_idx", def = "{'claimToken': 1}", sparse = true)
+})
+public class WebhookDelivery {
+
+    @Id
+    private String id;
+
+    private String subscriber;  // WebhookSubscriber name
+    private String event;       // JOB_POSTED, APPLICATION_SUBMITTED, ...
+    private Map<String, Object> payload;
+
+    private DeliveryStatus status = DeliveryStatus.PENDING;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+
+    // Set while a dispatcher holds the delivery; an expired lease puts it back in the queue
+    private String claimToken;
+    private LocalDateTime leaseUntil;
+
+    private Integer lastStatusCode;
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime deliveredAt;
+
+    // Delivered and failed deliveries are removed by MongoDB once this passes
+    @Indexed(name = "expires_ttl_idx", expireAfter = "0s")
+    private LocalDateTime expiresAt;
+
+    public enum DeliveryStatus {
+        PENDING,    // Waiting for its next attempt
+        IN_FLIGHT,  // Claimed by a dispatcher
+        DELIVERED,  // Subscriber answered 2xx
+        FAILED      // Gave up after max-attempts, can be retried by hand
+    }
+}
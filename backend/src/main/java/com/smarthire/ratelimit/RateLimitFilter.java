@@ -0,0 +1,212 @@
+package com.smarthire.ratelimit;
+
+import com.smarthire.metrics.AppMetrics;
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimitFilter - Token-bucket limits for the public, unauthenticated write endpoints.
+ *
+ * POST /api/applications is limited per client IP, per job and globally; POST /api/jobs per client IP
+ * and globally. IP and global buckets are checked first, before anything reads the request body; only
+ * then is the jobId form field read for the per-job bucket. A rejected request gets 429 with
+ * Retry-After and the tokens it already took are given back. Buckets live in a ConcurrentHashMap of
+ * lock-free TokenBuckets; buckets that have been full for idle-expiry-ms are dropped, and once
+ * max-buckets keys are tracked, new keys share one overflow bucket per scope. Runs ahead of every
+ * other filter so a flood is turned away in microseconds.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private final boolean enabled;
+    private final boolean trustForwardedFor;
+    private final int maxBuckets;
+    private final long idleNanos;
+    private final List<Rule> rules;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(Environment environment,
+                           AppMetrics metrics,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor,
+                           @Value("${rate-limit.max-buckets:100000}") int maxBuckets,
+                           @Value("${rate-limit.idle-expiry-ms:600000}") long idleExpiryMs) {
+        this.enabled = enabled;
+        this.trustForwardedFor = trustForwardedFor;
+        this.maxBuckets = maxBuckets;
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleExpiryMs);
+        this.rules = List.of(
+            new Rule("applications", "POST", "/api/applications",
+                Scope.of(environment, metrics, "applications", "ip", 5, 10),
+                Scope.of(environment, metrics, "applications", "job", 50, 300),
+                Scope.of(environment, metrics, "applications", "global", 200, 3000)),
+            new Rule("job-posts", "POST", "/api/jobs",
+                Scope.of(environment, metrics, "job-posts", "ip", 5, 10),
+                null,
+                Scope.of(environment, metrics, "job-posts", "global", 50, 600)));
+        metrics.registerRateLimitBuckets(buckets);
+    }
+
+    /**
+     * One limited endpoint; job is null when the endpoint has no per-job limit
+     */
+    private record Rule(String name, String method, String path, Scope ip, Scope job, Scope global) {
+
+        boolean matches(HttpServletRequest request) {
+            String uri = request.getRequestURI();
+            return method.equals(request.getMethod())
+                && (uri.equals(path) || (uri.length() == path.length() + 1 && uri.startsWith(path) && uri.endsWith("/")));
+        }
+    }
+
+    /**
+     * Limit and counters of one bucket family (rate-limit.<rule>.<scope>.capacity / per-minute); shared is
+     * the global bucket itself, or for ip/job the overflow bucket used once max-buckets is reached
+     */
+    private record Scope(String name, int capacity, int perMinute, TokenBucket shared, Counter allowed, Counter rejected) {
+
+        static Scope of(Environment environment, AppMetrics metrics, String rule, String scope,
+                        int defaultCapacity, int defaultPerMinute) {
+            String prefix = "rate-limit." + rule + "." + scope + ".";
+            int capacity = environment.getProperty(prefix + "capacity", Integer.class, defaultCapacity);
+            int perMinute = environment.getProperty(prefix + "per-minute", Integer.class, defaultPerMinute);
+            return new Scope(scope, capacity, perMinute, new TokenBucket(capacity, perMinute),
+                metrics.rateLimitCounter(rule, scope, true), metrics.rateLimitCounter(rule, scope, false));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || rule(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Rule rule = rule(request);
+        long now = System.nanoTime();
+
+        TokenBucket ipBucket = bucket(rule, rule.ip(), clientIp(request));
+        long wait = ipBucket.tryAcquire(now);
+        if (wait > 0) {
+            reject(request, response, rule, rule.ip(), wait);
+            return;
+        }
+        wait = rule.global().shared().tryAcquire(now);
+        if (wait > 0) {
+            ipBucket.refund();
+            reject(request, response, rule, rule.global(), wait);
+            return;
+        }
+        if (rule.job() != null) {
+            // Reads the form field (and so the multipart body) only for requests already admitted above
+            TokenBucket jobBucket = bucket(rule, rule.job(), request.getParameter("jobId"));
+            wait = jobBucket.tryAcquire(now);
+            if (wait > 0) {
+                ipBucket.refund();
+                rule.global().shared().refund();
+                reject(request, response, rule, rule.job(), wait);
+                return;
+            }
+            rule.job().allowed().increment();
+        }
+        rule.ip().allowed().increment();
+        rule.global().allowed().increment();
+
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Drop buckets that have been full for idle-expiry-ms; a new bucket for the same key starts full anyway
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        int evicted = before - buckets.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate-limit buckets, {} left", evicted, buckets.size());
+        }
+    }
+
+    private Rule rule(HttpServletRequest request) {
+        for (Rule rule : rules) {
+            if (rule.matches(request)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private TokenBucket bucket(Rule rule, Scope scope, String value) {
+        String key = rule.name() + ":" + scope.name() + ":"
+            + (value == null || value.isBlank() || value.length() > MAX_KEY_LENGTH ? "-" : value);
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxBuckets) {
+            return scope.shared();
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(scope.capacity(), scope.perMinute()));
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader(FORWARDED_FOR);
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, Rule rule, Scope scope,
+                        long waitNanos) throws IOException {
+        scope.rejected().increment();
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        log.debug("Rate limited {} {} by {} bucket, retry after {}s", rule.method(), rule.path(), scope.name(), retryAfter);
+
+        response.setStatus(429);
+        response.setHeader("Retry-After", Long.toString(retryAfter));
+        allowOrigin(request, response);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many requests, please retry in " + retryAfter + " seconds\"}");
+    }
+
+    // The CORS filter never sees a rejected request; mirror its allow-all policy so browsers can read the 429
+    private static void allowOrigin(HttpServletRequest request, HttpServletResponse response) {
+        String origin = request.getHeader("Origin");
+        if (origin != null) {
+            response.setHeader("Access-Control-Allow-Origin", origin);
+            response.setHeader("Access-Control-Allow-Credentials", "true");
+            response.setHeader("Access-Control-Expose-Headers", "Retry-After");
+            response.addHeader("Vary", "Origin");
+        }
+    }
+}
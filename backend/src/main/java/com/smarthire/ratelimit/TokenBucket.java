@@ -0,0 +1,58 @@
+package com.smarthire.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TokenBucket - Lock-free token bucket kept as a single theoretical arrival time (GCRA).
+ *
+ * Each admitted request pushes the arrival time one emission interval (60s / per-minute) into the
+ * future; a request is rejected while that time is more than capacity - 1 intervals ahead of now.
+ * Refill is implicit in the clock, so there is no refill task and no allocation per request, and
+ * concurrent callers only race on one compare-and-set. A bucket whose arrival time has passed is
+ * full again, so dropping it and creating a new one later changes nothing.
+ */
+final class TokenBucket {
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(NEVER);
+
+    TokenBucket(int capacity, int perMinute) {
+        this.emissionIntervalNanos = 60_000_000_000L / Math.max(perMinute, 1);
+        this.burstToleranceNanos = (Math.max(capacity, 1) - 1) * emissionIntervalNanos;
+    }
+
+    /**
+     * Take one token; returns 0 when admitted, otherwise the nanoseconds until a token is available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long start = arrival == NEVER ? nowNanos : Math.max(arrival, nowNanos);
+            long wait = start - nowNanos - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Give back a token taken by tryAcquire when a later bucket rejected the same request
+     */
+    void refund() {
+        theoreticalArrival.addAndGet(-emissionIntervalNanos);
+    }
+
+    /**
+     * True when the bucket has been full for at least idleNanos
+     */
+    boolean isIdle(long nowNanos, long idleNanos) {
+        long arrival = theoreticalArrival.get();
+        return arrival == NEVER || nowNanos - arrival >= idleNanos;
+    }
+}
@@ -1,6 +1,5 @@
 package com.smarthire.repository;
 
-import com.smarthire.model.Job;
 import com.smarthire.model.JobApplication;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
@@ -9,6 +8,6 @@ import java.util.List;
 
 @Repository
 public interface ApplicationRepository extends MongoRepository<JobApplication, String> {
-    List<JobApplication> findByJob(Job job);
+    List<JobApplication> findByJobId(String jobId);
     List<JobApplication> findByStatus(JobApplication.ApplicationStatus status);
 }
@@ -1,27 +1,203 @@
 package com.smarthire.repository;
 
 import com.smarthire.model.CandidateApplication;
+import com.smarthire.model.JobApplication;
+import com.smarthire.service.CandidateApplicationMigration;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
-import java.util.List;
 
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * CandidateApplicationRepository - Compatibility layer serving the legacy CandidateApplication shape
+ * from the unified job_applications collection.
+ *
+ * Keeps the finder names of the former candidate_applications repository so existing callers work
+ * unchanged during the cutover. While CandidateApplicationMigration is still running, reads also
+ * include the legacy documents not yet copied (same _id, so nothing is counted twice) and saves move
+ * the touched document over. New code should use JobApplicationRepository directly.
+ *
+ * Views carry no resume bytes, so reads leave resumeData (and the legacy resumeBase64) out of the
+ * documents they load; only save() reads the full document it writes back.
+ */
 @Repository
-public interface CandidateApplicationRepository extends MongoRepository<CandidateApplication, String> {
-    
+public class CandidateApplicationRepository {
+
+    private static final Comparator<CandidateApplication> NEWEST_FIRST = Comparator.comparing(
+        CandidateApplication::getAppliedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final JobApplicationRepository applications;
+    private final MongoTemplate mongoTemplate;
+    private final CandidateApplicationMigration migration;
+
+    public CandidateApplicationRepository(JobApplicationRepository applications,
+                                          MongoTemplate mongoTemplate,
+                                          CandidateApplicationMigration migration) {
+        this.applications = applications;
+        this.mongoTemplate = mongoTemplate;
+        this.migration = migration;
+    }
+
     // Find all applications for a specific job
-    List<CandidateApplication> findByJobId(String jobId);
-    
+    public List<CandidateApplication> findByJobId(String jobId) {
+        return merge(stored(Criteria.where("jobId").is(jobId)), Criteria.where("jobId").is(jobId));
+    }
+
     // Find applications by candidate email
-    List<CandidateApplication> findByEmail(String email);
-    
+    public List<CandidateApplication> findByEmail(String email) {
+        return merge(stored(Criteria.where("candidateEmail").is(email)), Criteria.where("email").is(email));
+    }
+
     // Find applications by status
-    List<CandidateApplication> findByStatus(CandidateApplication.ApplicationStatus status);
-    
+    public List<CandidateApplication> findByStatus(CandidateApplication.ApplicationStatus status) {
+        return merge(stored(Criteria.where("status").is(status.toJobApplicationStatus())),
+            Criteria.where("status").is(status.name()));
+    }
+
     // Find applications by job ID and status
-    List<CandidateApplication> findByJobIdAndStatus(String jobId, CandidateApplication.ApplicationStatus status);
-    
+    public List<CandidateApplication> findByJobIdAndStatus(String jobId, CandidateApplication.ApplicationStatus status) {
+        return merge(stored(Criteria.where("jobId").is(jobId).and("status").is(status.toJobApplicationStatus())),
+            Criteria.where("jobId").is(jobId).and("status").is(status.name()));
+    }
+
     // Find applications with pagination
-    Page<CandidateApplication> findByStatus(CandidateApplication.ApplicationStatus status, Pageable pageable);
+    public Page<CandidateApplication> findByStatus(CandidateApplication.ApplicationStatus status, Pageable pageable) {
+        return page(Criteria.where("status").is(status.toJobApplicationStatus()),
+            Criteria.where("status").is(status.name()), pageable);
+    }
+
+    public List<CandidateApplication> findAll() {
+        return merge(stored(null), null);
+    }
+
+    public Page<CandidateApplication> findAll(Pageable pageable) {
+        return page(null, null, pageable);
+    }
+
+    public Optional<CandidateApplication> findById(String id) {
+        Optional<CandidateApplication> stored = Optional.ofNullable(mongoTemplate.findOne(
+            withoutResume(new Query(Criteria.where("_id").is(id))), JobApplication.class))
+            .map(CandidateApplication::from);
+        if (stored.isPresent() || migration.isComplete()) {
+            return stored;
+        }
+        return Optional.ofNullable(mongoTemplate.findOne(
+            legacyQuery(Criteria.where("_id").is(id)), CandidateApplication.class,
+            CandidateApplicationMigration.LEGACY_COLLECTION));
+    }
+
+    /**
+     * Write the view's fields onto the stored application; a legacy-only application is moved over first
+     */
+    public CandidateApplication save(CandidateApplication view) {
+        JobApplication application = view.getId() == null ? null : applications.findById(view.getId()).orElse(null);
+        if (application == null) {
+            application = legacyOrNew(view);
+        } else {
+            view.applyTo(application);
+        }
+
+        JobApplication saved = applications.save(application);
+        if (view.getId() != null && !migration.isComplete()) {
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(view.getId())),
+                new Update().set("migrated", true), CandidateApplicationMigration.LEGACY_COLLECTION);
+        }
+        return CandidateApplication.from(saved);
+    }
+
+    private JobApplication legacyOrNew(CandidateApplication view) {
+        if (view.getId() != null && !migration.isComplete()) {
+            // Keep the resume of the legacy document, which views never carry
+            CandidateApplication legacy = mongoTemplate.findById(view.getId(), CandidateApplication.class,
+                CandidateApplicationMigration.LEGACY_COLLECTION);
+            if (legacy != null) {
+                JobApplication application = legacy.toJobApplication();
+                view.applyTo(application);
+                return application;
+            }
+        }
+        JobApplication application = view.toJobApplication();
+        if (application.getAppliedAt() == null) {
+            application.onCreate();
+        }
+        return application;
+    }
+
+    // Stored applications plus matching legacy documents that are not migrated yet
+    private List<CandidateApplication> merge(List<JobApplication> stored, Criteria legacyCriteria) {
+        List<CandidateApplication> views = stored.stream()
+            .map(CandidateApplication::from)
+            .collect(Collectors.toCollection(ArrayList::new));
+        if (migration.isComplete()) {
+            return views;
+        }
+
+        Set<String> ids = views.stream().map(CandidateApplication::getId).collect(Collectors.toSet());
+        mongoTemplate.find(legacyQuery(legacyCriteria), CandidateApplication.class,
+                CandidateApplicationMigration.LEGACY_COLLECTION).stream()
+            .filter(legacy -> !ids.contains(legacy.getId()))
+            .forEach(views::add);
+        return views;
+    }
+
+    // Stored applications matching the criteria (all of them when null), without the resume
+    private List<JobApplication> stored(Criteria criteria) {
+        return mongoTemplate.find(withoutResume(criteriaQuery(criteria)), JobApplication.class);
+    }
+
+    private Page<JobApplication> stored(Criteria criteria, Pageable pageable) {
+        Query query = withoutResume(criteriaQuery(criteria));
+        List<JobApplication> content = mongoTemplate.find(Query.of(query).with(pageable), JobApplication.class);
+        return PageableExecutionUtils.getPage(content, pageable, () -> mongoTemplate.count(query, JobApplication.class));
+    }
+
+    // During the cutover both sources are read up to the end of the page and merged newest first
+    private Page<CandidateApplication> page(Criteria storedCriteria, Criteria legacyCriteria, Pageable pageable) {
+        if (migration.isComplete()) {
+            return stored(storedCriteria, pageable).map(CandidateApplication::from);
+        }
+
+        int window = (int) pageable.getOffset() + pageable.getPageSize();
+        Page<JobApplication> storedWindow = stored(storedCriteria, PageRequest.of(0, window, pageable.getSort()));
+
+        Query legacyQuery = legacyQuery(legacyCriteria);
+        long legacyTotal = mongoTemplate.count(legacyQuery, CandidateApplicationMigration.LEGACY_COLLECTION);
+        List<CandidateApplication> legacyWindow = mongoTemplate.find(
+            legacyQuery.with(pageable.getSort()).limit(window), CandidateApplication.class,
+            CandidateApplicationMigration.LEGACY_COLLECTION);
+
+        List<CandidateApplication> content = Stream.concat(
+                storedWindow.getContent().stream().map(CandidateApplication::from), legacyWindow.stream())
+            .sorted(NEWEST_FIRST)
+            .skip(pageable.getOffset())
+            .limit(pageable.getPageSize())
+            .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, storedWindow.getTotalElements() + legacyTotal);
+    }
+
+    // Unmigrated legacy documents matching the criteria (all of them when null), without the resume
+    private static Query legacyQuery(Criteria criteria) {
+        Query query = CandidateApplicationMigration.pendingQuery();
+        query.fields().exclude("resumeBase64");
+        return criteria == null ? query : query.addCriteria(criteria);
+    }
+
+    private static Query criteriaQuery(Criteria criteria) {
+        return criteria == null ? new Query() : new Query(criteria);
+    }
+
+    private static Query withoutResume(Query query) {
+        query.fields().exclude("resumeData");
+        return query;
+    }
 }
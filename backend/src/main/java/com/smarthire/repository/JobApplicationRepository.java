@@ -1,7 +1,8 @@
 package com.smarthire.repository;
 
 import com.smarthire.model.JobApplication;
-import com.smarthire.model.Job;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,6 +11,11 @@ import java.util.List;
 @Repository
 public interface JobApplicationRepository extends MongoRepository<JobApplication, String> {
 
-    List<JobApplication> findByJob(Job job);
-    List<JobApplication> findByJobOrderByMatchScoreDesc(Job job);
+    List<JobApplication> findByJobId(String jobId);
+    List<JobApplication> findByJobIdOrderByMatchScoreDesc(String jobId);
+    List<JobApplication> findByJobIdAndStatus(String jobId, JobApplication.ApplicationStatus status);
+    List<JobApplication> findByCandidateEmail(String candidateEmail);
+    List<JobApplication> findByStatus(JobApplication.ApplicationStatus status);
+    Page<JobApplication> findByStatus(JobApplication.ApplicationStatus status, Pageable pageable);
+    long countByJobId(String jobId);
 }
@@ -0,0 +1,17 @@
+package com.smarthire.repository;
+
+import com.smarthire.model.Job;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streaming read for the all-jobs listing; results are pulled from the cursor
+ * as the HTTP response consumes them.
+ */
+@Repository
+public interface ReactiveJobRepository extends ReactiveMongoRepository<Job, String> {
+
+    // Stream all jobs (including closed), sorted by createdAt descending
+    Flux<Job> findAllByOrderByCreatedAtDesc();
+}
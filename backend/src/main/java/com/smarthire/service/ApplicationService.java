@@ -1,10 +1,13 @@
 package com.smarthire.service;
 
+import com.smarthire.event.ApplicationSubmittedEvent;
+import com.smarthire.metrics.AppMetrics;
 import com.smarthire.model.Job;
 import com.smarthire.model.JobApplication;
 import com.smarthire.repository.JobApplicationRepository;
-import com.smarthire.repository.JobRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -12,16 +15,20 @@ import java.io.IOException;
 import java.util.List;
 
 @Service
+@Slf4j
 public class ApplicationService {
 
     @Autowired
     private JobApplicationRepository applicationRepository;
 
     @Autowired
-    private JobRepository jobRepository;
-    
+    private AppMetrics metrics;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
-    private com.smarthire.service.monitoring.ApplicationMonitoringService monitoringService;
+    private EntityCache entityCache;
 
     /**
      * Submit a job application with resume upload
@@ -34,13 +41,20 @@ public class ApplicationService {
             String candidatePhone,
             String coverLetter,
             MultipartFile resumeFile) throws IOException {
-        
-        System.out.println("📝 Processing application for job: " + jobId);
-        System.out.println("👤 Candidate: " + candidateName + " (" + candidateEmail + ")");
+        return metrics.timeOperation("submitApplication", jobId, application -> true,
+                () -> doSubmitApplication(jobId, candidateName, candidateEmail, candidatePhone, coverLetter, resumeFile));
+    }
+
+    private JobApplication doSubmitApplication(
+            String jobId,
+            String candidateName,
+            String candidateEmail,
+            String candidatePhone,
+            String coverLetter,
+            MultipartFile resumeFile) throws IOException {
         
         // Get the job
-        @SuppressWarnings("null")
-        Job job = jobRepository.findById(jobId)
+        Job job = entityCache.findJob(jobId)
                 .orElseThrow(() -> new RuntimeException("Job not found with ID: " + jobId));
         
         // Check if job can accept applications
@@ -54,7 +68,7 @@ public class ApplicationService {
         
         // Create application
         JobApplication application = new JobApplication();
-        application.setJob(job);
+        application.copyJobDetails(job);
         application.setCandidateName(candidateName);
         application.setCandidateEmail(candidateEmail);
         application.setCandidatePhone(candidatePhone);
@@ -65,43 +79,18 @@ public class ApplicationService {
             application.setResumeFileName(resumeFile.getOriginalFilename());
             application.setResumeContentType(resumeFile.getContentType());
             application.setResumeData(resumeFile.getBytes());
-            System.out.println("📎 Resume uploaded: " + resumeFile.getOriginalFilename() + 
-                             " (" + resumeFile.getSize() + " bytes)");
+            application.setResumeFileSize(resumeFile.getSize());
+            log.debug("📎 Resume uploaded: {} ({} bytes)", resumeFile.getOriginalFilename(), resumeFile.getSize());
         }
         
         application.onCreate();
         
         // Save to MongoDB
         JobApplication savedApplication = applicationRepository.save(application);
-        System.out.println("✅ Application saved to MongoDB with ID: " + savedApplication.getId());
-        
-        // Increment job application count
-        job.incrementApplicationCount();
-        job.onUpdate();
-        jobRepository.save(job);
-        System.out.println("📊 Job application count updated: " + job.getApplicationCount() + 
-            (job.getMaxCandidates() != null ? "/" + job.getMaxCandidates() : ""));
-        
-        
-        // 🤖 AI MONITORING: Check if job has enough applications
-        System.out.println("🤖 AI: Checking if job has enough applications...");
-        boolean hasEnoughApplications = monitoringService.hasEnoughApplications(jobId);
+        log.info("📝 Application {} saved for job {} ({})", savedApplication.getId(), jobId, candidateEmail);
         
-        // Get actual application count
-        List<JobApplication> allApplications = applicationRepository.findByJob(job);
-        int actualApplicationCount = allApplications.size();
-        
-        if (hasEnoughApplications && job.getStatus() == Job.JobStatus.OPEN) {
-            System.out.println("🔒 AI: AUTO-CLOSING JOB - Enough candidates received!");
-            job.setStatus(Job.JobStatus.CLOSED);
-            job.onUpdate();
-            jobRepository.save(job);
-            System.out.println("✅ Job \"" + job.getTitle() + "\" closed automatically");
-        } else if (hasEnoughApplications) {
-            System.out.println("ℹ️ AI: Job already closed");
-        } else {
-            System.out.println("📊 AI: Still waiting for more applications (" + actualApplicationCount + "/3)");
-        }
+        // 🤖 AI MONITORING: counts the application and closes the job at its threshold (JobAutoCloseService)
+        eventPublisher.publishEvent(new ApplicationSubmittedEvent(jobId, savedApplication.getId()));
         
         return savedApplication;
     }
@@ -109,11 +98,11 @@ public class ApplicationService {
     /**
      * Get all applications for a specific job
      */
-    @SuppressWarnings("null")
     public List<JobApplication> getApplicationsByJob(String jobId) {
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new RuntimeException("Job not found"));
-        return applicationRepository.findByJob(job);
+        if (entityCache.findJob(jobId).isEmpty()) {
+            throw new RuntimeException("Job not found");
+        }
+        return applicationRepository.findByJobId(jobId);
     }
 
     /**
@@ -0,0 +1,109 @@
+package com.smarthire.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.*;
+
+/**
+ * BatchLoader - Request-scoped loader that replaces per-item findById / existsBy calls.
+ *
+ * Keys are looked up with one $in query per entity type (or distinct query per field),
+ * and every result - including misses - is memoized until the request ends, so asking
+ * for the same key twice never goes back to Mongo.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class BatchLoader {
+
+    private final MongoTemplate mongoTemplate;
+
+    // entity type -> id -> entity (empty when not found)
+    private final Map<Class<?>, Map<String, Optional<Object>>> entitiesById = new HashMap<>();
+
+    // "Type.field" -> value -> exists
+    private final Map<String, Map<String, Boolean>> fieldValues = new HashMap<>();
+
+    /**
+     * Load entities by ID with a single $in query for all IDs not seen before in this request.
+     * Returned map keeps the order of the given IDs and skips IDs that do not exist.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Map<String, T> loadByIds(Class<T> type, Collection<String> ids) {
+        Map<String, Optional<Object>> memo = entitiesById.computeIfAbsent(type, k -> new HashMap<>());
+
+        Set<String> missing = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (id != null && !memo.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(type);
+            for (T found : mongoTemplate.find(new Query(Criteria.where("_id").in(missing)), type)) {
+                Object id = entity.getIdentifierAccessor(found).getIdentifier();
+                memo.put(String.valueOf(id), Optional.of(found));
+            }
+            for (String id : missing) {
+                memo.putIfAbsent(id, Optional.empty());
+            }
+        }
+
+        Map<String, T> result = new LinkedHashMap<>();
+        for (String id : ids) {
+            if (id != null) {
+                memo.get(id).ifPresent(found -> result.put(id, (T) found));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Load a single entity by ID, reusing anything already loaded in this request
+     */
+    public <T> Optional<T> loadById(Class<T> type, String id) {
+        return Optional.ofNullable(loadByIds(type, List.of(id)).get(id));
+    }
+
+    /**
+     * Return which of the given values are present in a field of the entity's collection.
+     * Equivalent to calling existsByField(value) for every value, but with one distinct query.
+     */
+    public Set<String> findExistingValues(Class<?> type, String field, Collection<String> values) {
+        Map<String, Boolean> memo = fieldValues.computeIfAbsent(type.getName() + "." + field, k -> new HashMap<>());
+
+        Set<String> missing = new LinkedHashSet<>();
+        for (String value : values) {
+            if (value != null && !memo.containsKey(value)) {
+                missing.add(value);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            List<String> existing = mongoTemplate.findDistinct(
+                new Query(Criteria.where(field).in(missing)), field, type, String.class);
+            for (String value : missing) {
+                memo.put(value, false);
+            }
+            for (String value : existing) {
+                memo.put(value, true);
+            }
+        }
+
+        Set<String> result = new LinkedHashSet<>();
+        for (String value : values) {
+            if (value != null && Boolean.TRUE.equals(memo.get(value))) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,183 @@
+package com.smarthire.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.InsertManyOptions;
+import com.smarthire.model.CandidateApplication;
+import com.smarthire.model.JobApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CandidateApplicationMigration - Moves candidate_applications into the unified job_applications collection.
+ *
+ * Each run copies up to max-batches-per-run batches, oldest _id first, pausing between batches so the
+ * copy never competes with live traffic. A copied document keeps its _id and the legacy document is
+ * flagged migrated rather than deleted, so an interrupted run resumes where it stopped and a copy
+ * that already landed is skipped as a duplicate key. One replica runs at a time (SchedulerLock).
+ * Until nothing is left, CandidateApplicationRepository also reads the unmigrated legacy documents.
+ */
+@Service
+@Slf4j
+public class CandidateApplicationMigration {
+
+    public static final String LEGACY_COLLECTION = "candidate_applications";
+
+    private static final String LOCK_NAME = "migration-candidate-applications";
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final SchedulerLock schedulerLock;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long pauseMs;
+    private final Duration lockLease;
+
+    private volatile boolean complete;
+
+    public CandidateApplicationMigration(MongoTemplate mongoTemplate,
+                                         SchedulerLock schedulerLock,
+                                         @Value("${migrations.candidate-applications.enabled:true}") boolean enabled,
+                                         @Value("${migrations.candidate-applications.batch-size:200}") int batchSize,
+                                         @Value("${migrations.candidate-applications.max-batches-per-run:50}") int maxBatchesPerRun,
+                                         @Value("${migrations.candidate-applications.pause-ms:250}") long pauseMs,
+                                         @Value("${migrations.lock-lease-ms:900000}") long lockLeaseMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.schedulerLock = schedulerLock;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseMs = pauseMs;
+        this.lockLease = Duration.ofMillis(lockLeaseMs);
+    }
+
+    /**
+     * True once no unmigrated legacy application is left (reads can skip candidate_applications)
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            complete = !mongoTemplate.exists(pendingQuery(), LEGACY_COLLECTION);
+            if (!complete) {
+                log.info("Legacy candidate_applications pending migration, reading both collections until done");
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Could not check candidate_applications migration state: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${migrations.candidate-applications.interval-ms:60000}",
+               initialDelayString = "${migrations.candidate-applications.initial-delay-ms:20000}")
+    public void runScheduled() {
+        if (!enabled || complete) {
+            return;
+        }
+        try {
+            migrate();
+        } catch (Exception e) {
+            log.error("❌ candidate_applications migration run failed: ", e);
+        }
+    }
+
+    /**
+     * One throttled run; returns the number of documents moved, -1 when another node is migrating
+     */
+    public long migrate() {
+        if (!schedulerLock.tryAcquire(LOCK_NAME, lockLease)) {
+            log.debug("candidate_applications migration skipped, another node holds the lock");
+            return -1;
+        }
+        try {
+            return runBatches();
+        } finally {
+            schedulerLock.release(LOCK_NAME);
+        }
+    }
+
+    private long runBatches() {
+        long moved = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<CandidateApplication> batch = mongoTemplate.find(
+                pendingQuery().with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize),
+                CandidateApplication.class, LEGACY_COLLECTION);
+            if (batch.isEmpty()) {
+                complete = true;
+                log.info("✅ candidate_applications fully migrated into job_applications");
+                break;
+            }
+            moved += moveBatch(batch);
+            if (!pause()) {
+                break;
+            }
+        }
+        if (moved > 0) {
+            log.info("Moved {} candidate applications into job_applications", moved);
+        }
+        return moved;
+    }
+
+    private int moveBatch(List<CandidateApplication> batch) {
+        // Raw inserts: the JobApplication save listener would overwrite the original timestamps
+        List<Document> documents = new ArrayList<>(batch.size());
+        List<String> ids = new ArrayList<>(batch.size());
+        for (CandidateApplication legacy : batch) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(legacy.toJobApplication(), document);
+            documents.add(document);
+            ids.add(legacy.getId());
+        }
+
+        try {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(JobApplication.class))
+                .insertMany(documents, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            // Copies that landed before an interrupted run are duplicates; anything else is a real failure
+            boolean onlyDuplicates = e.getWriteErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates || e.getWriteConcernError() != null) {
+                throw e;
+            }
+        }
+
+        mongoTemplate.updateMulti(
+            new Query(Criteria.where("_id").in(ids)),
+            new Update().set("migrated", true).set("migratedAt", LocalDateTime.now()),
+            LEGACY_COLLECTION);
+        return batch.size();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Legacy documents not yet copied into job_applications
+     */
+    public static Query pendingQuery() {
+        return new Query(Criteria.where("migrated").ne(true));
+    }
+}
@@ -0,0 +1,199 @@
+package com.smarthire.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.smarthire.event.DeadlineTransitionEvent;
+import com.smarthire.event.DomainEventBus;
+import com.smarthire.model.Interview;
+import com.smarthire.model.OfferLetter;
+import com.smarthire.model.Onboarding;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * DeadlineService - Applies time-driven lifecycle transitions.
+ *
+ * - SENT/GENERATED offer letters past expiryDate become EXPIRED
+ * - SCHEDULED/RESCHEDULED interviews past scheduledDate (plus a grace period) become NO_SHOW
+ * - Open onboardings past joiningDate without an actual joining date are flagged joiningOverdue
+ * - COMPLETED onboardings past probationEndDate are flagged probationCompleted
+ *
+ * Every transition is an indexed (status, due date) query for the next batch of IDs followed by
+ * one updateMulti guarded by the same criteria, so concurrent manual changes win and updated rows
+ * drop out of the next batch without offsets. One replica runs a pass at a time (SchedulerLock),
+ * and each document the update actually moved is published as a DeadlineTransitionEvent.
+ * When the guard missed some of the batch, the moved ones are re-read by the values the update wrote.
+ */
+@Service
+@ConditionalOnProperty(name = "deadlines.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class DeadlineService {
+
+    private static final String LOCK_NAME = "deadline-engine";
+
+    private final MongoTemplate mongoTemplate;
+    private final DomainEventBus eventBus;
+    private final SchedulerLock schedulerLock;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration noShowGrace;
+    private final Duration lockLease;
+
+    public DeadlineService(MongoTemplate mongoTemplate,
+                           DomainEventBus eventBus,
+                           SchedulerLock schedulerLock,
+                           @Value("${deadlines.batch-size:500}") int batchSize,
+                           @Value("${deadlines.max-batches-per-run:100}") int maxBatchesPerRun,
+                           @Value("${deadlines.no-show-grace-hours:24}") long noShowGraceHours,
+                           @Value("${deadlines.lock-lease-ms:300000}") long lockLeaseMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventBus = eventBus;
+        this.schedulerLock = schedulerLock;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.noShowGrace = Duration.ofHours(noShowGraceHours);
+        this.lockLease = Duration.ofMillis(lockLeaseMs);
+    }
+
+    @Scheduled(fixedDelayString = "${deadlines.interval-ms:60000}", initialDelayString = "${deadlines.initial-delay-ms:30000}")
+    public void runScheduled() {
+        if (!schedulerLock.tryAcquire(LOCK_NAME, lockLease)) {
+            log.debug("Deadline pass skipped, another node holds the lock");
+            return;
+        }
+        try {
+            runOnce();
+        } catch (Exception e) {
+            log.error("❌ Deadline pass failed: ", e);
+        } finally {
+            schedulerLock.release(LOCK_NAME);
+        }
+    }
+
+    /**
+     * Apply every due transition once; returns the number of documents moved per transition
+     */
+    public Map<String, Integer> runOnce() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Integer> applied = new LinkedHashMap<>();
+
+        applied.put("OFFER_EXPIRED", apply(new Transition(
+            "OFFER_EXPIRED", OfferLetter.class, "expiryDate", "EXPIRED",
+            () -> Criteria.where("status").in("GENERATED", "SENT").and("expiryDate").lt(today),
+            new Update().set("status", "EXPIRED").set("updatedAt", now))));
+
+        applied.put("INTERVIEW_NO_SHOW", apply(new Transition(
+            "INTERVIEW_NO_SHOW", Interview.class, "scheduledDate", "NO_SHOW",
+            () -> Criteria.where("status").in("SCHEDULED", "RESCHEDULED").and("scheduledDate").lt(now.minus(noShowGrace)),
+            new Update().set("status", "NO_SHOW").set("updatedAt", now))));
+
+        applied.put("JOINING_OVERDUE", apply(new Transition(
+            "JOINING_OVERDUE", Onboarding.class, "joiningDate", null,
+            () -> Criteria.where("status").in("PENDING", "DOCUMENTS_SUBMITTED", "VERIFIED", "APPROVED")
+                .and("joiningDate").lt(today)
+                .and("actualJoiningDate").is(null)
+                .and("joiningOverdue").ne(true),
+            new Update().set("joiningOverdue", true).set("updatedAt", now))));
+
+        applied.put("PROBATION_COMPLETED", apply(new Transition(
+            "PROBATION_COMPLETED", Onboarding.class, "probationEndDate", null,
+            () -> Criteria.where("status").is("COMPLETED")
+                .and("probationEndDate").lt(today)
+                .and("probationCompleted").ne(true),
+            new Update().set("probationCompleted", true).set("updatedAt", now))));
+
+        if (applied.values().stream().anyMatch(count -> count > 0)) {
+            log.info("Deadline pass applied: {}", applied);
+        }
+        return applied;
+    }
+
+    private int apply(Transition transition) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Query dueQuery = new Query(transition.criteria.get())
+                .with(Sort.by(Sort.Direction.ASC, transition.dueField))
+                .limit(batchSize);
+            dueQuery.fields().include("_id", "status", "jobId", transition.candidateField());
+
+            List<Document> due = mongoTemplate.find(dueQuery, Document.class,
+                mongoTemplate.getCollectionName(transition.entity));
+            if (due.isEmpty()) {
+                break;
+            }
+
+            List<Object> ids = due.stream().map(doc -> doc.get("_id")).collect(Collectors.toList());
+            UpdateResult result = mongoTemplate.updateMulti(
+                new Query(transition.criteria.get().and("_id").in(ids)),
+                transition.update,
+                transition.entity);
+
+            List<Document> moved = due;
+            if (result.getMatchedCount() < due.size()) {
+                // A concurrent change made the guard miss some documents; only announce the ones updated here
+                Query movedQuery = new Query(transition.written().and("_id").in(ids));
+                movedQuery.fields().include("_id");
+                Set<Object> updatedIds = mongoTemplate.find(movedQuery, Document.class,
+                        mongoTemplate.getCollectionName(transition.entity))
+                    .stream().map(doc -> doc.get("_id")).collect(Collectors.toSet());
+                moved = due.stream().filter(doc -> updatedIds.contains(doc.get("_id"))).toList();
+                log.debug("{}: {} of {} due documents changed concurrently, skipped", transition.name,
+                    due.size() - moved.size(), due.size());
+            }
+
+            LocalDateTime occurredAt = LocalDateTime.now();
+            for (Document doc : moved) {
+                String status = doc.getString("status");
+                eventBus.publish(new DeadlineTransitionEvent(
+                    transition.name,
+                    transition.entity.getSimpleName(),
+                    doc.get("_id").toString(),
+                    doc.getString("jobId"),
+                    doc.getString(transition.candidateField()),
+                    status,
+                    transition.toStatus != null ? transition.toStatus : status,
+                    occurredAt));
+            }
+
+            total += moved.size();
+            if (due.size() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private record Transition(String name, Class<?> entity, String dueField, String toStatus,
+                              Supplier<Criteria> criteria, Update update) {
+
+        String candidateField() {
+            return entity == Interview.class ? "shortlistedCandidateId" : "candidateId";
+        }
+
+        // Documents carrying every value the update sets, including its updatedAt timestamp
+        Criteria written() {
+            Criteria criteria = new Criteria();
+            update.getUpdateObject().get("$set", Document.class).forEach((field, value) -> criteria.and(field).is(value));
+            return criteria;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.smarthire.service;
 
+import com.smarthire.metrics.AppMetrics;
 import com.smarthire.model.Interview;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -25,6 +27,9 @@ public class EmailService {
     @Value("${app.frontend.url:http://localhost:4200}")
     private String frontendUrl;
     
+    @Autowired
+    private AppMetrics metrics;
+    
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMMM dd, yyyy");
     
     /**
@@ -49,10 +54,12 @@ public class EmailService {
             // Example with SendGrid, AWS SES, or JavaMail
             // sendEmailViaSMTP(interview.getCandidateEmail(), subject, emailBody);
             
+            metrics.recordEmail("invitation", interview.getJobId(), interview.getCompany(), true);
             return true;
             
         } catch (Exception e) {
             log.error("❌ Error sending interview invitation: ", e);
+            metrics.recordEmail("invitation", interview.getJobId(), interview.getCompany(), false);
             return false;
         }
     }
@@ -60,7 +67,7 @@ public class EmailService {
     /**
      * Build email subject
      */
-    private String buildEmailSubject(Interview interview, String interviewType) {
+    String buildEmailSubject(Interview interview, String interviewType) {
         if ("VOICE_AI".equals(interviewType)) {
             return String.format("🎯 AI Interview Invitation - %s at %s", 
                 interview.getJobTitle(), companyName);
@@ -73,7 +80,7 @@ public class EmailService {
     /**
      * Build interview invitation email body
      */
-    private String buildInterviewInvitationEmail(Interview interview, String interviewType) {
+    String buildInterviewInvitationEmail(Interview interview, String interviewType) {
         StringBuilder email = new StringBuilder();
         
         email.append("<!DOCTYPE html>");
@@ -211,10 +218,12 @@ public class EmailService {
             // Log email
             log.info("Reminder email sent to: {}", interview.getCandidateEmail());
             
+            metrics.recordEmail("reminder", interview.getJobId(), interview.getCompany(), true);
             return true;
             
         } catch (Exception e) {
             log.error("Error sending reminder: ", e);
+            metrics.recordEmail("reminder", interview.getJobId(), interview.getCompany(), false);
             return false;
         }
     }
@@ -222,7 +231,7 @@ public class EmailService {
     /**
      * Build reminder email
      */
-    private String buildReminderEmail(Interview interview) {
+    String buildReminderEmail(Interview interview) {
         return String.format(
             "Dear %s,\n\n" +
             "This is a friendly reminder about your interview scheduled for tomorrow.\n\n" +
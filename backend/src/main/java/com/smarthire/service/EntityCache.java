@@ -0,0 +1,167 @@
+package com.smarthire.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smarthire.metrics.AppMetrics;
+import com.smarthire.model.Job;
+import com.smarthire.model.User;
+import com.smarthire.repository.JobRepository;
+import com.smarthire.repository.UserRepository;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * EntityCache - Bounded near-cache in front of JobRepository (by id) and UserRepository (by email).
+ *
+ * Entries are kept as BSON documents and every hit maps a fresh entity, so callers can modify what
+ * they get back without touching the cache. Misses load through Caffeine's per-key atomic get, so an
+ * invalidation issued after a database write waits for a concurrent load and then drops its result.
+ * Writes go through save, which stores the saved entity (write-through) unless the cache already
+ * holds a higher @Version. Entries expire after entity-cache.ttl-ms, which bounds how long writes
+ * made by other instances stay invisible; saving a copy that is that stale fails on the version check.
+ */
+@Component
+public class EntityCache {
+
+    public static final String JOB_CACHE = "job";
+    public static final String USER_CACHE = "userByEmail";
+
+    private final JobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final MongoConverter converter;
+    private final AppMetrics metrics;
+    private final Cache<String, CachedEntity> jobs;
+    private final Cache<String, CachedEntity> usersByEmail;
+
+    public EntityCache(JobRepository jobRepository,
+                       UserRepository userRepository,
+                       MongoTemplate mongoTemplate,
+                       AppMetrics metrics,
+                       @Value("${entity-cache.max-jobs:10000}") long maxJobs,
+                       @Value("${entity-cache.max-users:10000}") long maxUsers,
+                       @Value("${entity-cache.ttl-ms:30000}") long ttlMs) {
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.converter = mongoTemplate.getConverter();
+        this.metrics = metrics;
+        this.jobs = Caffeine.newBuilder()
+            .maximumSize(maxJobs)
+            .expireAfterWrite(Duration.ofMillis(ttlMs))
+            .build();
+        this.usersByEmail = Caffeine.newBuilder()
+            .maximumSize(maxUsers)
+            .expireAfterWrite(Duration.ofMillis(ttlMs))
+            .build();
+    }
+
+    // Stored form of one entity and its @Version (null for documents written before versioning)
+    private record CachedEntity(Document document, Long version) {
+    }
+
+    // Result of one lookup and whether it was served from the cache
+    private record Lookup<T>(Optional<T> entity, boolean hit) {
+    }
+
+    public Optional<Job> findJob(String jobId) {
+        if (jobId == null) {
+            return Optional.empty();
+        }
+        Lookup<Job> lookup = find(jobs, jobId, id -> jobRepository.findById(id).orElse(null),
+            Job.class, Job::getVersion);
+        lookup.entity().ifPresent(metrics::rememberTenant);
+        metrics.recordCacheRequest(JOB_CACHE, jobId, lookup.hit());
+        return lookup.entity();
+    }
+
+    public Optional<User> findUserByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        Lookup<User> lookup = find(usersByEmail, email, key -> userRepository.findByEmail(key).orElse(null),
+            User.class, User::getVersion);
+        metrics.recordCacheRequest(USER_CACHE, null, lookup.hit());
+        return lookup.entity();
+    }
+
+    /**
+     * Save through JobRepository and keep the saved job; a version conflict drops the cached copy
+     */
+    public Job saveJob(Job job) {
+        try {
+            Job saved = jobRepository.save(job);
+            putJob(saved);
+            return saved;
+        } catch (OptimisticLockingFailureException e) {
+            invalidateJob(job.getId());
+            throw e;
+        }
+    }
+
+    public void deleteJob(Job job) {
+        jobRepository.delete(job);
+        invalidateJob(job.getId());
+    }
+
+    /**
+     * Store a job read back from a direct database update (e.g. findAndModify)
+     */
+    public void putJob(Job job) {
+        put(jobs, job.getId(), job, job.getVersion());
+    }
+
+    public void invalidateJob(String jobId) {
+        jobs.invalidate(jobId);
+    }
+
+    /**
+     * Save through UserRepository and keep the saved user; a version conflict drops the cached copy
+     */
+    public User saveUser(User user) {
+        try {
+            User saved = userRepository.save(user);
+            put(usersByEmail, saved.getEmail(), saved, saved.getVersion());
+            return saved;
+        } catch (OptimisticLockingFailureException e) {
+            usersByEmail.invalidate(user.getEmail());
+            throw e;
+        }
+    }
+
+    private <T> Lookup<T> find(Cache<String, CachedEntity> cache, String key,
+                               Function<String, T> loader, Class<T> type, Function<T, Long> version) {
+        boolean[] loaded = new boolean[1];
+        CachedEntity cached = cache.get(key, k -> {
+            loaded[0] = true;
+            T entity = loader.apply(k);
+            return entity == null ? null : toCached(entity, version.apply(entity));
+        });
+        return new Lookup<>(cached == null ? Optional.empty() : Optional.of(converter.read(type, cached.document())),
+            !loaded[0]);
+    }
+
+    // Keep whichever of the cached and the new copy has the higher version
+    private void put(Cache<String, CachedEntity> cache, String key, Object entity, Long version) {
+        if (key == null) {
+            return;
+        }
+        CachedEntity candidate = toCached(entity, version);
+        cache.asMap().merge(key, candidate, (current, replacement) ->
+            current.version() != null && replacement.version() != null && current.version() > replacement.version()
+                ? current
+                : replacement);
+    }
+
+    private CachedEntity toCached(Object entity, Long version) {
+        Document document = new Document();
+        converter.write(entity, document);
+        return new CachedEntity(document, version);
+    }
+}
@@ -0,0 +1,72 @@
+package com.smarthire.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.smarthire.model.Job;
+import com.smarthire.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EntityVersionMigration - Gives jobs and users written before optimistic locking a version of 0.
+ *
+ * Spring Data treats a versioned entity whose version is null as new and inserts it, which fails
+ * with a duplicate key for a document that already exists. One updateMulti per collection sets the
+ * missing field; it is idempotent and matches nothing once every document carries a version.
+ * It runs once all beans are created, before the web server starts taking requests, so no request
+ * sees an unversioned document; being idempotent, it needs no SchedulerLock across replicas.
+ */
+@Service
+@Slf4j
+public class EntityVersionMigration implements SmartInitializingSingleton {
+
+    private static final List<Class<?>> VERSIONED = List.of(Job.class, User.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean runOnStartup;
+
+    public EntityVersionMigration(MongoTemplate mongoTemplate,
+                                  @Value("${migrations.entity-versions.enabled:true}") boolean runOnStartup) {
+        this.mongoTemplate = mongoTemplate;
+        this.runOnStartup = runOnStartup;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!runOnStartup) {
+            return;
+        }
+        try {
+            migrate();
+        } catch (Exception e) {
+            log.error("❌ Entity version migration failed: ", e);
+        }
+    }
+
+    /**
+     * Set version 0 where it is missing; returns the number of documents updated per collection
+     */
+    public Map<String, Long> migrate() {
+        Map<String, Long> updated = new LinkedHashMap<>();
+        for (Class<?> type : VERSIONED) {
+            UpdateResult result = mongoTemplate.updateMulti(
+                new Query(Criteria.where("version").exists(false)),
+                new Update().set("version", 0L),
+                type);
+            updated.put(mongoTemplate.getCollectionName(type), result.getModifiedCount());
+        }
+        if (updated.values().stream().anyMatch(count -> count > 0)) {
+            log.info("✅ Added optimistic-locking versions: {}", updated);
+        }
+        return updated;
+    }
+}
@@ -1,25 +1,39 @@
 package com.smarthire.service;
 
+import com.smarthire.config.CacheConfig;
 import com.smarthire.dto.BatchInterviewScheduleRequest;
 import com.smarthire.dto.InterviewFeedbackRequest;
+import com.smarthire.dto.InterviewPipelineDTO;
 import com.smarthire.dto.InterviewResponse;
 import com.smarthire.dto.ScheduleInterviewRequest;
+import com.smarthire.event.CandidateStatusChangedEvent;
+import com.smarthire.event.DomainEventBus;
+import com.smarthire.metrics.AppMetrics;
 import com.smarthire.model.JobApplication;
 import com.smarthire.model.Interview;
 import com.smarthire.model.Job;
 import com.smarthire.model.ShortlistedCandidate;
-import com.smarthire.repository.JobApplicationRepository;
 import com.smarthire.repository.InterviewRepository;
-import com.smarthire.repository.JobRepository;
 import com.smarthire.repository.ShortlistedCandidateRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
 @Service
 @Slf4j
 public class InterviewService {
@@ -31,26 +45,44 @@ public class InterviewService {
     private ShortlistedCandidateRepository shortlistedCandidateRepository;
     
     @Autowired
-    private JobApplicationRepository applicationRepository;
+    private EntityCache entityCache;
     
     @Autowired
-    private JobRepository jobRepository;
+    private EmailService emailService;
     
     @Autowired
-    private EmailService emailService;
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private DomainEventBus eventBus;
+    
+    @Autowired
+    private BatchLoader batchLoader;
+    
+    @Autowired
+    private AppMetrics metrics;
     
     /**
      * Schedule interviews for multiple candidates (batch scheduling)
      * Supports both MANUAL and VOICE_AI interview types
      */
     public Map<String, Object> scheduleBatchInterviews(BatchInterviewScheduleRequest request) {
+        return metrics.timeOperation("scheduleBatchInterviews", request.getJobId(),
+            result -> Boolean.TRUE.equals(result.get("success")),
+            () -> doScheduleBatchInterviews(request));
+    }
+    
+    private Map<String, Object> doScheduleBatchInterviews(BatchInterviewScheduleRequest request) {
         try {
             log.info("🚀 Starting batch interview scheduling for {} candidates", request.getCandidates().size());
             log.info("Interview Type: {}, Date: {}, Time: {}", 
                 request.getInterviewType(), request.getScheduledDate(), request.getScheduledTime());
             
             // Get job details
-            Optional<Job> jobOpt = jobRepository.findById(request.getJobId());
+            Optional<Job> jobOpt = entityCache.findJob(request.getJobId());
             if (!jobOpt.isPresent()) {
                 return Map.of(
                     "success", false,
@@ -59,6 +91,14 @@ public class InterviewService {
             }
             Job job = jobOpt.get();
             
+            // Load all applications up front instead of one findById per candidate
+            Map<String, JobApplication> applications = batchLoader.loadByIds(
+                JobApplication.class,
+                request.getCandidates().stream()
+                    .map(BatchInterviewScheduleRequest.CandidateInfo::getApplicationId)
+                    .collect(Collectors.toList())
+            );
+            
             List<Interview> scheduledInterviews = new ArrayList<>();
             List<String> successEmails = new ArrayList<>();
             List<String> failedEmails = new ArrayList<>();
@@ -67,13 +107,12 @@ public class InterviewService {
             for (BatchInterviewScheduleRequest.CandidateInfo candidateInfo : request.getCandidates()) {
                 try {
                     // Get application details
-                    Optional<JobApplication> appOpt = applicationRepository.findById(candidateInfo.getApplicationId());
-                    if (!appOpt.isPresent()) {
+                    JobApplication application = applications.get(candidateInfo.getApplicationId());
+                    if (application == null) {
                         log.warn("Application not found: {}", candidateInfo.getApplicationId());
                         failedEmails.add(candidateInfo.getCandidateEmail());
                         continue;
                     }
-                    JobApplication application = appOpt.get();
                     
                     // Create interview record
                     Interview interview = new Interview();
@@ -140,6 +179,7 @@ public class InterviewService {
             
             log.info("✅ Batch scheduling complete: {} scheduled, {} failed", 
                 scheduledInterviews.size(), failedEmails.size());
+            evictPipeline(request.getJobId());
             
             return Map.of(
                 "success", true,
@@ -231,6 +271,7 @@ public class InterviewService {
             candidate.setStatus(ShortlistedCandidate.ShortlistStatus.INTERVIEW_SCHEDULED);
             candidate.setUpdatedAt(LocalDateTime.now());
             shortlistedCandidateRepository.save(candidate);
+            evictPipeline(savedInterview.getJobId());
             
             // Send email notification if requested
             if (request.getSendNotification() != null && request.getSendNotification()) {
@@ -255,14 +296,13 @@ public class InterviewService {
         try {
             List<Interview> interviews = interviewRepository.findByJobId(jobId);
             
-            Long scheduled = interviewRepository.countByJobIdAndStatus(jobId, "SCHEDULED");
-            Long completed = interviewRepository.countByJobIdAndStatus(jobId, "COMPLETED");
-            Long cancelled = interviewRepository.countByJobIdAndStatus(jobId, "CANCELLED");
+            // Status totals come from the cached pipeline instead of one count query per status
+            Map<String, Long> statusCounts = getInterviewPipeline(jobId).getStatusCounts();
             
             InterviewResponse response = new InterviewResponse(true, "Interviews fetched successfully", interviews);
-            response.setTotalScheduled(scheduled);
-            response.setTotalCompleted(completed);
-            response.setTotalCancelled(cancelled);
+            response.setTotalScheduled(statusCounts.getOrDefault("SCHEDULED", 0L));
+            response.setTotalCompleted(statusCounts.getOrDefault("COMPLETED", 0L));
+            response.setTotalCancelled(statusCounts.getOrDefault("CANCELLED", 0L));
             
             return response;
         } catch (Exception e) {
@@ -271,6 +311,157 @@ public class InterviewService {
         }
     }
     
+    /**
+     * Get interview funnel and score summary for a job.
+     * Computed with a single $facet aggregation and cached until an interview of the job changes.
+     */
+    public InterviewPipelineDTO getInterviewPipeline(String jobId) {
+        Cache cache = cacheManager.getCache(CacheConfig.INTERVIEW_PIPELINE_CACHE);
+        if (cache == null) {
+            return computeInterviewPipeline(jobId);
+        }
+        Cache.ValueWrapper cached = cache.get(jobId);
+        metrics.recordCacheRequest(CacheConfig.INTERVIEW_PIPELINE_CACHE, jobId, cached != null);
+        if (cached != null) {
+            return (InterviewPipelineDTO) cached.get();
+        }
+        return cache.get(jobId, () -> computeInterviewPipeline(jobId));
+    }
+    
+    private InterviewPipelineDTO computeInterviewPipeline(String jobId) {
+        log.info("Computing interview pipeline for job: {}", jobId);
+        
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(where("jobId").is(jobId)),
+            Aggregation.facet(
+                    Aggregation.group("status").count().as("count"))
+                .as("byStatus")
+                .and(
+                    Aggregation.group("roundNumber", "interviewRound")
+                        .count().as("total")
+                        .sum(ConditionalOperators.when(where("status").is("COMPLETED")).then(1).otherwise(0)).as("completed")
+                        .sum(ConditionalOperators.when(where("decision").in("SELECTED", "NEXT_ROUND")).then(1).otherwise(0)).as("passed")
+                        .sum(ConditionalOperators.when(where("decision").is("REJECTED")).then(1).otherwise(0)).as("rejected"),
+                    Aggregation.sort(Sort.Direction.ASC, "_id.roundNumber"))
+                .as("byRound")
+                .and(
+                    Aggregation.match(where("status").is("COMPLETED")),
+                    Aggregation.group()
+                        .avg("technicalScore").as("avgTechnical")
+                        .avg("communicationScore").as("avgCommunication")
+                        .avg("overallRating").as("avgOverall")
+                        .push("technicalScore").as("technical")
+                        .push("communicationScore").as("communication")
+                        .push("overallRating").as("overall"))
+                .as("scores")
+        );
+        
+        Document result = mongoTemplate.aggregate(aggregation, Interview.class, Document.class)
+            .getUniqueMappedResult();
+        
+        InterviewPipelineDTO pipeline = new InterviewPipelineDTO();
+        pipeline.setJobId(jobId);
+        pipeline.setComputedAt(LocalDateTime.now());
+        
+        // Status counts
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        long total = 0;
+        for (Document doc : facet(result, "byStatus")) {
+            long count = ((Number) doc.get("count")).longValue();
+            statusCounts.put(String.valueOf(doc.get("_id")), count);
+            total += count;
+        }
+        pipeline.setStatusCounts(statusCounts);
+        pipeline.setTotalInterviews(total);
+        
+        // Round funnel
+        List<InterviewPipelineDTO.RoundStats> rounds = new ArrayList<>();
+        for (Document doc : facet(result, "byRound")) {
+            Document id = doc.get("_id", Document.class);
+            long completed = ((Number) doc.get("completed")).longValue();
+            long passed = ((Number) doc.get("passed")).longValue();
+            rounds.add(new InterviewPipelineDTO.RoundStats(
+                id.getString("interviewRound"),
+                id.getInteger("roundNumber"),
+                ((Number) doc.get("total")).longValue(),
+                completed,
+                passed,
+                ((Number) doc.get("rejected")).longValue(),
+                completed > 0 ? (double) passed / completed * 100 : 0.0
+            ));
+        }
+        pipeline.setRounds(rounds);
+        
+        // A transition passes the candidates who advanced out of a round, out of those who completed it
+        List<InterviewPipelineDTO.RoundTransition> passRates = new ArrayList<>();
+        for (int i = 1; i < rounds.size(); i++) {
+            InterviewPipelineDTO.RoundStats from = rounds.get(i - 1);
+            InterviewPipelineDTO.RoundStats to = rounds.get(i);
+            passRates.add(new InterviewPipelineDTO.RoundTransition(
+                from.getInterviewRound(),
+                to.getInterviewRound(),
+                from.getPassRate()
+            ));
+        }
+        pipeline.setPassRates(passRates);
+        
+        // Score summaries
+        List<Document> scores = facet(result, "scores");
+        Document scoreDoc = scores.isEmpty() ? new Document() : scores.get(0);
+        pipeline.setTechnicalScore(summarizeScores(scoreDoc, "technical", "avgTechnical"));
+        pipeline.setCommunicationScore(summarizeScores(scoreDoc, "communication", "avgCommunication"));
+        pipeline.setOverallRating(summarizeScores(scoreDoc, "overall", "avgOverall"));
+        
+        return pipeline;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<Document> facet(Document result, String name) {
+        if (result == null || result.get(name) == null) {
+            return List.of();
+        }
+        return (List<Document>) result.get(name);
+    }
+    
+    /**
+     * Build a score summary using nearest-rank percentiles over the pushed values
+     */
+    @SuppressWarnings("unchecked")
+    private InterviewPipelineDTO.ScoreSummary summarizeScores(Document scoreDoc, String valuesField, String avgField) {
+        List<Object> raw = (List<Object>) scoreDoc.getOrDefault(valuesField, List.of());
+        double[] values = raw.stream()
+            .filter(Objects::nonNull)
+            .mapToDouble(v -> ((Number) v).doubleValue())
+            .sorted()
+            .toArray();
+        
+        InterviewPipelineDTO.ScoreSummary summary = new InterviewPipelineDTO.ScoreSummary();
+        summary.setCount(values.length);
+        if (values.length == 0) {
+            return summary;
+        }
+        Object avg = scoreDoc.get(avgField);
+        summary.setAverage(avg != null ? ((Number) avg).doubleValue() : null);
+        summary.setMin(values[0]);
+        summary.setMax(values[values.length - 1]);
+        summary.setP50(percentile(values, 50));
+        summary.setP75(percentile(values, 75));
+        summary.setP90(percentile(values, 90));
+        return summary;
+    }
+    
+    private Double percentile(double[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+    
+    private void evictPipeline(String jobId) {
+        Cache cache = cacheManager.getCache(CacheConfig.INTERVIEW_PIPELINE_CACHE);
+        if (cache != null && jobId != null) {
+            cache.evict(jobId);
+        }
+    }
+    
     /**
      * Get interviews for a specific candidate
      */
@@ -315,6 +506,7 @@ public class InterviewService {
             interview.setUpdatedAt(LocalDateTime.now());
             
             Interview updated = interviewRepository.save(interview);
+            evictPipeline(updated.getJobId());
             return new InterviewResponse(true, "Interview status updated", updated);
         } catch (Exception e) {
             log.error("Error updating interview status: ", e);
@@ -347,6 +539,10 @@ public class InterviewService {
             interview.setUpdatedAt(LocalDateTime.now());
             
             Interview savedInterview = interviewRepository.save(interview);
+            evictPipeline(savedInterview.getJobId());
+            if ("HR_ROUND".equals(savedInterview.getInterviewRound())) {
+                updateOfferEligibility(savedInterview);
+            }
             
             // Handle decision
             if ("NEXT_ROUND".equals(request.getDecision()) && request.getNextRound() != null) {
@@ -370,59 +566,52 @@ public class InterviewService {
      * Schedule next round interview
      */
     private void scheduleNextRound(Interview currentInterview, String nextRound) {
-        try {
-            log.info("Scheduling next round: {} for candidate: {}", nextRound, currentInterview.getCandidateName());
-            
-            Optional<ShortlistedCandidate> candidateOpt = 
-                shortlistedCandidateRepository.findById(currentInterview.getShortlistedCandidateId());
-            
-            if (candidateOpt.isPresent()) {
-                ShortlistedCandidate candidate = candidateOpt.get();
-                candidate.setStatus(ShortlistedCandidate.ShortlistStatus.MOVED_TO_NEXT_ROUND);
-                candidate.setNotes("Cleared " + currentInterview.getInterviewRound() + ", proceeding to " + nextRound);
-                shortlistedCandidateRepository.save(candidate);
-            }
-            
-        } catch (Exception e) {
-            log.error("Error scheduling next round: ", e);
-        }
+        log.info("Scheduling next round: {} for candidate: {}", nextRound, currentInterview.getCandidateName());
+        eventBus.publish(new CandidateStatusChangedEvent(
+            currentInterview.getShortlistedCandidateId(),
+            ShortlistedCandidate.ShortlistStatus.MOVED_TO_NEXT_ROUND,
+            "Cleared " + currentInterview.getInterviewRound() + ", proceeding to " + nextRound,
+            "INTERVIEW_FEEDBACK"
+        ));
     }
     
     /**
      * Update candidate to offer letter stage
      */
     private void updateCandidateToOfferStage(Interview interview) {
-        try {
-            Optional<ShortlistedCandidate> candidateOpt = 
-                shortlistedCandidateRepository.findById(interview.getShortlistedCandidateId());
-            
-            if (candidateOpt.isPresent()) {
-                ShortlistedCandidate candidate = candidateOpt.get();
-                candidate.setStatus(ShortlistedCandidate.ShortlistStatus.INTERVIEW_COMPLETED);
-                candidate.setNotes("Cleared all interview rounds");
-                shortlistedCandidateRepository.save(candidate);
-            }
-        } catch (Exception e) {
-            log.error("Error updating candidate to offer stage: ", e);
-        }
+        eventBus.publish(new CandidateStatusChangedEvent(
+            interview.getShortlistedCandidateId(),
+            ShortlistedCandidate.ShortlistStatus.INTERVIEW_COMPLETED,
+            "Cleared all interview rounds",
+            "INTERVIEW_FEEDBACK"
+        ));
+    }
+    
+    /**
+     * Keep the candidate's offerPending flag in step with its HR round decisions; written here rather than
+     * through the event bus so the offer letter listing sees the candidate as soon as feedback returns
+     */
+    private void updateOfferEligibility(Interview interview) {
+        String candidateId = interview.getShortlistedCandidateId();
+        boolean selected = mongoTemplate.exists(new Query(where("shortlistedCandidateId").is(candidateId)
+                .and("interviewRound").is("HR_ROUND")
+                .and("decision").is("SELECTED")), Interview.class);
+        mongoTemplate.updateFirst(
+            new Query(where("_id").is(candidateId).and("offerLetterGenerated").ne(true)),
+            new Update().set("offerPending", selected),
+            ShortlistedCandidate.class);
     }
     
     /**
      * Update candidate status
      */
     private void updateCandidateStatus(Interview interview, String status) {
-        try {
-            Optional<ShortlistedCandidate> candidateOpt = 
-                shortlistedCandidateRepository.findById(interview.getShortlistedCandidateId());
-            
-            if (candidateOpt.isPresent()) {
-                ShortlistedCandidate candidate = candidateOpt.get();
-                candidate.setStatus(ShortlistedCandidate.ShortlistStatus.REJECTED);
-                shortlistedCandidateRepository.save(candidate);
-            }
-        } catch (Exception e) {
-            log.error("Error updating candidate status: ", e);
-        }
+        eventBus.publish(new CandidateStatusChangedEvent(
+            interview.getShortlistedCandidateId(),
+            ShortlistedCandidate.ShortlistStatus.valueOf(status),
+            null,
+            "INTERVIEW_FEEDBACK"
+        ));
     }
     
     /**
@@ -455,6 +644,7 @@ public class InterviewService {
             interview.setUpdatedAt(LocalDateTime.now());
             
             Interview updated = interviewRepository.save(interview);
+            evictPipeline(updated.getJobId());
             
             // Send rescheduling notification
             emailService.sendInterviewInvitation(updated, "MANUAL");
@@ -484,6 +674,7 @@ public class InterviewService {
             interview.setUpdatedAt(LocalDateTime.now());
             
             Interview updated = interviewRepository.save(interview);
+            evictPipeline(updated.getJobId());
             return new InterviewResponse(true, "Interview cancelled", updated);
         } catch (Exception e) {
             log.error("Error cancelling interview: ", e);
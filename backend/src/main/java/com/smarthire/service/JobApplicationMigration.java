@@ -0,0 +1,167 @@
+package com.smarthire.service;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.smarthire.model.Job;
+import com.smarthire.model.JobApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JobApplicationMigration - Rewrites job_applications documents that still link their job through a DBRef.
+ *
+ * Streams the old documents with a cursor (only _id and job are read, never the resume), resolves the
+ * jobs of each batch with one $in query and writes jobId, jobTitle and company in one unordered bulk
+ * write per batch while unsetting job. Migrated documents no longer match, so a rerun only picks up
+ * what is left. Runs at startup on one replica (SchedulerLock) and from POST /api/fix/job-application-refs.
+ */
+@Service
+@Slf4j
+public class JobApplicationMigration {
+
+    private static final String LOCK_NAME = "migration-job-application-refs";
+
+    private final MongoTemplate mongoTemplate;
+    private final SchedulerLock schedulerLock;
+    private final boolean runOnStartup;
+    private final int batchSize;
+    private final Duration lockLease;
+
+    public JobApplicationMigration(MongoTemplate mongoTemplate,
+                                   SchedulerLock schedulerLock,
+                                   @Value("${migrations.job-application-refs.enabled:true}") boolean runOnStartup,
+                                   @Value("${migrations.job-application-refs.batch-size:500}") int batchSize,
+                                   @Value("${migrations.lock-lease-ms:900000}") long lockLeaseMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.schedulerLock = schedulerLock;
+        this.runOnStartup = runOnStartup;
+        this.batchSize = batchSize;
+        this.lockLease = Duration.ofMillis(lockLeaseMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!runOnStartup) {
+            return;
+        }
+        try {
+            migrate();
+        } catch (Exception e) {
+            log.error("❌ Job application DBRef migration failed: ", e);
+        }
+    }
+
+    /**
+     * Migrate all remaining DBRef documents; returns the number of documents rewritten, -1 when another node is migrating
+     */
+    public long migrate() {
+        if (!schedulerLock.tryAcquire(LOCK_NAME, lockLease)) {
+            log.info("Job application DBRef migration skipped, another node holds the lock");
+            return -1;
+        }
+        try {
+            return migrateAll();
+        } finally {
+            schedulerLock.release(LOCK_NAME);
+        }
+    }
+
+    private long migrateAll() {
+        MongoCollection<Document> applications =
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(JobApplication.class));
+        Document legacy = new Document("job", new Document("$exists", true));
+
+        long migrated = 0;
+        List<Document> batch = new ArrayList<>(batchSize);
+        try (MongoCursor<Document> cursor = applications.find(legacy)
+                .projection(new Document("job", 1))
+                .batchSize(batchSize)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == batchSize) {
+                    migrated += migrateBatch(applications, batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            migrated += migrateBatch(applications, batch);
+        }
+
+        if (migrated > 0) {
+            log.info("✅ Migrated {} job applications from job DBRef to jobId", migrated);
+        } else {
+            log.debug("No job applications left to migrate from job DBRef");
+        }
+        return migrated;
+    }
+
+    private long migrateBatch(MongoCollection<Document> applications, List<Document> batch) {
+        Map<Object, Object> jobIdByApplication = new HashMap<>();
+        Set<Object> jobIds = new LinkedHashSet<>();
+        for (Document application : batch) {
+            Object jobId = referencedId(application.get("job"));
+            if (jobId != null) {
+                jobIdByApplication.put(application.get("_id"), jobId);
+                jobIds.add(jobId);
+            }
+        }
+
+        Map<String, Document> jobs = new HashMap<>();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Job.class))
+            .find(new Document("_id", new Document("$in", new ArrayList<>(jobIds))))
+            .projection(new Document("title", 1).append("company", 1))
+            .forEach(job -> jobs.put(job.get("_id").toString(), job));
+
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        for (Document application : batch) {
+            Object jobId = jobIdByApplication.get(application.get("_id"));
+            if (jobId == null) {
+                log.warn("⚠️ Job application {} has an unreadable job reference, left unchanged", application.get("_id"));
+                continue;
+            }
+            Document set = new Document("jobId", jobId.toString());
+            Document job = jobs.get(jobId.toString());
+            if (job != null) {
+                set.append("jobTitle", job.getString("title")).append("company", job.getString("company"));
+            }
+            writes.add(new UpdateOneModel<>(
+                new Document("_id", application.get("_id")).append("job", new Document("$exists", true)),
+                new Document("$set", set).append("$unset", new Document("job", ""))));
+        }
+
+        if (writes.isEmpty()) {
+            return 0;
+        }
+        return applications.bulkWrite(writes, new BulkWriteOptions().ordered(false)).getModifiedCount();
+    }
+
+    // Id inside a stored DBRef ({$ref, $id}), or null when the value is not a reference
+    private static Object referencedId(Object reference) {
+        if (reference instanceof DBRef dbRef) {
+            return dbRef.getId();
+        }
+        if (reference instanceof Document document) {
+            return document.get("$id");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,141 @@
+package com.smarthire.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smarthire.event.JobChangedEvent;
+import com.smarthire.metrics.AppMetrics;
+import com.smarthire.model.Job;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * JobListingCache - Serialized JSON of the public job board, served without touching MongoDB.
+ *
+ * Holds the open-jobs list and the public view of each job, each with a strong ETag derived
+ * from the body. Every JobChangedEvent bumps the cache version, which retires all entries at
+ * once; a load that raced with a change is returned to its caller but never stored. Entries
+ * also expire after jobs.listing.cache-ttl-ms, which bounds how stale application counts
+ * and writes made by other instances can get.
+ */
+@Component
+@Slf4j
+public class JobListingCache {
+
+    public static final String OPEN_JOBS_CACHE = "openJobs";
+    public static final String JOB_VIEW_CACHE = "jobView";
+
+    private final ObjectMapper objectMapper;
+    private final AppMetrics metrics;
+    private final long ttlMs;
+
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock openJobsLoadLock = new ReentrantLock(); // Not synchronized: keeps virtual threads unpinned during the load
+    private final Map<String, CachedJson> jobViews = new ConcurrentHashMap<>();
+    private volatile CachedJson openJobs;
+
+    public JobListingCache(ObjectMapper objectMapper,
+                           AppMetrics metrics,
+                           @Value("${jobs.listing.cache-ttl-ms:60000}") long ttlMs) {
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * Serialized body and ETag of one cached response
+     */
+    public record CachedJson(byte[] body, String etag, long version, long loadedAt) {
+    }
+
+    /**
+     * Open jobs, newest first; concurrent misses share a single database read
+     */
+    public CachedJson getOpenJobs(Supplier<List<Job>> loader) {
+        CachedJson cached = openJobs;
+        boolean hit = isCurrent(cached);
+        metrics.recordCacheRequest(OPEN_JOBS_CACHE, null, hit);
+        if (hit) {
+            return cached;
+        }
+        openJobsLoadLock.lock();
+        try {
+            cached = openJobs;
+            if (isCurrent(cached)) {
+                return cached;
+            }
+            long loadVersion = version.get();
+            CachedJson loaded = serialize(loader.get(), loadVersion);
+            if (version.get() == loadVersion) {
+                openJobs = loaded;
+            }
+            log.debug("Loaded open jobs into cache (version {}, {} bytes)", loadVersion, loaded.body().length);
+            return loaded;
+        } finally {
+            openJobsLoadLock.unlock();
+        }
+    }
+
+    /**
+     * Public view of one job; the loader's exception (e.g. job not found) propagates and nothing is cached
+     */
+    public CachedJson getJob(String jobId, Supplier<Job> loader) {
+        CachedJson cached = jobViews.get(jobId);
+        boolean hit = isCurrent(cached);
+        metrics.recordCacheRequest(JOB_VIEW_CACHE, jobId, hit);
+        if (hit) {
+            return cached;
+        }
+        long loadVersion = version.get();
+        CachedJson loaded = serialize(loader.get(), loadVersion);
+        if (version.get() == loadVersion) {
+            jobViews.put(jobId, loaded);
+        }
+        return loaded;
+    }
+
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        long newVersion = version.incrementAndGet();
+        openJobs = null;
+        jobViews.clear();
+        log.debug("Job board cache invalidated by {} of job {} (version {})",
+            event.change(), event.jobId(), newVersion);
+    }
+
+    private boolean isCurrent(CachedJson cached) {
+        return cached != null
+            && cached.version() == version.get()
+            && System.currentTimeMillis() - cached.loadedAt() < ttlMs;
+    }
+
+    private CachedJson serialize(Object value, long loadVersion) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            return new CachedJson(body, etag(body), loadVersion, System.currentTimeMillis());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize job board response", e);
+        }
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,43 +1,56 @@
 package com.smarthire.service;
 
 import com.smarthire.dto.JobRequest;
+import com.smarthire.event.JobChangedEvent;
 import com.smarthire.model.Job;
 import com.smarthire.model.User;
 import com.smarthire.repository.JobRepository;
-import com.smarthire.repository.UserRepository;
+import com.smarthire.repository.ReactiveJobRepository;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
+@Slf4j
 public class JobService {
 
     @Autowired
     private JobRepository jobRepository;
 
     @Autowired
-    private UserRepository userRepository;
-    
+    private ReactiveJobRepository reactiveJobRepository;
+
     @Autowired
     private WebhookService webhookService;
 
     @Autowired
-    private com.smarthire.repository.JobApplicationRepository applicationRepository;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityCache entityCache;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
 
     // Create a new job posting
     public Job createJob(JobRequest request, String employerEmail) {
-        System.out.println("JobService.createJob called for email: " + employerEmail);
-        
-        User employer = userRepository.findByEmail(employerEmail)
+        User employer = entityCache.findUserByEmail(employerEmail)
                 .orElseThrow(() -> {
-                    System.err.println("Employer not found in database: " + employerEmail);
+                    log.warn("Employer not found in database: {}", employerEmail);
                     return new RuntimeException("Employer not found: " + employerEmail);
                 });
 
-        System.out.println("Employer found: " + employer.getEmail() + " (ID: " + employer.getId() + ")");
-
         Job job = new Job();
         job.setTitle(request.getTitle());
         job.setDescription(request.getDescription());
@@ -51,11 +64,11 @@ public class JobService {
         job.setStatus(Job.JobStatus.OPEN);
         job.onCreate(); // set createdAt and updatedAt
 
-        System.out.println("Saving job to MongoDB...");
-        Job savedJob = jobRepository.save(job);
-        System.out.println("Job saved successfully with ID: " + savedJob.getId());
+        Job savedJob = entityCache.saveJob(job);
+        log.info("Job {} saved for employer {}", savedJob.getId(), employerEmail);
+        eventPublisher.publishEvent(new JobChangedEvent(savedJob.getId(), JobChangedEvent.Change.CREATED));
         
-        // Post job to webhook.site
+        // Queue the JOB_POSTED webhook; delivered in the background
         webhookService.postJobToWebhook(savedJob);
         
         return savedJob;
@@ -63,35 +76,31 @@ public class JobService {
 
     // Update a job posting
     public Job updateJob(String jobId, JobRequest request, String employerEmail) {
-        @SuppressWarnings("null")
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new RuntimeException("Job not found"));
-
-        job.setTitle(request.getTitle());
-        job.setDescription(request.getDescription());
-        job.setCompany(request.getCompany());
-        job.setLocation(request.getLocation());
-        job.setEmploymentType(request.getEmploymentType());
-        job.setExperienceLevel(request.getExperienceLevel());
-        job.setRequiredSkills(request.getRequiredSkills());
-        job.setSalaryRange(request.getSalaryRange());
-        job.onUpdate(); // update timestamp
-
-        return jobRepository.save(job);
+        Job savedJob = updateFields(jobId, new Update()
+                .set("title", request.getTitle())
+                .set("description", request.getDescription())
+                .set("company", request.getCompany())
+                .set("location", request.getLocation())
+                .set("employmentType", request.getEmploymentType())
+                .set("experienceLevel", request.getExperienceLevel())
+                .set("requiredSkills", request.getRequiredSkills())
+                .set("salaryRange", request.getSalaryRange()));
+        eventPublisher.publishEvent(new JobChangedEvent(jobId, JobChangedEvent.Change.UPDATED));
+        return savedJob;
     }
 
     // Delete a job posting
-    @SuppressWarnings("null")
     public void deleteJob(String jobId, String employerEmail) {
-        Job job = jobRepository.findById(jobId)
+        Job job = entityCache.findJob(jobId)
                 .orElseThrow(() -> new RuntimeException("Job not found"));
 
-        jobRepository.delete(job);
+        entityCache.deleteJob(job);
+        eventPublisher.publishEvent(new JobChangedEvent(jobId, JobChangedEvent.Change.DELETED));
     }
 
     // Get all jobs posted by an employer
     public List<Job> getEmployerJobs(String employerEmail) {
-        User employer = userRepository.findByEmail(employerEmail)
+        User employer = entityCache.findUserByEmail(employerEmail)
                 .orElseThrow(() -> new RuntimeException("Employer not found"));
         return jobRepository.findByPostedBy(employerEmail);
     }
@@ -106,29 +115,54 @@ public class JobService {
         return jobRepository.findAllByOrderByCreatedAtDesc();
     }
 
+    // Stream all jobs (including closed) without blocking, newest first
+    public Flux<Job> streamAllJobs() {
+        return reactiveJobRepository.findAllByOrderByCreatedAtDesc();
+    }
+
     // Get job by ID
-    @SuppressWarnings("null")
     public Job getJobById(String jobId) {
-        Job job = jobRepository.findById(jobId)
+        // Read-only: applicationCount drift is repaired in the background (ApplicationCountReconciler)
+        return entityCache.findJob(jobId)
                 .orElseThrow(() -> new RuntimeException("Job not found"));
-        
-        // Sync application count with actual database count
-        long actualCount = applicationRepository.findByJob(job).size();
-        if (job.getApplicationCount() == null || job.getApplicationCount() != actualCount) {
-            System.out.println("🔄 Syncing application count for job: " + jobId);
-            System.out.println("   Stored count: " + job.getApplicationCount());
-            System.out.println("   Actual count: " + actualCount);
-            job.setApplicationCount((int) actualCount);
-            jobRepository.save(job);
+    }
+
+    // Update job settings; a null value leaves that setting unchanged
+    public Job updateJobSettings(String jobId, Integer maxCandidates, Integer applicationCount) {
+        Update update = new Update();
+        if (maxCandidates != null) {
+            update.set("maxCandidates", maxCandidates);
         }
-        
-        return job;
+        if (applicationCount != null) {
+            update.set("applicationCount", applicationCount);
+        }
+        Job savedJob = updateFields(jobId, update);
+        eventPublisher.publishEvent(new JobChangedEvent(jobId, JobChangedEvent.Change.UPDATED));
+        return savedJob;
     }
 
-    // Update job settings
-    @SuppressWarnings("null")
-    public Job updateJobSettings(Job job) {
-        return jobRepository.save(job);
+    // Close a job (portal close endpoint)
+    public Job closeJob(String jobId) {
+        Job savedJob = updateFields(jobId, new Update().set("status", Job.JobStatus.CLOSED));
+        eventPublisher.publishEvent(new JobChangedEvent(jobId, JobChangedEvent.Change.CLOSED));
+        return savedJob;
+    }
+
+    /**
+     * Set only the given fields and bump the version, like JobAutoCloseService does for applicationCount.
+     * Saving a whole (possibly cached) Job would fail its version check whenever an application came in
+     * since it was read; a targeted update leaves the other fields, counters included, as they are.
+     */
+    private Job updateFields(String jobId, Update update) {
+        Job updated = mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(jobId)),
+                update.inc("version", 1).set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true), Job.class);
+        if (updated == null) {
+            entityCache.invalidateJob(jobId);
+            throw new RuntimeException("Job not found");
+        }
+        entityCache.putJob(updated);
+        return updated;
     }
 
     /**
@@ -136,16 +170,10 @@ public class JobService {
      * Used by Step 2 (Review & Approve) - ONLY saves to MongoDB
      */
     public Job createJobWithoutAuth(JobRequest request, String testEmployerEmail) {
-        System.out.println("========================================");
-        System.out.println("💾 SAVING JOB TO DATABASE ONLY");
-        System.out.println("(No webhook posting at this step)");
-        System.out.println("========================================");
-        System.out.println("Using test employer email: " + testEmployerEmail);
-        
         // Try to find the test employer, create if doesn't exist
-        User employer = userRepository.findByEmail(testEmployerEmail)
+        User employer = entityCache.findUserByEmail(testEmployerEmail)
                 .orElseGet(() -> {
-                    System.out.println("⚠️  Test employer not found, creating temporary employer record");
+                    log.warn("⚠️ Test employer {} not found, creating temporary employer record", testEmployerEmail);
                     User testEmployer = new User();
                     testEmployer.setEmail(testEmployerEmail);
                     testEmployer.setFirstName("Test");
@@ -153,11 +181,9 @@ public class JobService {
                     testEmployer.setRole(User.UserRole.EMPLOYER);
                     testEmployer.setPassword("temp123"); // This won't be used
                     testEmployer.onCreate();
-                    return userRepository.save(testEmployer);
+                    return entityCache.saveUser(testEmployer);
                 });
 
-        System.out.println("✅ Employer record ready: " + employer.getEmail());
-
         Job job = new Job();
         job.setTitle(request.getTitle());
         job.setDescription(request.getDescription());
@@ -173,15 +199,9 @@ public class JobService {
         // If you need to track employer, add a field to Job model
         job.onCreate();
 
-        System.out.println("💾 Saving job to MongoDB...");
-        Job savedJob = jobRepository.save(job);
-        System.out.println("========================================");
-        System.out.println("✅ JOB SAVED TO DATABASE!");
-        System.out.println("MongoDB ID: " + savedJob.getId());
-        System.out.println("Title: " + savedJob.getTitle());
-        System.out.println("⚠️  NOT posted to webhook yet");
-        System.out.println("(Webhook posting happens in Step 3)");
-        System.out.println("========================================");
+        Job savedJob = entityCache.saveJob(job);
+        log.info("💾 Job {} '{}' saved to database (not posted to webhook yet)", savedJob.getId(), savedJob.getTitle());
+        eventPublisher.publishEvent(new JobChangedEvent(savedJob.getId(), JobChangedEvent.Change.CREATED));
         
         // DO NOT post to webhook here - that happens in Step 3!
         
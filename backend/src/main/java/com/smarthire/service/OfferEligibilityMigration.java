@@ -0,0 +1,135 @@
+package com.smarthire.service;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.smarthire.model.Interview;
+import com.smarthire.model.ShortlistedCandidate;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * OfferEligibilityMigration - Sets offerPending on shortlisted candidates stored before the flag existed.
+ *
+ * Streams the candidates without the field (only _id and offerLetterGenerated are read), looks up the
+ * HR_ROUND/SELECTED interviews of each batch with one $in query (candidate_round_decision_idx) and writes
+ * the flag in one unordered bulk write per batch. Migrated documents no longer match, so a rerun only
+ * picks up what is left. Runs at startup on one replica (SchedulerLock) and from POST /api/fix/offer-eligibility.
+ */
+@Service
+@Slf4j
+public class OfferEligibilityMigration {
+
+    private static final String LOCK_NAME = "migration-offer-eligibility";
+
+    private final MongoTemplate mongoTemplate;
+    private final SchedulerLock schedulerLock;
+    private final boolean runOnStartup;
+    private final int batchSize;
+    private final Duration lockLease;
+
+    public OfferEligibilityMigration(MongoTemplate mongoTemplate,
+                                     SchedulerLock schedulerLock,
+                                     @Value("${migrations.offer-eligibility.enabled:true}") boolean runOnStartup,
+                                     @Value("${migrations.offer-eligibility.batch-size:500}") int batchSize,
+                                     @Value("${migrations.lock-lease-ms:900000}") long lockLeaseMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.schedulerLock = schedulerLock;
+        this.runOnStartup = runOnStartup;
+        this.batchSize = batchSize;
+        this.lockLease = Duration.ofMillis(lockLeaseMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!runOnStartup) {
+            return;
+        }
+        try {
+            migrate();
+        } catch (Exception e) {
+            log.error("❌ Offer eligibility migration failed: ", e);
+        }
+    }
+
+    /**
+     * Flag all remaining candidates; returns the number of candidates updated, -1 when another node is migrating
+     */
+    public long migrate() {
+        if (!schedulerLock.tryAcquire(LOCK_NAME, lockLease)) {
+            log.info("Offer eligibility migration skipped, another node holds the lock");
+            return -1;
+        }
+        try {
+            return migrateAll();
+        } finally {
+            schedulerLock.release(LOCK_NAME);
+        }
+    }
+
+    private long migrateAll() {
+        MongoCollection<Document> candidates =
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(ShortlistedCandidate.class));
+        Document legacy = new Document("offerPending", new Document("$exists", false));
+
+        long migrated = 0;
+        List<Document> batch = new ArrayList<>(batchSize);
+        try (MongoCursor<Document> cursor = candidates.find(legacy)
+                .projection(new Document("offerLetterGenerated", 1))
+                .batchSize(batchSize)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == batchSize) {
+                    migrated += migrateBatch(candidates, batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            migrated += migrateBatch(candidates, batch);
+        }
+
+        if (migrated > 0) {
+            log.info("✅ Set offerPending on {} shortlisted candidates", migrated);
+        } else {
+            log.debug("No shortlisted candidates left without offerPending");
+        }
+        return migrated;
+    }
+
+    private long migrateBatch(MongoCollection<Document> candidates, List<Document> batch) {
+        List<String> candidateIds = batch.stream().map(candidate -> candidate.get("_id").toString()).toList();
+
+        Set<String> selected = new HashSet<>();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Interview.class))
+            .find(new Document("shortlistedCandidateId", new Document("$in", candidateIds))
+                .append("interviewRound", "HR_ROUND")
+                .append("decision", "SELECTED"))
+            .projection(new Document("shortlistedCandidateId", 1))
+            .forEach(interview -> selected.add(interview.getString("shortlistedCandidateId")));
+
+        List<WriteModel<Document>> writes = new ArrayList<>(batch.size());
+        for (Document candidate : batch) {
+            boolean pending = selected.contains(candidate.get("_id").toString())
+                && !Boolean.TRUE.equals(candidate.get("offerLetterGenerated"));
+            writes.add(new UpdateOneModel<>(
+                new Document("_id", candidate.get("_id")).append("offerPending", new Document("$exists", false)),
+                new Document("$set", new Document("offerPending", pending))));
+        }
+        return candidates.bulkWrite(writes, new BulkWriteOptions().ordered(false)).getModifiedCount();
+    }
+}
@@ -1,7 +1,10 @@
 package com.smarthire.service;
 
+import com.smarthire.dto.CursorPage;
 import com.smarthire.dto.OfferLetterRequest;
 import com.smarthire.dto.OfferLetterResponse;
+import com.smarthire.event.CandidateStatusChangedEvent;
+import com.smarthire.event.DomainEventBus;
 import com.smarthire.model.CandidateApplication;
 import com.smarthire.model.Interview;
 import com.smarthire.model.Job;
@@ -9,10 +12,14 @@ import com.smarthire.model.OfferLetter;
 import com.smarthire.model.ShortlistedCandidate;
 import com.smarthire.repository.CandidateApplicationRepository;
 import com.smarthire.repository.InterviewRepository;
-import com.smarthire.repository.JobRepository;
 import com.smarthire.repository.OfferLetterRepository;
 import com.smarthire.repository.ShortlistedCandidateRepository;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -28,7 +35,12 @@ public class OfferLetterService {
     private final InterviewRepository interviewRepository;
     private final ShortlistedCandidateRepository shortlistedCandidateRepository;
     private final CandidateApplicationRepository applicationRepository;
-    private final JobRepository jobRepository;
+    private final EntityCache entityCache;
+    private final DomainEventBus eventBus;
+    private final SequenceService sequenceService;
+    private final MongoTemplate mongoTemplate;
+    
+    private static final int MAX_PAGE_SIZE = 100;
     
     /**
      * Generate offer letter for candidate who cleared all interviews
@@ -63,7 +75,7 @@ public class OfferLetterService {
                     .orElseThrow(() -> new RuntimeException("Application not found"));
             
             // Get job details
-            Job job = jobRepository.findById(request.getJobId())
+            Job job = entityCache.findJob(request.getJobId())
                     .orElseThrow(() -> new RuntimeException("Job not found"));
             
             // Create offer letter
@@ -84,7 +96,7 @@ public class OfferLetterService {
             offerLetter.setCompany(job.getCompany());
             
             // Offer details
-            offerLetter.setOfferLetterNumber("OL-" + System.currentTimeMillis());
+            offerLetter.setOfferLetterNumber(sequenceService.next(SequenceService.OFFER_LETTER_NUMBER));
             offerLetter.setOfferDate(LocalDate.now());
             offerLetter.setJoiningDate(request.getJoiningDate());
             offerLetter.setEmploymentType(request.getEmploymentType() != null ? request.getEmploymentType() : "FULL_TIME");
@@ -131,6 +143,7 @@ public class OfferLetterService {
             
             // Update candidate status in shortlisted collection
             candidate.setOfferLetterGenerated(true);
+            candidate.setOfferPending(false);
             candidate.setOfferLetterId(saved.getId());
             candidate.setStatus(ShortlistedCandidate.ShortlistStatus.OFFER_LETTER_SENT);
             shortlistedCandidateRepository.save(candidate);
@@ -151,6 +164,34 @@ public class OfferLetterService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Get one page of offer letters, newest first, reading only the response fields
+     */
+    public CursorPage<OfferLetterResponse> getOfferLettersPage(String cursor, int limit, String status) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        
+        Criteria criteria = new Criteria();
+        if (cursor != null && !cursor.isBlank()) {
+            if (!ObjectId.isValid(cursor)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            criteria.and("_id").lt(new ObjectId(cursor));
+        }
+        if (status != null && !status.isBlank()) {
+            criteria.and("status").is(status);
+        }
+        
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "_id"))
+                .limit(pageSize + 1);
+        
+        List<OfferLetterResponse> fetched = mongoTemplate.query(OfferLetter.class)
+                .as(OfferLetterResponse.class)
+                .matching(query)
+                .all();
+        return CursorPage.of(fetched, pageSize, OfferLetterResponse::getId);
+    }
+    
     /**
      * Get offer letter by ID
      */
@@ -215,12 +256,12 @@ public class OfferLetterService {
         
         OfferLetter updated = offerLetterRepository.save(offerLetter);
         
-        // Update candidate status
-        ShortlistedCandidate candidate = shortlistedCandidateRepository
-                .findById(offerLetter.getCandidateId())
-                .orElseThrow(() -> new RuntimeException("Candidate not found"));
-        candidate.setStatus(ShortlistedCandidate.ShortlistStatus.OFFER_ACCEPTED);
-        shortlistedCandidateRepository.save(candidate);
+        // Update candidate status asynchronously
+        eventBus.publish(new CandidateStatusChangedEvent(
+                offerLetter.getCandidateId(),
+                ShortlistedCandidate.ShortlistStatus.OFFER_ACCEPTED,
+                null,
+                "OFFER_ACCEPTED"));
         
         return mapToResponse(updated, "Offer letter accepted successfully");
     }
@@ -240,12 +281,12 @@ public class OfferLetterService {
         
         OfferLetter updated = offerLetterRepository.save(offerLetter);
         
-        // Update candidate status
-        ShortlistedCandidate candidate = shortlistedCandidateRepository
-                .findById(offerLetter.getCandidateId())
-                .orElseThrow(() -> new RuntimeException("Candidate not found"));
-        candidate.setStatus(ShortlistedCandidate.ShortlistStatus.OFFER_REJECTED);
-        shortlistedCandidateRepository.save(candidate);
+        // Update candidate status asynchronously
+        eventBus.publish(new CandidateStatusChangedEvent(
+                offerLetter.getCandidateId(),
+                ShortlistedCandidate.ShortlistStatus.OFFER_REJECTED,
+                null,
+                "OFFER_REJECTED"));
         
         return mapToResponse(updated, "Offer letter rejected");
     }
@@ -270,18 +311,35 @@ public class OfferLetterService {
      * Get candidates eligible for offer letter (cleared HR round)
      */
     public List<ShortlistedCandidate> getCandidatesEligibleForOfferLetter() {
-        // Find all HR round interviews with SELECTED decision
-        List<Interview> hrInterviews = interviewRepository
-                .findByInterviewRoundAndDecision("HR_ROUND", "SELECTED");
-        
-        // Get shortlisted candidates who don't have offer letter yet
-        return hrInterviews.stream()
-                .map(interview -> shortlistedCandidateRepository
-                        .findById(interview.getShortlistedCandidateId())
-                        .orElse(null))
-                .filter(candidate -> candidate != null && 
-                        (candidate.getOfferLetterGenerated() == null || !candidate.getOfferLetterGenerated()))
-                .collect(Collectors.toList());
+        return findEligibleCandidates(null, null);
+    }
+    
+    /**
+     * Get one page of candidates eligible for offer letter, ordered by candidate ID
+     */
+    public CursorPage<ShortlistedCandidate> getCandidatesEligibleForOfferLetterPage(String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return CursorPage.of(findEligibleCandidates(cursor, pageSize + 1), pageSize, ShortlistedCandidate::getId);
+    }
+    
+    /**
+     * Shortlisted candidates without an offer letter who were SELECTED in an HR round, in _id order.
+     * InterviewService sets offerPending on the HR decision and generateOfferLetter clears it, so a page
+     * is one range scan of offer_pending_idx starting after the cursor, whatever the interview history.
+     */
+    private List<ShortlistedCandidate> findEligibleCandidates(String cursor, Integer limit) {
+        Criteria criteria = Criteria.where("offerPending").is(true);
+        if (cursor != null && !cursor.isBlank()) {
+            if (!ObjectId.isValid(cursor)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            criteria = criteria.and("_id").gt(new ObjectId(cursor));
+        }
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id"));
+        if (limit != null) {
+            query.limit(limit);
+        }
+        return mongoTemplate.find(query, ShortlistedCandidate.class);
     }
     
     /**
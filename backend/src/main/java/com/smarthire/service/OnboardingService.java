@@ -1,18 +1,37 @@
 package com.smarthire.service;
 
 import com.smarthire.dto.*;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
 import com.smarthire.model.Onboarding;
 import com.smarthire.model.OfferLetter;
 import com.smarthire.repository.OnboardingRepository;
 import com.smarthire.repository.OfferLetterRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,6 +41,10 @@ public class OnboardingService {
     
     private final OnboardingRepository onboardingRepository;
     private final OfferLetterRepository offerLetterRepository;
+    private final SequenceService sequenceService;
+    private final MongoTemplate mongoTemplate;
+    
+    private static final int MAX_PAGE_SIZE = 100;
     
     /**
      * Create onboarding for a candidate who accepted offer letter
@@ -59,6 +82,7 @@ public class OnboardingService {
             request.getJobTitle(),
             request.getJoiningDate()
         );
+        onboarding.setEmployeeId(sequenceService.next(SequenceService.EMPLOYEE_ID));
         
         // Set additional details
         onboarding.setPersonalEmail(request.getPersonalEmail());
@@ -82,6 +106,7 @@ public class OnboardingService {
         }
         
         Onboarding saved = onboardingRepository.save(onboarding);
+        markOfferOnboarded(saved.getOfferLetterId(), true);
         log.info("Onboarding created successfully with ID: {}", saved.getId());
         
         return convertToDTO(saved);
@@ -97,6 +122,34 @@ public class OnboardingService {
             .collect(Collectors.toList());
     }
     
+    /**
+     * Get one page of onboardings, newest first, reading only the list fields
+     */
+    public CursorPage<OnboardingSummaryDTO> getOnboardingsPage(String cursor, int limit, String status) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        
+        Criteria criteria = new Criteria();
+        if (cursor != null && !cursor.isBlank()) {
+            if (!ObjectId.isValid(cursor)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            criteria.and("_id").lt(new ObjectId(cursor));
+        }
+        if (status != null && !status.isBlank()) {
+            criteria.and("status").is(status);
+        }
+        
+        Query query = new Query(criteria)
+            .with(Sort.by(Sort.Direction.DESC, "_id"))
+            .limit(pageSize + 1);
+        
+        List<OnboardingSummaryDTO> fetched = mongoTemplate.query(Onboarding.class)
+            .as(OnboardingSummaryDTO.class)
+            .matching(query)
+            .all();
+        return CursorPage.of(fetched, pageSize, OnboardingSummaryDTO::getId);
+    }
+    
     /**
      * Get onboarding by ID
      */
@@ -148,13 +201,48 @@ public class OnboardingService {
      * Get candidates eligible for onboarding (accepted offer letters)
      */
     public List<OfferLetter> getEligibleCandidates() {
-        // Get all accepted offer letters
-        List<OfferLetter> acceptedOffers = offerLetterRepository.findByStatus("ACCEPTED");
+        return findEligibleOffers(null, null);
+    }
+    
+    /**
+     * Get one page of candidates eligible for onboarding, ordered by offer letter ID
+     */
+    public CursorPage<OfferLetter> getEligibleCandidatesPage(String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return CursorPage.of(findEligibleOffers(cursor, pageSize + 1), pageSize, OfferLetter::getId);
+    }
+    
+    /**
+     * Accepted offer letters without an onboarding, as one aggregation (anti-join on onboarding.offerLetterId).
+     * The maintained onboardingCreated flag keeps already-onboarded offers out of the scan; the
+     * $lookup still guards offers created before the flag existed.
+     */
+    private List<OfferLetter> findEligibleOffers(String cursor, Integer limit) {
+        Criteria criteria = Criteria.where("status").is("ACCEPTED").and("onboardingCreated").ne(true);
+        if (cursor != null && !cursor.isBlank()) {
+            if (!ObjectId.isValid(cursor)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            criteria.and("_id").gt(new ObjectId(cursor));
+        }
         
-        // Filter out those who already have onboarding
-        return acceptedOffers.stream()
-            .filter(offer -> !onboardingRepository.existsByOfferLetterId(offer.getId()))
-            .collect(Collectors.toList());
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.match(criteria));
+        stages.add(Aggregation.sort(Sort.Direction.ASC, "_id"));
+        stages.add(ctx -> new Document("$lookup", new Document("from", mongoTemplate.getCollectionName(Onboarding.class))
+            .append("let", new Document("offerId", new Document("$toString", "$_id")))
+            .append("pipeline", List.of(
+                new Document("$match", new Document("$expr", new Document("$eq", List.of("$offerLetterId", "$$offerId")))),
+                new Document("$limit", 1),
+                new Document("$project", new Document("_id", 1))))
+            .append("as", "_onboarding")));
+        stages.add(Aggregation.match(Criteria.where("_onboarding").size(0)));
+        if (limit != null) {
+            stages.add(Aggregation.limit(limit));
+        }
+        
+        return mongoTemplate.aggregate(Aggregation.newAggregation(stages),
+            mongoTemplate.getCollectionName(OfferLetter.class), OfferLetter.class).getMappedResults();
     }
     
     /**
@@ -164,29 +252,20 @@ public class OnboardingService {
     public OnboardingDTO uploadDocument(DocumentUploadRequest request) {
         log.info("Uploading document {} for onboarding: {}", request.getDocumentType(), request.getOnboardingId());
         
-        Onboarding onboarding = onboardingRepository.findById(request.getOnboardingId())
-            .orElseThrow(() -> new RuntimeException("Onboarding not found"));
+        // Update only the matching document element
+        Update update = new Update()
+            .set("documents.$.documentUrl", request.getDocumentUrl())
+            .set("documents.$.documentName", request.getDocumentName())
+            .set("documents.$.fileType", request.getFileType())
+            .set("documents.$.fileSize", request.getFileSize())
+            .set("documents.$.isSubmitted", true)
+            .set("documents.$.submittedAt", LocalDateTime.now())
+            .set("documents.$.remarks", request.getRemarks());
         
-        // Find the document in the list
-        Onboarding.OnboardingDocument document = onboarding.getDocuments().stream()
-            .filter(doc -> doc.getDocumentType().equals(request.getDocumentType()))
-            .findFirst()
-            .orElseThrow(() -> new RuntimeException("Document type not found: " + request.getDocumentType()));
-        
-        // Update document details
-        document.setDocumentUrl(request.getDocumentUrl());
-        document.setDocumentName(request.getDocumentName());
-        document.setFileType(request.getFileType());
-        document.setFileSize(request.getFileSize());
-        document.setIsSubmitted(true);
-        document.setSubmittedAt(LocalDateTime.now());
-        document.setRemarks(request.getRemarks());
+        updateDocument(request.getOnboardingId(), request.getDocumentType(), update);
         
         // Update status if all required documents are submitted
-        updateOnboardingStatus(onboarding);
-        
-        onboarding.setUpdatedAt(LocalDateTime.now());
-        Onboarding saved = onboardingRepository.save(onboarding);
+        Onboarding saved = recalculateStatus(request.getOnboardingId());
         
         log.info("Document uploaded successfully for onboarding: {}", saved.getId());
         return convertToDTO(saved);
@@ -199,31 +278,52 @@ public class OnboardingService {
     public OnboardingDTO verifyDocument(String onboardingId, String documentType, String verifiedBy, String remarks) {
         log.info("Verifying document {} for onboarding: {}", documentType, onboardingId);
         
-        Onboarding onboarding = onboardingRepository.findById(onboardingId)
-            .orElseThrow(() -> new RuntimeException("Onboarding not found"));
+        updateDocument(onboardingId, documentType, verifyUpdate(verifiedBy, remarks));
         
-        // Find the document
-        Onboarding.OnboardingDocument document = onboarding.getDocuments().stream()
-            .filter(doc -> doc.getDocumentType().equals(documentType))
-            .findFirst()
-            .orElseThrow(() -> new RuntimeException("Document type not found: " + documentType));
+        // Update status if all required documents are verified
+        Onboarding saved = recalculateStatus(onboardingId);
         
-        // Verify document
-        document.setIsVerified(true);
-        document.setVerifiedAt(LocalDateTime.now());
-        document.setVerifiedBy(verifiedBy);
-        if (remarks != null) {
-            document.setRemarks(remarks);
+        log.info("Document verified successfully for onboarding: {}", saved.getId());
+        return convertToDTO(saved);
+    }
+    
+    /**
+     * Verify many documents across one or more onboardings in a single bulk write
+     */
+    public Map<String, Object> verifyDocuments(BulkDocumentVerifyRequest request) {
+        List<BulkDocumentVerifyRequest.DocumentRef> refs = request.getDocuments() != null
+            ? request.getDocuments() : List.of();
+        log.info("Bulk verifying {} documents", refs.size());
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("requested", refs.size());
+        if (refs.isEmpty()) {
+            result.put("verified", 0);
+            result.put("onboardingsUpdated", 0);
+            return result;
         }
         
-        // Update status if all required documents are verified
-        updateOnboardingStatus(onboarding);
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Onboarding.class);
+        Set<String> onboardingIds = new LinkedHashSet<>();
+        for (BulkDocumentVerifyRequest.DocumentRef ref : refs) {
+            String remarks = ref.getRemarks() != null ? ref.getRemarks() : request.getRemarks();
+            bulkOps.updateOne(documentQuery(ref.getOnboardingId(), ref.getDocumentType()),
+                verifyUpdate(request.getVerifiedBy(), remarks));
+            onboardingIds.add(ref.getOnboardingId());
+        }
+        int verified = bulkOps.execute().getMatchedCount();
         
-        onboarding.setUpdatedAt(LocalDateTime.now());
-        Onboarding saved = onboardingRepository.save(onboarding);
+        // Recalculate every touched onboarding with one server-side update
+        long recalculated = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Onboarding.class))
+            .updateMany(Filters.in("_id", toObjectIds(onboardingIds)), STATUS_PIPELINE)
+            .getModifiedCount();
         
-        log.info("Document verified successfully for onboarding: {}", saved.getId());
-        return convertToDTO(saved);
+        log.info("Bulk verification done: {}/{} documents verified, {} onboardings updated",
+            verified, refs.size(), recalculated);
+        
+        result.put("verified", verified);
+        result.put("onboardingsUpdated", recalculated);
+        return result;
     }
     
     /**
@@ -371,49 +471,119 @@ public class OnboardingService {
     public void deleteOnboarding(String id) {
         log.info("Deleting onboarding: {}", id);
         
-        if (!onboardingRepository.existsById(id)) {
-            throw new RuntimeException("Onboarding not found");
-        }
+        Onboarding onboarding = onboardingRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Onboarding not found"));
         
         onboardingRepository.deleteById(id);
+        markOfferOnboarded(onboarding.getOfferLetterId(), false);
         log.info("Onboarding deleted successfully");
     }
     
     /**
-     * Helper: Update onboarding status based on document submission
+     * Helper: Keep the offer letter's eligibility flag in step with its onboarding
      */
-    private void updateOnboardingStatus(Onboarding onboarding) {
-        // Count required documents
-        long totalRequired = onboarding.getDocuments().stream()
-            .filter(Onboarding.OnboardingDocument::getIsRequired)
-            .count();
-        
-        long submittedRequired = onboarding.getDocuments().stream()
-            .filter(Onboarding.OnboardingDocument::getIsRequired)
-            .filter(Onboarding.OnboardingDocument::getIsSubmitted)
-            .count();
-        
-        long verifiedRequired = onboarding.getDocuments().stream()
-            .filter(Onboarding.OnboardingDocument::getIsRequired)
-            .filter(Onboarding.OnboardingDocument::getIsVerified)
-            .count();
-        
-        // Update status
-        if (verifiedRequired == totalRequired) {
-            onboarding.setStatus("VERIFIED");
-            onboarding.setCurrentStep("SYSTEM_SETUP");
-        } else if (submittedRequired == totalRequired) {
-            onboarding.setStatus("DOCUMENTS_SUBMITTED");
-            onboarding.setCurrentStep("VERIFICATION");
-        } else if (submittedRequired > 0) {
-            onboarding.setStatus("PENDING");
-            onboarding.setCurrentStep("DOCUMENT_COLLECTION");
+    private void markOfferOnboarded(String offerLetterId, boolean onboarded) {
+        if (offerLetterId == null) {
+            return;
         }
-        
-        // Update completion percentage
-        onboarding.updateCompletionPercentage();
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(offerLetterId)),
+            new Update().set("onboardingCreated", onboarded), OfferLetter.class);
+    }
+    
+    /**
+     * Helper: Apply a positional update to one document element of an onboarding
+     */
+    private void updateDocument(String onboardingId, String documentType, Update update) {
+        update.set("updatedAt", LocalDateTime.now());
+        
+        if (mongoTemplate.updateFirst(documentQuery(onboardingId, documentType), update, Onboarding.class)
+                .getMatchedCount() == 0) {
+            if (!onboardingRepository.existsById(onboardingId)) {
+                throw new RuntimeException("Onboarding not found");
+            }
+            throw new RuntimeException("Document type not found: " + documentType);
+        }
+    }
+    
+    private Query documentQuery(String onboardingId, String documentType) {
+        return new Query(Criteria.where("_id").is(onboardingId)
+            .and("documents.documentType").is(documentType));
     }
     
+    private Update verifyUpdate(String verifiedBy, String remarks) {
+        Update update = new Update()
+            .set("documents.$.isVerified", true)
+            .set("documents.$.verifiedAt", LocalDateTime.now())
+            .set("documents.$.verifiedBy", verifiedBy);
+        if (remarks != null) {
+            update.set("documents.$.remarks", remarks);
+        }
+        return update;
+    }
+    
+    /**
+     * Helper: Update onboarding status based on document submission.
+     * Runs as one atomic pipeline update, so it always sees the latest document flags.
+     */
+    private Onboarding recalculateStatus(String onboardingId) {
+        Document updated = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Onboarding.class))
+            .findOneAndUpdate(
+                Filters.eq("_id", toObjectIds(List.of(onboardingId)).get(0)),
+                STATUS_PIPELINE,
+                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER));
+        if (updated == null) {
+            throw new RuntimeException("Onboarding not found");
+        }
+        return mongoTemplate.getConverter().read(Onboarding.class, updated);
+    }
+    
+    private static List<Object> toObjectIds(Collection<String> ids) {
+        return ids.stream()
+            .map(id -> ObjectId.isValid(id) ? (Object) new ObjectId(id) : id)
+            .collect(Collectors.toList());
+    }
+    
+    private static Document requiredCount(String flag) {
+        return new Document("$size", new Document("$filter", new Document("input", "$_required")
+            .append("as", "d")
+            .append("cond", new Document("$eq", List.of("$$d." + flag, true)))));
+    }
+    
+    private static Document oneIf(Object condition) {
+        return new Document("$cond", List.of(condition, 1, 0));
+    }
+    
+    /**
+     * Same rules as Onboarding.updateCompletionPercentage, evaluated inside MongoDB:
+     * status/step follow required document submission and verification, and each of the
+     * five onboarding steps is worth 20%.
+     */
+    private static final List<Document> STATUS_PIPELINE = List.of(
+        new Document("$set", new Document("_required", new Document("$filter", new Document("input", "$documents")
+            .append("as", "d")
+            .append("cond", new Document("$eq", List.of("$$d.isRequired", true)))))),
+        new Document("$set", new Document("_total", new Document("$size", "$_required"))
+            .append("_submitted", requiredCount("isSubmitted"))
+            .append("_verified", requiredCount("isVerified"))),
+        new Document("$set", new Document("status", new Document("$switch", new Document("branches", List.of(
+                new Document("case", new Document("$eq", List.of("$_verified", "$_total"))).append("then", "VERIFIED"),
+                new Document("case", new Document("$eq", List.of("$_submitted", "$_total"))).append("then", "DOCUMENTS_SUBMITTED"),
+                new Document("case", new Document("$gt", List.of("$_submitted", 0))).append("then", "PENDING")))
+                .append("default", "$status")))
+            .append("currentStep", new Document("$switch", new Document("branches", List.of(
+                new Document("case", new Document("$eq", List.of("$_verified", "$_total"))).append("then", "SYSTEM_SETUP"),
+                new Document("case", new Document("$eq", List.of("$_submitted", "$_total"))).append("then", "VERIFICATION"),
+                new Document("case", new Document("$gt", List.of("$_submitted", 0))).append("then", "DOCUMENT_COLLECTION")))
+                .append("default", "$currentStep")))),
+        new Document("$set", new Document("completionPercentage", new Document("$multiply", List.of(20, new Document("$add", List.of(
+            oneIf(new Document("$eq", List.of("$_submitted", "$_total"))),
+            oneIf(new Document("$eq", List.of("$_verified", "$_total"))),
+            oneIf(new Document("$and", List.of("$emailAccountCreated", "$systemAccessProvided", "$idCardIssued"))),
+            oneIf(new Document("$eq", List.of("$orientationCompleted", true))),
+            oneIf(new Document("$eq", List.of("$status", "COMPLETED"))))))))),
+        new Document("$unset", List.of("_required", "_total", "_submitted", "_verified"))
+    );
+    
     /**
      * Convert entity to DTO
      */
@@ -439,6 +609,7 @@ public class OnboardingService {
         dto.setActualJoiningDate(onboarding.getActualJoiningDate());
         dto.setOnboardingStartDate(onboarding.getOnboardingStartDate());
         dto.setOnboardingCompletionDate(onboarding.getOnboardingCompletionDate());
+        dto.setJoiningOverdue(onboarding.getJoiningOverdue());
         dto.setStatus(onboarding.getStatus());
         dto.setCurrentStep(onboarding.getCurrentStep());
         dto.setCompletionPercentage(onboarding.getCompletionPercentage());
@@ -460,6 +631,7 @@ public class OnboardingService {
         dto.setBackgroundVerificationRemarks(onboarding.getBackgroundVerificationRemarks());
         dto.setProbationPeriod(onboarding.getProbationPeriod());
         dto.setProbationEndDate(onboarding.getProbationEndDate());
+        dto.setProbationCompleted(onboarding.getProbationCompleted());
         dto.setEmergencyContactName(onboarding.getEmergencyContactName());
         dto.setEmergencyContactPhone(onboarding.getEmergencyContactPhone());
         dto.setEmergencyContactRelation(onboarding.getEmergencyContactRelation());
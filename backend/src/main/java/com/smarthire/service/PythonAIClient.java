@@ -3,19 +3,23 @@ package com.smarthire.service;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.beans.factory.annotation.Value;
+import com.smarthire.metrics.AppMetrics;
+import com.smarthire.service.ai.AiReplicaPool;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
 import java.util.*;
 
 /**
  * PythonAIClient - Spring service to call Python FastAPI Smart Hire backend.
  *
- * Configure in application.properties:
- *   fastapi.base.url=http://localhost:5001
+ * Configure in application.yml:
+ *   ai.replicas=http://ai-1:5001,http://ai-2:5001   (defaults to fastapi.base.url)
+ *
+ * Calls are spread over the replicas by AiReplicaPool; read-only calls (generate-jd, applications,
+ * monitor-status) are hedged, and healthCheck returns the pool's cached probe results.
  *
  * Usage:
  *   @Autowired PythonAIClient client;
@@ -26,12 +30,16 @@ import java.util.*;
 @Service
 public class PythonAIClient {
 
-    @Value("${fastapi.base.url:http://localhost:5001}")
-    private String fastApiBaseUrl;
+    @Autowired
+    private AiReplicaPool replicaPool;
+
+    @Autowired
+    private AppMetrics metrics;
 
-    private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
     @SuppressWarnings("null")
     private HttpHeaders defaultJsonHeaders() {
         HttpHeaders headers = new HttpHeaders();
@@ -41,36 +49,40 @@ public class PythonAIClient {
         return headers;
     }
 
+    private ResponseEntity<String> get(String operation, String path, boolean idempotent) {
+        return replicaPool.execute(operation, idempotent,
+            (restTemplate, baseUrl) -> restTemplate.getForEntity(baseUrl + path, String.class));
+    }
+
+    private ResponseEntity<String> post(String operation, String path, Map<String, Object> payload, boolean idempotent) {
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, defaultJsonHeaders());
+        return replicaPool.execute(operation, idempotent,
+            (restTemplate, baseUrl) -> restTemplate.postForEntity(baseUrl + path, entity, String.class));
+    }
+
     // -----------------------
     // Health & Webhook helpers
     // -----------------------
-    @SuppressWarnings({ "null", "deprecation" })
+    /**
+     * Health of the AI service from the background replica probes; no upstream call
+     */
     public Map<String, Object> healthCheck() {
-        String url = UriComponentsBuilder.fromHttpUrl(fastApiBaseUrl).path("/health").toUriString();
-        try {
-            ResponseEntity<String> res = restTemplate.getForEntity(url, String.class);
-            if (res.getStatusCode().is2xxSuccessful() && res.getBody() != null) {
-                return objectMapper.readValue(res.getBody(), new TypeReference<>() {});
-            } else {
-                return Map.of("status", "unreachable", "code", res.getStatusCodeValue());
-            }
-        } catch (Exception e) {
-            return Map.of("status", "error", "error", e.getMessage());
-        }
+        return replicaPool.health();
     }
 
     public Map<String, Object> testWebhook() {
-        String url = UriComponentsBuilder.fromHttpUrl(fastApiBaseUrl).path("/test-webhook").toUriString();
-        try {
-            ResponseEntity<String> res = restTemplate.getForEntity(url, String.class);
-            if (res.getStatusCode().is2xxSuccessful() && res.getBody() != null) {
-                return objectMapper.readValue(res.getBody(), new TypeReference<>() {});
-            } else {
-                return Map.of("status", "failed", "code", res.getStatusCodeValue());
+        return metrics.timeAiCall("testWebhook", () -> {
+            try {
+                ResponseEntity<String> res = get("testWebhook", "/test-webhook", false);
+                if (res.getStatusCode().is2xxSuccessful() && res.getBody() != null) {
+                    return decode(res.getBody());
+                } else {
+                    return Map.of("status", "failed", "code", res.getStatusCodeValue());
+                }
+            } catch (Exception e) {
+                return Map.of("status", "error", "error", e.getMessage());
             }
-        } catch (Exception e) {
-            return Map.of("status", "error", "error", e.getMessage());
-        }
+        });
     }
 
     // -----------------------
@@ -81,20 +93,19 @@ public class PythonAIClient {
      * jobData map must contain company_name or companyName and job_role or jobTitle.
      */
     public Map<String, Object> generateJobDescription(Map<String, Object> jobData) {
-        String url = UriComponentsBuilder.fromHttpUrl(fastApiBaseUrl).path("/generate-jd").toUriString();
-        try {
-            HttpHeaders headers = defaultJsonHeaders();
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(jobData, headers);
-            ResponseEntity<String> res = restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
-            if (res.getStatusCode().is2xxSuccessful() && res.getBody() != null) {
-                // response_model = JDGenerateResponse { job_description, company_name, job_role }
-                return objectMapper.readValue(res.getBody(), new TypeReference<>() {});
-            } else {
-                return Map.of("error", "Non-200 from FastAPI", "code", res.getStatusCodeValue());
+        return metrics.timeAiCall("generateJobDescription", () -> {
+            try {
+                ResponseEntity<String> res = post("generateJobDescription", "/generate-jd", jobData, true);
+                if (res.getStatusCode().is2xxSuccessful() && res.getBody() != null) {
+                    // response_model = JDGenerateResponse { job_description, company_name, job_role }
+                    return decode(res.getBody());
+                } else {
+                    return Map.of("error", "Non-200 from FastAPI", "code", res.getStatusCodeValue());
+                }
+            } catch (Exception e) {
+                return Map.of("error", "generateJobDescription failed", "message", e.getMessage());
             }
-        } catch (Exception e) {
-            return Map.of("error", "generateJobDescription failed", "message", e.getMessage());
-        }
+        });
     }
 
     // -----------------------
@@ -104,53 +115,54 @@ public class PythonAIClient {
      * Call /post-jd endpoint. Accepts same payload as generate but will post.
      */
     public Map<String, Object> postJobDescription(Map<String, Object> jobData) {
-        String url = UriComponentsBuilder.fromHttpUrl(fastApiBaseUrl).path("/post-jd").toUriString();
-        try {
-            HttpHeaders headers = defaultJsonHeaders();
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(jobData, headers);
-            ResponseEntity<String> res = restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
-            if (res.getStatusCode().is2xxSuccessful() && res.getBody() != null) {
-                return objectMapper.readValue(res.getBody(), new TypeReference<>() {});
-            } else {
-                return Map.of("error", "Non-200 from FastAPI", "code", res.getStatusCodeValue());
+        return metrics.timeAiCall("postJobDescription", () -> {
+            try {
+                ResponseEntity<String> res = post("postJobDescription", "/post-jd", jobData, false);
+                if (res.getStatusCode().is2xxSuccessful() && res.getBody() != null) {
+                    return decode(res.getBody());
+                } else {
+                    return Map.of("error", "Non-200 from FastAPI", "code", res.getStatusCodeValue());
+                }
+            } catch (Exception e) {
+                return Map.of("error", "postJobDescription failed", "message", e.getMessage());
             }
-        } catch (Exception e) {
-            return Map.of("error", "postJobDescription failed", "message", e.getMessage());
-        }
+        });
     }
 
     // -----------------------
     // Applications (fetch resumes)
     // -----------------------
     public Map<String, Object> getApplications() {
-        String url = UriComponentsBuilder.fromHttpUrl(fastApiBaseUrl).path("/applications").toUriString();
-        try {
-            ResponseEntity<String> res = restTemplate.getForEntity(url, String.class);
-            if (res.getStatusCode().is2xxSuccessful() && res.getBody() != null) {
-                return objectMapper.readValue(res.getBody(), new TypeReference<>() {});
-            } else {
-                return Map.of("error", "Non-200 from FastAPI", "code", res.getStatusCodeValue());
+        return metrics.timeAiCall("getApplications", () -> {
+            try {
+                ResponseEntity<String> res = get("getApplications", "/applications", true);
+                if (res.getStatusCode().is2xxSuccessful() && res.getBody() != null) {
+                    return decode(res.getBody());
+                } else {
+                    return Map.of("error", "Non-200 from FastAPI", "code", res.getStatusCodeValue());
+                }
+            } catch (Exception e) {
+                return Map.of("error", "getApplications failed", "message", e.getMessage());
             }
-        } catch (Exception e) {
-            return Map.of("error", "getApplications failed", "message", e.getMessage());
-        }
+        });
     }
 
     // -----------------------
     // Monitor status
     // -----------------------
     public Map<String, Object> getMonitorStatus() {
-        String url = UriComponentsBuilder.fromHttpUrl(fastApiBaseUrl).path("/monitor-status").toUriString();
-        try {
-            ResponseEntity<String> res = restTemplate.getForEntity(url, String.class);
-            if (res.getStatusCode().is2xxSuccessful() && res.getBody() != null) {
-                return objectMapper.readValue(res.getBody(), new TypeReference<>() {});
-            } else {
-                return Map.of("error", "Non-200 from FastAPI", "code", res.getStatusCodeValue());
+        return metrics.timeAiCall("getMonitorStatus", () -> {
+            try {
+                ResponseEntity<String> res = get("getMonitorStatus", "/monitor-status", true);
+                if (res.getStatusCode().is2xxSuccessful() && res.getBody() != null) {
+                    return decode(res.getBody());
+                } else {
+                    return Map.of("error", "Non-200 from FastAPI", "code", res.getStatusCodeValue());
+                }
+            } catch (Exception e) {
+                return Map.of("error", "getMonitorStatus failed", "message", e.getMessage());
             }
-        } catch (Exception e) {
-            return Map.of("error", "getMonitorStatus failed", "message", e.getMessage());
-        }
+        });
     }
 
     // -----------------------
@@ -161,19 +173,19 @@ public class PythonAIClient {
      * returns ShortlistResponse { shortlist: [...], count: n }
      */
     public Map<String, Object> shortlistCandidates(String jobDescription) {
-        String url = UriComponentsBuilder.fromHttpUrl(fastApiBaseUrl).path("/shortlist").toUriString();
-        try {
-            Map<String, Object> payload = Map.of("job_description", jobDescription);
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, defaultJsonHeaders());
-            ResponseEntity<String> res = restTemplate.postForEntity(url, entity, String.class);
-            if (res.getStatusCode().is2xxSuccessful() && res.getBody() != null) {
-                return objectMapper.readValue(res.getBody(), new TypeReference<>() {});
-            } else {
-                return Map.of("error", "Non-200 from FastAPI", "code", res.getStatusCodeValue());
+        return metrics.timeAiCall("shortlistCandidates", () -> {
+            try {
+                Map<String, Object> payload = Map.of("job_description", jobDescription);
+                ResponseEntity<String> res = post("shortlistCandidates", "/shortlist", payload, false);
+                if (res.getStatusCode().is2xxSuccessful() && res.getBody() != null) {
+                    return decode(res.getBody());
+                } else {
+                    return Map.of("error", "Non-200 from FastAPI", "code", res.getStatusCodeValue());
+                }
+            } catch (Exception e) {
+                return Map.of("error", "shortlistCandidates failed", "message", e.getMessage());
             }
-        } catch (Exception e) {
-            return Map.of("error", "shortlistCandidates failed", "message", e.getMessage());
-        }
+        });
     }
 
     // -----------------------
@@ -184,21 +196,21 @@ public class PythonAIClient {
      * shortlist should be the list returned from /shortlist.
      */
     public Map<String, Object> scheduleInterviews(List<Map<String, Object>> shortlist, String jobRole) {
-        String url = UriComponentsBuilder.fromHttpUrl(fastApiBaseUrl).path("/schedule-interviews").toUriString();
-        try {
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("shortlist", shortlist);
-            payload.put("job_role", jobRole);
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, defaultJsonHeaders());
-            ResponseEntity<String> res = restTemplate.postForEntity(url, entity, String.class);
-            if (res.getStatusCode().is2xxSuccessful() && res.getBody() != null) {
-                return objectMapper.readValue(res.getBody(), new TypeReference<>() {});
-            } else {
-                return Map.of("error", "Non-200 from FastAPI", "code", res.getStatusCodeValue());
+        return metrics.timeAiCall("scheduleInterviews", () -> {
+            try {
+                Map<String, Object> payload = new HashMap<>();
+                payload.put("shortlist", shortlist);
+                payload.put("job_role", jobRole);
+                ResponseEntity<String> res = post("scheduleInterviews", "/schedule-interviews", payload, false);
+                if (res.getStatusCode().is2xxSuccessful() && res.getBody() != null) {
+                    return decode(res.getBody());
+                } else {
+                    return Map.of("error", "Non-200 from FastAPI", "code", res.getStatusCodeValue());
+                }
+            } catch (Exception e) {
+                return Map.of("error", "scheduleInterviews failed", "message", e.getMessage());
             }
-        } catch (Exception e) {
-            return Map.of("error", "scheduleInterviews failed", "message", e.getMessage());
-        }
+        });
     }
 
     // -----------------------
@@ -209,26 +221,33 @@ public class PythonAIClient {
      * returns WorkflowResponse with job_description, posting_result, shortlist, interviews, ...
      */
     public Map<String, Object> runFullWorkflow(String companyName, String jobRole) {
-        String url = UriComponentsBuilder.fromHttpUrl(fastApiBaseUrl).path("/run-workflow").toUriString();
-        try {
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("company_name", companyName);
-            payload.put("job_role", jobRole);
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, defaultJsonHeaders());
-            ResponseEntity<String> res = restTemplate.postForEntity(url, entity, String.class);
-            if (res.getStatusCode().is2xxSuccessful() && res.getBody() != null) {
-                return objectMapper.readValue(res.getBody(), new TypeReference<>() {});
-            } else {
-                return Map.of("error", "Non-200 from FastAPI", "code", res.getStatusCodeValue());
+        return metrics.timeAiCall("runFullWorkflow", () -> {
+            try {
+                Map<String, Object> payload = new HashMap<>();
+                payload.put("company_name", companyName);
+                payload.put("job_role", jobRole);
+                ResponseEntity<String> res = post("runFullWorkflow", "/run-workflow", payload, false);
+                if (res.getStatusCode().is2xxSuccessful() && res.getBody() != null) {
+                    return decode(res.getBody());
+                } else {
+                    return Map.of("error", "Non-200 from FastAPI", "code", res.getStatusCodeValue());
+                }
+            } catch (Exception e) {
+                return Map.of("error", "runFullWorkflow failed", "message", e.getMessage());
             }
-        } catch (Exception e) {
-            return Map.of("error", "runFullWorkflow failed", "message", e.getMessage());
-        }
+        });
     }
 
     // -----------------------
     // Utility helpers (parsing responses)
     // -----------------------
+    /**
+     * Decode a FastAPI JSON object response
+     */
+    Map<String, Object> decode(String body) throws IOException {
+        return objectMapper.readValue(body, MAP_TYPE);
+    }
+
     /**
      * Helper to extract a nested field (if you need it)
      */
@@ -0,0 +1,69 @@
+package com.smarthire.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * SchedulerLock - Lease lock in the scheduler_locks collection so a scheduled job runs on one replica at a time.
+ *
+ * Acquiring is a single upsert that only matches an expired lease; when another node holds a live
+ * lease the upsert tries to insert the same _id and fails with a duplicate key, which means "busy".
+ * A crashed holder's lease simply runs out.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SchedulerLock {
+
+    private static final String COLLECTION = "scheduler_locks";
+
+    private final MongoTemplate mongoTemplate;
+    private final String nodeId = nodeName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    /**
+     * Try to take the named lock for the given lease; false when another node holds it
+     */
+    public boolean tryAcquire(String name, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(Criteria.where("_id").is(name).and("lockedUntil").lte(now));
+        Update update = new Update()
+            .set("lockedUntil", now.plus(lease))
+            .set("lockedAt", now)
+            .set("lockedBy", nodeId);
+        try {
+            mongoTemplate.upsert(query, update, COLLECTION);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Release the lock early if this node still holds it
+     */
+    public void release(String name) {
+        mongoTemplate.updateFirst(
+            new Query(Criteria.where("_id").is(name).and("lockedBy").is(nodeId)),
+            new Update().set("lockedUntil", LocalDateTime.now()),
+            COLLECTION);
+    }
+
+    private static String nodeName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
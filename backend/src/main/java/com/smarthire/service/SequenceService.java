@@ -0,0 +1,118 @@
+package com.smarthire.service;
+
+import com.smarthire.model.SequenceCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SequenceService - Unique, gap-tolerant business identifiers from named sequences.
+ *
+ * Each node leases a block of values from the "counters" collection with one atomic
+ * $inc and hands them out from memory; only the thread that exhausts a block goes back
+ * to Mongo. Values are unique across nodes and restarts, but not gapless: the unused
+ * rest of a block is skipped when a node stops. The identifier fields also carry unique
+ * indexes, so a reset counter fails the insert instead of reissuing a number.
+ */
+@Service
+@Slf4j
+public class SequenceService {
+
+    /** Offer letter numbers, e.g. OL-000042 */
+    public static final Sequence OFFER_LETTER_NUMBER = new Sequence("offerLetterNumber", "OL-", 6);
+
+    /** Employee IDs, e.g. EMP00042 */
+    public static final Sequence EMPLOYEE_ID = new Sequence("employeeId", "EMP", 5);
+
+    private final MongoTemplate mongoTemplate;
+    private final int blockSize;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> leaseLocks = new ConcurrentHashMap<>();
+
+    public SequenceService(MongoTemplate mongoTemplate,
+                           @Value("${sequences.block-size:50}") int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("sequences.block-size must be positive, got " + blockSize);
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Next formatted identifier of a sequence
+     */
+    public String next(Sequence sequence) {
+        return sequence.format(nextValue(sequence.name()));
+    }
+
+    /**
+     * Next raw value of a named sequence
+     */
+    public long nextValue(String name) {
+        while (true) {
+            Block block = blocks.get(name);
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value <= block.end) {
+                    return value;
+                }
+            }
+            leaseBlock(name, block);
+        }
+    }
+
+    /**
+     * Replace an exhausted (or missing) block; threads racing on the same block lease only once
+     */
+    private void leaseBlock(String name, Block exhausted) {
+        ReentrantLock lock = leaseLocks.computeIfAbsent(name, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            if (blocks.get(name) != exhausted) {
+                return;
+            }
+            SequenceCounter counter = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(name)),
+                    new Update().inc("value", blockSize).set("updatedAt", LocalDateTime.now()),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    SequenceCounter.class);
+            long end = counter.getValue();
+            blocks.put(name, new Block(end - blockSize + 1, end));
+            log.debug("Leased sequence block {} [{}..{}]", name, end - blockSize + 1, end);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class Block {
+
+        private final AtomicLong next;
+        private final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+
+    /**
+     * A named sequence with its display prefix and zero-padded width
+     */
+    public record Sequence(String name, String prefix, int width) {
+
+        public String format(long value) {
+            return prefix + String.format("%0" + width + "d", value);
+        }
+    }
+}
@@ -1,13 +1,16 @@
 package com.smarthire.service;
 
 import com.smarthire.dto.ShortlistResponse;
+import com.smarthire.event.ApplicationStatusChangedEvent;
+import com.smarthire.event.DomainEventBus;
+import com.smarthire.metrics.AppMetrics;
 import com.smarthire.model.*;
 import com.smarthire.repository.*;
+import com.smarthire.service.ai.AiReplicaPool;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -17,6 +20,7 @@ import java.util.stream.Collectors;
  * Connects to Python AI service for ATS analysis
  */
 @Service
+@Slf4j
 public class ShortlistService {
 
     @Autowired
@@ -26,48 +30,58 @@ public class ShortlistService {
     private ShortlistedCandidateRepository shortlistedRepository;
 
     @Autowired
-    private JobRepository jobRepository;
+    private EntityCache entityCache;
 
-    @Value("${ai.service.url:http://localhost:5001}")
-    private String aiServiceUrl;
+    @Autowired
+    private DomainEventBus eventBus;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Autowired
+    private AppMetrics metrics;
+
+    @Autowired
+    private AiReplicaPool aiReplicaPool;
 
     /**
      * Main method: Process all applications for a job using AI ATS
      */
     public ShortlistResponse processJobApplications(String jobId, Double minScore, Integer maxCandidates) {
-        System.out.println("🤖 Starting ATS Shortlisting for Job: " + jobId);
+        return metrics.timeOperation("processJobApplications", jobId, ShortlistResponse::isSuccess,
+                () -> doProcessJobApplications(jobId, minScore, maxCandidates));
+    }
+
+    private ShortlistResponse doProcessJobApplications(String jobId, Double minScore, Integer maxCandidates) {
+        log.info("🤖 Starting ATS shortlisting for job {}", jobId);
 
         try {
             // 1. Get job details
-            Job job = jobRepository.findById(jobId)
+            Job job = entityCache.findJob(jobId)
                 .orElseThrow(() -> new RuntimeException("Job not found: " + jobId));
 
             // 2. Get all submitted applications for this job
-            List<JobApplication> applications = applicationRepository.findByJob(job);
+            List<JobApplication> applications = applicationRepository.findByJobId(jobId);
             
             if (applications.isEmpty()) {
                 return createEmptyResponse(jobId, job.getTitle(), "No applications found for this job");
             }
 
-            System.out.println("📋 Found " + applications.size() + " applications to process");
+            log.debug("📋 Found {} applications to process", applications.size());
 
             // 3. Call Python AI service for batch shortlisting
             Map<String, Object> aiRequest = new HashMap<>();
             aiRequest.put("job_description", job.getDescription());
             aiRequest.put("job_id", jobId);
             
-            // Send request to Python AI service
-            String aiUrl = aiServiceUrl + "/shortlist";
+            // Send request to the least busy Python AI service replica
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(aiRequest, headers);
 
-            System.out.println("🐍 Calling Python AI Service: " + aiUrl);
+            log.debug("🐍 Calling Python AI service: /shortlist");
             
             @SuppressWarnings("unchecked")
-            Map<String, Object> aiResponse = restTemplate.postForObject(aiUrl, entity, Map.class);
+            Map<String, Object> aiResponse = metrics.timeAiCall("processJobApplications", jobId, job.getCompany(),
+                () -> aiReplicaPool.execute("processJobApplications", false,
+                    (restTemplate, baseUrl) -> restTemplate.postForObject(baseUrl + "/shortlist", entity, Map.class)));
 
             if (aiResponse == null) {
                 return createErrorResponse(jobId, job.getTitle(), "AI service returned null response");
@@ -81,7 +95,7 @@ public class ShortlistService {
                 return createEmptyResponse(jobId, job.getTitle(), "AI service found no suitable candidates");
             }
 
-            System.out.println("✅ AI Service returned " + shortlistData.size() + " shortlisted candidates");
+            log.info("✅ AI service returned {} shortlisted candidates for job {}", shortlistData.size(), jobId);
 
             // 5. Save shortlisted candidates to MongoDB
             List<ShortlistedCandidate> savedCandidates = new ArrayList<>();
@@ -114,7 +128,7 @@ public class ShortlistService {
 
                     // Check if already shortlisted
                     if (shortlistedRepository.existsByApplicationId(applicationId)) {
-                        System.out.println("⚠️ Candidate already shortlisted: " + applicationId);
+                        log.debug("Candidate already shortlisted: {}", applicationId);
                         continue;
                     }
 
@@ -128,10 +142,10 @@ public class ShortlistService {
                     updateApplicationStatus(applicationId, JobApplication.ApplicationStatus.SHORTLISTED);
 
                     rank++;
-                    System.out.println("✅ Saved shortlisted candidate #" + (rank-1) + ": " + shortlisted.getCandidateName());
+                    log.debug("Saved shortlisted candidate #{}: {}", rank - 1, shortlisted.getCandidateName());
 
                 } catch (Exception e) {
-                    System.err.println("❌ Error processing candidate: " + e.getMessage());
+                    log.warn("❌ Error processing candidate: {}", e.getMessage());
                 }
             }
 
@@ -139,8 +153,7 @@ public class ShortlistService {
             return buildSuccessResponse(savedCandidates, applications.size(), jobId, job.getTitle());
 
         } catch (Exception e) {
-            System.err.println("❌ Error in shortlisting process: " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ Error in shortlisting process for job {}: ", jobId, e);
             return createErrorResponse(jobId, "Unknown", "Error: " + e.getMessage());
         }
     }
@@ -149,7 +162,7 @@ public class ShortlistService {
      * Map AI service response to ShortlistedCandidate model
      */
     @SuppressWarnings("unchecked")
-    private ShortlistedCandidate mapAIResponseToModel(Map<String, Object> aiData, Job job, int rank) {
+    ShortlistedCandidate mapAIResponseToModel(Map<String, Object> aiData, Job job, int rank) {
         ShortlistedCandidate candidate = new ShortlistedCandidate();
 
         // Basic info
@@ -204,7 +217,7 @@ public class ShortlistService {
     /**
      * Helper to safely get Double value from various types
      */
-    private Double getDoubleValue(Object... values) {
+    Double getDoubleValue(Object... values) {
         for (Object value : values) {
             if (value == null) continue;
             
@@ -226,20 +239,10 @@ public class ShortlistService {
     }
 
     /**
-     * Update application status
+     * Update application status (applied asynchronously by the event bus)
      */
     private void updateApplicationStatus(String applicationId, JobApplication.ApplicationStatus status) {
-        try {
-            Optional<JobApplication> appOpt = applicationRepository.findById(applicationId);
-            if (appOpt.isPresent()) {
-                JobApplication app = appOpt.get();
-                app.setStatus(status);
-                app.onUpdate();
-                applicationRepository.save(app);
-            }
-        } catch (Exception e) {
-            System.err.println("⚠️ Could not update application status: " + e.getMessage());
-        }
+        eventBus.publish(new ApplicationStatusChangedEvent(applicationId, status, "SHORTLISTING"));
     }
 
     /**
@@ -0,0 +1,131 @@
+package com.smarthire.service.ai;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AiReplica - Routing state of one AI service replica: in-flight calls, probe health and ejection.
+ *
+ * A replica starts out healthy so calls can go to it before the first probe has answered.
+ */
+final class AiReplica {
+
+    private final String baseUrl;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private int consecutiveProbeFailures;
+    private int ejections;
+    private volatile boolean healthy = true;
+    private volatile long ejectedUntilNanos;
+    private volatile Map<String, Object> lastHealth = Map.of("status", "unknown");
+    private volatile LocalDateTime checkedAt;
+
+    AiReplica(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    int outstanding() {
+        return outstanding.get();
+    }
+
+    boolean isHealthy() {
+        return healthy;
+    }
+
+    boolean isEjected(long nowNanos) {
+        return ejectedUntilNanos != 0 && nowNanos - ejectedUntilNanos < 0;
+    }
+
+    boolean isAvailable(long nowNanos) {
+        return healthy && !isEjected(nowNanos);
+    }
+
+    Map<String, Object> lastHealth() {
+        return lastHealth;
+    }
+
+    void callStarted() {
+        outstanding.incrementAndGet();
+    }
+
+    void callFinished() {
+        outstanding.decrementAndGet();
+    }
+
+    /**
+     * A call got an answer from the replica; ends the failure streak and resets the ejection back-off
+     */
+    void recordSuccess() {
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+        if (ejectedUntilNanos != 0 && !isEjected(System.nanoTime())) {
+            synchronized (this) {
+                if (!isEjected(System.nanoTime())) {
+                    ejections = 0;
+                    ejectedUntilNanos = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * A call failed on the replica's side; returns the ejection time once the streak reaches the
+     * threshold (the n-th ejection in a row lasts n base periods, at most maxEjectionNanos), else 0
+     */
+    long recordFailure(int threshold, long baseEjectionNanos, long maxEjectionNanos) {
+        if (consecutiveFailures.incrementAndGet() < threshold) {
+            return 0;
+        }
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (isEjected(now)) {
+                return 0;
+            }
+            consecutiveFailures.set(0);
+            ejections++;
+            long duration = Math.min(baseEjectionNanos * ejections, maxEjectionNanos);
+            ejectedUntilNanos = now + duration;
+            return duration;
+        }
+    }
+
+    /**
+     * Result of one /health probe; returns true when the replica's health changed
+     */
+    synchronized boolean recordProbe(boolean passed, Map<String, Object> body, int unhealthyThreshold) {
+        lastHealth = body;
+        checkedAt = LocalDateTime.now();
+        boolean wasHealthy = healthy;
+        if (passed) {
+            consecutiveProbeFailures = 0;
+            healthy = true;
+        } else if (++consecutiveProbeFailures >= unhealthyThreshold) {
+            healthy = false;
+        }
+        return healthy != wasHealthy;
+    }
+
+    /**
+     * Snapshot for the health endpoints
+     */
+    Map<String, Object> describe(long nowNanos) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("url", baseUrl);
+        view.put("healthy", healthy);
+        view.put("ejected", isEjected(nowNanos));
+        view.put("outstanding", outstanding.get());
+        view.put("status", lastHealth.get("status"));
+        if (lastHealth.containsKey("error")) {
+            view.put("error", lastHealth.get("error"));
+        }
+        view.put("checkedAt", checkedAt);
+        return view;
+    }
+}
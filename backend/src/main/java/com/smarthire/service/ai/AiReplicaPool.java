@@ -0,0 +1,405 @@
+package com.smarthire.service.ai;
+
+import com.smarthire.metrics.AppMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AiReplicaPool - Client-side load balancing over the Python AI service replicas (ai.replicas).
+ *
+ * Each call goes to the available replica with the fewest calls in flight, so a slow replica stops
+ * receiving work while its backlog drains. A replica is available while its background /health
+ * probes pass and it is not ejected: ejection.consecutive-failures failed calls in a row (I/O errors,
+ * timeouts, 5xx) take it out for a back-off that grows with every repeat. If no replica is available
+ * all of them are tried rather than failing outright. Probe results are cached for the health endpoints.
+ *
+ * Idempotent calls are hedged: when the first attempt has not answered after the operation's recent
+ * p95 latency, a second replica is asked as well and the first answer wins. Hedges are capped at
+ * hedge.budget-percent of calls, so a fleet that is slow across the board does not get twice the load.
+ * A failed idempotent call is retried once on another replica; other calls are only retried when the
+ * connection was refused, because then the request never reached the first replica.
+ */
+@Component
+@Slf4j
+public class AiReplicaPool {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE = new ParameterizedTypeReference<>() {};
+    private static final int LATENCY_SAMPLES = 128;
+    private static final long HEDGE_CREDIT_UNIT = 100;
+
+    /**
+     * One attempt against a replica, e.g. (rest, baseUrl) -> rest.getForEntity(baseUrl + "/applications", String.class)
+     */
+    @FunctionalInterface
+    public interface ReplicaCall<T> {
+        T call(RestTemplate restTemplate, String baseUrl);
+    }
+
+    private final AppMetrics metrics;
+    private final List<AiReplica> replicas;
+    private final RestTemplate restTemplate;
+    private final RestTemplate probeTemplate;
+    private final int failureThreshold;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+    private final int unhealthyThreshold;
+    private final long hedgeInitialDelayNanos;
+    private final long hedgeMinDelayNanos;
+    private final int hedgeBudgetPercent;
+    private final int maxConcurrentCalls;
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong hedgeCredits = new AtomicLong();
+    private ThreadPoolTaskExecutor executor;
+
+    public AiReplicaPool(AppMetrics metrics,
+                         @Value("${ai.replicas:${fastapi.base.url:http://localhost:5001}}") String replicaUrls,
+                         @Value("${ai.balancer.connect-timeout-ms:2000}") int connectTimeoutMs,
+                         @Value("${ai.balancer.read-timeout-ms:120000}") int readTimeoutMs,
+                         @Value("${ai.balancer.max-concurrent-calls:64}") int maxConcurrentCalls,
+                         @Value("${ai.balancer.ejection.consecutive-failures:5}") int failureThreshold,
+                         @Value("${ai.balancer.ejection.base-ms:30000}") long baseEjectionMs,
+                         @Value("${ai.balancer.ejection.max-ms:300000}") long maxEjectionMs,
+                         @Value("${ai.balancer.health.timeout-ms:2000}") int probeTimeoutMs,
+                         @Value("${ai.balancer.health.unhealthy-threshold:2}") int unhealthyThreshold,
+                         @Value("${ai.balancer.hedge.initial-delay-ms:2000}") long hedgeInitialDelayMs,
+                         @Value("${ai.balancer.hedge.min-delay-ms:200}") long hedgeMinDelayMs,
+                         @Value("${ai.balancer.hedge.budget-percent:10}") int hedgeBudgetPercent) {
+        this.metrics = metrics;
+        this.replicas = Arrays.stream(replicaUrls.split(","))
+            .map(String::trim)
+            .filter(url -> !url.isEmpty())
+            .map(url -> url.endsWith("/") ? url.substring(0, url.length() - 1) : url)
+            .distinct()
+            .map(AiReplica::new)
+            .toList();
+        if (replicas.isEmpty()) {
+            throw new IllegalStateException("ai.replicas lists no AI service URL");
+        }
+        this.restTemplate = restTemplate(connectTimeoutMs, readTimeoutMs);
+        this.probeTemplate = restTemplate(probeTimeoutMs, probeTimeoutMs);
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.failureThreshold = failureThreshold;
+        this.baseEjectionNanos = TimeUnit.MILLISECONDS.toNanos(baseEjectionMs);
+        this.maxEjectionNanos = TimeUnit.MILLISECONDS.toNanos(maxEjectionMs);
+        this.unhealthyThreshold = unhealthyThreshold;
+        this.hedgeInitialDelayNanos = TimeUnit.MILLISECONDS.toNanos(hedgeInitialDelayMs);
+        this.hedgeMinDelayNanos = TimeUnit.MILLISECONDS.toNanos(hedgeMinDelayMs);
+        this.hedgeBudgetPercent = hedgeBudgetPercent;
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(0);
+        executor.setMaxPoolSize(maxConcurrentCalls);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("ai-call-");
+        // With every worker busy the caller makes the attempt itself: no hedge, but no failure either
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(AiReplicaPool::withCallerLogContext);
+        executor.initialize();
+
+        for (AiReplica replica : replicas) {
+            metrics.registerAiReplica(replica.baseUrl(), replica::outstanding,
+                () -> replica.isAvailable(System.nanoTime()));
+        }
+        log.info("🤖 AI service replicas: {}", replicas.stream().map(AiReplica::baseUrl).toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Run a call against the best replica; idempotent calls are hedged and retried on another replica
+     */
+    public <T> T execute(String operation, boolean idempotent, ReplicaCall<T> call) {
+        AiReplica first = choose(null);
+        if (idempotent) {
+            return hedged(operation, first, call);
+        }
+        try {
+            return attempt(operation, first, call);
+        } catch (RuntimeException e) {
+            AiReplica other = isConnectFailure(e) ? choose(first) : null;
+            if (other == null) {
+                throw e;
+            }
+            log.warn("⚠️ AI replica {} refused {}, retrying on {}", first.baseUrl(), operation, other.baseUrl());
+            return attempt(operation, other, call);
+        }
+    }
+
+    /**
+     * Cached health of the replica set: the last /health body of a healthy replica, with
+     * status healthy while any replica is available, plus a per-replica breakdown
+     */
+    public Map<String, Object> health() {
+        long now = System.nanoTime();
+        Map<String, Object> healthyBody = null;
+        List<Map<String, Object>> views = new ArrayList<>(replicas.size());
+        int available = 0;
+        for (AiReplica replica : replicas) {
+            views.add(replica.describe(now));
+            if (replica.isAvailable(now)) {
+                available++;
+                if (healthyBody == null) {
+                    healthyBody = replica.lastHealth();
+                }
+            }
+        }
+
+        Map<String, Object> health = new LinkedHashMap<>(healthyBody != null ? healthyBody : Map.of());
+        health.put("status", available > 0 ? "healthy" : "unreachable");
+        health.put("availableReplicas", available);
+        health.put("totalReplicas", replicas.size());
+        health.put("replicas", views);
+        return health;
+    }
+
+    /**
+     * Probe every replica's /health in parallel and update its routing state
+     */
+    @Scheduled(fixedDelayString = "${ai.balancer.health.interval-ms:10000}", initialDelay = 0)
+    public void probeReplicas() {
+        CompletableFuture.allOf(replicas.stream()
+            .map(replica -> CompletableFuture.runAsync(() -> probe(replica), executor))
+            .toArray(CompletableFuture[]::new))
+            .join();
+    }
+
+    private void probe(AiReplica replica) {
+        Map<String, Object> body;
+        boolean passed;
+        try {
+            ResponseEntity<Map<String, Object>> res =
+                probeTemplate.exchange(replica.baseUrl() + "/health", HttpMethod.GET, null, MAP_TYPE);
+            body = res.getBody() != null ? res.getBody() : Map.of("status", "unknown");
+            passed = res.getStatusCode().is2xxSuccessful()
+                && ("healthy".equals(body.get("status")) || "ok".equals(body.get("status")));
+        } catch (Exception e) {
+            body = Map.of("status", "error", "error", String.valueOf(e.getMessage()));
+            passed = false;
+        }
+        if (replica.recordProbe(passed, body, unhealthyThreshold)) {
+            if (passed) {
+                log.info("✅ AI replica {} is healthy again", replica.baseUrl());
+            } else {
+                log.warn("❌ AI replica {} failed {} health probes, routing around it: {}",
+                    replica.baseUrl(), unhealthyThreshold, body);
+            }
+        }
+    }
+
+    // Least outstanding calls among available replicas (all replicas if none is), ties broken at random
+    private AiReplica choose(AiReplica exclude) {
+        long now = System.nanoTime();
+        AiReplica best = pick(exclude, now, true);
+        return best != null ? best : pick(exclude, now, false);
+    }
+
+    private AiReplica pick(AiReplica exclude, long now, boolean availableOnly) {
+        int size = replicas.size();
+        int offset = ThreadLocalRandom.current().nextInt(size);
+        AiReplica best = null;
+        for (int i = 0; i < size; i++) {
+            AiReplica replica = replicas.get((offset + i) % size);
+            if (replica == exclude || (availableOnly && !replica.isAvailable(now))) {
+                continue;
+            }
+            if (best == null || replica.outstanding() < best.outstanding()) {
+                best = replica;
+            }
+        }
+        return best;
+    }
+
+    private <T> T attempt(String operation, AiReplica replica, ReplicaCall<T> call) {
+        replica.callStarted();
+        long start = System.nanoTime();
+        try {
+            T result = call.call(restTemplate, replica.baseUrl());
+            replica.recordSuccess();
+            latencies.computeIfAbsent(operation, k -> new LatencyWindow()).record(System.nanoTime() - start);
+            return result;
+        } catch (HttpServerErrorException | ResourceAccessException e) {
+            long ejectedFor = replica.recordFailure(failureThreshold, baseEjectionNanos, maxEjectionNanos);
+            if (ejectedFor > 0) {
+                metrics.recordAiEjection(replica.baseUrl());
+                log.warn("⚠️ AI replica {} ejected for {}s after {} failed calls in a row: {}",
+                    replica.baseUrl(), TimeUnit.NANOSECONDS.toSeconds(ejectedFor), failureThreshold, e.getMessage());
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            // 4xx and decoding errors are about the request, not the replica
+            replica.recordSuccess();
+            throw e;
+        } finally {
+            replica.callFinished();
+        }
+    }
+
+    private <T> T hedged(String operation, AiReplica first, ReplicaCall<T> call) {
+        earnHedgeCredit();
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        List<Future<T>> attempts = new ArrayList<>(2);
+        try {
+            attempts.add(completion.submit(() -> attempt(operation, first, call)));
+            Future<T> done = completion.poll(hedgeDelayNanos(operation), TimeUnit.NANOSECONDS);
+            if (done == null) {
+                AiReplica second = choose(first);
+                if (second != null && spendHedgeCredit()) {
+                    attempts.add(completion.submit(() -> attempt(operation, second, call)));
+                    metrics.recordAiHedge(operation);
+                    log.debug("AI call {} slow on {}, hedging to {}", operation, first.baseUrl(), second.baseUrl());
+                }
+                done = completion.take();
+            }
+
+            int pending = attempts.size();
+            while (true) {
+                pending--;
+                try {
+                    return done.get();
+                } catch (ExecutionException e) {
+                    if (pending == 0 && attempts.size() > 1) {
+                        throw asRuntime(e.getCause());
+                    }
+                    if (pending == 0) {
+                        AiReplica retry = choose(first);
+                        if (retry == null) {
+                            throw asRuntime(e.getCause());
+                        }
+                        log.warn("⚠️ AI call {} failed on {}, retrying on {}", operation, first.baseUrl(), retry.baseUrl());
+                        attempts.add(completion.submit(() -> attempt(operation, retry, call)));
+                        pending++;
+                    }
+                }
+                done = completion.take();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the AI service", e);
+        } finally {
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+
+    // The operation's recent p95, but never below min-delay; initial-delay until enough calls were timed
+    private long hedgeDelayNanos(String operation) {
+        LatencyWindow window = latencies.get(operation);
+        long p95 = window != null ? window.percentile(0.95) : -1;
+        return p95 < 0 ? hedgeInitialDelayNanos : Math.max(p95, hedgeMinDelayNanos);
+    }
+
+    // Every hedgeable call earns budget-percent of a hedge; credit is capped at ten hedges
+    private void earnHedgeCredit() {
+        long cap = 10 * HEDGE_CREDIT_UNIT;
+        hedgeCredits.accumulateAndGet(hedgeBudgetPercent, (credits, earned) -> Math.min(credits + earned, cap));
+    }
+
+    private boolean spendHedgeCredit() {
+        while (true) {
+            long credits = hedgeCredits.get();
+            if (credits < HEDGE_CREDIT_UNIT) {
+                return false;
+            }
+            if (hedgeCredits.compareAndSet(credits, credits - HEDGE_CREDIT_UNIT)) {
+                return true;
+            }
+        }
+    }
+
+    private static boolean isConnectFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof NoRouteToHostException
+                    || cause instanceof UnknownHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static RuntimeException asRuntime(Throwable e) {
+        return e instanceof RuntimeException runtime ? runtime : new IllegalStateException(e);
+    }
+
+    // Attempts log under the calling request's MDC; restores the previous one as the caller may run it itself
+    private static Runnable withCallerLogContext(Runnable task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(context != null ? context : Map.of());
+            try {
+                task.run();
+            } finally {
+                MDC.setContextMap(previous != null ? previous : Map.of());
+            }
+        };
+    }
+
+    private static RestTemplate restTemplate(int connectTimeoutMs, int readTimeoutMs) {
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(connectTimeoutMs);
+        factory.setReadTimeout(readTimeoutMs);
+        return new RestTemplate(factory);
+    }
+
+    /**
+     * Latencies of the last LATENCY_SAMPLES successful attempts of one operation
+     */
+    private static class LatencyWindow {
+        private final long[] samples = new long[LATENCY_SAMPLES];
+        private int count;
+        private int next;
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        // -1 until 20 samples were recorded
+        synchronized long percentile(double quantile) {
+            if (count < 20) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.min(count - 1, Math.ceil(quantile * count) - 1)];
+        }
+    }
+}
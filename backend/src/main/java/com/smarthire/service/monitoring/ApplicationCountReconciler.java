@@ -0,0 +1,240 @@
+package com.smarthire.service.monitoring;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.smarthire.event.JobChangedEvent;
+import com.smarthire.metrics.AppMetrics;
+import com.smarthire.model.Job;
+import com.smarthire.service.EntityCache;
+import com.smarthire.service.SchedulerLock;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * ApplicationCountReconciler - Repairs jobs whose stored applicationCount drifted from their applications.
+ *
+ * Job reads never write; the counter is kept by JobAutoCloseService's $inc and checked here. Jobs are
+ * streamed in batches (only _id and applicationCount are read) and compared with one grouped count of
+ * job_applications per batch over the jobId index. A mismatch is re-read after settle-ms so a submit
+ * between its application insert and its $inc is not mistaken for drift, and only a mismatch that
+ * held still is repaired, with an update conditional on the stored value it observed. Each pass
+ * reports how much drift it found (log, smarthire.job.count.* metrics, POST /api/monitoring/reconcile-counts).
+ */
+@Service
+@Slf4j
+public class ApplicationCountReconciler {
+
+    private static final String LOCK_NAME = "job-application-count-reconciler";
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationMonitoringService monitoringService;
+    private final EntityCache entityCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SchedulerLock schedulerLock;
+    private final AppMetrics metrics;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long settleMs;
+    private final Duration lockLease;
+
+    public ApplicationCountReconciler(MongoTemplate mongoTemplate,
+                                      ApplicationMonitoringService monitoringService,
+                                      EntityCache entityCache,
+                                      ApplicationEventPublisher eventPublisher,
+                                      SchedulerLock schedulerLock,
+                                      AppMetrics metrics,
+                                      @Value("${jobs.count-reconcile.enabled:true}") boolean enabled,
+                                      @Value("${jobs.count-reconcile.batch-size:500}") int batchSize,
+                                      @Value("${jobs.count-reconcile.settle-ms:2000}") long settleMs,
+                                      @Value("${jobs.count-reconcile.lock-lease-ms:600000}") long lockLeaseMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.monitoringService = monitoringService;
+        this.entityCache = entityCache;
+        this.eventPublisher = eventPublisher;
+        this.schedulerLock = schedulerLock;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.settleMs = settleMs;
+        this.lockLease = Duration.ofMillis(lockLeaseMs);
+    }
+
+    /**
+     * Drift found by one pass: jobs whose count was off (after settling), how many of them were repaired,
+     * and the summed and largest absolute difference between stored and actual counts
+     */
+    public record Report(int jobsChecked, int jobsDrifted, int jobsRepaired, long totalDrift, long maxDrift) {
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.count-reconcile.interval-ms:600000}",
+               initialDelayString = "${jobs.count-reconcile.initial-delay-ms:120000}")
+    public void runScheduled() {
+        if (!enabled) {
+            return;
+        }
+        if (!schedulerLock.tryAcquire(LOCK_NAME, lockLease)) {
+            log.debug("Application count reconciler skipped, another node holds the lock");
+            return;
+        }
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("❌ Application count reconciler failed: ", e);
+        } finally {
+            schedulerLock.release(LOCK_NAME);
+        }
+    }
+
+    /**
+     * One pass over all jobs
+     */
+    public Report reconcile() {
+        MongoCollection<Document> jobs = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Job.class));
+        Tally tally = new Tally();
+
+        List<Document> batch = new ArrayList<>(batchSize);
+        try (MongoCursor<Document> cursor = jobs.find()
+                .projection(new Document("applicationCount", 1))
+                .batchSize(batchSize)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == batchSize) {
+                    reconcileBatch(jobs, batch, tally);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            reconcileBatch(jobs, batch, tally);
+        }
+
+        Report report = tally.report();
+        if (report.jobsDrifted() > 0) {
+            log.warn("⚠️ Application counts drifted on {} of {} jobs (total {}, max {}), repaired {}",
+                report.jobsDrifted(), report.jobsChecked(), report.totalDrift(), report.maxDrift(), report.jobsRepaired());
+        } else {
+            log.debug("Application counts consistent on all {} jobs", report.jobsChecked());
+        }
+        return report;
+    }
+
+    private void reconcileBatch(MongoCollection<Document> jobs, List<Document> batch, Tally tally) {
+        tally.checked += batch.size();
+        Map<String, Object> stored = storedCounts(batch);
+        Map<String, Long> counted = monitoringService.getApplicationCounts(stored.keySet());
+        List<String> suspects = mismatched(stored, counted);
+        if (suspects.isEmpty()) {
+            return;
+        }
+
+        pause();
+        Map<String, Object> storedAgain = storedCounts(
+            jobs.find(new Document("_id", new Document("$in", objectIds(suspects))))
+                .projection(new Document("applicationCount", 1))
+                .into(new ArrayList<>()));
+        Map<String, Long> actual = monitoringService.getApplicationCounts(suspects);
+
+        for (String jobId : suspects) {
+            Object observed = stored.get(jobId);
+            long count = actual.getOrDefault(jobId, 0L);
+            if (!storedAgain.containsKey(jobId) || !Objects.equals(observed, storedAgain.get(jobId))
+                    || count != counted.getOrDefault(jobId, 0L)) {
+                continue;  // deleted, applied to or counted meanwhile, look again next pass
+            }
+            long drift = Math.abs(count - asLong(observed));
+            if (drift == 0) {
+                continue;
+            }
+            tally.drifted++;
+            tally.totalDrift += drift;
+            tally.maxDrift = Math.max(tally.maxDrift, drift);
+            if (repair(jobId, observed, count)) {
+                tally.repaired++;
+                metrics.recordCountRepair(drift);
+            }
+        }
+    }
+
+    // Conditional on the stored value seen by this pass, so a concurrent $inc makes the repair a no-op
+    private boolean repair(String jobId, Object observed, long count) {
+        long modified = mongoTemplate.updateFirst(
+            new Query(Criteria.where("_id").is(jobId).and("applicationCount").is(observed)),
+            new Update().set("applicationCount", (int) count).inc("version", 1),
+            Job.class).getModifiedCount();
+        if (modified == 0) {
+            return false;
+        }
+        entityCache.invalidateJob(jobId);
+        eventPublisher.publishEvent(new JobChangedEvent(jobId, JobChangedEvent.Change.UPDATED));
+        log.info("🔄 Repaired application count of job {}: stored={}, actual={}", jobId, observed, count);
+        return true;
+    }
+
+    private static Map<String, Object> storedCounts(List<Document> jobs) {
+        Map<String, Object> stored = new HashMap<>();
+        for (Document job : jobs) {
+            stored.put(job.get("_id").toString(), job.get("applicationCount"));
+        }
+        return stored;
+    }
+
+    private static List<String> mismatched(Map<String, Object> stored, Map<String, Long> actual) {
+        List<String> mismatched = new ArrayList<>();
+        stored.forEach((jobId, count) -> {
+            if (asLong(count) != actual.getOrDefault(jobId, 0L)) {
+                mismatched.add(jobId);
+            }
+        });
+        return mismatched;
+    }
+
+    // Job ids are stored as ObjectIds when they look like one (Spring Data's String id mapping)
+    private static List<Object> objectIds(List<String> jobIds) {
+        List<Object> ids = new ArrayList<>(jobIds.size());
+        for (String jobId : jobIds) {
+            ids.add(ObjectId.isValid(jobId) ? new ObjectId(jobId) : jobId);
+        }
+        return ids;
+    }
+
+    private static long asLong(Object count) {
+        return count instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(settleMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Tally {
+        int checked;
+        int drifted;
+        int repaired;
+        long totalDrift;
+        long maxDrift;
+
+        Report report() {
+            return new Report(checked, drifted, repaired, totalDrift, maxDrift);
+        }
+    }
+}
@@ -3,20 +3,31 @@ package com.smarthire.service.monitoring;
 import com.smarthire.model.Job;
 import com.smarthire.model.JobApplication;
 import com.smarthire.repository.JobApplicationRepository;
-import com.smarthire.repository.JobRepository;
+import com.smarthire.service.EntityCache;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 @Service
+@Slf4j
 public class ApplicationMonitoringService {
 
     @Autowired
     private JobApplicationRepository applicationRepository;
     
     @Autowired
-    private JobRepository jobRepository;
+    private EntityCache entityCache;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
 
     /**
      * Check if a job has received enough applications to be closed
@@ -24,35 +35,33 @@ public class ApplicationMonitoringService {
      */
     public boolean hasEnoughApplications(String jobId) {
         try {
-            @SuppressWarnings("null")
-            Job job = jobRepository.findById(jobId).orElse(null);
+            Job job = entityCache.findJob(jobId).orElse(null);
             
             if (job == null) {
-                System.err.println("⚠️ Job not found: " + jobId);
+                log.warn("⚠️ Job not found: {}", jobId);
                 return false;
             }
             
-            // Get all applications for this job
-            List<JobApplication> applications = applicationRepository.findByJob(job);
-            int applicationCount = applications.size();
+            // Count applications for this job
+            long applicationCount = applicationRepository.countByJobId(jobId);
             
             // Check if job has maxCandidates set
             if (job.getMaxCandidates() != null && job.getMaxCandidates() > 0) {
                 boolean hasEnough = applicationCount >= job.getMaxCandidates();
-                System.out.println("🔍 Job \"" + job.getTitle() + "\" has " + applicationCount + 
-                    "/" + job.getMaxCandidates() + " applications - Enough: " + hasEnough);
+                log.debug("🔍 Job {} has {}/{} applications - enough: {}",
+                    jobId, applicationCount, job.getMaxCandidates(), hasEnough);
                 return hasEnough;
             }
             
             // Default: Consider 3 applications as enough
             int defaultThreshold = 3;
             boolean hasEnough = applicationCount >= defaultThreshold;
-            System.out.println("🔍 Job \"" + job.getTitle() + "\" has " + applicationCount + 
-                "/" + defaultThreshold + " applications (default) - Enough: " + hasEnough);
+            log.debug("🔍 Job {} has {}/{} applications (default) - enough: {}",
+                jobId, applicationCount, defaultThreshold, hasEnough);
             return hasEnough;
             
         } catch (Exception e) {
-            System.err.println("❌ Error checking applications for job " + jobId + ": " + e.getMessage());
+            log.error("❌ Error checking applications for job {}: {}", jobId, e.getMessage());
             return false;
         }
     }
@@ -62,19 +71,26 @@ public class ApplicationMonitoringService {
      */
     public int getApplicationCount(String jobId) {
         try {
-            @SuppressWarnings("null")
-            Job job = jobRepository.findById(jobId).orElse(null);
-            
-            if (job == null) {
-                return 0;
-            }
-            
-            List<JobApplication> applications = applicationRepository.findByJob(job);
-            return applications.size();
+            return (int) applicationRepository.countByJobId(jobId);
             
         } catch (Exception e) {
-            System.err.println("❌ Error getting application count for job " + jobId + ": " + e.getMessage());
+            log.error("❌ Error getting application count for job {}: {}", jobId, e.getMessage());
             return 0;
         }
     }
+
+    /**
+     * Application counts for many jobs with one grouped count over the jobId index
+     * (jobs without applications are absent from the result)
+     */
+    public Map<String, Long> getApplicationCounts(Collection<String> jobIds) {
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("jobId").in(jobIds)),
+            Aggregation.group("jobId").count().as("count"));
+
+        Map<String, Long> counts = new HashMap<>();
+        mongoTemplate.aggregate(aggregation, JobApplication.class, Document.class)
+            .forEach(row -> counts.put(row.getString("_id"), ((Number) row.get("count")).longValue()));
+        return counts;
+    }
 }
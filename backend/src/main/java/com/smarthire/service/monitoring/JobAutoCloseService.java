@@ -0,0 +1,194 @@
+package com.smarthire.service.monitoring;
+
+import com.smarthire.event.ApplicationSubmittedEvent;
+import com.smarthire.event.JobChangedEvent;
+import com.smarthire.model.Job;
+import com.smarthire.service.EntityCache;
+import com.smarthire.service.SchedulerLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * JobAutoCloseService - Closes a job once its applications reach the threshold (maxCandidates, or the default).
+ *
+ * Every ApplicationSubmittedEvent bumps the job's applicationCount with one atomic $inc that returns the
+ * new value, so crossing the threshold is detected without counting applications. The close itself is
+ * an update guarded by status OPEN: when several submits cross the threshold at once only one of them
+ * modifies the job, and only that one publishes the JobChangedEvent. Both updates bump the job's
+ * version and write the returned job through to the EntityCache, so the submit path never reads the job.
+ *
+ * The periodic reconciler is a safety net for counters that drifted (applications written by other
+ * paths, failed increments): it compares open jobs against one grouped count of job_applications per
+ * batch, served by the jobId index, and closes through the same guarded update.
+ */
+@Service
+@Slf4j
+public class JobAutoCloseService {
+
+    private static final String LOCK_NAME = "job-auto-close-reconciler";
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityCache entityCache;
+    private final ApplicationMonitoringService monitoringService;
+    private final SchedulerLock schedulerLock;
+    private final int defaultThreshold;
+    private final boolean reconcileEnabled;
+    private final int batchSize;
+    private final Duration lockLease;
+
+    public JobAutoCloseService(MongoTemplate mongoTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               EntityCache entityCache,
+                               ApplicationMonitoringService monitoringService,
+                               SchedulerLock schedulerLock,
+                               @Value("${jobs.auto-close.default-threshold:3}") int defaultThreshold,
+                               @Value("${jobs.auto-close.reconcile-enabled:true}") boolean reconcileEnabled,
+                               @Value("${jobs.auto-close.batch-size:500}") int batchSize,
+                               @Value("${jobs.auto-close.lock-lease-ms:300000}") long lockLeaseMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.entityCache = entityCache;
+        this.monitoringService = monitoringService;
+        this.schedulerLock = schedulerLock;
+        this.defaultThreshold = defaultThreshold;
+        this.reconcileEnabled = reconcileEnabled;
+        this.batchSize = batchSize;
+        this.lockLease = Duration.ofMillis(lockLeaseMs);
+    }
+
+    /**
+     * A job auto-closed by the reconciler
+     */
+    public record ClosedJob(String jobId, String title, long applicationCount) {
+    }
+
+    /**
+     * Outcome of one reconciler pass
+     */
+    public record Reconciliation(int jobsChecked, List<ClosedJob> closedJobs) {
+    }
+
+    /**
+     * Number of applications that closes the job
+     */
+    public int thresholdFor(Job job) {
+        return job.getMaxCandidates() > 0 ? job.getMaxCandidates() : defaultThreshold;
+    }
+
+    @EventListener
+    public void onApplicationSubmitted(ApplicationSubmittedEvent event) {
+        Job job = mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(event.jobId())),
+            new Update().inc("applicationCount", 1).inc("version", 1).set("updatedAt", LocalDateTime.now()),
+            FindAndModifyOptions.options().returnNew(true), Job.class);
+        if (job == null) {
+            log.warn("⚠️ Application {} submitted for unknown job {}", event.applicationId(), event.jobId());
+            return;
+        }
+        entityCache.putJob(job);
+
+        int count = job.getApplicationCount();
+        int threshold = thresholdFor(job);
+        if (job.getStatus() == Job.JobStatus.OPEN && count >= threshold) {
+            closeIfOpen(job.getId(), job.getTitle(), count);
+        } else {
+            log.debug("📊 Job {} application count updated: {}/{}", job.getId(), count, threshold);
+        }
+    }
+
+    /**
+     * Close the job if it is still OPEN; true only for the call that actually closed it
+     */
+    public boolean closeIfOpen(String jobId, String title, long applicationCount) {
+        Job closed = mongoTemplate.findAndModify(
+            new Query(Criteria.where("_id").is(jobId).and("status").is(Job.JobStatus.OPEN)),
+            new Update().set("status", Job.JobStatus.CLOSED).inc("version", 1).set("updatedAt", LocalDateTime.now()),
+            FindAndModifyOptions.options().returnNew(true), Job.class);
+        if (closed == null) {
+            return false;
+        }
+        entityCache.putJob(closed);
+        eventPublisher.publishEvent(new JobChangedEvent(jobId, JobChangedEvent.Change.CLOSED));
+        log.info("🔒 Job {} \"{}\" closed automatically, enough candidates received ({} applications)",
+            jobId, title, applicationCount);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.auto-close.reconcile-interval-ms:300000}",
+               initialDelayString = "${jobs.auto-close.reconcile-initial-delay-ms:60000}")
+    public void runScheduled() {
+        if (!reconcileEnabled) {
+            return;
+        }
+        if (!schedulerLock.tryAcquire(LOCK_NAME, lockLease)) {
+            log.debug("Auto-close reconciler skipped, another node holds the lock");
+            return;
+        }
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("❌ Auto-close reconciler failed: ", e);
+        } finally {
+            schedulerLock.release(LOCK_NAME);
+        }
+    }
+
+    /**
+     * Close every open job whose stored applications already reach its threshold
+     */
+    public Reconciliation reconcile() {
+        Query openJobs = new Query(Criteria.where("status").is(Job.JobStatus.OPEN));
+        openJobs.fields().include("title", "maxCandidates");
+
+        int checked = 0;
+        List<ClosedJob> closed = new ArrayList<>();
+        List<Job> batch = new ArrayList<>(batchSize);
+        try (Stream<Job> jobs = mongoTemplate.stream(openJobs, Job.class)) {
+            Iterator<Job> iterator = jobs.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize) {
+                    checked += reconcileBatch(batch, closed);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            checked += reconcileBatch(batch, closed);
+        }
+
+        if (!closed.isEmpty()) {
+            log.info("Auto-close reconciler closed {} of {} open jobs", closed.size(), checked);
+        }
+        return new Reconciliation(checked, closed);
+    }
+
+    private int reconcileBatch(List<Job> batch, List<ClosedJob> closed) {
+        Map<String, Long> counts = monitoringService.getApplicationCounts(batch.stream().map(Job::getId).toList());
+        for (Job job : batch) {
+            long count = counts.getOrDefault(job.getId(), 0L);
+            if (count >= thresholdFor(job) && closeIfOpen(job.getId(), job.getTitle(), count)) {
+                closed.add(new ClosedJob(job.getId(), job.getTitle(), count));
+            }
+        }
+        return batch.size();
+    }
+
+}
@@ -0,0 +1,264 @@
+package com.smarthire.service.pdf;
+
+import com.smarthire.model.OfferLetter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * OfferLetterPdfRenderer - Lays out an offer letter as a PDF and writes it to a stream.
+ *
+ * The layout template is parsed once at startup and the standard fonts are loaded once
+ * and shared, so rendering a letter only resolves placeholders and draws text.
+ */
+@Component
+@Slf4j
+public class OfferLetterPdfRenderer {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.ENGLISH);
+
+    private static final float MARGIN = 56f;
+    private static final float LABEL_WIDTH = 150f;
+    private static final float LEADING = 1.4f;
+
+    // Standard 14 fonts need no embedding and are safe to share between documents
+    private final PDType1Font regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+    private final PDType1Font bold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+
+    @Value("${offer-letter.pdf.template:classpath:templates/offer-letter.tpl}")
+    private Resource templateResource;
+
+    private OfferLetterTemplate template;
+
+    @PostConstruct
+    public void loadTemplate() throws IOException {
+        try (InputStream in = templateResource.getInputStream()) {
+            template = OfferLetterTemplate.parse(in);
+        }
+        log.info("Offer letter template loaded with {} lines", template.getLines().size());
+    }
+
+    /**
+     * Render the offer letter and write the PDF to the given stream (the stream is not closed)
+     */
+    public void render(OfferLetter offerLetter, OutputStream out) throws IOException {
+        Map<String, String> values = values(offerLetter);
+
+        try (PDDocument document = new PDDocument()) {
+            document.getDocumentInformation().setTitle("Offer Letter " + Objects.toString(values.get("offerLetterNumber"), ""));
+            document.getDocumentInformation().setAuthor(Objects.toString(values.get("company"), "AutoHireX"));
+
+            try (Cursor cursor = new Cursor(document)) {
+                for (OfferLetterTemplate.Line line : template.getLines()) {
+                    drawLine(cursor, line, values);
+                }
+            }
+            document.save(out);
+        }
+    }
+
+    private void drawLine(Cursor cursor, OfferLetterTemplate.Line line, Map<String, String> values) throws IOException {
+        float width = cursor.width();
+        switch (line.style()) {
+            case SPACE -> cursor.skip(8f);
+            case RULE -> cursor.rule();
+            case TITLE -> cursor.paragraph(line.resolveText(values), bold, 20f, width);
+            case SUBTITLE -> cursor.paragraph(line.resolveText(values), bold, 13f, width);
+            case HEADING -> {
+                cursor.skip(4f);
+                cursor.paragraph(line.resolveText(values), bold, 12f, width);
+            }
+            case TEXT -> cursor.paragraph(line.resolveText(values), regular, 10.5f, width);
+            case FIELD -> {
+                String value = line.resolveValue(values);
+                if (value != null) {
+                    cursor.field(line.resolveText(values), value, 10.5f);
+                }
+            }
+        }
+    }
+
+    private Map<String, String> values(OfferLetter ol) {
+        Map<String, String> values = new HashMap<>();
+        values.put("offerLetterNumber", ol.getOfferLetterNumber());
+        values.put("candidateName", ol.getCandidateName());
+        values.put("candidateEmail", ol.getCandidateEmail());
+        values.put("jobTitle", ol.getJobTitle());
+        values.put("department", ol.getDepartment());
+        values.put("company", ol.getCompany());
+        values.put("companyAddress", ol.getCompanyAddress());
+        values.put("offerDate", date(ol.getOfferDate()));
+        values.put("joiningDate", date(ol.getJoiningDate()));
+        values.put("expiryDate", date(ol.getExpiryDate()));
+        values.put("employmentType", ol.getEmploymentType());
+        values.put("workLocation", ol.getWorkLocation());
+        values.put("officeLocation", ol.getOfficeLocation());
+        values.put("annualCtc", amount(ol.getAnnualCtc()));
+        values.put("basicSalary", amount(ol.getBasicSalary()));
+        values.put("hra", amount(ol.getHra()));
+        values.put("specialAllowance", amount(ol.getSpecialAllowance()));
+        values.put("performanceBonus", amount(ol.getPerformanceBonus()));
+        values.put("otherAllowances", amount(ol.getOtherAllowances()));
+        values.put("currency", ol.getCurrency());
+        values.put("benefits", ol.getBenefits());
+        values.put("paidLeaves", ol.getPaidLeaves() != null ? ol.getPaidLeaves().toString() : null);
+        values.put("probationPeriod", ol.getProbationPeriod() != null ? ol.getProbationPeriod().toString() : null);
+        values.put("noticePeriod", ol.getNoticePeriod() != null ? ol.getNoticePeriod().toString() : null);
+        values.put("reportingManager", ol.getReportingManager());
+        values.put("additionalNotes", ol.getAdditionalNotes());
+        return values;
+    }
+
+    private static String date(LocalDate date) {
+        return date != null ? DATE_FORMAT.format(date) : null;
+    }
+
+    private static String amount(Double amount) {
+        return amount != null ? String.format(Locale.ENGLISH, "%,.2f", amount) : null;
+    }
+
+    /**
+     * Replace characters the standard fonts cannot encode (WinAnsi only)
+     */
+    private String printable(String text, PDType1Font font) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x20) {
+                sb.append(' ');
+            } else if (c < 0x7F || (c >= 0xA0 && c <= 0xFF)) {
+                sb.append(c);
+            } else {
+                try {
+                    font.getStringWidth(String.valueOf(c));
+                    sb.append(c);
+                } catch (IllegalArgumentException | IOException e) {
+                    sb.append('?');
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private List<String> wrap(String text, PDType1Font font, float size, float width) throws IOException {
+        List<String> lines = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String word : text.split(" ")) {
+            String candidate = current.length() == 0 ? word : current + " " + word;
+            if (current.length() > 0 && font.getStringWidth(candidate) / 1000f * size > width) {
+                lines.add(current.toString());
+                current = new StringBuilder(word);
+            } else {
+                current = new StringBuilder(candidate);
+            }
+        }
+        lines.add(current.toString());
+        return lines;
+    }
+
+    /**
+     * Tracks the write position and starts new pages as the content runs past the bottom margin
+     */
+    private class Cursor implements AutoCloseable {
+
+        private final PDDocument document;
+        private PDPageContentStream content;
+        private float y;
+
+        Cursor(PDDocument document) throws IOException {
+            this.document = document;
+            newPage();
+        }
+
+        float width() {
+            return PDRectangle.A4.getWidth() - 2 * MARGIN;
+        }
+
+        void skip(float height) {
+            y -= height;
+        }
+
+        void rule() throws IOException {
+            ensure(10f);
+            y -= 4f;
+            content.moveTo(MARGIN, y);
+            content.lineTo(PDRectangle.A4.getWidth() - MARGIN, y);
+            content.stroke();
+            y -= 10f;
+        }
+
+        void paragraph(String text, PDType1Font font, float size, float width) throws IOException {
+            if (text == null) {
+                return;
+            }
+            for (String line : wrap(printable(text, font), font, size, width)) {
+                ensure(size * LEADING);
+                y -= size * LEADING;
+                show(line, font, size, MARGIN);
+            }
+        }
+
+        void field(String label, String value, float size) throws IOException {
+            List<String> lines = wrap(printable(value, regular), regular, size, width() - LABEL_WIDTH);
+            for (int i = 0; i < lines.size(); i++) {
+                ensure(size * LEADING);
+                y -= size * LEADING;
+                if (i == 0 && label != null) {
+                    show(printable(label, bold), bold, size, MARGIN);
+                }
+                show(lines.get(i), regular, size, MARGIN + LABEL_WIDTH);
+            }
+        }
+
+        private void show(String text, PDType1Font font, float size, float x) throws IOException {
+            content.beginText();
+            content.setFont(font, size);
+            content.newLineAtOffset(x, y);
+            content.showText(text);
+            content.endText();
+        }
+
+        private void ensure(float height) throws IOException {
+            if (y - height < MARGIN) {
+                newPage();
+            }
+        }
+
+        private void newPage() throws IOException {
+            if (content != null) {
+                content.close();
+            }
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+            content = new PDPageContentStream(document, page);
+            y = PDRectangle.A4.getHeight() - MARGIN;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (content != null) {
+                content.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.smarthire.service.pdf;
+
+import com.mongodb.MongoGridFSException;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.GridFSDownloadStream;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import com.smarthire.model.OfferLetter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * OfferLetterPdfService - Stores rendered offer letter PDFs in GridFS and serves them back.
+ *
+ * The first download renders straight into both the HTTP response and GridFS; later
+ * downloads stream the stored file chunk by chunk. A render only counts once it has claimed
+ * the offer letter's pdfFileId with a conditional update, so of two concurrent first downloads
+ * one file wins and the other render deletes its own upload. Bulk generation reads offer letters
+ * through a cursor and renders on a small fixed pool whose queue is bounded, so the
+ * caller is throttled instead of buffering a whole hiring batch in memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OfferLetterPdfService {
+
+    private static final String BUCKET = "offer_letter_pdfs";
+
+    private final MongoTemplate mongoTemplate;
+    private final OfferLetterPdfRenderer renderer;
+
+    @Value("${offer-letter.pdf.workers:2}")
+    private int workers;
+
+    @Value("${offer-letter.pdf.queue-capacity:16}")
+    private int queueCapacity;
+
+    private GridFSBucket bucket;
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        bucket = GridFSBuckets.create(mongoTemplate.getDb(), BUCKET);
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("offer-pdf-");
+        // A full queue makes the submitting thread render the letter itself (backpressure)
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Number of PDF renders waiting for a worker
+     */
+    public int getQueueDepth() {
+        return executor.getThreadPoolExecutor().getQueue().size();
+    }
+
+    /**
+     * Public URL of an offer letter's PDF
+     */
+    public static String pdfUrl(String offerLetterId) {
+        return "/api/offer-letters/" + offerLetterId + "/pdf";
+    }
+
+    /**
+     * Load the offer letter a PDF is requested for
+     */
+    public OfferLetter getOfferLetter(String offerLetterId) {
+        OfferLetter offerLetter = mongoTemplate.findById(offerLetterId, OfferLetter.class);
+        if (offerLetter == null) {
+            throw new RuntimeException("Offer letter not found");
+        }
+        return offerLetter;
+    }
+
+    /**
+     * Write the offer letter PDF to the stream, rendering and storing it on first use
+     */
+    public void writePdf(OfferLetter offerLetter, OutputStream out) throws IOException {
+        ObjectId stored = storedFileId(offerLetter);
+        GridFSDownloadStream download = null;
+        if (stored != null) {
+            try {
+                download = bucket.openDownloadStream(stored);
+            } catch (MongoGridFSException e) {
+                log.warn("⚠️ Stored PDF of offer letter {} is missing, rendering it again", offerLetter.getId());
+            }
+        }
+        if (download != null) {
+            try (GridFSDownloadStream in = download) {
+                in.transferTo(out);
+            }
+        } else {
+            renderAndStore(offerLetter, out, false);
+        }
+        recordDownload(offerLetter.getId());
+    }
+
+    /**
+     * Render and store PDFs for every offer letter of a job
+     */
+    public Map<String, Object> generateForJob(String jobId, boolean regenerate) {
+        AtomicInteger rendered = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        int skipped = 0;
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+        Query query = new Query(Criteria.where("jobId").is(jobId));
+        try (Stream<OfferLetter> offerLetters = mongoTemplate.stream(query, OfferLetter.class)) {
+            for (OfferLetter offerLetter : (Iterable<OfferLetter>) offerLetters::iterator) {
+                if (!regenerate && storedFileId(offerLetter) != null) {
+                    skipped++;
+                    continue;
+                }
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        renderAndStore(offerLetter, OutputStream.nullOutputStream(), regenerate);
+                        rendered.incrementAndGet();
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                        log.error("❌ Failed to render offer letter {}: ", offerLetter.getId(), e);
+                    }
+                }, executor));
+            }
+        }
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+
+        log.info("Offer letter PDFs for job {}: {} rendered, {} skipped, {} failed",
+                jobId, rendered.get(), skipped, failed.get());
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("jobId", jobId);
+        result.put("rendered", rendered.get());
+        result.put("skipped", skipped);
+        result.put("failed", failed.get());
+        return result;
+    }
+
+    /**
+     * Render into GridFS and the stream, then claim the offer letter's pdfFileId for the new file.
+     * Without replace the claim only succeeds while pdfFileId still holds the value read with the
+     * offer letter (null on first use), and a render that loses deletes just its own upload.
+     * With replace the new file always wins and the one it replaces is deleted.
+     */
+    private void renderAndStore(OfferLetter offerLetter, OutputStream out, boolean replace) throws IOException {
+        GridFSUploadOptions options = new GridFSUploadOptions()
+                .metadata(new Document("offerLetterId", offerLetter.getId())
+                        .append("jobId", offerLetter.getJobId())
+                        .append("contentType", "application/pdf"));
+
+        GridFSUploadStream upload = bucket.openUploadStream(fileName(offerLetter.getId()), options);
+        try {
+            renderer.render(offerLetter, new TeeOutputStream(upload, out));
+            upload.close();
+        } catch (IOException | RuntimeException e) {
+            upload.abort();
+            throw e;
+        }
+        ObjectId fileId = upload.getObjectId();
+        Update claim = new Update()
+                .set("pdfFileId", fileId.toHexString())
+                .set("offerLetterPdfUrl", pdfUrl(offerLetter.getId()));
+
+        if (replace) {
+            OfferLetter previous = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(offerLetter.getId())),
+                    claim, FindAndModifyOptions.options().returnNew(false), OfferLetter.class);
+            if (previous != null && previous.getPdfFileId() != null) {
+                deleteQuietly(new ObjectId(previous.getPdfFileId()));
+            } else {
+                deleteUnclaimed(offerLetter.getId(), fileId);
+            }
+            return;
+        }
+
+        boolean claimed = mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(offerLetter.getId())
+                        .and("pdfFileId").is(offerLetter.getPdfFileId())),
+                claim, OfferLetter.class).getModifiedCount() > 0;
+        if (!claimed) {
+            log.debug("Another render stored offer letter {} first, dropping this copy", offerLetter.getId());
+            deleteQuietly(fileId);
+        } else if (offerLetter.getPdfFileId() != null) {
+            deleteQuietly(new ObjectId(offerLetter.getPdfFileId()));
+        }
+    }
+
+    private void recordDownload(String offerLetterId) {
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(offerLetterId)),
+                new Update().inc("downloadCount", 1)
+                        .set("isDownloaded", true)
+                        .set("updatedAt", LocalDateTime.now()),
+                OfferLetter.class);
+    }
+
+    /**
+     * The claimed file, or for offer letters rendered before pdfFileId existed the newest file by name
+     */
+    private ObjectId storedFileId(OfferLetter offerLetter) {
+        if (offerLetter.getPdfFileId() != null) {
+            return new ObjectId(offerLetter.getPdfFileId());
+        }
+        GridFSFile legacy = bucket.find(Filters.eq("filename", fileName(offerLetter.getId())))
+                .sort(Sorts.descending("uploadDate"))
+                .first();
+        return legacy != null ? legacy.getObjectId() : null;
+    }
+
+    /**
+     * Drop files stored before pdfFileId existed, once a regeneration has claimed the offer letter;
+     * an unclaimed concurrent render whose file goes with them loses its claim anyway
+     */
+    private void deleteUnclaimed(String offerLetterId, ObjectId keep) {
+        bucket.find(Filters.and(
+                        Filters.eq("filename", fileName(offerLetterId)),
+                        Filters.ne("_id", keep)))
+                .forEach(file -> deleteQuietly(file.getObjectId()));
+    }
+
+    // A file can already be gone when two cleanups overlap
+    private void deleteQuietly(ObjectId fileId) {
+        try {
+            bucket.delete(fileId);
+        } catch (MongoGridFSException e) {
+            log.debug("PDF file {} already deleted", fileId);
+        }
+    }
+
+    private static String fileName(String offerLetterId) {
+        return "offer-letter-" + offerLetterId + ".pdf";
+    }
+
+    /**
+     * Writes every byte to the blob store and the caller's stream in one pass
+     */
+    private static class TeeOutputStream extends OutputStream {
+
+        private final OutputStream primary;
+        private final OutputStream secondary;
+
+        TeeOutputStream(OutputStream primary, OutputStream secondary) {
+            this.primary = primary;
+            this.secondary = secondary;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            primary.write(b);
+            secondary.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            primary.write(b, off, len);
+            secondary.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            primary.flush();
+            secondary.flush();
+        }
+    }
+}
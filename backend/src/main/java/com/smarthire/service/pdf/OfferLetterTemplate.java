@@ -0,0 +1,126 @@
+package com.smarthire.service.pdf;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OfferLetterTemplate - Offer letter layout parsed once into lines of literal and placeholder segments.
+ *
+ * Rendering only walks the pre-parsed segments and substitutes values, so no template
+ * text is scanned or split per document.
+ */
+public class OfferLetterTemplate {
+
+    public enum Style { TITLE, SUBTITLE, HEADING, TEXT, FIELD, SPACE, RULE }
+
+    private final List<Line> lines;
+
+    private OfferLetterTemplate(List<Line> lines) {
+        this.lines = Collections.unmodifiableList(lines);
+    }
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    /**
+     * Parse a template of "STYLE|text" lines; '#' lines are comments
+     */
+    public static OfferLetterTemplate parse(InputStream in) throws IOException {
+        List<Line> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String raw;
+            int number = 0;
+            while ((raw = reader.readLine()) != null) {
+                number++;
+                if (raw.isBlank() || raw.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = raw.split("\\|", -1);
+                Style style;
+                try {
+                    style = Style.valueOf(parts[0].trim());
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Unknown style '" + parts[0] + "' on template line " + number);
+                }
+                if (style == Style.FIELD) {
+                    if (parts.length < 3) {
+                        throw new IOException("FIELD needs label|value on template line " + number);
+                    }
+                    lines.add(new Line(style, segments(parts[1]), segments(parts[2])));
+                } else {
+                    lines.add(new Line(style, segments(parts.length > 1 ? parts[1] : ""), List.of()));
+                }
+            }
+        }
+        return new OfferLetterTemplate(lines);
+    }
+
+    private static List<Segment> segments(String text) {
+        List<Segment> segments = new ArrayList<>();
+        int pos = 0;
+        while (pos < text.length()) {
+            int open = text.indexOf("{{", pos);
+            int close = open < 0 ? -1 : text.indexOf("}}", open + 2);
+            if (open < 0 || close < 0) {
+                segments.add(new Segment(text.substring(pos), false));
+                break;
+            }
+            if (open > pos) {
+                segments.add(new Segment(text.substring(pos, open), false));
+            }
+            segments.add(new Segment(text.substring(open + 2, close).trim(), true));
+            pos = close + 2;
+        }
+        return List.copyOf(segments);
+    }
+
+    public record Segment(String text, boolean placeholder) {
+    }
+
+    public record Line(Style style, List<Segment> text, List<Segment> value) {
+
+        /**
+         * Resolve the main text; returns null when every placeholder in it is empty
+         */
+        public String resolveText(Map<String, String> values) {
+            return resolve(text, values, false);
+        }
+
+        /**
+         * Resolve the FIELD value; returns null when any placeholder in it is empty
+         */
+        public String resolveValue(Map<String, String> values) {
+            return resolve(value, values, true);
+        }
+
+        private static String resolve(List<Segment> segments, Map<String, String> values, boolean requireAll) {
+            StringBuilder sb = new StringBuilder();
+            int placeholders = 0;
+            int resolved = 0;
+            for (Segment segment : segments) {
+                if (segment.placeholder()) {
+                    placeholders++;
+                    String v = values.get(segment.text());
+                    if (v != null && !v.isBlank()) {
+                        sb.append(v);
+                        resolved++;
+                    }
+                } else {
+                    sb.append(segment.text());
+                }
+            }
+            if (placeholders > 0 && (resolved == 0 || (requireAll && resolved < placeholders))) {
+                return null;
+            }
+            return sb.toString();
+        }
+    }
+}
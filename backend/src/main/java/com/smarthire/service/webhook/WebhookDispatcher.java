@@ -0,0 +1,480 @@
+package com.smarthire.service.webhook;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.smarthire.metrics.AppMetrics;
+import com.smarthire.model.WebhookDelivery;
+import com.smarthire.model.WebhookDelivery.DeliveryStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * WebhookDispatcher - Durable, asynchronous delivery of events to the configured webhook subscribers.
+ *
+ * enqueue stores one WebhookDelivery per interested subscriber and returns at once, so a slow or
+ * unreachable endpoint never holds up the request that raised the event. Deliveries are claimed in
+ * batches with one conditional updateMulti under a random claim token, so any number of backend
+ * instances can work the same queue; a claim is a lease, and deliveries of a crashed instance go back
+ * to the queue when it runs out. Each subscriber has max-concurrency delivery slots per instance.
+ *
+ * Every POST carries X-SmartHire-Event, X-SmartHire-Delivery and X-SmartHire-Timestamp, plus
+ * X-SmartHire-Signature = "sha256=" + hex HMAC-SHA256(secret, timestamp + "." + body) when the
+ * subscriber has a secret. A failed delivery is retried with exponential backoff and jitter (at least
+ * the subscriber's Retry-After) until max-attempts, then kept as FAILED. Delivery is at-least-once
+ * and unordered; receivers should de-duplicate on the delivery id.
+ */
+@Service
+@Slf4j
+public class WebhookDispatcher {
+
+    private static final String SIGNATURE_HEADER = "X-SmartHire-Signature";
+
+    private final MongoTemplate mongoTemplate;
+    private final RestTemplate restTemplate;
+    private final AppMetrics metrics;
+    private final List<WebhookSubscriber> subscribers;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int workers;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final Duration deliveredRetention;
+    private final Duration failedRetention;
+    private volatile long pendingDeliveries;
+    private ThreadPoolTaskExecutor executor;
+
+    public WebhookDispatcher(MongoTemplate mongoTemplate,
+                             RestTemplate restTemplate,
+                             AppMetrics metrics,
+                             Environment environment,
+                             @Value("${webhooks.enabled:true}") boolean enabled,
+                             @Value("${webhooks.workers:8}") int workers,
+                             @Value("${webhooks.lease-ms:60000}") long leaseMs,
+                             @Value("${webhooks.max-attempts:12}") int maxAttempts,
+                             @Value("${webhooks.backoff.base-ms:2000}") long backoffBaseMs,
+                             @Value("${webhooks.backoff.max-ms:1800000}") long backoffMaxMs,
+                             @Value("${webhooks.retention.delivered-hours:168}") long deliveredRetentionHours,
+                             @Value("${webhooks.retention.failed-hours:720}") long failedRetentionHours) {
+        this.mongoTemplate = mongoTemplate;
+        this.restTemplate = restTemplate;
+        this.metrics = metrics;
+        this.subscribers = subscribers(environment);
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.enabled = enabled;
+        this.workers = workers;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.deliveredRetention = Duration.ofHours(deliveredRetentionHours);
+        this.failedRetention = Duration.ofHours(failedRetentionHours);
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("webhook-");
+        executor.initialize();
+        log.info("📡 Webhook subscribers: {}", subscribers.stream().map(WebhookSubscriber::url).toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Unfinished claims are redelivered once their lease runs out
+        executor.shutdown();
+    }
+
+    /**
+     * Queue an event for every subscriber that accepts it; returns the created deliveries
+     */
+    public List<WebhookDelivery> enqueue(String event, Map<String, Object> payload) {
+        LocalDateTime now = LocalDateTime.now();
+        List<WebhookDelivery> deliveries = new ArrayList<>();
+        for (WebhookSubscriber subscriber : subscribers) {
+            if (subscriber.accepts(event)) {
+                WebhookDelivery delivery = new WebhookDelivery();
+                delivery.setSubscriber(subscriber.name());
+                delivery.setEvent(event);
+                delivery.setPayload(payload);
+                delivery.setNextAttemptAt(now.plus(subscriber.batchLinger()));
+                delivery.setCreatedAt(now);
+                deliveries.add(delivery);
+            }
+        }
+        if (deliveries.isEmpty()) {
+            log.debug("No webhook subscriber for {}", event);
+            return deliveries;
+        }
+
+        List<WebhookDelivery> saved = new ArrayList<>(mongoTemplate.insertAll(deliveries));
+        log.debug("Queued {} for {} webhook subscribers", event, saved.size());
+        if (enabled) {
+            // Lingering subscribers are left to the poll, which picks their events up once the linger is over
+            saved.forEach(delivery -> subscriber(delivery.getSubscriber())
+                .filter(subscriber -> subscriber.batchLinger().isZero())
+                .ifPresent(this::wake));
+        }
+        return saved;
+    }
+
+    public List<WebhookSubscriber> getSubscribers() {
+        return subscribers;
+    }
+
+    public Optional<WebhookDelivery> findDelivery(String id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, WebhookDelivery.class));
+    }
+
+    /**
+     * Put a FAILED delivery back in the queue with a fresh attempt budget; false if it is not FAILED
+     */
+    public boolean retry(String id) {
+        long modified = mongoTemplate.updateFirst(
+            new Query(Criteria.where("_id").is(id).and("status").is(DeliveryStatus.FAILED)),
+            new Update().set("status", DeliveryStatus.PENDING).set("attempts", 0)
+                .set("nextAttemptAt", LocalDateTime.now()).unset("expiresAt"),
+            WebhookDelivery.class).getModifiedCount();
+        if (modified > 0) {
+            findDelivery(id).flatMap(delivery -> subscriber(delivery.getSubscriber())).ifPresent(this::wake);
+        }
+        return modified > 0;
+    }
+
+    /**
+     * Deliveries waiting in the queue, as of the last poll
+     */
+    public long getPendingDeliveries() {
+        return pendingDeliveries;
+    }
+
+    /**
+     * POST a TEST_CONNECTION event to every subscriber right away (not queued); per-subscriber outcome
+     */
+    public List<Map<String, Object>> testSubscribers() {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("event", "TEST_CONNECTION");
+        payload.put("message", "Testing webhook from SmartHire backend");
+        payload.put("timestamp", Instant.now().toString());
+        payload.put("source", "SmartHire Backend");
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (WebhookSubscriber subscriber : subscribers) {
+            Map<String, Object> result = new LinkedHashMap<>(subscriber.describe());
+            try {
+                ResponseEntity<String> response = post(subscriber, "TEST_CONNECTION", "test-" + UUID.randomUUID(), payload);
+                result.put("success", true);
+                result.put("status", response.getStatusCode().value());
+            } catch (RestClientResponseException e) {
+                result.put("success", false);
+                result.put("status", e.getStatusCode().value());
+                result.put("error", e.getStatusText());
+            } catch (Exception e) {
+                result.put("success", false);
+                result.put("error", e.getMessage());
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * Safety net for wake-ups: return expired claims to the queue and give every subscriber a chance to drain
+     */
+    @Scheduled(fixedDelayString = "${webhooks.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled || subscribers.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        long recovered = mongoTemplate.updateMulti(
+            new Query(Criteria.where("status").is(DeliveryStatus.IN_FLIGHT).and("leaseUntil").lt(now)),
+            new Update().set("status", DeliveryStatus.PENDING).unset("claimToken").unset("leaseUntil"),
+            WebhookDelivery.class).getModifiedCount();
+        if (recovered > 0) {
+            log.warn("⚠️ {} webhook deliveries returned to the queue after their lease expired", recovered);
+        }
+        pendingDeliveries = mongoTemplate.count(
+            new Query(Criteria.where("status").is(DeliveryStatus.PENDING)), WebhookDelivery.class);
+        subscribers.forEach(this::wake);
+    }
+
+    // Start a worker for the subscriber if it has a free slot
+    private void wake(WebhookSubscriber subscriber) {
+        if (subscriber.slots().tryAcquire()) {
+            try {
+                executor.execute(() -> drain(subscriber));
+            } catch (RuntimeException e) {
+                subscriber.slots().release();
+                log.warn("⚠️ Could not start webhook worker for {}: {}", subscriber.name(), e.getMessage());
+            }
+        }
+    }
+
+    // Deliver due batches until none is left; a full batch means more may be waiting, so wake another worker
+    private void drain(WebhookSubscriber subscriber) {
+        try {
+            while (true) {
+                List<WebhookDelivery> batch = claim(subscriber);
+                if (batch.isEmpty()) {
+                    return;
+                }
+                if (batch.size() == subscriber.batchSize()) {
+                    wake(subscriber);
+                }
+                deliver(subscriber, batch);
+            }
+        } catch (Exception e) {
+            log.error("❌ Webhook worker for {} failed: ", subscriber.name(), e);
+        } finally {
+            subscriber.slots().release();
+        }
+    }
+
+    private List<WebhookDelivery> claim(WebhookSubscriber subscriber) {
+        LocalDateTime now = LocalDateTime.now();
+        Query due = new Query(Criteria.where("status").is(DeliveryStatus.PENDING)
+            .and("subscriber").is(subscriber.name())
+            .and("nextAttemptAt").lte(now))
+            .with(Sort.by("nextAttemptAt"))
+            .limit(subscriber.batchSize());
+        due.fields().include("_id");
+        List<String> ids = new ArrayList<>(mongoTemplate.find(due, WebhookDelivery.class).stream().map(WebhookDelivery::getId).toList());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (!subscriber.batchLinger().isZero() && ids.size() < subscriber.batchSize()) {
+            // The oldest event has lingered long enough: fill the batch with newer first attempts that are still lingering
+            Query lingering = new Query(Criteria.where("status").is(DeliveryStatus.PENDING)
+                .and("subscriber").is(subscriber.name())
+                .and("nextAttemptAt").gt(now)
+                .and("attempts").is(0))
+                .with(Sort.by("nextAttemptAt"))
+                .limit(subscriber.batchSize() - ids.size());
+            lingering.fields().include("_id");
+            mongoTemplate.find(lingering, WebhookDelivery.class).forEach(delivery -> ids.add(delivery.getId()));
+        }
+
+        // Only deliveries still PENDING are taken, so a concurrent claimer gets the rest or nothing
+        String token = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(
+            new Query(Criteria.where("_id").in(ids).and("status").is(DeliveryStatus.PENDING)),
+            new Update().set("status", DeliveryStatus.IN_FLIGHT).set("claimToken", token).set("leaseUntil", now.plus(lease)),
+            WebhookDelivery.class);
+        return mongoTemplate.find(new Query(Criteria.where("claimToken").is(token)).with(Sort.by("createdAt")),
+            WebhookDelivery.class);
+    }
+
+    private void deliver(WebhookSubscriber subscriber, List<WebhookDelivery> batch) {
+        long start = System.nanoTime();
+        Integer statusCode = null;
+        String error;
+        long retryAfterMs = 0;
+        try {
+            ResponseEntity<String> response = batch.size() == 1 && subscriber.batchSize() == 1
+                ? post(subscriber, batch.get(0).getEvent(), batch.get(0).getId(), batch.get(0).getPayload())
+                : post(subscriber, "BATCH", batch.get(0).getClaimToken(), envelope(batch));
+            delivered(batch, response.getStatusCode().value(), System.nanoTime() - start);
+            log.debug("📤 {} webhook deliveries to {} accepted, status {}", batch.size(), subscriber.name(), response.getStatusCode());
+            return;
+        } catch (RestClientResponseException e) {
+            statusCode = e.getStatusCode().value();
+            error = statusCode + " " + e.getStatusText();
+            retryAfterMs = retryAfterMs(e.getResponseHeaders());
+        } catch (Exception e) {
+            error = e.getMessage();
+        }
+        failed(subscriber, batch, statusCode, error, retryAfterMs, System.nanoTime() - start);
+    }
+
+    private ResponseEntity<String> post(WebhookSubscriber subscriber, String event, String deliveryId, Object body)
+            throws JsonProcessingException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        String timestamp = Long.toString(Instant.now().getEpochSecond());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("User-Agent", "SmartHire-Backend/1.0");
+        headers.set("X-SmartHire-Event", event);
+        headers.set("X-SmartHire-Delivery", deliveryId);
+        headers.set("X-SmartHire-Timestamp", timestamp);
+        if (subscriber.secret() != null) {
+            headers.set(SIGNATURE_HEADER, "sha256=" + sign(subscriber.secret(), timestamp, json));
+        }
+        return restTemplate.exchange(subscriber.url(), HttpMethod.POST, new HttpEntity<>(json, headers), String.class);
+    }
+
+    // Body of a batched POST: {"batchId", "count", "events": [{"deliveryId", "event", "createdAt", "data"}]}
+    private static Map<String, Object> envelope(List<WebhookDelivery> batch) {
+        List<Map<String, Object>> events = new ArrayList<>(batch.size());
+        for (WebhookDelivery delivery : batch) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("deliveryId", delivery.getId());
+            event.put("event", delivery.getEvent());
+            event.put("createdAt", delivery.getCreatedAt());
+            event.put("data", delivery.getPayload());
+            events.add(event);
+        }
+        Map<String, Object> envelope = new LinkedHashMap<>();
+        envelope.put("batchId", batch.get(0).getClaimToken());
+        envelope.put("count", batch.size());
+        envelope.put("events", events);
+        return envelope;
+    }
+
+    private void delivered(List<WebhookDelivery> batch, int statusCode, long durationNanos) {
+        LocalDateTime now = LocalDateTime.now();
+        mongoTemplate.updateMulti(
+            new Query(Criteria.where("claimToken").is(batch.get(0).getClaimToken())),
+            new Update().set("status", DeliveryStatus.DELIVERED).inc("attempts", 1)
+                .set("deliveredAt", now).set("expiresAt", now.plus(deliveredRetention)).set("lastStatusCode", statusCode)
+                .unset("claimToken").unset("leaseUntil").unset("lastError"),
+            WebhookDelivery.class);
+        batch.forEach(delivery -> recordWebhook(delivery, true, durationNanos));
+    }
+
+    private void failed(WebhookSubscriber subscriber, List<WebhookDelivery> batch, Integer statusCode, String error,
+                        long retryAfterMs, long durationNanos) {
+        LocalDateTime now = LocalDateTime.now();
+        for (WebhookDelivery delivery : batch) {
+            recordWebhook(delivery, false, durationNanos);
+            int attempts = delivery.getAttempts() + 1;
+            Update update = new Update().set("attempts", attempts)
+                .set("lastStatusCode", statusCode).set("lastError", error)
+                .unset("claimToken").unset("leaseUntil");
+            if (attempts >= maxAttempts) {
+                update.set("status", DeliveryStatus.FAILED).set("expiresAt", now.plus(failedRetention));
+                log.error("❌ Webhook {} to {} failed {} times, giving up: {}", delivery.getEvent(), subscriber.url(), attempts, error);
+            } else {
+                long delayMs = Math.max(backoffMs(attempts), retryAfterMs);
+                update.set("status", DeliveryStatus.PENDING).set("nextAttemptAt", now.plus(Duration.ofMillis(delayMs)));
+                log.warn("⚠️ Webhook {} to {} failed (attempt {}/{}), retrying in {}s: {}",
+                    delivery.getEvent(), subscriber.url(), attempts, maxAttempts, delayMs / 1000, error);
+            }
+            // Guarded by the claim so a delivery that was re-queued after its lease expired is left alone
+            mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(delivery.getId()).and("claimToken").is(delivery.getClaimToken())),
+                update, WebhookDelivery.class);
+        }
+    }
+
+    // Job and tenant tags from the payload, when the event is about a job (e.g. JOB_POSTED)
+    private void recordWebhook(WebhookDelivery delivery, boolean delivered, long durationNanos) {
+        Map<String, Object> payload = delivery.getPayload() != null ? delivery.getPayload() : Map.of();
+        metrics.recordWebhook(delivery.getEvent(), asString(payload.get("jobId")), asString(payload.get("company")),
+            delivered, durationNanos);
+    }
+
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    // Exponential backoff with equal jitter: half of base * 2^(attempts - 1) fixed, half random, capped at max-ms
+    private long backoffMs(int attempts) {
+        long exponential = backoffBaseMs << Math.min(attempts - 1, 20);
+        long capped = Math.min(exponential, backoffMaxMs);
+        return capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+    }
+
+    // Retry-After in seconds (429/503); the HTTP-date form is ignored
+    private long retryAfterMs(HttpHeaders headers) {
+        String retryAfter = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (retryAfter == null) {
+            return 0;
+        }
+        try {
+            return Math.min(Long.parseLong(retryAfter.trim()) * 1000, backoffMaxMs);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String sign(String secret, String timestamp, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            mac.update(timestamp.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) '.');
+            return HexFormat.of().formatHex(mac.doFinal(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private Optional<WebhookSubscriber> subscriber(String name) {
+        return subscribers.stream().filter(subscriber -> subscriber.name().equals(name)).findFirst();
+    }
+
+    // webhooks.subscribers[n]; entries without a url are skipped, so WEBHOOK_URL= disables the default one
+    private static List<WebhookSubscriber> subscribers(Environment environment) {
+        List<WebhookSubscriber.Config> configs = Binder.get(environment)
+            .bind("webhooks.subscribers", Bindable.listOf(WebhookSubscriber.Config.class))
+            .orElse(List.of());
+
+        List<WebhookSubscriber> subscribers = new ArrayList<>();
+        for (int i = 0; i < configs.size(); i++) {
+            WebhookSubscriber.Config config = configs.get(i);
+            if (config.url() == null || config.url().isBlank()) {
+                continue;
+            }
+            String name = config.name() != null && !config.name().isBlank() ? config.name() : "subscriber-" + i;
+            if (subscribers.stream().anyMatch(subscriber -> subscriber.name().equals(name))) {
+                throw new IllegalStateException("Duplicate webhook subscriber name: " + name);
+            }
+            Set<String> events = new LinkedHashSet<>();
+            if (config.events() != null) {
+                config.events().stream().map(String::trim).filter(event -> !event.isEmpty()).forEach(events::add);
+            }
+            subscribers.add(new WebhookSubscriber(name, config.url().trim(),
+                config.secret() != null && !config.secret().isBlank() ? config.secret() : null,
+                events,
+                config.maxConcurrency() != null ? config.maxConcurrency() : 4,
+                config.batchSize() != null ? config.batchSize() : 1,
+                config.batchLingerMs() != null ? config.batchLingerMs() : 0));
+        }
+        return List.copyOf(subscribers);
+    }
+}
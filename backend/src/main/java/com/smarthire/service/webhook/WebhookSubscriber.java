@@ -0,0 +1,99 @@
+package com.smarthire.service.webhook;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+/**
+ * WebhookSubscriber - One configured webhook endpoint (webhooks.subscribers[n]) and its delivery slots.
+ *
+ * events limits the subscriber to some event types (all when empty); max-concurrency is the number of
+ * POSTs this backend instance has in flight to it at once, and batch-size above 1 sends several
+ * queued events per POST. Batches form on their own while deliveries queue up; batch-linger-ms
+ * holds new events back that long so batches also form at low rates.
+ */
+public final class WebhookSubscriber {
+
+    private static final String WEBHOOK_SITE = "https://webhook.site/";
+
+    /**
+     * Bound from webhooks.subscribers[n]; null fields take the defaults
+     */
+    record Config(String name, String url, String secret, List<String> events, Integer maxConcurrency, Integer batchSize,
+                  Long batchLingerMs) {
+    }
+
+    private final String name;
+    private final String url;
+    private final String secret;
+    private final Set<String> events;
+    private final int batchSize;
+    private final Duration batchLinger;
+    private final Semaphore slots;
+
+    WebhookSubscriber(String name, String url, String secret, Set<String> events, int maxConcurrency, int batchSize,
+                      long batchLingerMs) {
+        this.name = name;
+        this.url = url;
+        this.secret = secret;
+        this.events = events;
+        this.batchSize = Math.max(batchSize, 1);
+        this.batchLinger = Duration.ofMillis(this.batchSize > 1 ? Math.max(batchLingerMs, 0) : 0);
+        this.slots = new Semaphore(Math.max(maxConcurrency, 1));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String url() {
+        return url;
+    }
+
+    String secret() {
+        return secret;
+    }
+
+    int batchSize() {
+        return batchSize;
+    }
+
+    Duration batchLinger() {
+        return batchLinger;
+    }
+
+    Semaphore slots() {
+        return slots;
+    }
+
+    public boolean accepts(String event) {
+        return events.isEmpty() || events.contains(event);
+    }
+
+    /**
+     * Browser URL of a webhook.site inbox, null for other endpoints
+     */
+    public String viewUrl() {
+        return url.startsWith(WEBHOOK_SITE) ? WEBHOOK_SITE + "#!/view/" + url.substring(WEBHOOK_SITE.length()) : null;
+    }
+
+    /**
+     * Public view for the API; never includes the secret
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("name", name);
+        view.put("url", url);
+        if (viewUrl() != null) {
+            view.put("viewUrl", viewUrl());
+        }
+        view.put("events", events.isEmpty() ? "ALL" : events);
+        view.put("signed", secret != null);
+        view.put("batchSize", batchSize);
+        view.put("batchLingerMs", batchLinger.toMillis());
+        return view;
+    }
+}
@@ -0,0 +1,44 @@
+# Offer letter layout. One directive per line: STYLE|text
+# Styles: TITLE, SUBTITLE, HEADING, TEXT, FIELD (label|value), SPACE, RULE
+# {{field}} placeholders are resolved from the offer letter when rendering.
+TITLE|{{company}}
+SUBTITLE|Offer of Employment
+RULE|
+FIELD|Offer No.|{{offerLetterNumber}}
+FIELD|Date|{{offerDate}}
+SPACE|
+TEXT|Dear {{candidateName}},
+SPACE|
+TEXT|We are pleased to offer you the position of {{jobTitle}} at {{company}}. This letter sets out the terms of your employment.
+SPACE|
+HEADING|Position
+FIELD|Designation|{{jobTitle}}
+FIELD|Department|{{department}}
+FIELD|Employment Type|{{employmentType}}
+FIELD|Work Location|{{workLocation}}
+FIELD|Office|{{officeLocation}}
+FIELD|Date of Joining|{{joiningDate}}
+FIELD|Reporting Manager|{{reportingManager}}
+SPACE|
+HEADING|Compensation
+FIELD|Annual CTC|{{currency}} {{annualCtc}}
+FIELD|Basic Salary|{{currency}} {{basicSalary}}
+FIELD|HRA|{{currency}} {{hra}}
+FIELD|Special Allowance|{{currency}} {{specialAllowance}}
+FIELD|Performance Bonus|{{currency}} {{performanceBonus}}
+FIELD|Other Allowances|{{currency}} {{otherAllowances}}
+SPACE|
+HEADING|Benefits and Terms
+FIELD|Benefits|{{benefits}}
+FIELD|Paid Leaves|{{paidLeaves}} days per year
+FIELD|Probation Period|{{probationPeriod}} months
+FIELD|Notice Period|{{noticePeriod}} days
+SPACE|
+TEXT|{{additionalNotes}}
+SPACE|
+TEXT|This offer is valid until {{expiryDate}}. Please confirm your acceptance through the candidate portal before that date.
+SPACE|
+TEXT|We look forward to welcoming you to {{company}}.
+SPACE|
+TEXT|Best regards,
+TEXT|{{company}} HR Team
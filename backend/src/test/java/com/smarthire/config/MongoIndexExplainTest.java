@@ -0,0 +1,60 @@
+package com.smarthire.config;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.smarthire.config.MongoIndexInitializer.IndexProbe;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every repository finder through explain() against a real mongod and asserts an IXSCAN with no
+ * COLLSCAN. mongo-java-server has no query planner, so this needs SMARTHIRE_TEST_MONGO_URI
+ * (e.g. mongodb://localhost:27017); it works in a throwaway database and drops it afterwards.
+ */
+@EnabledIfEnvironmentVariable(named = "SMARTHIRE_TEST_MONGO_URI", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MongoIndexExplainTest {
+
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private MongoIndexInitializer initializer;
+
+    @BeforeAll
+    void createIndexes() {
+        mongoClient = MongoClients.create(System.getenv("SMARTHIRE_TEST_MONGO_URI"));
+        mongoTemplate = new MongoTemplate(mongoClient, "smarthire-explain-" + UUID.randomUUID().toString().substring(0, 8));
+        initializer = new MongoIndexInitializer(mongoTemplate, true, true, true);
+        initializer.createIndexes();
+    }
+
+    @AfterAll
+    void dropDatabase() {
+        mongoTemplate.getDb().drop();
+        mongoClient.close();
+    }
+
+    @TestFactory
+    Stream<DynamicTest> everyFinderUsesAnIndexScan() {
+        return initializer.probes().stream().map(probe -> DynamicTest.dynamicTest(probe.finder(), () -> {
+            Set<String> stages = initializer.winningPlanStages(probe);
+            assertThat(stages).as(describe(probe)).doesNotContain("COLLSCAN");
+            assertThat(stages).as(describe(probe)).anyMatch(stage -> stage.contains("IXSCAN"));
+            assertThat(MongoIndexInitializer.usesIndex(stages)).isTrue();
+        }));
+    }
+
+    private static String describe(IndexProbe probe) {
+        return probe.collection() + " filter " + probe.filter().toJson() + " sort " + probe.sort().toJson();
+    }
+}
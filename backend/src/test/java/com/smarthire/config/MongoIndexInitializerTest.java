@@ -0,0 +1,71 @@
+package com.smarthire.config;
+
+import com.smarthire.model.OfferLetter;
+import com.smarthire.model.Onboarding;
+import com.smarthire.support.InMemoryMongoConfig;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Business identifiers issued by SequenceService are unique in the database. Replacing an earlier
+ * non-unique index needs a real mongod (mongo-java-server keeps both), so it is not covered here.
+ */
+@SpringJUnitConfig(InMemoryMongoConfig.class)
+class MongoIndexInitializerTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private MongoIndexInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.getDb().drop();
+        initializer = new MongoIndexInitializer(mongoTemplate, true, false, false);
+    }
+
+    @Test
+    void duplicateIdentifiersAreRejected() {
+        initializer.createIndexes();
+
+        mongoTemplate.insert(offerLetter("OL-000001"));
+        assertThatThrownBy(() -> mongoTemplate.insert(offerLetter("OL-000001")))
+            .isInstanceOf(DuplicateKeyException.class);
+
+        mongoTemplate.insert(onboarding("EMP00001"));
+        assertThatThrownBy(() -> mongoTemplate.insert(onboarding("EMP00001")))
+            .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void documentsWithoutIdentifierAreAllowed() {
+        initializer.createIndexes();
+
+        mongoTemplate.insert(offerLetter(null));
+        mongoTemplate.insert(offerLetter(null));
+        mongoTemplate.insert(onboarding(null));
+        mongoTemplate.insert(onboarding(null));
+
+        assertThat(mongoTemplate.getCollection("offer_letters").countDocuments(new Document())).isEqualTo(2);
+    }
+
+    private static OfferLetter offerLetter(String number) {
+        OfferLetter offerLetter = new OfferLetter();
+        offerLetter.setOfferLetterNumber(number);
+        return offerLetter;
+    }
+
+    private static Onboarding onboarding(String employeeId) {
+        Onboarding onboarding = new Onboarding();
+        onboarding.setEmployeeId(employeeId);
+        return onboarding;
+    }
+}
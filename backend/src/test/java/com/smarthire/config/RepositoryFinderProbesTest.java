@@ -0,0 +1,122 @@
+package com.smarthire.config;
+
+import com.smarthire.config.MongoIndexInitializer.IndexProbe;
+import com.smarthire.support.InMemoryMongoConfig;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Probes derived from the repository interfaces: every finder is covered, with the filter and sort
+ * the finder really sends, and each one leads with a field some declared index starts with.
+ * MongoIndexExplainTest runs the same probes through explain() on a real mongod.
+ */
+@SpringJUnitConfig(InMemoryMongoConfig.class)
+class RepositoryFinderProbesTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private RepositoryFinderProbes.Result derived;
+
+    @BeforeEach
+    void setUp() {
+        derived = RepositoryFinderProbes.derive(mongoTemplate);
+    }
+
+    @Test
+    void everyRepositoryFinderIsProbed() {
+        assertThat(derived.skipped()).isEmpty();
+
+        Set<String> probed = new HashSet<>();
+        derived.probes().forEach(probe -> probed.addAll(List.of(probe.finder().split(", "))));
+
+        List<String> finders = new ArrayList<>();
+        for (Class<?> repository : RepositoryFinderProbes.repositoryInterfaces()) {
+            for (Method method : RepositoryFinderProbes.finderMethods(repository)) {
+                finders.add(repository.getSimpleName() + "." + method.getName());
+            }
+        }
+        assertThat(finders).isNotEmpty();
+        assertThat(probed).containsAll(finders);
+    }
+
+    @Test
+    void probeKeepsTheFindersOwnSort() {
+        IndexProbe findByStatus = probe("JobApplicationRepository.findByStatus");
+        assertThat(findByStatus.collection()).isEqualTo("job_applications");
+        assertThat(findByStatus.filter().keySet()).containsExactly("status");
+        assertThat(findByStatus.sort()).as("findByStatus does not sort").isEmpty();
+
+        assertThat(probe("JobApplicationRepository.findByJobIdOrderByMatchScoreDesc").sort())
+            .isEqualTo(new Document("matchScore", -1));
+        assertThat(probe("JobRepository.findAllByOrderByCreatedAtDesc"))
+            .satisfies(probe -> {
+                assertThat(probe.filter()).isEmpty();
+                assertThat(probe.sort()).isEqualTo(new Document("createdAt", -1));
+            });
+    }
+
+    @Test
+    void pagedOverloadsAndCopiesShareOneProbe() {
+        assertThat(probe("JobRepository.findAllByOrderByCreatedAtDesc").finder())
+            .contains("ReactiveJobRepository.findAllByOrderByCreatedAtDesc");
+        assertThat(derived.probes().stream().map(IndexProbe::finder).toList()).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void everyProbeLeadsWithAnIndexedField() {
+        Map<String, List<String>> leadingKeys = new HashMap<>();
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> type : MongoIndexInitializer.documentTypes()) {
+            List<String> keys = leadingKeys.computeIfAbsent(mongoTemplate.getCollectionName(type), name -> new ArrayList<>(List.of("_id")));
+            for (IndexDefinition definition : resolver.resolveIndexFor(type)) {
+                keys.add(definition.getIndexKeys().keySet().iterator().next());
+            }
+        }
+
+        for (IndexProbe probe : derived.probes()) {
+            List<String> indexed = leadingKeys.getOrDefault(probe.collection(), List.of());
+            boolean served = probe.filter().isEmpty()
+                ? !probe.sort().isEmpty() && indexed.contains(probe.sort().keySet().iterator().next())
+                : probe.filter().keySet().stream().anyMatch(indexed::contains);
+            assertThat(served)
+                .as("%s on %s filters %s sorts %s, indexes lead with %s",
+                    probe.finder(), probe.collection(), probe.filter().toJson(), probe.sort().toJson(), indexed)
+                .isTrue();
+        }
+    }
+
+    @Test
+    void usesIndexRequiresAnIndexScanAndNoCollectionScan() {
+        assertThat(MongoIndexInitializer.usesIndex(Set.of("FETCH", "IXSCAN"))).isTrue();
+        assertThat(MongoIndexInitializer.usesIndex(Set.of("SORT", "FETCH", "IXSCAN"))).isTrue();
+        assertThat(MongoIndexInitializer.usesIndex(Set.of("EOF"))).isTrue();
+        assertThat(MongoIndexInitializer.usesIndex(Set.of("COLLSCAN"))).isFalse();
+        assertThat(MongoIndexInitializer.usesIndex(Set.of("SORT", "COLLSCAN"))).isFalse();
+        assertThat(MongoIndexInitializer.usesIndex(Set.of("OR", "IXSCAN", "COLLSCAN"))).isFalse();
+        assertThat(MongoIndexInitializer.usesIndex(Set.of("FETCH"))).isFalse();
+    }
+
+    private IndexProbe probe(String finder) {
+        return derived.probes().stream()
+            .filter(probe -> List.of(probe.finder().split(", ")).contains(finder))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("no probe for " + finder));
+    }
+}
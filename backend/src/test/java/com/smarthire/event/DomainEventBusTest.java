@@ -0,0 +1,176 @@
+package com.smarthire.event;
+
+import com.smarthire.model.ParkedDomainEvent;
+import com.smarthire.model.ShortlistedCandidate.ShortlistStatus;
+import com.smarthire.service.SchedulerLock;
+import com.smarthire.support.InMemoryMongoConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Failure handling of the DomainEventBus: in-lane retries, parking in the outbox, redelivery in
+ * order, and backpressure from a full lane
+ */
+@SpringJUnitConfig(InMemoryMongoConfig.class)
+class DomainEventBusTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final RecordingHandler handler = new RecordingHandler();
+    private DomainEventOutbox outbox;
+    private DomainEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.getDb().drop();
+        outbox = new DomainEventOutbox(mongoTemplate, new SchedulerLock(mongoTemplate), List.of(handler),
+            500, 5, 10, 100, 60000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        handler.release.countDown();
+        if (bus != null) {
+            bus.shutdown();
+        }
+    }
+
+    @Test
+    void transientFailuresAreRetriedInTheLane() {
+        bus = bus(100);
+        handler.failures.set(2);
+
+        bus.publish(event("c1", ShortlistStatus.INTERVIEW_SCHEDULED));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> handler.applied.size() == 1);
+        assertThat(parked()).isZero();
+    }
+
+    @Test
+    void persistentFailuresAreParkedAndRedeliveredInOrder() {
+        bus = bus(100);
+        handler.failures.set(Integer.MAX_VALUE);
+
+        bus.publish(event("c1", ShortlistStatus.INTERVIEW_SCHEDULED));
+        await().atMost(Duration.ofSeconds(5)).until(() -> parked() == 1);
+
+        // A later event of the same aggregate waits behind the parked one instead of overtaking it
+        handler.failures.set(0);
+        bus.publish(event("c1", ShortlistStatus.OFFER_EXTENDED));
+        bus.publish(event("c2", ShortlistStatus.REJECTED));
+        await().atMost(Duration.ofSeconds(5)).until(() -> parked() == 2 && handler.applied.size() == 1);
+        assertThat(handler.applied).containsExactly("c2=REJECTED");
+
+        assertThat(outbox.redeliver()).isEqualTo(2);
+        assertThat(handler.applied).containsExactly("c2=REJECTED", "c1=INTERVIEW_SCHEDULED", "c1=OFFER_EXTENDED");
+        assertThat(parked()).isZero();
+    }
+
+    @Test
+    void redeliveryBacksOffAndEventuallyGivesUp() {
+        handler.failures.set(Integer.MAX_VALUE);
+        outbox.park(List.of(event("c1", ShortlistStatus.OFFER_EXTENDED)), "test");
+
+        assertThat(outbox.redeliver()).isZero();
+        assertThat(mongoTemplate.findAll(ParkedDomainEvent.class))
+            .singleElement()
+            .satisfies(entry -> {
+                assertThat(entry.getAttempts()).isEqualTo(1);
+                assertThat(entry.getStatus()).isEqualTo(ParkedDomainEvent.ParkedStatus.PENDING);
+                assertThat(entry.getNextAttemptAt()).as("backed off").isAfter(entry.getCreatedAt());
+                assertThat(entry.getEvent()).isInstanceOf(CandidateStatusChangedEvent.class);
+            });
+
+        for (int attempt = 2; attempt <= 5; attempt++) {
+            await().atMost(Duration.ofSeconds(5)).until(() -> handlerCallsAfter(outbox::redeliver));
+        }
+        assertThat(mongoTemplate.findAll(ParkedDomainEvent.class))
+            .singleElement()
+            .extracting(ParkedDomainEvent::getStatus)
+            .isEqualTo(ParkedDomainEvent.ParkedStatus.FAILED);
+    }
+
+    @Test
+    void fullLaneParksInsteadOfQueueingWithoutBound() {
+        bus = bus(1);
+        handler.blocked = true;
+        bus.publish(event("c0", ShortlistStatus.OFFER_EXTENDED));
+        await().atMost(Duration.ofSeconds(5)).until(() -> handler.calls.get() == 1);
+
+        for (int i = 1; i < 5; i++) {
+            bus.publish(event("c" + i, ShortlistStatus.OFFER_EXTENDED));
+        }
+
+        // One event held by the blocked worker, one queued, the rest parked after the publish timeout
+        assertThat(parked()).isEqualTo(3);
+        handler.blocked = false;
+        handler.release.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> handler.applied.size() == 2);
+    }
+
+    private DomainEventBus bus(int laneCapacity) {
+        return new DomainEventBus(List.of(handler), outbox, 1, 100, laneCapacity, 50, 3, 10);
+    }
+
+    private long parked() {
+        return mongoTemplate.count(new Query(), ParkedDomainEvent.class);
+    }
+
+    // Redeliver once the entry is due; true when the handler was called
+    private boolean handlerCallsAfter(IntSupplier redeliver) {
+        int before = handler.calls.get();
+        redeliver.getAsInt();
+        return handler.calls.get() > before;
+    }
+
+    private static CandidateStatusChangedEvent event(String candidateId, ShortlistStatus status) {
+        return new CandidateStatusChangedEvent(candidateId, status, null, "TEST");
+    }
+
+    private static class RecordingHandler implements DomainEventHandler<CandidateStatusChangedEvent> {
+
+        final List<String> applied = new CopyOnWriteArrayList<>();
+        final AtomicInteger failures = new AtomicInteger();
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean blocked;
+
+        @Override
+        public Class<CandidateStatusChangedEvent> eventType() {
+            return CandidateStatusChangedEvent.class;
+        }
+
+        @Override
+        public void handle(List<CandidateStatusChangedEvent> events) {
+            calls.incrementAndGet();
+            if (blocked) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failures.getAndUpdate(left -> left == Integer.MAX_VALUE ? left : Math.max(left - 1, 0)) > 0) {
+                throw new IllegalStateException("database unavailable");
+            }
+            events.forEach(event -> applied.add(event.getCandidateId() + "=" + event.getStatus()));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.smarthire.logging;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The job ID comes from the path or the query string, never from a request body
+ */
+class RequestLogContextFilterTest {
+
+    private static final String JOB_ID = "652f1c2a9b1e8a3d4c5b6a79";
+
+    private final RequestLogContextFilter filter = new RequestLogContextFilter(0.1, List.of());
+
+    @Test
+    void jobIdFromQueryString() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/interviews/pipeline");
+        request.setQueryString("status=OPEN&jobId=" + JOB_ID);
+
+        assertThat(jobIdLogged(request)).isEqualTo(JOB_ID);
+    }
+
+    @Test
+    void jobIdFromPath() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/jobs/" + JOB_ID + "/applications");
+
+        assertThat(jobIdLogged(request)).isEqualTo(JOB_ID);
+    }
+
+    @Test
+    void formBodyIsNotRead() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/applications") {
+            @Override
+            public String getParameter(String name) {
+                throw new AssertionError("request parameters parsed for " + name);
+            }
+        };
+        request.setContentType("multipart/form-data; boundary=x");
+        request.addParameter("jobId", JOB_ID);
+
+        assertThat(jobIdLogged(request)).isNull();
+    }
+
+    private String jobIdLogged(MockHttpServletRequest request) throws Exception {
+        AtomicReference<String> jobId = new AtomicReference<>();
+        FilterChain chain = (req, res) -> jobId.set(MDC.get(RequestLogContextFilter.JOB_ID));
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return jobId.get();
+    }
+}
@@ -0,0 +1,117 @@
+package com.smarthire.repository;
+
+import com.smarthire.model.CandidateApplication;
+import com.smarthire.model.JobApplication;
+import com.smarthire.service.CandidateApplicationMigration;
+import com.smarthire.support.InMemoryMongoConfig;
+import com.smarthire.support.MongoCommandRecorder;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reads through the legacy view leave the resume bytes in the database; save() keeps them
+ */
+@SpringJUnitConfig(CandidateApplicationRepositoryTest.Config.class)
+class CandidateApplicationRepositoryTest {
+
+    private static final String APPLICATIONS = "job_applications";
+
+    @Configuration
+    @Import({InMemoryMongoConfig.class, CandidateApplicationRepository.class})
+    @EnableMongoRepositories(basePackageClasses = JobApplicationRepository.class, includeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE, classes = JobApplicationRepository.class))
+    static class Config {
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoCommandRecorder recorder;
+
+    @Autowired
+    private CandidateApplicationRepository repository;
+
+    @MockitoBean
+    private CandidateApplicationMigration migration;
+
+    private String applicationId;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.getDb().drop();
+        JobApplication application = new JobApplication();
+        application.setJobId("job-1");
+        application.setCandidateName("Ada");
+        application.setCandidateEmail("ada@example.com");
+        application.setStatus(JobApplication.ApplicationStatus.SUBMITTED);
+        application.setResumeData(new byte[]{1, 2, 3});
+        applicationId = mongoTemplate.insert(application).getId();
+        when(migration.isComplete()).thenReturn(true);
+        recorder.reset();
+    }
+
+    @Test
+    void everyReadExcludesResumeData() {
+        CandidateApplication.ApplicationStatus status = CandidateApplication.ApplicationStatus.NEW;
+
+        assertThat(repository.findByJobId("job-1")).hasSize(1);
+        assertThat(repository.findByEmail("ada@example.com")).hasSize(1);
+        assertThat(repository.findByStatus(status)).hasSize(1);
+        assertThat(repository.findByJobIdAndStatus("job-1", status)).hasSize(1);
+        assertThat(repository.findByStatus(status, PageRequest.of(0, 10)).getContent()).hasSize(1);
+        assertThat(repository.findAll()).hasSize(1);
+        assertThat(repository.findAll(PageRequest.of(0, 10)).getContent()).hasSize(1);
+        assertThat(repository.findById(applicationId)).isPresent();
+
+        List<BsonDocument> finds = recorder.commands("find", APPLICATIONS);
+        assertThat(finds).hasSize(8);
+        assertThat(finds).allSatisfy(find ->
+            assertThat(find.getDocument("projection", new BsonDocument())).containsEntry("resumeData", new BsonInt32(0)));
+    }
+
+    @Test
+    void legacyReadsExcludeResumeBase64DuringCutover() {
+        when(migration.isComplete()).thenReturn(false);
+        mongoTemplate.getCollection(CandidateApplicationMigration.LEGACY_COLLECTION).insertOne(
+            new Document("jobId", "job-1").append("email", "grace@example.com").append("resumeBase64", "AQID"));
+
+        assertThat(repository.findByJobId("job-1")).extracting(CandidateApplication::getEmail)
+            .containsExactlyInAnyOrder("ada@example.com", "grace@example.com");
+        assertThat(repository.findAll(PageRequest.of(0, 10)).getTotalElements()).isEqualTo(2);
+
+        List<BsonDocument> legacyFinds = recorder.commands("find", CandidateApplicationMigration.LEGACY_COLLECTION);
+        assertThat(legacyFinds).hasSize(2).allSatisfy(find ->
+            assertThat(find.getDocument("projection", new BsonDocument())).containsEntry("resumeBase64", new BsonInt32(0)));
+    }
+
+    @Test
+    void saveKeepsTheStoredResume() {
+        CandidateApplication view = repository.findById(applicationId).orElseThrow();
+        view.setNotes("Strong profile");
+
+        repository.save(view);
+
+        JobApplication stored = mongoTemplate.findById(applicationId, JobApplication.class);
+        assertThat(stored.getNotes()).isEqualTo("Strong profile");
+        assertThat(stored.getResumeData()).containsExactly(1, 2, 3);
+    }
+}
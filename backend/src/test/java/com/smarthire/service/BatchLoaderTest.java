@@ -0,0 +1,210 @@
+package com.smarthire.service;
+
+import com.smarthire.dto.BatchInterviewScheduleRequest;
+import com.smarthire.event.DomainEventBus;
+import com.smarthire.metrics.AppMetrics;
+import com.smarthire.model.Job;
+import com.smarthire.model.JobApplication;
+import com.smarthire.repository.InterviewRepository;
+import com.smarthire.repository.JobRepository;
+import com.smarthire.repository.ShortlistedCandidateRepository;
+import com.smarthire.repository.UserRepository;
+import com.smarthire.support.InMemoryMongoConfig;
+import com.smarthire.support.MongoCommandRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Round trips of the batched lookups (BatchLoader and InterviewService.scheduleBatchInterviews),
+ * counted with a CommandListener on the Mongo client
+ */
+@SpringJUnitWebConfig(BatchLoaderTest.Config.class)
+class BatchLoaderTest {
+
+    private static final String APPLICATIONS = "job_applications";
+
+    @Configuration
+    @Import({InMemoryMongoConfig.class, InterviewService.class, BatchLoader.class, EntityCache.class, AppMetrics.class})
+    @EnableMongoRepositories(basePackageClasses = JobRepository.class, includeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE,
+        classes = {JobRepository.class, UserRepository.class, InterviewRepository.class, ShortlistedCandidateRepository.class}))
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoCommandRecorder recorder;
+
+    @Autowired
+    private BatchLoader batchLoader;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @MockitoBean
+    private DomainEventBus eventBus;
+
+    private String jobId;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.getDb().drop();
+        Job job = new Job();
+        job.setTitle("Backend Engineer");
+        job.setCompany("Acme");
+        jobId = mongoTemplate.insert(job).getId();
+        when(emailService.sendInterviewInvitation(any(), any())).thenReturn(true);
+        recorder.reset();
+    }
+
+    @Test
+    void scheduleBatchInterviewsLoadsApplicationsWithOneQuery() {
+        for (int size : new int[]{2, 25}) {
+            BatchInterviewScheduleRequest request = batchRequest(insertApplications(size));
+            recorder.reset();
+
+            Map<String, Object> result = interviewService.scheduleBatchInterviews(request);
+
+            assertThat(result.get("totalScheduled")).isEqualTo(size);
+            assertThat(recorder.count("find", APPLICATIONS))
+                .as("application lookups for %d candidates", size)
+                .isEqualTo(1);
+        }
+    }
+
+    @Test
+    void loadByIdsIssuesOneQueryForAnyNumberOfIds() {
+        List<String> ids = insertApplications(50);
+
+        Map<String, JobApplication> loaded = batchLoader.loadByIds(JobApplication.class, ids);
+
+        assertThat(loaded).hasSize(50);
+        assertThat(loaded.keySet()).containsExactlyElementsOf(ids);
+        assertThat(recorder.count("find", APPLICATIONS)).isEqualTo(1);
+    }
+
+    @Test
+    void overlappingCallsInOneRequestOnlyQueryNewIds() {
+        List<String> ids = insertApplications(8);
+
+        batchLoader.loadByIds(JobApplication.class, ids.subList(0, 5));
+        Map<String, JobApplication> overlapping = batchLoader.loadByIds(JobApplication.class, ids.subList(3, 8));
+        batchLoader.loadByIds(JobApplication.class, ids);
+        batchLoader.loadById(JobApplication.class, ids.get(2));
+
+        assertThat(overlapping.keySet()).containsExactlyElementsOf(ids.subList(3, 8));
+        List<BsonDocument> finds = recorder.commands("find", APPLICATIONS);
+        assertThat(finds).hasSize(2);
+        assertThat(inValues(finds.get(1))).as("second query only asks for unseen ids").hasSize(3);
+    }
+
+    @Test
+    void missesAreMemoizedToo() {
+        List<String> ids = insertApplications(2);
+        List<String> withMissing = new ArrayList<>(ids);
+        withMissing.add("000000000000000000000000");
+
+        assertThat(batchLoader.loadByIds(JobApplication.class, withMissing)).hasSize(2);
+        assertThat(batchLoader.loadByIds(JobApplication.class, withMissing)).hasSize(2);
+
+        assertThat(recorder.count("find", APPLICATIONS)).isEqualTo(1);
+    }
+
+    @Test
+    void memoIsScopedToTheRequest() {
+        List<String> ids = insertApplications(3);
+
+        batchLoader.loadByIds(JobApplication.class, ids);
+        batchLoader.loadByIds(JobApplication.class, ids);
+        assertThat(recorder.count("find", APPLICATIONS)).isEqualTo(1);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        batchLoader.loadByIds(JobApplication.class, ids);
+        assertThat(recorder.count("find", APPLICATIONS)).as("a new request starts with an empty memo").isEqualTo(2);
+    }
+
+    @Test
+    void findExistingValuesIssuesOneDistinctQuery() {
+        insertApplications(4);
+        List<String> emails = IntStream.range(0, 6).mapToObj(i -> "candidate" + i + "@example.com").toList();
+
+        Set<String> existing = batchLoader.findExistingValues(JobApplication.class, "candidateEmail", emails);
+        batchLoader.findExistingValues(JobApplication.class, "candidateEmail", emails.subList(2, 6));
+
+        assertThat(existing).containsExactlyElementsOf(emails.subList(0, 4));
+        assertThat(recorder.count("distinct", APPLICATIONS)).isEqualTo(1);
+    }
+
+    private List<String> insertApplications(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            JobApplication application = new JobApplication();
+            application.setJobId(jobId);
+            application.setCandidateName("Candidate " + i);
+            application.setCandidateEmail("candidate" + i + "@example.com");
+            application.setCandidatePhone("555-01" + i);
+            ids.add(mongoTemplate.insert(application).getId());
+        }
+        return ids;
+    }
+
+    private BatchInterviewScheduleRequest batchRequest(List<String> applicationIds) {
+        BatchInterviewScheduleRequest request = new BatchInterviewScheduleRequest();
+        request.setJobId(jobId);
+        request.setInterviewType("MANUAL");
+        request.setScheduledDate(LocalDateTime.now().plusDays(1));
+        request.setScheduledTime("10:00 AM");
+        request.setCandidates(applicationIds.stream()
+            .map(id -> new BatchInterviewScheduleRequest.CandidateInfo(id, id + "@example.com", "Candidate " + id))
+            .toList());
+        return request;
+    }
+
+    private static List<?> inValues(BsonDocument find) {
+        return find.getDocument("filter").getDocument("_id").getArray("$in");
+    }
+}
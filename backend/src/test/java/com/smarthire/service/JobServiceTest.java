@@ -0,0 +1,129 @@
+package com.smarthire.service;
+
+import com.smarthire.dto.JobRequest;
+import com.smarthire.metrics.AppMetrics;
+import com.smarthire.model.Job;
+import com.smarthire.repository.JobRepository;
+import com.smarthire.repository.ReactiveJobRepository;
+import com.smarthire.repository.UserRepository;
+import com.smarthire.support.InMemoryMongoConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Job updates from a cached copy that is older than the stored job: applications counted in the
+ * meantime (JobAutoCloseService $incs applicationCount and version) must neither fail nor be lost
+ */
+@SpringJUnitConfig(JobServiceTest.Config.class)
+class JobServiceTest {
+
+    @Configuration
+    @Import({InMemoryMongoConfig.class, JobService.class, EntityCache.class, AppMetrics.class})
+    @EnableMongoRepositories(basePackageClasses = JobRepository.class, includeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE, classes = {JobRepository.class, UserRepository.class}))
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private EntityCache entityCache;
+
+    @MockitoBean
+    private ReactiveJobRepository reactiveJobRepository;
+
+    @MockitoBean
+    private WebhookService webhookService;
+
+    private String jobId;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.getDb().drop();
+        Job job = new Job();
+        job.setTitle("Backend Engineer");
+        job.setCompany("Acme");
+        job.onCreate();
+        jobId = entityCache.saveJob(job).getId();
+
+        // Cached copy goes stale: an application arrives behind the cache's back
+        assertThat(entityCache.findJob(jobId)).isPresent();
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(jobId)),
+            new Update().inc("applicationCount", 1).inc("version", 1), Job.class);
+    }
+
+    @Test
+    void updateJobSettingsKeepsConcurrentApplicationCount() {
+        Job updated = jobService.updateJobSettings(jobId, 5, null);
+
+        assertThat(updated.getMaxCandidates()).isEqualTo(5);
+        assertThat(updated.getApplicationCount()).isEqualTo(1);
+        assertThat(updated.getVersion()).isEqualTo(2);
+        assertThat(entityCache.findJob(jobId)).get().extracting(Job::getVersion).isEqualTo(2L);
+    }
+
+    @Test
+    void closeJobKeepsConcurrentApplicationCount() {
+        Job closed = jobService.closeJob(jobId);
+
+        assertThat(closed.getStatus()).isEqualTo(Job.JobStatus.CLOSED);
+        assertThat(mongoTemplate.findById(jobId, Job.class))
+            .satisfies(stored -> {
+                assertThat(stored.getStatus()).isEqualTo(Job.JobStatus.CLOSED);
+                assertThat(stored.getApplicationCount()).isEqualTo(1);
+            });
+    }
+
+    @Test
+    void updateJobSetsOnlyTheEditableFields() {
+        JobRequest request = new JobRequest();
+        request.setTitle("Staff Engineer");
+        request.setCompany("Acme");
+
+        Job updated = jobService.updateJob(jobId, request, "employer@example.com");
+
+        assertThat(updated.getTitle()).isEqualTo("Staff Engineer");
+        assertThat(updated.getApplicationCount()).isEqualTo(1);
+        assertThat(updated.getStatus()).isEqualTo(Job.JobStatus.OPEN);
+    }
+
+    @Test
+    void unknownJobIsReportedAsNotFound() {
+        assertThatThrownBy(() -> jobService.closeJob("000000000000000000000000"))
+            .hasMessage("Job not found");
+    }
+}
@@ -0,0 +1,140 @@
+package com.smarthire.service;
+
+import com.smarthire.dto.CursorPage;
+import com.smarthire.event.DomainEventBus;
+import com.smarthire.model.Interview;
+import com.smarthire.model.ShortlistedCandidate;
+import com.smarthire.repository.CandidateApplicationRepository;
+import com.smarthire.repository.InterviewRepository;
+import com.smarthire.repository.OfferLetterRepository;
+import com.smarthire.repository.ShortlistedCandidateRepository;
+import com.smarthire.support.InMemoryMongoConfig;
+import com.smarthire.support.MongoCommandRecorder;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Offer letter eligibility: pages are read from the offerPending flag alone, and legacy candidates get
+ * the flag from their HR round decisions
+ */
+@SpringJUnitConfig(OfferLetterServiceTest.Config.class)
+class OfferLetterServiceTest {
+
+    private static final String CANDIDATES = "shortlisted_candidates";
+
+    @Configuration
+    @Import({InMemoryMongoConfig.class, OfferLetterService.class, OfferEligibilityMigration.class, SchedulerLock.class})
+    @EnableMongoRepositories(basePackageClasses = InterviewRepository.class, includeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE,
+        classes = {InterviewRepository.class, OfferLetterRepository.class, ShortlistedCandidateRepository.class}))
+    static class Config {
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoCommandRecorder recorder;
+
+    @Autowired
+    private OfferLetterService offerLetterService;
+
+    @Autowired
+    private OfferEligibilityMigration migration;
+
+    @MockitoBean
+    private CandidateApplicationRepository applicationRepository;
+
+    @MockitoBean
+    private EntityCache entityCache;
+
+    @MockitoBean
+    private DomainEventBus eventBus;
+
+    @MockitoBean
+    private SequenceService sequenceService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.getDb().drop();
+    }
+
+    @Test
+    void pagesAreOneFindOnTheOfferPendingFlag() {
+        List<String> pending = List.of(candidate(true), candidate(true), candidate(true));
+        candidate(false);
+        recorder.reset();
+
+        CursorPage<ShortlistedCandidate> first = offerLetterService.getCandidatesEligibleForOfferLetterPage(null, 2);
+        CursorPage<ShortlistedCandidate> second =
+            offerLetterService.getCandidatesEligibleForOfferLetterPage(first.getNextCursor(), 2);
+
+        assertThat(first.getItems()).extracting(ShortlistedCandidate::getId).containsExactlyElementsOf(pending.subList(0, 2));
+        assertThat(second.getItems()).extracting(ShortlistedCandidate::getId).containsExactly(pending.get(2));
+        assertThat(second.isHasMore()).isFalse();
+
+        List<BsonDocument> finds = recorder.commands("find", CANDIDATES);
+        assertThat(finds).hasSize(2).allSatisfy(find ->
+            assertThat(find.getDocument("filter")).containsEntry("offerPending", BsonBoolean.TRUE));
+        assertThat(finds.get(1).getDocument("filter").getDocument("_id")).containsKey("$gt");
+        assertThat(recorder.count("aggregate", "interviews")).isZero();
+    }
+
+    @Test
+    void migrationFlagsLegacyCandidatesFromTheirHrDecision() {
+        ObjectId selected = legacyCandidate(false);
+        ObjectId alreadyOffered = legacyCandidate(true);
+        ObjectId rejected = legacyCandidate(false);
+        hrInterview(selected, "SELECTED");
+        hrInterview(alreadyOffered, "SELECTED");
+        hrInterview(rejected, "REJECTED");
+
+        assertThat(migration.migrate()).isEqualTo(3);
+
+        assertThat(offerLetterService.getCandidatesEligibleForOfferLetter())
+            .extracting(ShortlistedCandidate::getId)
+            .containsExactly(selected.toHexString());
+        assertThat(migration.migrate()).isZero();
+    }
+
+    private String candidate(boolean offerPending) {
+        ShortlistedCandidate candidate = new ShortlistedCandidate();
+        candidate.setCandidateName("Ada");
+        candidate.setOfferPending(offerPending);
+        return mongoTemplate.insert(candidate).getId();
+    }
+
+    // Stored before offerPending existed, so the field is missing altogether
+    private ObjectId legacyCandidate(boolean offerLetterGenerated) {
+        ObjectId id = new ObjectId();
+        mongoTemplate.getCollection(CANDIDATES).insertOne(new Document("_id", id)
+            .append("candidateName", "Grace")
+            .append("offerLetterGenerated", offerLetterGenerated));
+        return id;
+    }
+
+    private void hrInterview(ObjectId candidateId, String decision) {
+        Interview interview = new Interview();
+        interview.setShortlistedCandidateId(candidateId.toHexString());
+        interview.setInterviewRound("HR_ROUND");
+        interview.setDecision(decision);
+        mongoTemplate.insert(interview);
+    }
+}
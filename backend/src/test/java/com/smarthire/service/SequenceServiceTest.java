@@ -0,0 +1,53 @@
+package com.smarthire.service;
+
+import com.smarthire.support.InMemoryMongoConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Values leased in blocks are unique across nodes; a block size that could never lease a value is refused
+ */
+@SpringJUnitConfig(InMemoryMongoConfig.class)
+class SequenceServiceTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.getDb().drop();
+    }
+
+    @Test
+    void nodesLeaseDisjointBlocks() {
+        SequenceService first = new SequenceService(mongoTemplate, 3);
+        SequenceService second = new SequenceService(mongoTemplate, 3);
+
+        Set<Long> values = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            values.add(first.nextValue("test"));
+            values.add(second.nextValue("test"));
+        }
+
+        assertThat(values).hasSize(10);
+        assertThat(first.next(SequenceService.OFFER_LETTER_NUMBER)).isEqualTo("OL-000001");
+    }
+
+    @Test
+    void nonPositiveBlockSizeIsRejected() {
+        assertThatThrownBy(() -> new SequenceService(mongoTemplate, 0))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("block-size");
+        assertThatThrownBy(() -> new SequenceService(mongoTemplate, -5))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
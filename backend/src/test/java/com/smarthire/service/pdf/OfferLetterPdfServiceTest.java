@@ -0,0 +1,112 @@
+package com.smarthire.service.pdf;
+
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.smarthire.model.OfferLetter;
+import com.smarthire.support.InMemoryMongoConfig;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Two first downloads of one offer letter render concurrently: one stored file wins the pdfFileId
+ * claim, the other is deleted, and both callers get the PDF
+ */
+@SpringJUnitConfig(OfferLetterPdfServiceTest.Config.class)
+class OfferLetterPdfServiceTest {
+
+    private static final byte[] PDF = "%PDF-1.7 offer".getBytes();
+
+    @Configuration
+    @Import({InMemoryMongoConfig.class, OfferLetterPdfService.class})
+    static class Config {
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private OfferLetterPdfService pdfService;
+
+    @MockitoBean
+    private OfferLetterPdfRenderer renderer;
+
+    private String offerLetterId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mongoTemplate.getDb().drop();
+        OfferLetter offerLetter = new OfferLetter();
+        offerLetter.setJobId("job-1");
+        offerLetter.setDownloadCount(0);
+        offerLetterId = mongoTemplate.insert(offerLetter).getId();
+
+        // Both renders have uploaded their PDF before either claims the offer letter
+        CyclicBarrier bothRendered = new CyclicBarrier(2);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(PDF);
+            bothRendered.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(renderer).render(any(), any());
+    }
+
+    @Test
+    void concurrentFirstDownloadsKeepExactlyOneFile() {
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+
+        CompletableFuture.allOf(download(first), download(second)).join();
+
+        assertThat(first.toByteArray()).isEqualTo(PDF);
+        assertThat(second.toByteArray()).isEqualTo(PDF);
+
+        List<GridFSFile> files = storedFiles();
+        OfferLetter stored = mongoTemplate.findById(offerLetterId, OfferLetter.class);
+        assertThat(files).singleElement()
+            .extracting(file -> file.getObjectId().toHexString())
+            .isEqualTo(stored.getPdfFileId());
+        assertThat(stored.getDownloadCount()).isEqualTo(2);
+
+        // Later downloads stream the winning file
+        ByteArrayOutputStream third = new ByteArrayOutputStream();
+        download(third).join();
+        assertThat(third.toByteArray()).isEqualTo(PDF);
+        assertThat(storedFiles()).extracting(GridFSFile::getObjectId)
+            .containsExactly(new ObjectId(stored.getPdfFileId()));
+    }
+
+    // Each download loads its own copy of the offer letter, like a request would
+    private CompletableFuture<Void> download(OutputStream out) {
+        OfferLetter offerLetter = pdfService.getOfferLetter(offerLetterId);
+        return CompletableFuture.runAsync(() -> {
+            try {
+                pdfService.writePdf(offerLetter, out);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private List<GridFSFile> storedFiles() {
+        return GridFSBuckets.create(mongoTemplate.getDb(), "offer_letter_pdfs").find().into(new ArrayList<>());
+    }
+}
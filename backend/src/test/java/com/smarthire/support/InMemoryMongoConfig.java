@@ -0,0 +1,42 @@
+package com.smarthire.support;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * In-process MongoDB (mongo-java-server, memory backend) with a MongoCommandRecorder on the client.
+ * Speaks the wire protocol but has no query planner, so explain() based checks need a real mongod.
+ */
+@Configuration
+public class InMemoryMongoConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public MongoServer mongoServer() {
+        return new MongoServer(new MemoryBackend());
+    }
+
+    @Bean
+    public MongoCommandRecorder mongoCommandRecorder() {
+        return new MongoCommandRecorder();
+    }
+
+    @Bean(destroyMethod = "close")
+    public MongoClient mongoClient(MongoServer mongoServer, MongoCommandRecorder recorder) {
+        return MongoClients.create(MongoClientSettings.builder()
+            .applyConnectionString(new ConnectionString(mongoServer.bindAndGetConnectionString()))
+            .addCommandListener(recorder)
+            .build());
+    }
+
+    @Bean
+    public MongoTemplate mongoTemplate(MongoClient mongoClient) {
+        return new MongoTemplate(mongoClient, "smarthire-test");
+    }
+}
@@ -0,0 +1,41 @@
+package com.smarthire.support;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * MongoCommandRecorder - CommandListener that keeps every command sent by the driver,
+ * so tests can count database round trips per command and collection
+ */
+public class MongoCommandRecorder implements CommandListener {
+
+    private final List<BsonDocument> commands = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        commands.add(event.getCommand().clone());
+    }
+
+    /**
+     * Commands of one kind (find, distinct, insert, ...) against one collection
+     */
+    public List<BsonDocument> commands(String commandName, String collection) {
+        return commands.stream()
+            .filter(command -> command.getFirstKey().equals(commandName))
+            .filter(command -> command.get(commandName).isString()
+                && command.getString(commandName).getValue().equals(collection))
+            .toList();
+    }
+
+    public int count(String commandName, String collection) {
+        return commands(commandName, collection).size();
+    }
+
+    public void reset() {
+        commands.clear();
+    }
+}